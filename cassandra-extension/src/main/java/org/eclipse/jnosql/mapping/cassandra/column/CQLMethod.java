@@ -0,0 +1,222 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import jakarta.nosql.mapping.Entity;
+import org.eclipse.jnosql.communication.cassandra.column.CassandraPreparedStatement;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.eclipse.jnosql.mapping.repository.DynamicReturn.toSingleResult;
+
+/**
+ * A {@link CQL} repository method analysed once, when the repository is created: the query, the {@link Param}
+ * names by parameter position, whether a routing param or a single result makes it a prepared statement and the
+ * single result strategy, so that an invocation is a lookup followed by a bind. A method that returns
+ * {@link Optional} or an entity reads at most two rows: its select gets a {@code LIMIT 2} when it has no limit,
+ * enough to tell a single result from a non unique one, and it is fetched in pages of two rows whatever its params.
+ */
+final class CQLMethod {
+
+    static final int SINGLE_RESULT_LIMIT = 2;
+
+    private static final Pattern SELECT = Pattern.compile("^\\s*SELECT\\s", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern LIMIT = Pattern.compile("\\bLIMIT\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern ALLOW_FILTERING = Pattern.compile("\\s+ALLOW\\s+FILTERING\\s*$",
+            Pattern.CASE_INSENSITIVE);
+
+    private final Method method;
+
+    private final String query;
+
+    private final String[] names;
+
+    private final boolean named;
+
+    private final NamedCQL positional;
+
+    private final boolean single;
+
+    private final Function<Supplier<Stream<?>>, Supplier<Optional<?>>> singleResult;
+
+    private CQLMethod(Method method, String query, String[] names, boolean named, NamedCQL positional,
+                      boolean single) {
+        this.method = method;
+        this.query = query;
+        this.names = names;
+        this.named = named;
+        this.positional = positional;
+        this.single = single;
+        this.singleResult = toSingleResult(method);
+    }
+
+    String getQuery() {
+        return query;
+    }
+
+    Function<Supplier<Stream<?>>, Supplier<Optional<?>>> getSingleResult() {
+        return singleResult;
+    }
+
+    /**
+     * Executes the query choosing the {@link CassandraTemplate} cql overload decided at the analysis
+     *
+     * @param template the template
+     * @param args     the method arguments
+     * @param <T>      the entity type
+     * @return the query result
+     */
+    <T> Stream<T> execute(CassandraTemplate template, Object[] args) {
+        if (named) {
+            Map<String, Object> values = new HashMap<>(names.length);
+            for (int index = 0; index < names.length; index++) {
+                if (Objects.nonNull(names[index])) {
+                    values.put(names[index], args[index]);
+                }
+            }
+            if (Objects.nonNull(positional)) {
+                return cql(template, positional.getQuery(), positional.toParams(values));
+            }
+            return single ? template.cql(SINGLE_RESULT_LIMIT, query) : template.cql(query, values);
+        } else if (args == null || args.length == 0) {
+            return single ? template.execute(toPage(SimpleStatement.newInstance(query))) : template.cql(query);
+        }
+        return cql(template, query, args);
+    }
+
+    private <T> Stream<T> cql(CassandraTemplate template, String cql, Object[] params) {
+        return single ? template.cql(SINGLE_RESULT_LIMIT, cql, params) : template.cql(cql, params);
+    }
+
+    private SimpleStatement toPage(SimpleStatement statement) {
+        return single ? statement.setPageSize(SINGLE_RESULT_LIMIT) : statement;
+    }
+
+    /**
+     * Prepares the query, keeping in the cache the statement the invocations will use, so that a malformed
+     * query fails when the repository is created.
+     *
+     * @param cache           the prepared statement cache
+     * @param prepare         the preparation
+     * @param namedParameters if the named queries run as prepared statements
+     * @throws IllegalStateException when the query cannot be prepared
+     */
+    void prepare(CassandraPreparedStatementCache cache, Function<String, CassandraPreparedStatement> prepare,
+                 boolean namedParameters) {
+        String prepared = query;
+        if (named && (namedParameters || Objects.nonNull(positional))) {
+            NamedCQL namedCQL = cache.toNamedCQL(query);
+            if (!namedCQL.isEmpty()) {
+                prepared = namedCQL.getQuery();
+            }
+        }
+        try {
+            cache.apply(prepared, prepare, Function.identity());
+        } catch (RuntimeException exception) {
+            throw new IllegalStateException("The CQL of the method " + method + " is invalid: " + query, exception);
+        }
+    }
+
+    /**
+     * Analyses the {@link CQL} methods of the repository
+     *
+     * @param repositoryType the repository interface
+     * @return the analysed methods
+     * @throws IllegalArgumentException when a named marker of a query has no {@link Param}
+     */
+    static Map<Method, CQLMethod> of(Class<?> repositoryType) {
+        Map<Method, CQLMethod> methods = new HashMap<>();
+        for (Method method : repositoryType.getMethods()) {
+            CQL cql = method.getAnnotation(CQL.class);
+            if (Objects.nonNull(cql)) {
+                methods.put(method, of(method, cql.value()));
+            }
+        }
+        return Collections.unmodifiableMap(methods);
+    }
+
+    private static CQLMethod of(Method method, String query) {
+        Annotation[][] annotations = method.getParameterAnnotations();
+        String[] names = new String[annotations.length];
+        boolean routing = false;
+        boolean named = false;
+        for (int index = 0; index < annotations.length; index++) {
+            for (Annotation annotation : annotations[index]) {
+                if (annotation instanceof Param) {
+                    names[index] = ((Param) annotation).value();
+                    named = true;
+                    if (((Param) annotation).routing()) {
+                        routing = true;
+                    }
+                }
+            }
+        }
+        if (named) {
+            List<String> markers = NamedCQL.parse(query).getNames();
+            List<String> params = Arrays.asList(names);
+            for (String marker : markers) {
+                if (!params.contains(marker)) {
+                    throw new IllegalArgumentException("The CQL of the method " + method
+                            + " uses the named marker :" + marker + " that has no @Param");
+                }
+            }
+        }
+        boolean single = isSingleResult(method);
+        String cql = single ? toLimitedQuery(query) : query;
+        NamedCQL positional = named && (routing || single) ? NamedCQL.parse(cql) : null;
+        return new CQLMethod(method, cql, names, named,
+                Objects.isNull(positional) || positional.isEmpty() ? null : positional, single);
+    }
+
+    private static boolean isSingleResult(Method method) {
+        Class<?> type = method.getReturnType();
+        return Optional.class.equals(type) || type.isAnnotationPresent(Entity.class);
+    }
+
+    /**
+     * Adds {@code LIMIT 2} to a select that has no limit, before its {@code ALLOW FILTERING}
+     */
+    static String toLimitedQuery(String query) {
+        if (!SELECT.matcher(query).find() || LIMIT.matcher(query).find()) {
+            return query;
+        }
+        String cql = query.trim();
+        if (cql.endsWith(";")) {
+            cql = cql.substring(0, cql.length() - 1).trim();
+        }
+        Matcher allowFiltering = ALLOW_FILTERING.matcher(cql);
+        if (allowFiltering.find()) {
+            return cql.substring(0, allowFiltering.start()) + " LIMIT " + SINGLE_RESULT_LIMIT
+                    + cql.substring(allowFiltering.start());
+        }
+        return cql + " LIMIT " + SINGLE_RESULT_LIMIT;
+    }
+}
@@ -1,48 +0,0 @@
-/*
- *  Copyright (c) 2017 Otávio Santana and others
- *   All rights reserved. This program and the accompanying materials
- *   are made available under the terms of the Eclipse Public License v1.0
- *   and Apache License v2.0 which accompanies this distribution.
- *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
- *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
- *
- *   You may elect to redistribute this code under either of these licenses.
- *
- *   Contributors:
- *
- *   Otavio Santana
- */
-package org.eclipse.jnosql.mapping.cassandra.column;
-
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Stream;
-
-final class CQLObjectUtil {
-
-    private CQLObjectUtil() {
-    }
-
-    static Map<String, Object> getValues(Object[] args, Method method) {
-
-        Map<String, Object> map = new HashMap<>();
-        Annotation[][] annotations = method.getParameterAnnotations();
-
-        for (int index = 0; index < annotations.length; index++) {
-
-            final Object arg = args[index];
-
-            Optional<Param> param = Stream.of(annotations[index])
-                    .filter(Param.class::isInstance)
-                    .map(Param.class::cast)
-                    .findFirst();
-            param.ifPresent(p -> map.put(p.value(), arg));
-
-        }
-
-        return map;
-    }
-}
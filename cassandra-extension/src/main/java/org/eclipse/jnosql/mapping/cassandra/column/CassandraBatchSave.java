@@ -0,0 +1,176 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlSession;
+import jakarta.nosql.column.ColumnEntity;
+import org.eclipse.jnosql.communication.cassandra.column.CassandraColumnFamilyManager;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Saves entities grouped by table and partition key: each group is sent as unlogged batches of at most
+ * {@code batchSize} prepared inserts and the batches run concurrently with at most {@code concurrency} in flight.
+ * An entity that has an UDT or an embedded entity is saved on its own through the manager.
+ */
+final class CassandraBatchSave {
+
+    private final Supplier<CassandraColumnFamilyManager> manager;
+
+    private final Supplier<CqlSession> session;
+
+    private final CassandraPreparedStatementCache statements;
+
+    private final CassandraColumnEntityConverter converter;
+
+    private final ClassMappings mappings;
+
+    private final ExecutorService executor;
+
+    private final int batchSize;
+
+    private final int concurrency;
+
+    CassandraBatchSave(Supplier<CassandraColumnFamilyManager> manager, Supplier<CqlSession> session,
+                       CassandraPreparedStatementCache statements, CassandraColumnEntityConverter converter,
+                       ClassMappings mappings, ExecutorService executor, int batchSize, int concurrency) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("The batch concurrency must be positive: " + concurrency);
+        }
+        this.manager = manager;
+        this.session = session;
+        this.statements = statements;
+        this.converter = converter;
+        this.mappings = mappings;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Saves the entities
+     *
+     * @param entities the entities
+     * @param ttl      the ttl, it might be null
+     * @param level    the consistency level
+     * @return the entities as {@link ColumnEntity} in the same order
+     */
+    List<ColumnEntity> save(Iterable<?> entities, Duration ttl, ConsistencyLevel level) {
+        List<ColumnEntity> columns = new ArrayList<>();
+        Map<Class<?>, List<String>> partitionKeys = new HashMap<>();
+        Map<List<Object>, List<ColumnEntity>> partitions = new LinkedHashMap<>();
+        List<Runnable> tasks = new ArrayList<>();
+
+        for (Object entity : entities) {
+            ColumnEntity column = converter.toColumn(entity);
+            columns.add(column);
+            if (CassandraInserts.isSupported(column)) {
+                List<String> keys = partitionKeys.computeIfAbsent(entity.getClass(),
+                        c -> PartitionKeys.getColumns(mappings.get(c)));
+                List<Object> partition = new ArrayList<>();
+                partition.add(column.getName());
+                partition.addAll(PartitionKeys.getValues(column, keys));
+                partitions.computeIfAbsent(partition, k -> new ArrayList<>()).add(column);
+            } else {
+                tasks.add(() -> save(column, ttl, level));
+            }
+        }
+
+        for (List<ColumnEntity> partition : partitions.values()) {
+            for (int start = 0; start < partition.size(); start += batchSize) {
+                List<ColumnEntity> batch = partition.subList(start, Math.min(start + batchSize, partition.size()));
+                tasks.add(() -> insert(batch, ttl, level));
+            }
+        }
+        execute(tasks);
+        return columns;
+    }
+
+    private void insert(List<ColumnEntity> batch, Duration ttl, ConsistencyLevel level) {
+        CqlSession cqlSession = session.get();
+        join(CassandraInserts.toStatement(cqlSession, statements, batch, ttl, level)
+                .thenCompose(cqlSession::executeAsync)
+                .toCompletableFuture());
+    }
+
+    private void save(ColumnEntity entity, Duration ttl, ConsistencyLevel level) {
+        if (Objects.isNull(ttl)) {
+            manager.get().save(entity, level);
+        } else {
+            manager.get().save(entity, ttl, level);
+        }
+    }
+
+    private void execute(List<Runnable> tasks) {
+        if (tasks.size() == 1) {
+            tasks.get(0).run();
+            return;
+        }
+        Semaphore inFlight = new Semaphore(concurrency);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(tasks.size());
+        for (Runnable task : tasks) {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The batch save was interrupted", exception);
+            }
+            if (Objects.nonNull(error.get())) {
+                inFlight.release();
+                break;
+            }
+            futures.add(CompletableFuture.runAsync(task, executor).whenComplete((v, e) -> {
+                if (Objects.nonNull(e)) {
+                    error.compareAndSet(null, e);
+                }
+                inFlight.release();
+            }));
+        }
+        join(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])));
+    }
+
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            while (cause instanceof CompletionException && Objects.nonNull(cause.getCause())) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BatchableStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.ListType;
+import com.datastax.oss.driver.api.core.type.codec.CodecNotFoundException;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import jakarta.nosql.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Binds values to prepared statements by the CQL type of each bind marker. A value whose Java type has no codec
+ * to that CQL type, e.g. an Integer bound to a bigint column, is converted to the Java type of the codec the
+ * driver uses for it instead of failing or being encoded as another type.
+ */
+final class CassandraBinding {
+
+    /**
+     * A value left unset in the bound statement, so it neither writes the column nor a tombstone
+     */
+    static final Object UNSET = Unset.INSTANCE;
+
+    private CassandraBinding() {
+    }
+
+    /**
+     * Prepares the queries through the cache and binds each one to its values: a single query is a bound
+     * statement and several are a batch of the given type, which the driver routes by its first statement.
+     *
+     * @param session    the session
+     * @param statements the cache of the prepared statements
+     * @param type       the type of the batch when there are several queries
+     * @param queries    the queries
+     * @param values     the values of each query
+     * @param level      the consistency level, it might be null
+     * @return the statement, once its queries are prepared
+     * @throws IllegalArgumentException when queries is empty or its size is not the size of values
+     */
+    static CompletionStage<Statement<?>> toStatement(CqlSession session, CassandraPreparedStatementCache statements,
+                                                     BatchType type, List<String> queries, List<List<Object>> values,
+                                                     ConsistencyLevel level) {
+        if (queries.isEmpty() || queries.size() != values.size()) {
+            throw new IllegalArgumentException("Each one of the queries requires its values: " + queries.size()
+                    + " queries and " + values.size() + " values");
+        }
+        Map<String, CompletableFuture<PreparedStatement>> prepared = new HashMap<>();
+        List<CompletableFuture<BoundStatement>> bound = new ArrayList<>(queries.size());
+        for (int index = 0; index < queries.size(); index++) {
+            List<Object> queryValues = values.get(index);
+            bound.add(prepared.computeIfAbsent(queries.get(index),
+                    q -> statements.prepare(session, q).toCompletableFuture())
+                    .thenApply(p -> bind(session, p, queryValues)));
+        }
+        return CompletableFuture.allOf(bound.toArray(new CompletableFuture[0])).<Statement<?>>thenApply(v -> {
+            Statement<?> statement;
+            if (bound.size() == 1) {
+                statement = bound.get(0).join();
+            } else {
+                List<BatchableStatement<?>> batch = bound.stream().map(CompletableFuture::join)
+                        .collect(Collectors.toList());
+                statement = BatchStatement.newInstance(type, batch);
+            }
+            return Objects.isNull(level) ? statement : statement.setConsistencyLevel(level);
+        });
+    }
+
+    /**
+     * Prepares the query of the statement through the cache and binds its positional values, keeping the
+     * consistency level, the page size and the routing key or token of the statement
+     *
+     * @param session    the session
+     * @param statements the cache of the prepared statements
+     * @param statement  the statement
+     * @return the bound statement, once its query is prepared
+     * @throws NullPointerException when statement is null
+     */
+    static CompletionStage<BoundStatement> toStatement(CqlSession session, CassandraPreparedStatementCache statements,
+                                                       SimpleStatement statement) {
+        Objects.requireNonNull(statement, "statement is required");
+        return statements.prepare(session, statement.getQuery()).thenApply(p -> {
+            BoundStatement bound = bind(session, p, statement.getPositionalValues());
+            if (Objects.nonNull(statement.getConsistencyLevel())) {
+                bound = bound.setConsistencyLevel(statement.getConsistencyLevel());
+            }
+            if (statement.getPageSize() > 0) {
+                bound = bound.setPageSize(statement.getPageSize());
+            }
+            if (Objects.nonNull(statement.getRoutingKey())) {
+                bound = bound.setRoutingKey(statement.getRoutingKey());
+            }
+            if (Objects.nonNull(statement.getRoutingToken())) {
+                bound = bound.setRoutingToken(statement.getRoutingToken());
+            }
+            return bound;
+        });
+    }
+
+    /**
+     * Binds the values to the statement
+     *
+     * @param session  the session, whose codecs encode the values
+     * @param prepared the prepared statement
+     * @param values   the values in the order of the bind markers, a value might be null or {@link #UNSET}
+     * @return the bound statement
+     * @throws IllegalArgumentException when the number of values is not the number of bind markers
+     * @throws CodecNotFoundException   when a value cannot be converted to the type of its bind marker
+     */
+    static BoundStatement bind(CqlSession session, PreparedStatement prepared, List<?> values) {
+        CodecRegistry registry = session.getContext().getCodecRegistry();
+        ColumnDefinitions variables = prepared.getVariableDefinitions();
+        if (variables.size() != values.size()) {
+            throw new IllegalArgumentException("The statement has " + variables.size() + " bind markers and "
+                    + values.size() + " values");
+        }
+        Object[] bound = new Object[values.size()];
+        List<Integer> unset = new ArrayList<>();
+        for (int index = 0; index < bound.length; index++) {
+            Object value = values.get(index);
+            if (value == UNSET) {
+                unset.add(index);
+            } else if (Objects.nonNull(value)) {
+                bound[index] = toValue(registry, variables.get(index).getType(), value);
+            }
+        }
+        BoundStatement statement = prepared.bind(bound);
+        for (int index : unset) {
+            statement = statement.unset(index);
+        }
+        return statement;
+    }
+
+    /**
+     * Converts the value to the Java type of the codec of the CQL type, when there is no codec between them. The
+     * elements of a list are converted one by one, e.g. the values of an in condition on a bigint column.
+     *
+     * @param registry the codecs
+     * @param type     the CQL type
+     * @param value    the value
+     * @return the value, converted when it is needed
+     * @throws CodecNotFoundException when the value cannot be converted
+     */
+    static Object toValue(CodecRegistry registry, DataType type, Object value) {
+        try {
+            registry.codecFor(type, value);
+            return value;
+        } catch (CodecNotFoundException exception) {
+            if (type instanceof ListType && value instanceof Iterable) {
+                DataType element = ((ListType) type).getElementType();
+                return StreamSupport.stream(((Iterable<?>) value).spliterator(), false)
+                        .map(v -> Objects.isNull(v) ? null : toValue(registry, element, v))
+                        .collect(Collectors.toList());
+            }
+            TypeCodec<?> codec = registry.codecFor(type);
+            try {
+                return Value.of(value).get(codec.getJavaType().getRawType());
+            } catch (UnsupportedOperationException | IllegalArgumentException conversion) {
+                throw exception;
+            }
+        }
+    }
+
+    private enum Unset {
+        INSTANCE
+    }
+}
@@ -0,0 +1,680 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.reflection.FieldMapping;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraInserts.toIdentifier;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.BLOB_CONCURRENCY;
+
+/**
+ * Writes and reads the blobs of the {@link Chunked} fields. A write splits the value into chunks of
+ * {@link Chunked#size()} bytes and inserts them under a new generation, at most
+ * {@link CassandraMappingConfigurations#BLOB_CONCURRENCY} at once, then sets the length and the generation columns
+ * of the entity row together and deletes the chunks of the previous generation. A read takes the length and the
+ * generation from the entity row, fetches the chunks in order, that many ahead of the one being consumed, and gives
+ * them as read-only views of the driver buffers, so the whole value is never assembled in memory.
+ * <p>
+ * A write that fails before the entity row is set, because the value is too long for the field, the data cannot
+ * be read or a chunk cannot be inserted, deletes the chunks it inserted and leaves the previous value as it was.
+ * When setting the entity row fails, the write might or might not have been applied, so its chunks are kept; when
+ * only deleting the previous chunks fails, the new value is written and the previous chunks are left behind. A read
+ * running during a write reads the previous value, or fails with a missing chunk once they are deleted.
+ */
+@ApplicationScoped
+public class CassandraBlobs {
+
+    private static final int DEFAULT_CONCURRENCY = 4;
+
+    private final Map<BlobField, Blob> blobs = new ConcurrentHashMap<>();
+
+    private Instance<CqlSession> session;
+
+    private ClassMappings mappings;
+
+    private CassandraColumnEntityConverter converter;
+
+    private int concurrency;
+
+    @Inject
+    CassandraBlobs(Instance<CqlSession> session, ClassMappings mappings, CassandraColumnEntityConverter converter,
+                   CassandraMappingSettings settings) {
+        this.session = session;
+        this.mappings = mappings;
+        this.converter = converter;
+        this.concurrency = settings.getInt(BLOB_CONCURRENCY, DEFAULT_CONCURRENCY);
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("The blob concurrency must be positive: " + concurrency);
+        }
+    }
+
+    CassandraBlobs() {
+    }
+
+    /**
+     * Writes the blob of the field, reading the data to its end, and sets the field to the blob length. The data
+     * is not closed.
+     *
+     * @param entity the entity, it must have its primary key
+     * @param field  the entity field name
+     * @param data   the data
+     * @param <T>    the entity type
+     * @throws NullPointerException     when there is a null parameter
+     * @throws IllegalArgumentException when the field is not {@link Chunked}, the entity lacks a primary key value or
+     *                                  the data is longer than the field allows
+     * @throws UncheckedIOException     when the data cannot be read
+     * @throws IllegalStateException    when there is no {@link CqlSession} produced to the container
+     */
+    public <T> void write(T entity, String field, InputStream data) {
+        Objects.requireNonNull(data, "data is required");
+        Blob blob = getBlob(entity, field);
+        write(entity, blob, new StreamChunks(data, blob.size));
+    }
+
+    /**
+     * Writes the bytes between the position and the limit of the buffer as the blob of the field, and sets the
+     * field to the blob length. The chunks are views of the buffer, which is not changed.
+     *
+     * @param entity the entity, it must have its primary key
+     * @param field  the entity field name
+     * @param data   the data
+     * @param <T>    the entity type
+     * @throws NullPointerException     when there is a null parameter
+     * @throws IllegalArgumentException when the field is not {@link Chunked}, the entity lacks a primary key value or
+     *                                  the data is longer than the field allows
+     * @throws IllegalStateException    when there is no {@link CqlSession} produced to the container
+     */
+    public <T> void write(T entity, String field, ByteBuffer data) {
+        Objects.requireNonNull(data, "data is required");
+        Blob blob = getBlob(entity, field);
+        blob.checkLength(data.remaining());
+        write(entity, blob, new BufferChunks(data, blob.size));
+    }
+
+    /**
+     * Reads the blob of the field as a stream, the chunks are fetched as it is read
+     *
+     * @param entity the entity, it must have its primary key
+     * @param field  the entity field name
+     * @param <T>    the entity type
+     * @return the blob data
+     * @throws NullPointerException     when there is a null parameter
+     * @throws IllegalArgumentException when the field is not {@link Chunked} or the entity lacks a primary key value
+     * @throws IllegalStateException    when there is no {@link CqlSession} produced to the container
+     */
+    public <T> InputStream read(T entity, String field) {
+        return new ChunkInputStream(iterator(entity, getBlob(entity, field)));
+    }
+
+    /**
+     * Reads the chunks of the blob of the field in order
+     *
+     * @param entity the entity, it must have its primary key
+     * @param field  the entity field name
+     * @param <T>    the entity type
+     * @return the read-only chunks
+     * @throws NullPointerException     when there is a null parameter
+     * @throws IllegalArgumentException when the field is not {@link Chunked} or the entity lacks a primary key value
+     * @throws IllegalStateException    when there is no {@link CqlSession} produced to the container or a chunk is
+     *                                  missing
+     */
+    public <T> Stream<ByteBuffer> chunks(T entity, String field) {
+        ChunkIterator chunks = iterator(entity, getBlob(entity, field));
+        return StreamSupport.stream(Spliterators.spliterator(chunks, chunks.count,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Deletes the chunks of the blob of the field and sets the field to zero
+     *
+     * @param entity the entity, it must have its primary key
+     * @param field  the entity field name
+     * @param <T>    the entity type
+     * @throws NullPointerException     when there is a null parameter
+     * @throws IllegalArgumentException when the field is not {@link Chunked} or the entity lacks a primary key value
+     * @throws IllegalStateException    when there is no {@link CqlSession} produced to the container
+     */
+    public <T> void delete(T entity, String field) {
+        write(entity, getBlob(entity, field), Collections.emptyIterator());
+    }
+
+    private void write(Object entity, Blob blob, Iterator<ByteBuffer> chunks) {
+        CqlSession cqlSession = getSession();
+        List<Object> key = getKey(entity, blob);
+        Generation previous = getGeneration(cqlSession, blob, key);
+        UUID generation = UUID.randomUUID();
+        InFlight inFlight = new InFlight(cqlSession, concurrency);
+        PreparedStatement insert = cqlSession.prepare(blob.insert);
+        long length = 0;
+        int chunk = 0;
+        try {
+            while (chunks.hasNext()) {
+                ByteBuffer data = chunks.next();
+                length += data.remaining();
+                blob.checkLength(length);
+                inFlight.submit(insert.bind(toValues(key, generation, chunk++, data)));
+            }
+            inFlight.await();
+        } catch (RuntimeException exception) {
+            deleteQuietly(cqlSession, blob, key, new Generation(generation, chunk), inFlight, exception);
+            throw exception;
+        }
+        Object value = blob.toLength(length);
+        List<Object> update = new ArrayList<>(key.size() + 2);
+        update.add(value);
+        update.add(generation);
+        update.addAll(key);
+        cqlSession.execute(cqlSession.prepare(blob.update).bind(update.toArray()));
+        blob.length.write(entity, value);
+        if (Objects.nonNull(previous.id) && previous.count > 0) {
+            delete(cqlSession, blob, key, previous, new InFlight(cqlSession, concurrency));
+        }
+    }
+
+    private void delete(CqlSession cqlSession, Blob blob, List<Object> key, Generation generation,
+                        InFlight inFlight) {
+        PreparedStatement delete = cqlSession.prepare(blob.delete);
+        for (int index = 0; index < generation.count; index++) {
+            inFlight.submit(delete.bind(toValues(key, generation.id, index)));
+        }
+        inFlight.await();
+    }
+
+    /**
+     * Deletes the chunks of a failed write once its statements in flight are done, keeping the deletion error as
+     * suppressed by the write one
+     */
+    private void deleteQuietly(CqlSession cqlSession, Blob blob, List<Object> key, Generation generation,
+                               InFlight inFlight, RuntimeException exception) {
+        try {
+            inFlight.await();
+        } catch (RuntimeException ignored) {
+            // the write error is the one thrown
+        }
+        try {
+            delete(cqlSession, blob, key, generation, new InFlight(cqlSession, concurrency));
+        } catch (RuntimeException deletion) {
+            exception.addSuppressed(deletion);
+        }
+    }
+
+    private ChunkIterator iterator(Object entity, Blob blob) {
+        CqlSession cqlSession = getSession();
+        List<Object> key = getKey(entity, blob);
+        Generation generation = getGeneration(cqlSession, blob, key);
+        List<Object> chunkKey = new ArrayList<>(key);
+        chunkKey.add(generation.id);
+        PreparedStatement select = generation.count == 0 ? null : cqlSession.prepare(blob.select);
+        return new ChunkIterator(cqlSession, select, chunkKey, generation.count, concurrency, blob.table);
+    }
+
+    private Generation getGeneration(CqlSession cqlSession, Blob blob, List<Object> key) {
+        Row row = cqlSession.execute(cqlSession.prepare(blob.current).bind(key.toArray())).one();
+        if (Objects.isNull(row) || row.isNull(1)) {
+            return new Generation(null, 0);
+        }
+        long length = row.isNull(0) ? 0L : ((Number) row.getObject(0)).longValue();
+        return new Generation(row.getUuid(1), blob.count(length));
+    }
+
+    private List<Object> getKey(Object entity, Blob blob) {
+        return new ArrayList<>(PrimaryKeys.of(blob.mapping, converter.toColumn(entity)).values());
+    }
+
+    private static Object[] toValues(List<Object> key, Object... values) {
+        Object[] bound = key.toArray(new Object[key.size() + values.length]);
+        System.arraycopy(values, 0, bound, key.size(), values.length);
+        return bound;
+    }
+
+    private Blob getBlob(Object entity, String field) {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(field, "field is required");
+        return blobs.computeIfAbsent(new BlobField(entity.getClass(), field), this::toBlob);
+    }
+
+    private Blob toBlob(BlobField field) {
+        ClassMapping mapping = mappings.get(field.entity);
+        if (!mapping.getId().isPresent()) {
+            throw new IllegalArgumentException("The entity " + field.entity + " does not have an id");
+        }
+        FieldMapping length = mapping.getFields().stream()
+                .filter(f -> f.getNativeField().getName().equals(field.name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("The field " + field.name + " does not exist in "
+                        + field.entity));
+        Chunked chunked = length.getNativeField().getAnnotation(Chunked.class);
+        if (Objects.isNull(chunked)) {
+            throw new IllegalArgumentException("The field " + field.name + " is not @Chunked");
+        }
+        if (chunked.size() <= 0) {
+            throw new IllegalArgumentException("The chunk size must be positive: " + chunked.size());
+        }
+        Class<?> type = length.getNativeField().getType();
+        long maxLength;
+        if (long.class.equals(type) || Long.class.equals(type)) {
+            maxLength = Long.MAX_VALUE;
+        } else if (int.class.equals(type) || Integer.class.equals(type)) {
+            maxLength = Integer.MAX_VALUE;
+        } else {
+            throw new IllegalArgumentException("The @Chunked field " + field.name + " must be a long or an int");
+        }
+        String table = chunked.table().isEmpty() ? mapping.getName() + '_' + length.getName() : chunked.table();
+        return new Blob(mapping, length, table, chunked.size(), maxLength);
+    }
+
+    private CqlSession getSession() {
+        if (Objects.isNull(session) || !session.isResolvable()) {
+            throw new IllegalStateException("The blobs require a CqlSession produced to the container");
+        }
+        return session.get();
+    }
+
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    private static final class BlobField {
+
+        private final Class<?> entity;
+
+        private final String name;
+
+        private BlobField(Class<?> entity, String name) {
+            this.entity = entity;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BlobField)) {
+                return false;
+            }
+            BlobField that = (BlobField) o;
+            return entity.equals(that.entity) && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entity, name);
+        }
+    }
+
+    /**
+     * The chunk table of a {@link Chunked} field and its statements
+     */
+    private static final class Blob {
+
+        private final ClassMapping mapping;
+
+        private final FieldMapping length;
+
+        private final String field;
+
+        private final String table;
+
+        private final int size;
+
+        private final long maxLength;
+
+        private final String insert;
+
+        private final String select;
+
+        private final String delete;
+
+        private final String update;
+
+        private final String current;
+
+        private Blob(ClassMapping mapping, FieldMapping length, String table, int size, long maxLength) {
+            this.mapping = mapping;
+            this.length = length;
+            this.field = length.getNativeField().getName();
+            this.table = table;
+            this.size = size;
+            this.maxLength = maxLength;
+            List<String> keys = PrimaryKeys.getColumns(mapping).stream().map(CassandraInserts::toIdentifier)
+                    .collect(Collectors.toList());
+            String entityKey = keys.stream().map(k -> k + " = ?").collect(Collectors.joining(" AND "));
+            String chunkKey = keys.stream().map(k -> k + " = ? AND ").collect(Collectors.joining())
+                    + "generation = ? AND chunk = ?";
+            String generation = toIdentifier(length.getName() + "_generation");
+            this.insert = "INSERT INTO " + toIdentifier(table) + " (" + String.join(", ", keys)
+                    + ", generation, chunk, data) VALUES (" + keys.stream().map(k -> "?, ")
+                    .collect(Collectors.joining()) + "?, ?, ?)";
+            this.select = "SELECT data FROM " + toIdentifier(table) + " WHERE " + chunkKey;
+            this.delete = "DELETE FROM " + toIdentifier(table) + " WHERE " + chunkKey;
+            this.update = "UPDATE " + toIdentifier(mapping.getName()) + " SET " + toIdentifier(length.getName())
+                    + " = ?, " + generation + " = ? WHERE " + entityKey;
+            this.current = "SELECT " + toIdentifier(length.getName()) + ", " + generation + " FROM "
+                    + toIdentifier(mapping.getName()) + " WHERE " + entityKey;
+        }
+
+        void checkLength(long value) {
+            if (value > maxLength) {
+                throw new IllegalArgumentException("The blob is longer than the field " + field + " allows");
+            }
+        }
+
+        Object toLength(long value) {
+            if (maxLength == Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        }
+
+        int count(long value) {
+            return Math.toIntExact((value + size - 1) / size);
+        }
+    }
+
+    /**
+     * The generation of the chunks of a blob and their number
+     */
+    private static final class Generation {
+
+        private final UUID id;
+
+        private final int count;
+
+        private Generation(UUID id, int count) {
+            this.id = id;
+            this.count = count;
+        }
+    }
+
+    /**
+     * The statements in flight, at most the concurrency of them at once
+     */
+    private static final class InFlight {
+
+        private final CqlSession session;
+
+        private final Semaphore permits;
+
+        private final List<CompletableFuture<AsyncResultSet>> futures = new ArrayList<>();
+
+        private volatile boolean failed;
+
+        private InFlight(CqlSession session, int concurrency) {
+            this.session = session;
+            this.permits = new Semaphore(concurrency);
+        }
+
+        void submit(Statement<?> statement) {
+            if (failed) {
+                await();
+            }
+            try {
+                permits.acquire();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The blob write was interrupted", exception);
+            }
+            CompletableFuture<AsyncResultSet> future = session.executeAsync(statement).toCompletableFuture();
+            future.whenComplete((r, e) -> {
+                if (Objects.nonNull(e)) {
+                    failed = true;
+                }
+                permits.release();
+            });
+            futures.add(future);
+        }
+
+        /**
+         * Waits for all the statements in flight, then throws the error of the first one that failed
+         */
+        void await() {
+            try {
+                join(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])));
+            } finally {
+                futures.clear();
+            }
+        }
+    }
+
+    /**
+     * Splits the data between the position and the limit of a buffer into views of the chunk size
+     */
+    private static final class BufferChunks implements Iterator<ByteBuffer> {
+
+        private final ByteBuffer data;
+
+        private final int size;
+
+        private BufferChunks(ByteBuffer data, int size) {
+            this.data = data.duplicate();
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return data.hasRemaining();
+        }
+
+        @Override
+        public ByteBuffer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int length = Math.min(size, data.remaining());
+            ByteBuffer chunk = data.slice();
+            chunk.limit(length);
+            data.position(data.position() + length);
+            return chunk;
+        }
+    }
+
+    /**
+     * Reads the stream into chunks of the chunk size, the last one might be smaller
+     */
+    private static final class StreamChunks implements Iterator<ByteBuffer> {
+
+        private final InputStream data;
+
+        private final int size;
+
+        private ByteBuffer pending;
+
+        private boolean ended;
+
+        private StreamChunks(InputStream data, int size) {
+            this.data = data;
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (Objects.isNull(pending) && !ended) {
+                byte[] buffer = new byte[size];
+                int read;
+                try {
+                    read = data.readNBytes(buffer, 0, size);
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+                ended = read < size;
+                if (read > 0) {
+                    pending = ByteBuffer.wrap(buffer, 0, read);
+                }
+            }
+            return Objects.nonNull(pending);
+        }
+
+        @Override
+        public ByteBuffer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ByteBuffer chunk = pending;
+            pending = null;
+            return chunk;
+        }
+    }
+
+    /**
+     * Fetches the chunks in order, keeping the next ones requested ahead
+     */
+    private static final class ChunkIterator implements Iterator<ByteBuffer> {
+
+        private final CqlSession session;
+
+        private final PreparedStatement select;
+
+        private final List<Object> key;
+
+        private final int count;
+
+        private final String table;
+
+        private final Deque<CompletableFuture<AsyncResultSet>> ahead = new ArrayDeque<>();
+
+        private int requested;
+
+        private int index;
+
+        private ChunkIterator(CqlSession session, PreparedStatement select, List<Object> key, int count,
+                              int concurrency, String table) {
+            this.session = session;
+            this.select = select;
+            this.key = key;
+            this.count = count;
+            this.table = table;
+            while (requested < Math.min(count, concurrency)) {
+                request();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < count;
+        }
+
+        @Override
+        public ByteBuffer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            CompletableFuture<AsyncResultSet> future = ahead.poll();
+            if (requested < count) {
+                request();
+            }
+            Row row = join(future).one();
+            if (Objects.isNull(row)) {
+                throw new IllegalStateException("The chunk " + index + " of " + key + " is missing in " + table);
+            }
+            index++;
+            ByteBuffer data = row.getByteBuffer(0);
+            return Objects.isNull(data) ? ByteBuffer.allocate(0).asReadOnlyBuffer() : data.asReadOnlyBuffer();
+        }
+
+        private void request() {
+            ahead.add(session.executeAsync(select.bind(toValues(key, requested++))).toCompletableFuture());
+        }
+    }
+
+    /**
+     * Reads the chunks one after the other, copying only into the buffers given to it
+     */
+    private static final class ChunkInputStream extends InputStream {
+
+        private final Iterator<ByteBuffer> chunks;
+
+        private ByteBuffer current = ByteBuffer.allocate(0);
+
+        private ChunkInputStream(Iterator<ByteBuffer> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public int read() {
+            return advance() ? current.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            if (length == 0) {
+                return 0;
+            }
+            if (!advance()) {
+                return -1;
+            }
+            int read = Math.min(length, current.remaining());
+            current.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return current.remaining();
+        }
+
+        private boolean advance() {
+            while (!current.hasRemaining()) {
+                if (!chunks.hasNext()) {
+                    return false;
+                }
+                current = chunks.next();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,426 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.BATCH_SIZE;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.LOAD_CONCURRENCY;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.LOAD_RATE;
+
+/**
+ * Loads a CSV or JSON lines file into the table of an entity. The file is read in chunks of rows through a
+ * {@link java.nio.channels.FileChannel}. Each row is converted into the entity and back by the
+ * {@link CassandraColumnEntityConverter}, so the field conversions apply. The rows of a chunk are grouped by
+ * partition key into unlogged batches of at most {@link CassandraMappingConfigurations#BATCH_SIZE} inserts. The
+ * batches are sent asynchronously with at most {@link CassandraMappingConfigurations#LOAD_CONCURRENCY} in flight
+ * and at most {@link CassandraMappingConfigurations#LOAD_RATE} rows per second. The inserts leave their TTL
+ * unset, so the rows take the default TTL of the table.
+ * <p>
+ * Once every chunk up to a line has been written, the offset that follows it is saved in the checkpoint file. A
+ * load that finds the checkpoint resumes from that offset, and the checkpoint is removed when the load completes.
+ * The rows written after the last checkpoint are written again on resume, which Cassandra inserts allow. The
+ * rows of the table are removed from the {@link CassandraEntityCache} when the load ends.
+ */
+@ApplicationScoped
+public class CassandraBulkLoader {
+
+    private static final Logger LOGGER = Logger.getLogger(CassandraBulkLoader.class.getName());
+
+    static final int DEFAULT_CONCURRENCY = 16;
+
+    static final int CHUNK_ROWS = 1000;
+
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    private static final long PROGRESS_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+    private Instance<CqlSession> session;
+
+    private CassandraPreparedStatementCache statements;
+
+    private CassandraColumnEntityConverter converter;
+
+    private ClassMappings mappings;
+
+    private CassandraEntityCache cache;
+
+    private int batchSize;
+
+    private int concurrency;
+
+    private long rate;
+
+    @Inject
+    CassandraBulkLoader(Instance<CqlSession> session, CassandraPreparedStatementCache statements,
+                        CassandraColumnEntityConverter converter, ClassMappings mappings, CassandraEntityCache cache,
+                        CassandraMappingSettings settings) {
+        this.session = session;
+        this.statements = statements;
+        this.converter = converter;
+        this.mappings = mappings;
+        this.cache = cache;
+        this.batchSize = settings.getInt(BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        this.concurrency = settings.getInt(LOAD_CONCURRENCY, DEFAULT_CONCURRENCY);
+        this.rate = settings.getLong(LOAD_RATE, 0L);
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive: " + batchSize);
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("The load concurrency must be positive: " + concurrency);
+        }
+        if (rate < 0) {
+            throw new IllegalArgumentException("The load rate cannot be negative: " + rate);
+        }
+    }
+
+    CassandraBulkLoader() {
+    }
+
+    /**
+     * Loads the file, finding the format by its extension and keeping the checkpoint next to it with the
+     * {@code .checkpoint} suffix
+     *
+     * @param entity the entity type
+     * @param file   the file
+     * @param <T>    the entity type
+     * @return the report of the load
+     * @throws NullPointerException     when there is a null parameter
+     * @throws IllegalArgumentException when the format is not known or a row cannot be parsed
+     * @throws UncheckedIOException     when the file or the checkpoint cannot be read or written
+     * @throws IllegalStateException    when there is no {@link CqlSession} produced to the container
+     */
+    public <T> CassandraLoadReport load(Class<T> entity, Path file) {
+        Objects.requireNonNull(file, "file is required");
+        return load(entity, file, CassandraFileFormat.of(file),
+                file.resolveSibling(file.getFileName() + CHECKPOINT_SUFFIX));
+    }
+
+    /**
+     * Loads the file
+     *
+     * @param entity     the entity type
+     * @param file       the file
+     * @param format     the file format
+     * @param checkpoint the file that keeps the progress of the load
+     * @param <T>        the entity type
+     * @return the report of the load
+     * @throws NullPointerException          when there is a null parameter
+     * @throws IllegalArgumentException      when a row cannot be parsed
+     * @throws UnsupportedOperationException when the entity has an UDT or an embedded entity
+     * @throws UncheckedIOException          when the file or the checkpoint cannot be read or written
+     * @throws IllegalStateException         when there is no {@link CqlSession} produced to the container
+     */
+    public <T> CassandraLoadReport load(Class<T> entity, Path file, CassandraFileFormat format, Path checkpoint) {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(file, "file is required");
+        Objects.requireNonNull(format, "format is required");
+        Objects.requireNonNull(checkpoint, "checkpoint is required");
+        if (Objects.isNull(session) || !session.isResolvable()) {
+            throw new IllegalStateException("The bulk load requires a CqlSession produced to the container");
+        }
+        ClassMapping mapping = mappings.get(entity);
+        try {
+            return new Load(session.get(), entity, mapping, format, checkpoint).run(file);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        } finally {
+            cache.invalidateAll(mapping.getName());
+        }
+    }
+
+    private final class Load {
+
+        private final CqlSession session;
+
+        private final Class<?> entity;
+
+        private final ClassMapping mapping;
+
+        private final CassandraFileFormat format;
+
+        private final Path checkpoint;
+
+        private final List<String> partitionKeys;
+
+        private final Semaphore inFlight = new Semaphore(concurrency);
+
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private final Deque<Chunk> pending = new ArrayDeque<>();
+
+        private List<String> header = Collections.emptyList();
+
+        private long nextPermit = System.nanoTime();
+
+        private Load(CqlSession session, Class<?> entity, ClassMapping mapping, CassandraFileFormat format,
+                     Path checkpoint) {
+            this.session = session;
+            this.entity = entity;
+            this.mapping = mapping;
+            this.format = format;
+            this.checkpoint = checkpoint;
+            this.partitionKeys = PartitionKeys.getColumns(mapping);
+        }
+
+        private CassandraLoadReport run(Path file) throws IOException {
+            long start = System.nanoTime();
+            long resumedFrom = readCheckpoint();
+            long rows = 0;
+            long offset;
+            try (CassandraFileReader headerReader = CassandraFileReader.of(file, 0)) {
+                if (format == CassandraFileFormat.CSV) {
+                    String record = readRecord(headerReader);
+                    if (Objects.nonNull(record)) {
+                        header = CassandraCsv.parse(record);
+                    }
+                }
+                offset = Math.max(resumedFrom, headerReader.getPosition());
+                if (offset > headerReader.size()) {
+                    throw new IllegalArgumentException("The checkpoint " + checkpoint + " is beyond the end of "
+                            + file);
+                }
+            }
+            long first = offset;
+            long lastProgress = start;
+            try (CassandraFileReader reader = CassandraFileReader.of(file, offset)) {
+                List<ColumnEntity> chunk = new ArrayList<>(CHUNK_ROWS);
+                for (String record = readRecord(reader); Objects.nonNull(record); record = readRecord(reader)) {
+                    if (!record.trim().isEmpty()) {
+                        chunk.add(toColumnEntity(record));
+                    }
+                    if (chunk.size() == CHUNK_ROWS) {
+                        rows += chunk.size();
+                        offset = write(chunk, reader.getPosition(), offset);
+                        chunk = new ArrayList<>(CHUNK_ROWS);
+                    }
+                    long now = System.nanoTime();
+                    if (now - lastProgress >= PROGRESS_INTERVAL) {
+                        lastProgress = now;
+                        LOGGER.info("Loading " + file + ": " + new CassandraLoadReport(rows,
+                                reader.getPosition() - first, resumedFrom, Duration.ofNanos(now - start)));
+                    }
+                }
+                rows += chunk.size();
+                if (!chunk.isEmpty()) {
+                    write(chunk, reader.getPosition(), offset);
+                }
+                long end = reader.getPosition();
+                while (!pending.isEmpty()) {
+                    writeCheckpoint(await(pending.poll()));
+                }
+                Files.deleteIfExists(checkpoint);
+                CassandraLoadReport report = new CassandraLoadReport(rows, end - first, resumedFrom,
+                        Duration.ofNanos(System.nanoTime() - start));
+                LOGGER.info("Finished the load of " + file + ": " + report);
+                return report;
+            }
+        }
+
+        private long write(List<ColumnEntity> chunk, long end, long offset) throws IOException {
+            Map<List<Object>, List<ColumnEntity>> partitions = new LinkedHashMap<>();
+            for (ColumnEntity column : chunk) {
+                partitions.computeIfAbsent(PartitionKeys.getValues(column, partitionKeys), k -> new ArrayList<>())
+                        .add(column);
+            }
+            List<CompletableFuture<?>> batches = new ArrayList<>();
+            for (List<ColumnEntity> partition : partitions.values()) {
+                for (int start = 0; start < partition.size(); start += batchSize) {
+                    List<ColumnEntity> batch = partition.subList(start, Math.min(start + batchSize, partition.size()));
+                    batches.add(execute(batch));
+                }
+            }
+            pending.add(new Chunk(end, CompletableFuture.allOf(batches.toArray(new CompletableFuture[0]))));
+            long saved = offset;
+            while (!pending.isEmpty() && pending.peek().future.isDone()) {
+                saved = await(pending.poll());
+            }
+            if (saved != offset) {
+                writeCheckpoint(saved);
+            }
+            return saved;
+        }
+
+        private CompletableFuture<?> execute(List<ColumnEntity> batch) {
+            throwIfFailed();
+            acquirePermits(batch.size());
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The bulk load was interrupted", exception);
+            }
+            try {
+                return CassandraInserts.toStatement(session, statements, batch, null, null)
+                        .thenCompose(session::executeAsync)
+                        .toCompletableFuture()
+                        .whenComplete((r, e) -> {
+                            if (Objects.nonNull(e)) {
+                                error.compareAndSet(null, e);
+                            }
+                            inFlight.release();
+                        });
+            } catch (RuntimeException exception) {
+                inFlight.release();
+                throw exception;
+            }
+        }
+
+        private long await(Chunk chunk) {
+            try {
+                chunk.future.join();
+            } catch (CompletionException exception) {
+                Throwable cause = exception.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw exception;
+            }
+            return chunk.end;
+        }
+
+        private void throwIfFailed() {
+            Throwable cause = error.get();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (Objects.nonNull(cause)) {
+                throw new IllegalStateException("The bulk load failed", cause);
+            }
+        }
+
+        private void acquirePermits(int permits) {
+            if (rate == 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            long wait = nextPermit - now;
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("The bulk load was interrupted", exception);
+                }
+            }
+            nextPermit = Math.max(nextPermit, now) + permits * TimeUnit.SECONDS.toNanos(1) / rate;
+        }
+
+        private ColumnEntity toColumnEntity(String record) {
+            List<Column> columns = new ArrayList<>();
+            if (format == CassandraFileFormat.CSV) {
+                List<String> fields = CassandraCsv.parse(record);
+                if (fields.size() != header.size()) {
+                    throw new IllegalArgumentException("The record has " + fields.size() + " fields and the header "
+                            + header.size() + ": " + record);
+                }
+                for (int index = 0; index < fields.size(); index++) {
+                    if (Objects.nonNull(fields.get(index))) {
+                        columns.add(Column.of(header.get(index), fields.get(index)));
+                    }
+                }
+            } else {
+                CassandraJson.parse(record).forEach((name, value) -> {
+                    if (Objects.nonNull(value)) {
+                        columns.add(Column.of(name, value));
+                    }
+                });
+            }
+            Object value = converter.toEntity(entity, ColumnEntity.of(mapping.getName(), columns));
+            ColumnEntity column = converter.toColumn(value);
+            if (!CassandraInserts.isSupported(column)) {
+                throw new UnsupportedOperationException("The bulk load does not support the UDT and embedded"
+                        + " fields of " + entity);
+            }
+            return column;
+        }
+
+        private String readRecord(CassandraFileReader reader) throws IOException {
+            String line = reader.next();
+            if (Objects.isNull(line) || format != CassandraFileFormat.CSV || CassandraCsv.isComplete(line)) {
+                return line;
+            }
+            StringBuilder record = new StringBuilder(line);
+            do {
+                line = reader.next();
+                if (Objects.isNull(line)) {
+                    throw new IllegalArgumentException("The quoted field is not closed in the record: " + record);
+                }
+                record.append('\n').append(line);
+            } while (!CassandraCsv.isComplete(record));
+            return record.toString();
+        }
+
+        private long readCheckpoint() throws IOException {
+            if (!Files.exists(checkpoint)) {
+                return 0L;
+            }
+            String value = new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8).trim();
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException exception) {
+                throw new IllegalArgumentException("The checkpoint " + checkpoint + " is not valid: " + value);
+            }
+        }
+
+        private void writeCheckpoint(long offset) throws IOException {
+            Path temporary = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+            Files.write(temporary, Long.toString(offset).getBytes(StandardCharsets.UTF_8));
+            Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private static final class Chunk {
+
+        private final long end;
+
+        private final CompletableFuture<Void> future;
+
+        private Chunk(long end, CompletableFuture<Void> future) {
+            this.end = end;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Keeps the column values of the entities as they were read, so an update can write only the columns that
+ * changed since then. The entities are compared by identity and weakly referenced: an entity that is no longer
+ * used by the application is forgotten.
+ */
+final class CassandraChangeTracker {
+
+    private final Map<Key, Map<String, Object>> snapshots = new HashMap<>();
+
+    private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+
+    /**
+     * Keeps the values of the entity, replacing the previous ones
+     *
+     * @param entity the entity
+     * @param values the column values
+     * @throws NullPointerException when there is null parameter
+     */
+    synchronized void track(Object entity, Map<String, Object> values) {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(values, "values is required");
+        expunge();
+        snapshots.put(new Key(entity, queue), values);
+    }
+
+    /**
+     * @param entity the entity
+     * @return the values of the entity when it was tracked
+     */
+    synchronized Optional<Map<String, Object>> get(Object entity) {
+        Objects.requireNonNull(entity, "entity is required");
+        expunge();
+        return Optional.ofNullable(snapshots.get(new Key(entity, null)));
+    }
+
+    /**
+     * @return the number of tracked entities
+     */
+    synchronized int size() {
+        expunge();
+        return snapshots.size();
+    }
+
+    private void expunge() {
+        for (Object key = queue.poll(); Objects.nonNull(key); key = queue.poll()) {
+            snapshots.remove(key);
+        }
+    }
+
+    private static final class Key extends WeakReference<Object> {
+
+        private final int hash;
+
+        private Key(Object entity, ReferenceQueue<Object> queue) {
+            super(entity, queue);
+            this.hash = System.identityHashCode(entity);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Object entity = get();
+            return Objects.nonNull(entity) && entity == ((Key) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -15,11 +15,15 @@
 package org.eclipse.jnosql.mapping.cassandra.column;
 
 
+import com.datastax.oss.driver.api.core.cql.Row;
 import jakarta.nosql.mapping.Converters;
 import jakarta.nosql.mapping.column.ColumnEntityConverter;
 import org.eclipse.jnosql.mapping.reflection.ClassMappings;
 import org.eclipse.jnosql.mapping.reflection.FieldMapping;
 import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+import org.eclipse.jnosql.mapping.cassandra.converters.CompressedConverter;
+import org.eclipse.jnosql.mapping.cassandra.converters.CompressionMetrics;
 import org.eclipse.jnosql.mapping.column.AbstractColumnEntityConverter;
 import org.eclipse.jnosql.mapping.column.ColumnFieldValue;
 
@@ -28,13 +32,18 @@ import org.eclipse.jnosql.mapping.reflection.GenericFieldMapping;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.inject.Typed;
 import javax.inject.Inject;
+import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
-import java.util.stream.StreamSupport;
+import java.util.function.Function;
+
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.UNSET_NULLS;
 
 @ApplicationScoped
 @Typed(CassandraColumnEntityConverter.class)
@@ -46,6 +55,23 @@ class CassandraColumnEntityConverter extends AbstractColumnEntityConverter imple
     @Inject
     private Converters converters;
 
+    @Inject
+    private CassandraMappingSettings settings;
+
+    private final Map<Class<?>, Map<String, UDTFieldMapping>> udtFields = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, CassandraRowMapper<?>> rowMappers = new ConcurrentHashMap<>();
+
+    private final Map<String, CassandraRowMapper<?>> rowMappersByName = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, CassandraProjection<?>> projections = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Boolean> unsetNulls = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Optional<CassandraTimeBucket>> timeBuckets = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Map<String, CompressedConverter>> compressedFields = new ConcurrentHashMap<>();
+
 
     @Override
     protected ClassMappings getClassMappings() {
@@ -57,48 +83,203 @@ class CassandraColumnEntityConverter extends AbstractColumnEntityConverter imple
         return converters;
     }
 
+    @Override
+    public ColumnEntity toColumn(Object entityInstance) {
+        Objects.requireNonNull(entityInstance, "entity is required");
+        getTimeBucket(entityInstance.getClass()).ifPresent(b -> b.fill(entityInstance));
+        return super.toColumn(entityInstance);
+    }
+
     @Override
     protected <T> Consumer<String> feedObject(T instance, List<Column> columns, Map<String, FieldMapping> fieldsGroupByName) {
+        Map<String, UDTFieldMapping> udts = getUDTFields(instance.getClass());
+        Map<String, CompressedConverter> compressed = getCompressedFields(instance.getClass());
+        if (udts.isEmpty() && compressed.isEmpty()) {
+            return super.feedObject(instance, columns, fieldsGroupByName);
+        }
+        Map<String, Column> columnsByName = new HashMap<>(columns.size());
+        columns.forEach(c -> columnsByName.putIfAbsent(c.getName(), c));
+        Consumer<String> feed = super.feedObject(instance, columns, fieldsGroupByName);
         return k -> {
-            FieldMapping field = fieldsGroupByName.get(k);
-            if (Objects.nonNull(field.getNativeField().getAnnotation(UDT.class))) {
-                Optional<Column> column = columns.stream().filter(c -> c.getName().equals(k)).findFirst();
-                setUDTField(instance, column, field);
+            UDTFieldMapping udtField = udts.get(k);
+            CompressedConverter compression = compressed.get(k);
+            if (Objects.nonNull(udtField)) {
+                setUDTField(instance, columnsByName.get(k), udtField);
+            } else if (Objects.nonNull(compression)) {
+                setCompressedField(instance, columnsByName.get(k), fieldsGroupByName.get(k), compression);
             } else {
-                super.feedObject(instance, columns, fieldsGroupByName).accept(k);
+                feed.accept(k);
             }
         };
     }
 
-    private <T> void setUDTField(T instance, Optional<Column> column, FieldMapping field) {
-        if (column.isPresent() && org.eclipse.jnosql.communication.cassandra.column.UDT.class.isInstance(column.get())) {
-            org.eclipse.jnosql.communication.cassandra.column.UDT udt = org.eclipse.jnosql.communication.cassandra.column.UDT.class.cast(column.get());
+    private <T> void setUDTField(T instance, Column column, UDTFieldMapping udtField) {
+        if (org.eclipse.jnosql.communication.cassandra.column.UDT.class.isInstance(column)) {
+            org.eclipse.jnosql.communication.cassandra.column.UDT udt = org.eclipse.jnosql.communication.cassandra.column.UDT.class.cast(column);
             Object columns = udt.get();
-            if (StreamSupport.stream(Iterable.class.cast(columns).spliterator(), false).allMatch(Iterable.class::isInstance)) {
-                GenericFieldMapping genericField = GenericFieldMapping.class.cast(field);
-                Collection collection = genericField.getCollectionInstance();
-                List<List<Column>> embeddable = (List<List<Column>>) columns;
-                for (List<Column> columnList : embeddable) {
-                    Object element = toEntity(genericField.getElementType(), columnList);
-                    collection.add(element);
+            FieldMapping field = udtField.getField();
+            if (udtField.isLazy()) {
+                Class<?> type = udtField.getElementType();
+                field.write(instance, new CassandraUDTList<>(Iterable.class.cast(columns), c -> toEntity(type, c)));
+            } else if (udtField.isCollection()) {
+                Collection collection = GenericFieldMapping.class.cast(field).getCollectionInstance();
+                for (Object columnList : Iterable.class.cast(columns)) {
+                    collection.add(toEntity(udtField.getElementType(), (List<Column>) columnList));
                 }
                 field.write(instance, collection);
             } else {
-                Object value = toEntity(field.getNativeField().getType(), (List<Column>) columns);
+                Object value = toEntity(udtField.getElementType(), (List<Column>) columns);
                 field.write(instance, value);
             }
         }
     }
 
+    private <T> void setCompressedField(T instance, Column column, FieldMapping field,
+                                        CompressedConverter compression) {
+        if (Objects.isNull(column) || Objects.isNull(field)) {
+            return;
+        }
+        Object value = column.get();
+        if (byte[].class.isInstance(value)) {
+            value = ByteBuffer.wrap((byte[]) value);
+        }
+        field.write(instance, ByteBuffer.class.isInstance(value)
+                ? compression.convertToEntityAttribute((ByteBuffer) value) : value);
+    }
+
     @Override
     protected ColumnFieldValue to(FieldMapping field, Object entityInstance) {
 
-        Object value = field.read(entityInstance);
-        UDT annotation = field.getNativeField().getAnnotation(UDT.class);
-        if (Objects.isNull(annotation)) {
+        CompressedConverter compression = getCompressedFields(entityInstance.getClass()).get(field.getName());
+        if (Objects.nonNull(compression)) {
+            return new CassandraCompressedType(field.read(entityInstance), field, compression);
+        }
+        UDTFieldMapping udtField = getUDTFields(entityInstance.getClass()).get(field.getName());
+        if (Objects.isNull(udtField)) {
             return super.to(field, entityInstance);
         } else {
-            return new CassandraUDTType(annotation.value(), value, field);
+            Object value = field.read(entityInstance);
+            return new CassandraUDTType(udtField.getName(), value, field);
         }
     }
+
+    /**
+     * Converts the row of a dynamic query, the entity is found by the table name
+     *
+     * @param row the row
+     * @param <T> the entity type
+     * @return the entity
+     */
+    <T> T toEntity(Row row) {
+        return toEntity(CassandraRows.toColumnEntity(row));
+    }
+
+    /**
+     * Returns the mapper that converts the rows of the entity straight from the driver row
+     *
+     * @param type the entity type
+     * @param <T>  the entity type
+     * @return the mapper
+     */
+    <T> Function<Row, T> getRowMapper(Class<T> type) {
+        Objects.requireNonNull(type, "type is required");
+        return (Function<Row, T>) rowMappers.computeIfAbsent(type, t -> CassandraRowMapper.of(mappings.get(t),
+                r -> toEntity(t, CassandraRows.toColumnEntity(r))));
+    }
+
+    /**
+     * Returns the mapper that converts the rows of the entity straight from the driver row
+     *
+     * @param name the entity name
+     * @param <T>  the entity type
+     * @return the mapper
+     */
+    <T> Function<Row, T> getRowMapper(String name) {
+        Objects.requireNonNull(name, "name is required");
+        return (Function<Row, T>) rowMappersByName.computeIfAbsent(name,
+                n -> (CassandraRowMapper<?>) getRowMapper(mappings.findByName(n).getClassInstance()));
+    }
+
+    /**
+     * Returns the projection that builds the type from the columns it declares
+     *
+     * @param type the projection type
+     * @param <R>  the projection type
+     * @return the projection
+     * @throws IllegalArgumentException when the type cannot be a projection
+     */
+    <R> CassandraProjection<R> getProjection(Class<R> type) {
+        Objects.requireNonNull(type, "type is required");
+        return (CassandraProjection<R>) projections.computeIfAbsent(type, CassandraProjection::of);
+    }
+
+    /**
+     * Returns the {@link TimeBucket} field of the entity
+     *
+     * @param type the entity type
+     * @return the time bucket or {@link Optional#empty()} when the entity does not have one
+     * @throws IllegalArgumentException when the {@link TimeBucket} field is not valid
+     */
+    Optional<CassandraTimeBucket> getTimeBucket(Class<?> type) {
+        Objects.requireNonNull(type, "type is required");
+        return timeBuckets.computeIfAbsent(type, t -> CassandraTimeBucket.of(mappings.get(t)));
+    }
+
+    /**
+     * Returns the metrics of a {@link Compressed} field of the entity
+     *
+     * @param type  the entity type
+     * @param field the entity field name
+     * @return the metrics or {@link Optional#empty()} when the field is not {@link Compressed}
+     */
+    Optional<CompressionMetrics> getCompressionMetrics(Class<?> type, String field) {
+        Objects.requireNonNull(type, "type is required");
+        Objects.requireNonNull(field, "field is required");
+        Map<String, CompressedConverter> compressed = getCompressedFields(type);
+        return mappings.get(type).getFields().stream()
+                .filter(f -> f.getNativeField().getName().equals(field))
+                .findFirst()
+                .map(f -> compressed.get(f.getName()))
+                .map(CompressedConverter::getMetrics);
+    }
+
+    private Map<String, CompressedConverter> getCompressedFields(Class<?> type) {
+        return compressedFields.computeIfAbsent(type, t -> {
+            Map<String, CompressedConverter> fields = new HashMap<>();
+            for (FieldMapping field : mappings.get(t).getFields()) {
+                Compressed compressed = field.getNativeField().getAnnotation(Compressed.class);
+                if (Objects.isNull(compressed)) {
+                    continue;
+                }
+                Class<?> fieldType = field.getNativeField().getType();
+                if (!String.class.equals(fieldType) && !byte[].class.equals(fieldType)) {
+                    throw new IllegalArgumentException("The @Compressed field " + field.getName()
+                            + " must be a String or a byte[]");
+                }
+                fields.put(field.getName(), new CompressedConverter(compressed.threshold(), compressed.level()));
+            }
+            return fields;
+        });
+    }
+
+    /**
+     * Checks if a field of the entity that became null is left unset by the partial updates instead of written
+     * as null, from {@link UnsetNulls} or else {@link CassandraMappingConfigurations#UNSET_NULLS}
+     *
+     * @param type the entity type
+     * @return true when the null fields are left unset
+     */
+    boolean isUnsetNulls(Class<?> type) {
+        return unsetNulls.computeIfAbsent(type, t -> {
+            UnsetNulls annotation = t.getAnnotation(UnsetNulls.class);
+            if (Objects.nonNull(annotation)) {
+                return annotation.value();
+            }
+            return Objects.nonNull(settings) && settings.getBoolean(UNSET_NULLS, false);
+        });
+    }
+
+    private Map<String, UDTFieldMapping> getUDTFields(Class<?> type) {
+        return udtFields.computeIfAbsent(type, t -> UDTFieldMapping.of(mappings.get(t).getFieldsGroupByName()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import jakarta.nosql.column.Column;
+import jakarta.nosql.mapping.Converters;
+import jakarta.nosql.mapping.column.ColumnEntityConverter;
+import org.eclipse.jnosql.mapping.cassandra.converters.CompressedConverter;
+import org.eclipse.jnosql.mapping.column.ColumnFieldValue;
+import org.eclipse.jnosql.mapping.reflection.FieldMapping;
+
+import java.util.List;
+import java.util.Objects;
+
+import static java.util.Collections.singletonList;
+
+class CassandraCompressedType implements ColumnFieldValue {
+
+    private final Object value;
+
+    private final FieldMapping field;
+
+    private final CompressedConverter compression;
+
+    CassandraCompressedType(Object value, FieldMapping field, CompressedConverter compression) {
+        this.value = value;
+        this.field = Objects.requireNonNull(field, "field is required");
+        this.compression = Objects.requireNonNull(compression, "compression is required");
+    }
+
+    @Override
+    public Object getValue() {
+        return value;
+    }
+
+    @Override
+    public FieldMapping getField() {
+        return field;
+    }
+
+    @Override
+    public boolean isNotEmpty() {
+        return value != null;
+    }
+
+    @Override
+    public List<Column> toColumn(ColumnEntityConverter converter, Converters converters) {
+        return singletonList(Column.of(field.getName(), compression.convertToDatabaseColumn(value)));
+    }
+
+    @Override
+    public String toString() {
+        return "CassandraCompressedType{" +
+                "field=" + field +
+                '}';
+    }
+}
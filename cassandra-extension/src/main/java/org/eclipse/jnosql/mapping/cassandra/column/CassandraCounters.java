@@ -0,0 +1,469 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import jakarta.nosql.mapping.Converters;
+import org.eclipse.jnosql.mapping.cassandra.column.CassandraUpdates.Assignment;
+import org.eclipse.jnosql.mapping.cassandra.column.CassandraUpdates.Operation;
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.reflection.FieldMapping;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.BeforeDestroyed;
+import javax.enterprise.event.Observes;
+import javax.enterprise.event.Reception;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.BATCH_SIZE;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.COUNTER_FLUSH_INTERVAL;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.COUNTER_FLUSH_SIZE;
+
+/**
+ * Coalesces counter increments in memory and writes them as prepared counter batches, so thousands of increments
+ * of a hot counter become a single write. The increments of each (id, column) are summed in a
+ * {@link LongAdder}, which does not contend between threads. The pending increments are flushed every
+ * {@link CassandraMappingConfigurations#COUNTER_FLUSH_INTERVAL}, when there are more distinct counters than
+ * {@link CassandraMappingConfigurations#COUNTER_FLUSH_SIZE}, on {@link #flush()} and when the container shuts down.
+ * The increments of a failed flush are kept to the next one; as counter writes are not idempotent, a write that
+ * timed out might be applied twice. The rows written are removed from the {@link CassandraEntityCache}.
+ */
+@ApplicationScoped
+public class CassandraCounters {
+
+    private static final Logger LOGGER = Logger.getLogger(CassandraCounters.class.getName());
+
+    private static final long DEFAULT_FLUSH_INTERVAL = 1000L;
+
+    private static final int DEFAULT_FLUSH_SIZE = 10_000;
+
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    private final AtomicReference<Generation> current = new AtomicReference<>(new Generation());
+
+    private final Map<CounterField, CounterColumn> columns = new ConcurrentHashMap<>();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final LongAdder flushing = new LongAdder();
+
+    private Instance<CqlSession> session;
+
+    private CassandraPreparedStatementCache statements;
+
+    private ClassMappings mappings;
+
+    private Converters converters;
+
+    private CassandraEntityCache cache;
+
+    private ExecutorService executor;
+
+    private ScheduledExecutorService scheduler;
+
+    private int flushSize;
+
+    private int batchSize;
+
+    private volatile boolean closed;
+
+    @Inject
+    CassandraCounters(Instance<CqlSession> session, CassandraPreparedStatementCache statements,
+                      ClassMappings mappings, Converters converters, CassandraEntityCache cache,
+                      CassandraMappingSettings settings, CassandraExecutor executor) {
+        this.session = session;
+        this.statements = statements;
+        this.mappings = mappings;
+        this.converters = converters;
+        this.cache = cache;
+        this.executor = executor.get();
+        this.flushSize = settings.getInt(COUNTER_FLUSH_SIZE, DEFAULT_FLUSH_SIZE);
+        this.batchSize = settings.getInt(BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        long interval = settings.getLong(COUNTER_FLUSH_INTERVAL, DEFAULT_FLUSH_INTERVAL);
+        if (interval <= 0) {
+            throw new IllegalArgumentException("The counter flush interval must be positive: " + interval);
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jnosql-cassandra-counters");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    CassandraCounters() {
+    }
+
+    /**
+     * Adds the delta to a counter column of the row with the given id; it is written on the next flush. The id
+     * goes through the converter of the id field and must be the whole primary key of the entity.
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param id          the id
+     * @param field       the entity field name
+     * @param delta       the delta, a negative one decrements the counter
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the id does not identify a row or the field is not a number
+     * @throws IllegalStateException    when the container is shutting down
+     */
+    public <T, K> void increment(Class<T> entityClass, K id, String field, long delta) {
+        Objects.requireNonNull(entityClass, "entityClass is required");
+        Objects.requireNonNull(id, "id is required");
+        Objects.requireNonNull(field, "field is required");
+        if (closed) {
+            throw new IllegalStateException("The counters are closed");
+        }
+        CounterColumn column = columns.computeIfAbsent(new CounterField(entityClass, field), this::toColumn);
+        Object columnId = PrimaryKeys.toColumnId(column.mapping, converters, id);
+        if (add(new CounterKey(column, columnId, PrimaryKeys.toId(column.mapping, id)), delta, 1L)) {
+            requestFlush();
+        }
+    }
+
+    /**
+     * @return the number of increments that are not written yet
+     */
+    public long getPending() {
+        return current.get().increments.sum() + flushing.sum();
+    }
+
+    /**
+     * Writes the pending increments
+     *
+     * @throws RuntimeException the error of a write, the increments that were not written are kept
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Generation generation = current.getAndSet(new Generation());
+            generation.await();
+            long increments = generation.increments.sum();
+            flushing.add(increments);
+            try {
+                write(generation);
+            } finally {
+                flushing.add(-increments);
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    void close(@Observes(notifyObserver = Reception.IF_EXISTS) @BeforeDestroyed(ApplicationScoped.class) Object event) {
+        closed = true;
+        scheduler.shutdown();
+        flushQuietly();
+    }
+
+    private boolean add(CounterKey key, long delta, long increments) {
+        while (true) {
+            Generation generation = current.get();
+            generation.active.increment();
+            try {
+                if (generation == current.get()) {
+                    return generation.add(key, delta, increments, flushSize);
+                }
+            } finally {
+                generation.active.decrement();
+            }
+        }
+    }
+
+    private void write(Generation generation) {
+        Map<String, Map<Map<String, Object>, List<CounterKey>>> tables = new LinkedHashMap<>();
+        generation.cells.forEach((key, cell) -> {
+            if (cell.delta.sum() != 0) {
+                tables.computeIfAbsent(key.column.mapping.getName(), t -> new LinkedHashMap<>())
+                        .computeIfAbsent(Collections.singletonMap(key.column.id, key.id), r -> new ArrayList<>())
+                        .add(key);
+            }
+        });
+        List<Batch> batches = new ArrayList<>();
+        tables.forEach((table, rows) -> {
+            Batch batch = new Batch(table);
+            for (Map.Entry<Map<String, Object>, List<CounterKey>> row : rows.entrySet()) {
+                batch.rows.put(row.getKey(), row.getValue());
+                if (batch.rows.size() == batchSize) {
+                    batches.add(batch);
+                    batch = new Batch(table);
+                }
+            }
+            if (!batch.rows.isEmpty()) {
+                batches.add(batch);
+            }
+        });
+        for (int index = 0; index < batches.size(); index++) {
+            try {
+                CqlSession cqlSession = getSession();
+                cqlSession.execute(join(batches.get(index).toStatement(cqlSession, statements, generation)));
+                batches.get(index).rows.values().stream()
+                        .flatMap(List::stream)
+                        .forEach(k -> cache.invalidate(k.column.mapping.getName(), k.entityId, null));
+            } catch (RuntimeException exception) {
+                batches.subList(index, batches.size()).stream()
+                        .flatMap(b -> b.rows.values().stream())
+                        .flatMap(List::stream)
+                        .forEach(k -> {
+                            Cell cell = generation.cells.get(k);
+                            add(k, cell.delta.sum(), cell.count.sum());
+                        });
+                throw exception;
+            }
+        }
+    }
+
+    private CqlSession getSession() {
+        if (Objects.isNull(session) || !session.isResolvable()) {
+            throw new IllegalStateException("The counters require a CqlSession produced to the container");
+        }
+        return session.get();
+    }
+
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        flushQuietly();
+                    } finally {
+                        flushRequested.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException exception) {
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException exception) {
+            LOGGER.log(Level.WARNING, "Error when flushing the Cassandra counters, " + getPending()
+                    + " increments are pending", exception);
+        }
+    }
+
+    private CounterColumn toColumn(CounterField field) {
+        ClassMapping mapping = mappings.get(field.entity);
+        FieldMapping id = mapping.getId().orElseThrow(() -> new IllegalArgumentException(
+                "The entity " + field.entity + " does not have an id"));
+        List<String> primaryKey = PrimaryKeys.getColumns(mapping);
+        if (primaryKey.size() != 1) {
+            throw new IllegalArgumentException("The id alone does not identify a row of " + mapping.getName()
+                    + ", whose primary key is " + primaryKey);
+        }
+        FieldMapping column = mapping.getFields().stream()
+                .filter(f -> f.getNativeField().getName().equals(field.name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("The field " + field.name + " does not exist in "
+                        + field.entity));
+        Class<?> type = column.getNativeField().getType();
+        if (!Number.class.isAssignableFrom(type) && !long.class.equals(type) && !int.class.equals(type)) {
+            throw new IllegalArgumentException("The field " + field.name + " is not a counter");
+        }
+        return new CounterColumn(mapping, id.getName(), column.getName());
+    }
+
+    @Override
+    public String toString() {
+        return "CassandraCounters{" +
+                "pending=" + getPending() +
+                ", flushSize=" + flushSize +
+                ", batchSize=" + batchSize +
+                ", closed=" + closed +
+                '}';
+    }
+
+    /**
+     * The increments received between two flushes. The flush waits until no increment is being added to the
+     * generation it replaced before reading it.
+     */
+    private static final class Generation {
+
+        private final Map<CounterKey, Cell> cells = new ConcurrentHashMap<>();
+
+        private final LongAdder active = new LongAdder();
+
+        private final LongAdder increments = new LongAdder();
+
+        private boolean add(CounterKey key, long delta, long count, int flushSize) {
+            Cell cell = cells.get(key);
+            boolean full = false;
+            if (Objects.isNull(cell)) {
+                cell = cells.computeIfAbsent(key, k -> new Cell());
+                full = cells.size() >= flushSize;
+            }
+            cell.delta.add(delta);
+            cell.count.add(count);
+            increments.add(count);
+            return full;
+        }
+
+        private void await() {
+            while (active.sum() != 0) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static final class Cell {
+
+        private final LongAdder delta = new LongAdder();
+
+        private final LongAdder count = new LongAdder();
+    }
+
+    private static final class Batch {
+
+        private final String table;
+
+        private final Map<Map<String, Object>, List<CounterKey>> rows = new LinkedHashMap<>();
+
+        private Batch(String table) {
+            this.table = table;
+        }
+
+        private CompletableFuture<Statement<?>> toStatement(CqlSession session,
+                                                            CassandraPreparedStatementCache statements,
+                                                            Generation generation) {
+            Map<Map<String, Object>, List<Assignment>> assignments = new LinkedHashMap<>();
+            rows.forEach((row, keys) -> assignments.put(row, keys.stream()
+                    .map(k -> new Assignment(k.column.name, Operation.ADD, generation.cells.get(k).delta.sum()))
+                    .collect(Collectors.toList())));
+            return CassandraUpdates.toCounterStatement(session, statements, table, assignments, null)
+                    .toCompletableFuture();
+        }
+    }
+
+    private static final class CounterField {
+
+        private final Class<?> entity;
+
+        private final String name;
+
+        private CounterField(Class<?> entity, String name) {
+            this.entity = entity;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CounterField)) {
+                return false;
+            }
+            CounterField that = (CounterField) o;
+            return entity.equals(that.entity) && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entity, name);
+        }
+    }
+
+    private static final class CounterColumn {
+
+        private final ClassMapping mapping;
+
+        private final String id;
+
+        private final String name;
+
+        private CounterColumn(ClassMapping mapping, String id, String name) {
+            this.mapping = mapping;
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    /**
+     * A counter cell, whose id is already converted to the value of the id column. The id as the type of the id
+     * field keys the cached row and is not compared.
+     */
+    private static final class CounterKey {
+
+        private final CounterColumn column;
+
+        private final Object id;
+
+        private final Object entityId;
+
+        private CounterKey(CounterColumn column, Object id, Object entityId) {
+            this.column = column;
+            this.id = id;
+            this.entityId = entityId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CounterKey)) {
+                return false;
+            }
+            CounterKey that = (CounterKey) o;
+            return column == that.column && id.equals(that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(column) + id.hashCode();
+        }
+    }
+}
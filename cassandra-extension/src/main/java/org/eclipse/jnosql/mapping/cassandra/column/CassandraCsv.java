@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Parses and writes the records of a CSV file as RFC 4180 describes them: the fields are separated by commas,
+ * and a field within double quotes can have commas, line breaks and doubled double quotes.
+ */
+final class CassandraCsv {
+
+    private static final char SEPARATOR = ',';
+
+    private static final char QUOTE = '"';
+
+    private CassandraCsv() {
+    }
+
+    /**
+     * Checks whether the record has all of its quoted fields closed, otherwise it continues in the next line
+     *
+     * @param record the record read so far
+     * @return true when the record is complete
+     */
+    static boolean isComplete(CharSequence record) {
+        Objects.requireNonNull(record, "record is required");
+        boolean quoted = false;
+        for (int index = 0; index < record.length(); index++) {
+            if (record.charAt(index) == QUOTE) {
+                quoted = !quoted;
+            }
+        }
+        return !quoted;
+    }
+
+    /**
+     * Splits the record into its fields
+     *
+     * @param record the record
+     * @return the fields, an empty field that is not quoted is null
+     * @throws IllegalArgumentException when a quoted field is not closed or is followed by other characters
+     */
+    static List<String> parse(String record) {
+        Objects.requireNonNull(record, "record is required");
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int index = 0;
+        while (true) {
+            if (index < record.length() && record.charAt(index) == QUOTE) {
+                index = readQuoted(record, index + 1, field);
+                fields.add(field.toString());
+            } else {
+                int end = record.indexOf(SEPARATOR, index);
+                end = end < 0 ? record.length() : end;
+                fields.add(end == index ? null : record.substring(index, end));
+                index = end;
+            }
+            field.setLength(0);
+            if (index >= record.length()) {
+                return fields;
+            }
+            if (record.charAt(index) != SEPARATOR) {
+                throw new IllegalArgumentException("The quoted field is followed by " + record.charAt(index)
+                        + " at " + index + " in the record: " + record);
+            }
+            index++;
+            if (index == record.length()) {
+                fields.add(null);
+                return fields;
+            }
+        }
+    }
+
+    /**
+     * Appends a field, quoting it when it is empty or has a comma, a double quote or a line break, so it is not
+     * read back as null or as several fields
+     *
+     * @param record the record being written
+     * @param field  the field, null is written as an empty field
+     */
+    static void write(StringBuilder record, String field) {
+        Objects.requireNonNull(record, "record is required");
+        if (Objects.isNull(field)) {
+            return;
+        }
+        boolean plain = field.chars().noneMatch(c -> c == SEPARATOR || c == QUOTE || c == '\n' || c == '\r');
+        if (plain && !field.isEmpty()) {
+            record.append(field);
+            return;
+        }
+        record.append(QUOTE);
+        for (int index = 0; index < field.length(); index++) {
+            char value = field.charAt(index);
+            if (value == QUOTE) {
+                record.append(QUOTE);
+            }
+            record.append(value);
+        }
+        record.append(QUOTE);
+    }
+
+    private static int readQuoted(String record, int start, StringBuilder field) {
+        int index = start;
+        while (index < record.length()) {
+            char value = record.charAt(index);
+            if (value == QUOTE) {
+                if (index + 1 < record.length() && record.charAt(index + 1) == QUOTE) {
+                    field.append(QUOTE);
+                    index += 2;
+                    continue;
+                }
+                return index + 1;
+            }
+            field.append(value);
+            index++;
+        }
+        throw new IllegalArgumentException("The quoted field is not closed in the record: " + record);
+    }
+}
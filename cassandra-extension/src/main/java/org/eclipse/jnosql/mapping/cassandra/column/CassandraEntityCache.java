@@ -0,0 +1,459 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import jakarta.nosql.column.ColumnEntity;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.ENTITY_CACHE_SIZE;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.ENTITY_CACHE_TTL;
+
+/**
+ * A size-bounded near cache of the rows read by {@link CassandraTemplate#find(Class, Object)}, keyed by entity
+ * name and id. It keeps the {@link ColumnEntity}, so each hit returns a new entity instance.
+ * <p>
+ * Once the cache is full, a new row is admitted only when its key was looked up more often than the least
+ * recently used one, which is then evicted. The frequencies are estimated by a count-min sketch that halves
+ * its counters periodically, so keys that are no longer popular stop competing.
+ * <p>
+ * A row lives at most {@link CassandraMappingConfigurations#ENTITY_CACHE_TTL}, and no longer than the TTL of
+ * its last save with a TTL through the template, when that save was admitted as the other rows. The TTL of a
+ * row written out of the template is not known, so its cached copy might outlive it by up to
+ * {@link CassandraMappingConfigurations#ENTITY_CACHE_TTL}.
+ * <p>
+ * {@link CassandraTemplate}, {@link CassandraTemplateAsync}, {@link CassandraCounters} and
+ * {@link CassandraBulkLoader} remove the rows they write, and a CQL write through the templates removes the rows
+ * of its table, or every row when the table is not known; a read that started before such a write is not cached.
+ * The writes out of them require {@link #invalidateAll()}.
+ */
+@ApplicationScoped
+public class CassandraEntityCache {
+
+    static final long DEFAULT_TTL = 60_000L;
+
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+
+    private static final Pattern READ = Pattern.compile("^\\s*SELECT\\s", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern WRITE = Pattern.compile("^\\s*(?:INSERT\\s+INTO|UPDATE|DELETE\\s.*?\\bFROM"
+            + "|TRUNCATE(?:\\s+TABLE)?)\\s+(?:\"?\\w+\"?\\.)?\"?(\\w+)\"?", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder rejections = new LongAdder();
+
+    private final int maxSize;
+
+    private final long maxAge;
+
+    private final LongSupplier ticker;
+
+    private final Map<Key, Entry> entries;
+
+    private final FrequencySketch sketch;
+
+    private long stamp;
+
+    @Inject
+    CassandraEntityCache(CassandraMappingSettings settings) {
+        this(settings.getInt(ENTITY_CACHE_SIZE, 0),
+                Duration.ofMillis(settings.getLong(ENTITY_CACHE_TTL, DEFAULT_TTL)), System::nanoTime);
+    }
+
+    CassandraEntityCache(int maxSize, Duration maxAge, LongSupplier ticker) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("The entity cache size cannot be negative: " + maxSize);
+        }
+        Objects.requireNonNull(maxAge, "maxAge is required");
+        if (maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("The entity cache TTL must be positive: " + maxAge);
+        }
+        this.maxSize = maxSize;
+        this.maxAge = maxAge.toNanos();
+        this.ticker = Objects.requireNonNull(ticker, "ticker is required");
+        this.entries = new LinkedHashMap<>(16, 0.75F, true);
+        this.sketch = new FrequencySketch(Math.max(maxSize, 1));
+    }
+
+    CassandraEntityCache(int maxSize) {
+        this(maxSize, Duration.ofMillis(DEFAULT_TTL), System::nanoTime);
+    }
+
+    CassandraEntityCache() {
+        this(0);
+    }
+
+    /**
+     * @return true when {@link CassandraMappingConfigurations#ENTITY_CACHE_SIZE} is positive
+     */
+    boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Returns the mark to give back to {@link #put(Object, ColumnEntity, long)} taken before the read,
+     * so a row read while a write happened is not cached.
+     *
+     * @return the current mark
+     */
+    synchronized long stamp() {
+        return stamp;
+    }
+
+    /**
+     * Finds the row of the entity
+     *
+     * @param entity the entity name
+     * @param id     the id
+     * @return the row when it is in the cache and has not expired
+     */
+    synchronized Optional<ColumnEntity> get(String entity, Object id) {
+        Key key = new Key(entity, id);
+        sketch.increment(key);
+        Entry entry = entries.get(key);
+        long now = ticker.getAsLong();
+        if (Objects.nonNull(entry) && Objects.nonNull(entry.value) && !passed(entry.expiresAt, now)) {
+            hits.increment();
+            return Optional.of(entry.value);
+        }
+        misses.increment();
+        if (Objects.nonNull(entry)) {
+            expire(key, entry, now);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Adds the row read, unless a write happened since the stamp was taken or the row is not admitted
+     *
+     * @param id    the id
+     * @param row   the row
+     * @param stamp the {@link #stamp()} taken before the read
+     */
+    synchronized void put(Object id, ColumnEntity row, long stamp) {
+        Objects.requireNonNull(row, "row is required");
+        if (!isEnabled() || stamp != this.stamp) {
+            return;
+        }
+        Key key = new Key(row.getName(), id);
+        long now = ticker.getAsLong();
+        Entry entry = entries.get(key);
+        if (Objects.isNull(entry)) {
+            if (!admit(key, now)) {
+                rejections.increment();
+                return;
+            }
+            entry = new Entry(NO_DEADLINE);
+            entries.put(key, entry);
+        }
+        entry.value = row;
+        entry.expiresAt = entry.deadline == NO_DEADLINE ? now + maxAge : Math.min(now + maxAge, entry.deadline);
+    }
+
+    /**
+     * Removes the row of the entity written through the template
+     *
+     * @param entity the entity name
+     * @param id     the id
+     * @param ttl    the TTL the row was written with, it might be null
+     */
+    synchronized void invalidate(String entity, Object id, Duration ttl) {
+        if (!isEnabled()) {
+            return;
+        }
+        stamp++;
+        Key key = new Key(entity, id);
+        Entry entry = entries.get(key);
+        if (Objects.isNull(ttl)) {
+            if (Objects.nonNull(entry) && !clear(entry)) {
+                entries.remove(key);
+            }
+            return;
+        }
+        long now = ticker.getAsLong();
+        long deadline = now + ttl.toNanos();
+        if (Objects.isNull(entry)) {
+            if (admit(key, now)) {
+                entries.put(key, new Entry(deadline));
+            }
+        } else {
+            entry.value = null;
+            entry.deadline = entry.deadline == NO_DEADLINE ? deadline : Math.min(entry.deadline, deadline);
+        }
+    }
+
+    /**
+     * Removes the rows of the entity, whose name is compared ignoring case as an unquoted CQL identifier
+     *
+     * @param entity the entity name
+     */
+    synchronized void invalidateAll(String entity) {
+        if (!isEnabled()) {
+            return;
+        }
+        stamp++;
+        entries.entrySet().removeIf(e -> e.getKey().entity.equalsIgnoreCase(entity) && !clear(e.getValue()));
+    }
+
+    /**
+     * Removes the rows of the table the CQL writes to, or every row when it is a write whose table is not known,
+     * such as a batch
+     *
+     * @param query the CQL executed, a query that only reads changes nothing
+     */
+    void invalidateWrittenBy(String query) {
+        if (!isEnabled() || Objects.isNull(query) || READ.matcher(query).find()) {
+            return;
+        }
+        Matcher write = WRITE.matcher(query);
+        if (write.find()) {
+            invalidateAll(write.group(1));
+        } else {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Removes every row, e.g. after the tables were changed out of the template
+     */
+    public synchronized void invalidateAll() {
+        stamp++;
+        entries.values().removeIf(e -> !clear(e));
+    }
+
+    /**
+     * @return the number of lookups that found the row
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that went to the database
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the fraction of the lookups that found the row, zero when there was none
+     */
+    public double getHitRatio() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0D : (double) hit / total;
+    }
+
+    /**
+     * @return the number of rows removed to admit another one
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of rows read that were not admitted because they are less popular than the cached ones
+     */
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * @return the number of keys in the cache
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean admit(Key candidate, long now) {
+        if (entries.size() < maxSize) {
+            return true;
+        }
+        if (purge(now)) {
+            return true;
+        }
+        Map.Entry<Key, Entry> victim = entries.entrySet().iterator().next();
+        if (sketch.frequency(candidate) <= sketch.frequency(victim.getKey())) {
+            return false;
+        }
+        entries.remove(victim.getKey());
+        evictions.increment();
+        return true;
+    }
+
+    private boolean purge(long now) {
+        return entries.values().removeIf(e -> passed(e.deadline, now)
+                || e.deadline == NO_DEADLINE && (Objects.isNull(e.value) || passed(e.expiresAt, now)));
+    }
+
+    private void expire(Key key, Entry entry, long now) {
+        if (entry.deadline == NO_DEADLINE || passed(entry.deadline, now)) {
+            entries.remove(key);
+        } else {
+            entry.value = null;
+        }
+    }
+
+    /**
+     * Drops the row but keeps the deadline of the entry
+     *
+     * @return true when the entry still has a deadline to keep
+     */
+    private static boolean clear(Entry entry) {
+        entry.value = null;
+        return entry.deadline != NO_DEADLINE;
+    }
+
+    private static boolean passed(long time, long now) {
+        return time != NO_DEADLINE && now - time >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return "CassandraEntityCache{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", rejections=" + rejections +
+                ", size=" + size() +
+                '}';
+    }
+
+    private static final class Entry {
+
+        private ColumnEntity value;
+
+        private long expiresAt;
+
+        private long deadline;
+
+        private Entry(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+
+    private static final class Key {
+
+        private final String entity;
+
+        private final Object id;
+
+        private Key(String entity, Object id) {
+            this.entity = Objects.requireNonNull(entity, "entity is required");
+            this.id = Objects.requireNonNull(id, "id is required");
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return entity.equals(key.entity) && id.equals(key.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * entity.hashCode() + id.hashCode();
+        }
+    }
+
+    /**
+     * A count-min sketch of four rows of 4-bit counters. Every counter is halved once the number of increments
+     * reaches ten times the cache size, so the old frequencies decay.
+     */
+    private static final class FrequencySketch {
+
+        private static final int MAX_COUNT = 15;
+
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+        private final byte[][] counters;
+
+        private final int mask;
+
+        private final int sampleSize;
+
+        private int increments;
+
+        private FrequencySketch(int maxSize) {
+            int width = Integer.highestOneBit(Math.max(maxSize, 8) * 2 - 1);
+            this.counters = new byte[SEEDS.length][width];
+            this.mask = width - 1;
+            this.sampleSize = maxSize * 10;
+        }
+
+        private void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int row = 0; row < SEEDS.length; row++) {
+                int index = index(hash, row);
+                if (counters[row][index] < MAX_COUNT) {
+                    counters[row][index]++;
+                    added = true;
+                }
+            }
+            if (added && ++increments >= sampleSize) {
+                reset();
+            }
+        }
+
+        private int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < SEEDS.length; row++) {
+                frequency = Math.min(frequency, counters[row][index(hash, row)]);
+            }
+            return frequency;
+        }
+
+        private void reset() {
+            for (byte[] row : counters) {
+                for (int index = 0; index < row.length; index++) {
+                    row[index] >>= 1;
+                }
+            }
+            increments /= 2;
+        }
+
+        private int index(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % SEEDS.length];
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private static int spread(int hash) {
+            int h = hash * 0x45D9F3B;
+            return h ^ (h >>> 16);
+        }
+    }
+}
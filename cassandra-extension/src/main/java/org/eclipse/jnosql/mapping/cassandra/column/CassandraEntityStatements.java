@@ -0,0 +1,368 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.type.codec.CodecNotFoundException;
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.reflection.FieldMapping;
+import org.eclipse.jnosql.mapping.reflection.FieldType;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.STATEMENT_WARM_UP;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.STATEMENT_WARM_UP_TIMEOUT;
+
+/**
+ * The INSERT, UPDATE, DELETE and SELECT by id statements of each entity, prepared once when the container starts,
+ * so {@link CassandraTemplate} only binds and executes them on its insert, save, update, delete and find by id.
+ * The warm-up is enabled by {@link CassandraMappingConfigurations#STATEMENT_WARM_UP}; the container waits for it
+ * at most {@link CassandraMappingConfigurations#STATEMENT_WARM_UP_TIMEOUT} milliseconds and
+ * {@link #isReady()} is false until every statement is either prepared or failed. An entity whose statements are
+ * not prepared, or whose values the statements cannot bind, is written and read as before. The SELECT and DELETE
+ * by id are prepared only when the id is the whole primary key. Like the query they replace, the INSERT without a
+ * TTL and the UPDATE write with the default TTL of the table.
+ */
+@ApplicationScoped
+public class CassandraEntityStatements {
+
+    private static final Logger LOGGER = Logger.getLogger(CassandraEntityStatements.class.getName());
+
+    private static final long DEFAULT_TIMEOUT = 10_000L;
+
+    private final Map<String, Statements> statements = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    private Instance<CqlSession> session;
+
+    private ClassMappings mappings;
+
+    private boolean enabled;
+
+    private long timeout;
+
+    @Inject
+    CassandraEntityStatements(Instance<CqlSession> session, ClassMappings mappings,
+                              CassandraMappingSettings settings) {
+        this.session = session;
+        this.mappings = mappings;
+        this.enabled = settings.getBoolean(STATEMENT_WARM_UP, false);
+        this.timeout = settings.getLong(STATEMENT_WARM_UP_TIMEOUT, DEFAULT_TIMEOUT);
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("The statement warm-up timeout must be positive: " + timeout);
+        }
+    }
+
+    CassandraEntityStatements() {
+    }
+
+    /**
+     * @return true when the warm-up finished, or when it is not enabled
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return the number of entities whose statements are prepared
+     */
+    public int size() {
+        return statements.size();
+    }
+
+    /**
+     * Prepares the statements of the entities in parallel, waiting for them at most the warm-up timeout
+     *
+     * @param entities the entity types
+     * @throws NullPointerException when entities is null
+     */
+    void warmUp(Collection<Class<?>> entities) {
+        Objects.requireNonNull(entities, "entities is required");
+        if (!enabled || entities.isEmpty()) {
+            ready = true;
+            return;
+        }
+        if (!session.isResolvable()) {
+            LOGGER.warning("The statement warm-up requires a CqlSession produced to the container");
+            ready = true;
+            return;
+        }
+        CqlSession cqlSession = session.get();
+        long start = System.nanoTime();
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (Class<?> entity : entities) {
+            ClassMapping mapping = mappings.get(entity);
+            Optional<Queries> queries = Queries.of(mapping);
+            if (!queries.isPresent()) {
+                continue;
+            }
+            Queries cql = queries.get();
+            CompletableFuture<PreparedStatement> insert = prepare(cqlSession, cql.insert);
+            CompletableFuture<PreparedStatement> update = prepare(cqlSession, cql.update);
+            CompletableFuture<PreparedStatement> select = prepare(cqlSession, cql.select);
+            CompletableFuture<PreparedStatement> delete = prepare(cqlSession, cql.delete);
+            futures.add(CompletableFuture.allOf(insert, update, select, delete).handle((v, error) -> {
+                if (Objects.isNull(error)) {
+                    statements.put(mapping.getName(), new Statements(cql, insert.join(), update.join(),
+                            select.join(), delete.join()));
+                } else {
+                    LOGGER.log(Level.WARNING, "The statements of " + mapping.getName() + " were not prepared",
+                            error);
+                }
+                return null;
+            }));
+        }
+        CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+        all.whenComplete((v, e) -> {
+            ready = true;
+            LOGGER.info("Prepared the statements of " + statements.size() + " entities in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        });
+        try {
+            all.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            LOGGER.warning("The statement warm-up did not finish in " + timeout + " ms, it goes on in background");
+        } catch (ExecutionException exception) {
+            LOGGER.log(Level.WARNING, "The statement warm-up failed", exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Binds the insert of the entity; the columns it does not have are left unset
+     *
+     * @param entity the entity
+     * @param ttl    the ttl, it might be null, then the TTL is left unset so the table default applies
+     * @param level  the consistency level, it might be null
+     * @return the statement, or empty when it is not prepared or cannot bind the entity
+     */
+    Optional<BoundStatement> toInsert(ColumnEntity entity, Duration ttl, ConsistencyLevel level) {
+        Statements prepared = statements.get(entity.getName());
+        if (Objects.isNull(prepared) || !CassandraInserts.isSupported(entity)) {
+            return Optional.empty();
+        }
+        Map<String, Object> values = toValues(entity);
+        if (!prepared.queries.columns.containsAll(values.keySet())) {
+            return Optional.empty();
+        }
+        List<Object> bound = new ArrayList<>(prepared.queries.columns.size() + 1);
+        prepared.queries.columns.forEach(c -> bound.add(values.getOrDefault(c, CassandraBinding.UNSET)));
+        bound.add(Objects.isNull(ttl) ? CassandraBinding.UNSET : (int) ttl.getSeconds());
+        return bind(prepared.insert, bound, level);
+    }
+
+    /**
+     * Binds the update of the entity; the columns it does not have are left unchanged and the columns it writes
+     * take the default TTL of the table
+     *
+     * @param entity the entity
+     * @param level  the consistency level, it might be null
+     * @return the statement, or empty when it is not prepared, cannot bind the entity or a key is missing
+     */
+    Optional<BoundStatement> toUpdate(ColumnEntity entity, ConsistencyLevel level) {
+        Statements prepared = statements.get(entity.getName());
+        if (Objects.isNull(prepared) || !CassandraInserts.isSupported(entity)) {
+            return Optional.empty();
+        }
+        Map<String, Object> values = toValues(entity);
+        if (!prepared.queries.columns.containsAll(values.keySet())
+                || prepared.queries.keys.stream().anyMatch(k -> Objects.isNull(values.get(k)))) {
+            return Optional.empty();
+        }
+        List<Object> bound = new ArrayList<>(prepared.queries.columns.size());
+        prepared.queries.values.forEach(c -> bound.add(values.getOrDefault(c, CassandraBinding.UNSET)));
+        prepared.queries.keys.forEach(k -> bound.add(values.get(k)));
+        return bind(prepared.update, bound, level);
+    }
+
+    /**
+     * Binds the select by id
+     *
+     * @param mapping the entity mapping
+     * @param id      the id, already converted to its column value
+     * @return the statement, or empty when it is not prepared or the id is not the whole primary key
+     */
+    Optional<BoundStatement> toSelect(ClassMapping mapping, Object id) {
+        Statements prepared = statements.get(mapping.getName());
+        if (Objects.isNull(prepared) || Objects.isNull(prepared.select)) {
+            return Optional.empty();
+        }
+        return bind(prepared.select, Collections.singletonList(id), null);
+    }
+
+    /**
+     * Binds the delete by id
+     *
+     * @param mapping the entity mapping
+     * @param id      the id, already converted to its column value
+     * @return the statement, or empty when it is not prepared or the id is not the whole primary key
+     */
+    Optional<BoundStatement> toDelete(ClassMapping mapping, Object id) {
+        Statements prepared = statements.get(mapping.getName());
+        if (Objects.isNull(prepared) || Objects.isNull(prepared.delete)) {
+            return Optional.empty();
+        }
+        return bind(prepared.delete, Collections.singletonList(id), null);
+    }
+
+    private Optional<BoundStatement> bind(PreparedStatement prepared, List<Object> values, ConsistencyLevel level) {
+        BoundStatement statement;
+        try {
+            statement = CassandraBinding.bind(session.get(), prepared, values);
+        } catch (CodecNotFoundException exception) {
+            return Optional.empty();
+        }
+        return Optional.of(Objects.isNull(level) ? statement : statement.setConsistencyLevel(level));
+    }
+
+    private static Map<String, Object> toValues(ColumnEntity entity) {
+        Map<String, Object> values = new HashMap<>();
+        for (Column column : entity.getColumns()) {
+            values.put(column.getName(), column.get());
+        }
+        return values;
+    }
+
+    private static CompletableFuture<PreparedStatement> prepare(CqlSession session, String query) {
+        if (Objects.isNull(query)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return session.prepareAsync(query).toCompletableFuture();
+    }
+
+    /**
+     * The CQL texts of an entity with the order of their bind markers
+     */
+    static final class Queries {
+
+        private final List<String> columns;
+
+        private final List<String> keys;
+
+        private final List<String> values;
+
+        private final String insert;
+
+        private final String update;
+
+        private final String select;
+
+        private final String delete;
+
+        private Queries(List<String> columns, List<String> keys, String table) {
+            this.columns = columns;
+            this.keys = keys;
+            this.values = columns.stream().filter(c -> !keys.contains(c)).collect(Collectors.toList());
+            this.insert = "INSERT INTO " + table + columns.stream().map(CassandraInserts::toIdentifier)
+                    .collect(Collectors.joining(", ", " (", ")"))
+                    + columns.stream().map(c -> "?").collect(Collectors.joining(", ", " VALUES (", ")"))
+                    + " USING TTL ?";
+            this.update = "UPDATE " + table + " SET "
+                    + values.stream().map(c -> CassandraInserts.toIdentifier(c) + " = ?")
+                    .collect(Collectors.joining(", "))
+                    + keys.stream().map(c -> CassandraInserts.toIdentifier(c) + " = ?")
+                    .collect(Collectors.joining(" AND ", " WHERE ", ""));
+            String id = keys.size() == 1 ? " WHERE " + CassandraInserts.toIdentifier(keys.get(0)) + " = ?" : null;
+            this.select = Objects.isNull(id) ? null : "SELECT * FROM " + table + id;
+            this.delete = Objects.isNull(id) ? null : "DELETE FROM " + table + id;
+        }
+
+        /**
+         * Generates the queries of the entity
+         *
+         * @param mapping the entity mapping
+         * @return the queries, or empty when the entity has no id or no column besides its keys
+         */
+        static Optional<Queries> of(ClassMapping mapping) {
+            if (!mapping.getId().isPresent()) {
+                return Optional.empty();
+            }
+            List<String> columns = mapping.getFields().stream()
+                    .filter(f -> f.getType() != FieldType.EMBEDDED)
+                    .map(FieldMapping::getName)
+                    .collect(Collectors.toList());
+            List<String> keys = PrimaryKeys.getColumns(mapping);
+            if (!columns.containsAll(keys) || columns.size() == keys.size()) {
+                return Optional.empty();
+            }
+            return Optional.of(new Queries(columns, keys, CassandraInserts.toIdentifier(mapping.getName())));
+        }
+
+        String getInsert() {
+            return insert;
+        }
+
+        String getUpdate() {
+            return update;
+        }
+
+        Optional<String> getSelect() {
+            return Optional.ofNullable(select);
+        }
+
+        Optional<String> getDelete() {
+            return Optional.ofNullable(delete);
+        }
+    }
+
+    private static final class Statements {
+
+        private final Queries queries;
+
+        private final PreparedStatement insert;
+
+        private final PreparedStatement update;
+
+        private final PreparedStatement select;
+
+        private final PreparedStatement delete;
+
+        private Statements(Queries queries, PreparedStatement insert, PreparedStatement update,
+                           PreparedStatement select, PreparedStatement delete) {
+            this.queries = queries;
+            this.insert = insert;
+            this.update = update;
+            this.select = select;
+            this.delete = delete;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.BeforeDestroyed;
+import javax.enterprise.event.Observes;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The executor shared by the operations that run several blocking Cassandra requests at once. Each operation
+ * bounds how many of its tasks are in flight, so this executor does not need a bound on its own.
+ */
+@ApplicationScoped
+class CassandraExecutor {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(new CassandraThreadFactory());
+
+    ExecutorService get() {
+        return executor;
+    }
+
+    void shutdown(@Observes @BeforeDestroyed(ApplicationScoped.class) Object event) {
+        executor.shutdown();
+    }
+
+    private static class CassandraThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "jnosql-cassandra-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
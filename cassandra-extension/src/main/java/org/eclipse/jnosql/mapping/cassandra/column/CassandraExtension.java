@@ -15,11 +15,15 @@
 package org.eclipse.jnosql.mapping.cassandra.column;
 
 
+import jakarta.nosql.mapping.Entity;
+
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.spi.AfterBeanDiscovery;
+import javax.enterprise.inject.spi.AfterDeploymentValidation;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.Extension;
 import javax.enterprise.inject.spi.ProcessAnnotatedType;
+import javax.enterprise.inject.spi.WithAnnotations;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collection;
@@ -32,6 +36,8 @@ public class CassandraExtension implements Extension {
 
     private final Collection<Class<?>> crudTypes = new HashSet<>();
 
+    private final Collection<Class<?>> entities = new HashSet<>();
+
     <T extends CassandraRepository> void onProcessAnnotatedType(@Observes final ProcessAnnotatedType<T> repo) {
         Class<T> javaClass = repo.getAnnotatedType().getJavaClass();
 
@@ -45,7 +51,12 @@ public class CassandraExtension implements Extension {
         }
     }
 
-
+    <T> void onProcessEntity(@Observes @WithAnnotations(Entity.class) final ProcessAnnotatedType<T> entity) {
+        Class<T> javaClass = entity.getAnnotatedType().getJavaClass();
+        if (javaClass.isAnnotationPresent(Entity.class) && !Modifier.isAbstract(javaClass.getModifiers())) {
+            entities.add(javaClass);
+        }
+    }
 
     void onAfterBeanDiscovery(@Observes final AfterBeanDiscovery afterBeanDiscovery, final BeanManager beanManager) {
         LOGGER.info("Starting the onAfterBeanDiscovery with elements number: " + crudTypes.size());
@@ -54,4 +65,10 @@ public class CassandraExtension implements Extension {
 
         LOGGER.info("Finished the onAfterBeanDiscovery");
     }
+
+    void onAfterDeploymentValidation(@Observes final AfterDeploymentValidation afterDeploymentValidation,
+                                     final BeanManager beanManager) {
+        LOGGER.info("Starting the statement warm-up with entities number: " + entities.size());
+        beanManager.createInstance().select(CassandraEntityStatements.class).get().warmUp(entities);
+    }
 }
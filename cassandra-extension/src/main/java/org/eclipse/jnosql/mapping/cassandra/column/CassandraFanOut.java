@@ -0,0 +1,160 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates the rows of several queries, with at most the given number of them in flight. The queries are only
+ * executed as the rows are consumed, and each one is read a driver page at a time, fetching its next page while
+ * the current one is consumed, so neither the queries nor their rows are buffered as a whole. The rows of each
+ * query come together, with the queries either in their order or in the order their first page arrives.
+ */
+final class CassandraFanOut implements Iterator<Row> {
+
+    private final CqlSession session;
+
+    private final Iterator<? extends Statement<?>> queries;
+
+    private final int concurrency;
+
+    private final boolean ordered;
+
+    private final Deque<CompletableFuture<AsyncResultSet>> started = new ArrayDeque<>();
+
+    private final BlockingQueue<CompletableFuture<AsyncResultSet>> completed = new LinkedBlockingQueue<>();
+
+    private int running;
+
+    private Iterator<Row> page = Collections.emptyIterator();
+
+    private CompletableFuture<AsyncResultSet> nextPage;
+
+    private CassandraFanOut(CqlSession session, Iterator<? extends Statement<?>> queries, int concurrency,
+                            boolean ordered) {
+        this.session = session;
+        this.queries = queries;
+        this.concurrency = concurrency;
+        this.ordered = ordered;
+    }
+
+    /**
+     * @param session     the session
+     * @param queries     the queries, which are only taken as the rows are consumed
+     * @param concurrency the maximum number of queries in flight
+     * @param ordered     when true the rows come in the order of the queries, otherwise in the order they arrive
+     * @return the rows of the queries
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when concurrency is not positive
+     */
+    static Stream<Row> of(CqlSession session, Iterator<? extends Statement<?>> queries, int concurrency,
+                          boolean ordered) {
+        Objects.requireNonNull(session, "session is required");
+        Objects.requireNonNull(queries, "queries is required");
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("The concurrency must be positive: " + concurrency);
+        }
+        CassandraFanOut rows = new CassandraFanOut(session, queries, concurrency, ordered);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED
+                | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!page.hasNext()) {
+            if (Objects.nonNull(nextPage)) {
+                CompletableFuture<AsyncResultSet> fetching = nextPage;
+                nextPage = null;
+                open(join(fetching));
+                continue;
+            }
+            start();
+            if (running == 0) {
+                return false;
+            }
+            open(join(take()));
+        }
+        return true;
+    }
+
+    @Override
+    public Row next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("There are no more rows");
+        }
+        return page.next();
+    }
+
+    private void open(AsyncResultSet resultSet) {
+        page = resultSet.currentPage().iterator();
+        if (resultSet.hasMorePages()) {
+            nextPage = resultSet.fetchNextPage().toCompletableFuture();
+        }
+    }
+
+    private void start() {
+        while (running < concurrency && queries.hasNext()) {
+            CompletableFuture<AsyncResultSet> query = session.executeAsync(queries.next()).toCompletableFuture();
+            running++;
+            if (ordered) {
+                started.add(query);
+            } else {
+                query.whenComplete((r, e) -> completed.add(query));
+            }
+        }
+    }
+
+    private CompletableFuture<AsyncResultSet> take() {
+        running--;
+        if (ordered) {
+            return started.poll();
+        }
+        try {
+            return completed.take();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The queries were interrupted", exception);
+        }
+    }
+
+    private static AsyncResultSet join(CompletableFuture<AsyncResultSet> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The file formats of {@link CassandraBulkLoader} and {@link CassandraUnloader}.
+ */
+public enum CassandraFileFormat {
+
+    /**
+     * Comma-separated values whose first record has the column names. An empty field that is not quoted is null.
+     */
+    CSV,
+    /**
+     * A JSON object per line, whose fields are the columns.
+     */
+    JSON_LINES;
+
+    /**
+     * Finds the format by the file extension: {@code .csv}, {@code .jsonl} or {@code .ndjson}
+     *
+     * @param file the file
+     * @return the format
+     * @throws IllegalArgumentException when the extension is not known
+     */
+    public static CassandraFileFormat of(Path file) {
+        Objects.requireNonNull(file, "file is required");
+        String name = String.valueOf(file.getFileName()).toLowerCase(Locale.ENGLISH);
+        if (name.endsWith(".csv")) {
+            return CSV;
+        } else if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        throw new IllegalArgumentException("The format of the file is not known: " + file);
+    }
+}
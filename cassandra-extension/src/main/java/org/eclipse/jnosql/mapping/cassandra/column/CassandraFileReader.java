@@ -0,0 +1,129 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Reads the UTF-8 lines of a file through a {@link FileChannel} and a reused direct buffer, keeping the offset
+ * of the byte that follows the last line read, so a reader can be opened again at that position.
+ * A line ends with {@code \n}, and a {@code \r} before it is dropped.
+ */
+final class CassandraFileReader implements Closeable {
+
+    static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private byte[] line = new byte[256];
+
+    private long position;
+
+    private CassandraFileReader(FileChannel channel, long position, int bufferSize) {
+        this.channel = channel;
+        this.position = position;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.buffer.flip();
+    }
+
+    /**
+     * Opens the file at the given offset
+     *
+     * @param file     the file
+     * @param position the offset of the first byte to read, it must be the start of a line
+     * @return the reader
+     * @throws IOException when the file cannot be opened
+     */
+    static CassandraFileReader of(Path file, long position) throws IOException {
+        return of(file, position, BUFFER_SIZE);
+    }
+
+    static CassandraFileReader of(Path file, long position, int bufferSize) throws IOException {
+        Objects.requireNonNull(file, "file is required");
+        if (position < 0) {
+            throw new IllegalArgumentException("The position cannot be negative: " + position);
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(position);
+        return new CassandraFileReader(channel, position, bufferSize);
+    }
+
+    /**
+     * Reads the next line
+     *
+     * @return the line without its terminator, or null at the end of the file
+     * @throws IOException when the file cannot be read
+     */
+    String next() throws IOException {
+        int length = 0;
+        boolean read = false;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int count = channel.read(buffer);
+                buffer.flip();
+                if (count < 0) {
+                    return read ? toString(length) : null;
+                }
+                continue;
+            }
+            read = true;
+            byte value = buffer.get();
+            position++;
+            if (value == '\n') {
+                return toString(length);
+            }
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = value;
+        }
+    }
+
+    /**
+     * @return the offset of the byte that follows the last line read
+     */
+    long getPosition() {
+        return position;
+    }
+
+    /**
+     * @return the size of the file
+     * @throws IOException when the file cannot be read
+     */
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    private String toString(int length) {
+        int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+        return new String(line, 0, end, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes UTF-8 records to a file through a {@link FileChannel}. Each task encodes its records into the
+ * {@link Buffer} it holds, a reused direct buffer that is written to the channel only with whole records, so the
+ * records of several tasks never interleave.
+ */
+final class CassandraFileWriter implements Closeable {
+
+    private final FileChannel channel;
+
+    private final int bufferSize;
+
+    private final LongAdder bytes = new LongAdder();
+
+    private CassandraFileWriter(FileChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Creates the file, replacing it when it exists
+     *
+     * @param file the file
+     * @return the writer
+     * @throws IOException when the file cannot be created
+     */
+    static CassandraFileWriter of(Path file) throws IOException {
+        return of(file, CassandraFileReader.BUFFER_SIZE);
+    }
+
+    static CassandraFileWriter of(Path file, int bufferSize) throws IOException {
+        Objects.requireNonNull(file, "file is required");
+        return new CassandraFileWriter(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING), bufferSize);
+    }
+
+    /**
+     * Creates a buffer to be used by a single task at a time
+     *
+     * @return the buffer
+     */
+    Buffer newBuffer() {
+        return new Buffer();
+    }
+
+    /**
+     * @return the number of bytes written to the file
+     */
+    long getBytes() {
+        return bytes.sum();
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        synchronized (channel) {
+            while (buffer.hasRemaining()) {
+                bytes.add(channel.write(buffer));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * The records of a thread waiting to be written
+     */
+    final class Buffer {
+
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        private Buffer() {
+        }
+
+        /**
+         * Adds a record, writing the buffered ones first when it does not fit
+         *
+         * @param record the record with its line terminator
+         * @throws IOException when the file cannot be written
+         */
+        void write(CharSequence record) throws IOException {
+            int mark = buffer.position();
+            if (encode(record)) {
+                return;
+            }
+            buffer.position(mark);
+            flush();
+            encode(record);
+        }
+
+        /**
+         * Writes the buffered records to the file
+         *
+         * @throws IOException when the file cannot be written
+         */
+        void flush() throws IOException {
+            buffer.flip();
+            CassandraFileWriter.this.write(buffer);
+            buffer.clear();
+        }
+
+        /**
+         * Encodes the record into the buffer or, when it is larger than the buffer, writes it on its own
+         *
+         * @return false when it does not fit after the buffered records
+         */
+        private boolean encode(CharSequence record) throws IOException {
+            int mark = buffer.position();
+            encoder.reset();
+            CoderResult result = encoder.encode(CharBuffer.wrap(record), buffer, true);
+            if (!result.isOverflow()) {
+                result = encoder.flush(buffer);
+            }
+            if (!result.isOverflow()) {
+                return true;
+            }
+            if (mark > 0) {
+                return false;
+            }
+            buffer.clear();
+            CassandraFileWriter.this.write(StandardCharsets.UTF_8.encode(CharBuffer.wrap(record)));
+            return true;
+        }
+    }
+}
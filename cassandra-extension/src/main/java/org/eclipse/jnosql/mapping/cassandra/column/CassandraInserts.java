@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+import org.eclipse.jnosql.communication.cassandra.column.UDT;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.StreamSupport;
+
+/**
+ * Builds the CQL inserts of {@link ColumnEntity} without an UDT or an embedded entity, so that several of them can
+ * go in a single batch statement. Each insert is prepared once per table and set of columns, and its values are
+ * bound by the types of the table columns.
+ */
+final class CassandraInserts {
+
+    private CassandraInserts() {
+    }
+
+    /**
+     * Checks if every value of the entity can be bound as it is; an UDT or an embedded entity cannot.
+     *
+     * @param entity the entity
+     * @return true when the entity can be written by
+     * {@link #toStatement(CqlSession, CassandraPreparedStatementCache, List, Duration, ConsistencyLevel)}
+     */
+    static boolean isSupported(ColumnEntity entity) {
+        return entity.getColumns().stream().allMatch(CassandraInserts::isSupported);
+    }
+
+    private static boolean isSupported(Column column) {
+        if (UDT.class.isInstance(column)) {
+            return false;
+        }
+        Object value = column.get();
+        if (Iterable.class.isInstance(value)) {
+            return StreamSupport.stream(Iterable.class.cast(value).spliterator(), false)
+                    .noneMatch(Column.class::isInstance);
+        }
+        return true;
+    }
+
+    /**
+     * Creates the statement that inserts the entities: a single bound insert or an unlogged batch of them. The
+     * driver routes the batch by the partition key of its first insert.
+     *
+     * @param session    the session
+     * @param statements the cache of the prepared inserts
+     * @param entities   the entities, each one supported by {@link #isSupported(ColumnEntity)}
+     * @param ttl        the ttl, it might be null, then the TTL is left unset so the table default applies
+     * @param level      the consistency level, it might be null
+     * @return the statement, once its inserts are prepared
+     * @throws IllegalArgumentException when entities is empty
+     */
+    static CompletionStage<Statement<?>> toStatement(CqlSession session, CassandraPreparedStatementCache statements,
+                                                     List<ColumnEntity> entities, Duration ttl,
+                                                     ConsistencyLevel level) {
+        if (entities.isEmpty()) {
+            throw new IllegalArgumentException("At least one entity is required");
+        }
+        Object seconds = Objects.isNull(ttl) ? CassandraBinding.UNSET : Math.toIntExact(ttl.getSeconds());
+        List<String> queries = new ArrayList<>(entities.size());
+        List<List<Object>> values = new ArrayList<>(entities.size());
+        for (ColumnEntity entity : entities) {
+            List<Object> entityValues = new ArrayList<>(entity.size() + 1);
+            queries.add(toCQL(entity, entityValues));
+            entityValues.add(seconds);
+            values.add(entityValues);
+        }
+        return CassandraBinding.toStatement(session, statements, BatchType.UNLOGGED, queries, values, level);
+    }
+
+    /**
+     * Generates the insert of the columns the entity has, with a bind marker to the ttl after the values
+     *
+     * @param entity the entity
+     * @param values where the column values are added in the order of their bind markers
+     * @return the CQL text
+     */
+    static String toCQL(ColumnEntity entity, List<Object> values) {
+        StringJoiner names = new StringJoiner(", ", " (", ")");
+        StringJoiner markers = new StringJoiner(", ", " VALUES (", ")");
+        for (Column column : entity.getColumns()) {
+            names.add(toIdentifier(column.getName()));
+            markers.add("?");
+            values.add(column.get());
+        }
+        return "INSERT INTO " + toIdentifier(entity.getName()) + names + markers + " USING TTL ?";
+    }
+
+    static String toIdentifier(String name) {
+        return CqlIdentifier.fromCql(name).asCql(true);
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Parses and writes the JSON objects of a JSON lines file. An object becomes a {@link Map} in the order of its
+ * fields, an array a {@link List}, an integral number a {@link Long} when it fits and a {@link BigDecimal}
+ * otherwise.
+ */
+final class CassandraJson {
+
+    private final String json;
+
+    private int index;
+
+    private CassandraJson(String json) {
+        this.json = json;
+    }
+
+    /**
+     * Parses a JSON object
+     *
+     * @param json the JSON text
+     * @return the object fields
+     * @throws IllegalArgumentException when the text is not a JSON object
+     */
+    static Map<String, Object> parse(String json) {
+        Objects.requireNonNull(json, "json is required");
+        CassandraJson parser = new CassandraJson(json);
+        parser.skipWhitespace();
+        if (parser.peek() != '{') {
+            throw parser.error("A JSON object was expected");
+        }
+        Map<String, Object> object = parser.readObject();
+        parser.skipWhitespace();
+        if (parser.index < json.length()) {
+            throw parser.error("Unexpected content after the JSON object");
+        }
+        return object;
+    }
+
+    /**
+     * Appends the value as JSON: a {@link Map} as an object, an {@link Iterable} as an array, a finite
+     * {@link Number} and a {@link Boolean} as themselves and any other value as the string of its
+     * {@link Object#toString()}
+     *
+     * @param json  the JSON being written
+     * @param value the value, it might be null
+     */
+    static void write(StringBuilder json, Object value) {
+        Objects.requireNonNull(json, "json is required");
+        if (Objects.isNull(value)) {
+            json.append("null");
+        } else if (value instanceof Boolean || value instanceof Number && isFinite((Number) value)) {
+            json.append(value);
+        } else if (value instanceof Map) {
+            json.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                writeString(json, String.valueOf(entry.getKey()));
+                json.append(':');
+                write(json, entry.getValue());
+            }
+            json.append('}');
+        } else if (value instanceof Iterable) {
+            json.append('[');
+            boolean first = true;
+            for (Object element : (Iterable<?>) value) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                write(json, element);
+            }
+            json.append(']');
+        } else {
+            writeString(json, value.toString());
+        }
+    }
+
+    private static void writeString(StringBuilder json, String value) {
+        json.append('"');
+        for (int index = 0; index < value.length(); index++) {
+            char current = value.charAt(index);
+            switch (current) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (current < 0x20) {
+                        json.append(String.format("\\u%04x", (int) current));
+                    } else {
+                        json.append(current);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    private static boolean isFinite(Number number) {
+        if (number instanceof Double || number instanceof Float) {
+            return Double.isFinite(number.doubleValue());
+        }
+        return true;
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+        char value = peek();
+        switch (value) {
+            case '{':
+                return readObject();
+            case '[':
+                return readArray();
+            case '"':
+                return readString();
+            case 't':
+                return readLiteral("true", Boolean.TRUE);
+            case 'f':
+                return readLiteral("false", Boolean.FALSE);
+            case 'n':
+                return readLiteral("null", null);
+            default:
+                return readNumber();
+        }
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        index++;
+        skipWhitespace();
+        if (peek() == '}') {
+            index++;
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("A field name was expected");
+            }
+            String name = readString();
+            skipWhitespace();
+            expect(':');
+            object.put(name, readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                index++;
+            } else {
+                expect('}');
+                return object;
+            }
+        }
+    }
+
+    private List<Object> readArray() {
+        List<Object> array = new ArrayList<>();
+        index++;
+        skipWhitespace();
+        if (peek() == ']') {
+            index++;
+            return array;
+        }
+        while (true) {
+            array.add(readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                index++;
+            } else {
+                expect(']');
+                return array;
+            }
+        }
+    }
+
+    private String readString() {
+        StringBuilder value = new StringBuilder();
+        index++;
+        while (index < json.length()) {
+            char current = json.charAt(index++);
+            if (current == '"') {
+                return value.toString();
+            }
+            if (current != '\\') {
+                value.append(current);
+                continue;
+            }
+            char escaped = peek();
+            index++;
+            switch (escaped) {
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'u':
+                    if (index + 4 > json.length()) {
+                        throw error("An unicode escape was expected");
+                    }
+                    value.append((char) Integer.parseInt(json.substring(index, index + 4), 16));
+                    index += 4;
+                    break;
+                default:
+                    value.append(escaped);
+            }
+        }
+        throw error("The string is not closed");
+    }
+
+    private Object readLiteral(String literal, Object value) {
+        if (!json.startsWith(literal, index)) {
+            throw error("Unexpected value");
+        }
+        index += literal.length();
+        return value;
+    }
+
+    private Object readNumber() {
+        int start = index;
+        while (index < json.length() && "+-0123456789.eE".indexOf(json.charAt(index)) >= 0) {
+            index++;
+        }
+        if (start == index) {
+            throw error("Unexpected value");
+        }
+        BigDecimal number = new BigDecimal(json.substring(start, index));
+        if (number.scale() <= 0) {
+            try {
+                return number.longValueExact();
+            } catch (ArithmeticException exception) {
+                return number;
+            }
+        }
+        return number;
+    }
+
+    private void expect(char value) {
+        if (peek() != value) {
+            throw error("The character " + value + " was expected");
+        }
+        index++;
+    }
+
+    private char peek() {
+        if (index >= json.length()) {
+            throw error("Unexpected end of the JSON");
+        }
+        return json.charAt(index);
+    }
+
+    private void skipWhitespace() {
+        while (index < json.length() && Character.isWhitespace(json.charAt(index))) {
+            index++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at " + index + " in the JSON: " + json);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import java.util.function.Supplier;
+
+/**
+ * The keys to tune the Cassandra mapping extension. Each value is read from a {@link jakarta.nosql.Settings}
+ * available to the container and then from the system properties.
+ */
+public enum CassandraMappingConfigurations implements Supplier<String> {
+
+    /**
+     * The maximum number of distinct CQL texts whose prepared statements are kept by
+     * {@link CassandraPreparedStatementCache}.
+     */
+    PREPARED_STATEMENT_CACHE_SIZE("jnosql.cassandra.prepared.statement.cache.size"),
+    /**
+     * When true, {@link CassandraTemplate#cql(String, java.util.Map)} prepares the named query once and then only
+     * binds the values by position. The default is false.
+     */
+    PREPARED_NAMED_PARAMETERS("jnosql.cassandra.prepared.named.parameters"),
+    /**
+     * When true, {@link CassandraTemplate#save(Iterable, com.datastax.oss.driver.api.core.ConsistencyLevel)} and
+     * {@link CassandraTemplate#save(Iterable, java.time.Duration, com.datastax.oss.driver.api.core.ConsistencyLevel)}
+     * group the entities by partition key and send each group as unlogged batches. The default is false.
+     */
+    BATCH_SAVE("jnosql.cassandra.batch.save"),
+    /**
+     * The maximum number of inserts in a single unlogged batch. The default is 50.
+     */
+    BATCH_SIZE("jnosql.cassandra.batch.size"),
+    /**
+     * The maximum number of batches in flight during a single batched save. The default is 8.
+     */
+    BATCH_CONCURRENCY("jnosql.cassandra.batch.concurrency"),
+    /**
+     * The maximum number of requests in flight on the session through {@link CassandraTemplateAsync}; the requests
+     * beyond it are queued until one completes. The default is 1024.
+     */
+    ASYNC_MAX_REQUESTS("jnosql.cassandra.async.max.requests"),
+    /**
+     * The number of rows in each page fetched by the {@link java.util.concurrent.Flow.Publisher} operations of
+     * {@link CassandraTemplate}. The default is 5000.
+     */
+    FETCH_SIZE("jnosql.cassandra.fetch.size"),
+    /**
+     * When true, the {@link CQL} methods of a {@link CassandraRepository} are prepared when the repository is
+     * created, so a malformed query fails at that moment. The default is false.
+     */
+    REPOSITORY_PREPARE("jnosql.cassandra.repository.prepare"),
+    /**
+     * When true, a field that became null is left unset by the partial updates instead of written as null, and so
+     * are the null params of {@link CassandraTemplate#cql(String, Object...)}, so they do not create tombstones.
+     * An entity can override it with {@link UnsetNulls}. The default is false.
+     */
+    UNSET_NULLS("jnosql.cassandra.unset.nulls"),
+    /**
+     * When true, {@link CassandraTemplate} keeps the column values of the entities it reads and saves, so its
+     * update writes only the changed columns. The default is false.
+     */
+    CHANGE_TRACKING("jnosql.cassandra.change.tracking"),
+    /**
+     * The interval in milliseconds between the flushes of {@link CassandraCounters}. The default is 1000.
+     */
+    COUNTER_FLUSH_INTERVAL("jnosql.cassandra.counter.flush.interval"),
+    /**
+     * The number of distinct counters pending in {@link CassandraCounters} that triggers a flush before the
+     * interval. The default is 10000.
+     */
+    COUNTER_FLUSH_SIZE("jnosql.cassandra.counter.flush.size"),
+    /**
+     * The maximum number of rows kept by {@link CassandraEntityCache} for
+     * {@link CassandraTemplate#find(Class, Object)}. The default is 0, which disables the cache.
+     */
+    ENTITY_CACHE_SIZE("jnosql.cassandra.entity.cache.size"),
+    /**
+     * The time in milliseconds a row stays in {@link CassandraEntityCache} after it was read. The default is 60000.
+     */
+    ENTITY_CACHE_TTL("jnosql.cassandra.entity.cache.ttl"),
+    /**
+     * The maximum number of batches in flight during a {@link CassandraBulkLoader} load. The default is 16.
+     */
+    LOAD_CONCURRENCY("jnosql.cassandra.load.concurrency"),
+    /**
+     * The maximum number of rows per second written by a {@link CassandraBulkLoader} load. The default is 0,
+     * which means no limit.
+     */
+    LOAD_RATE("jnosql.cassandra.load.rate"),
+    /**
+     * When true, the INSERT, UPDATE, DELETE and SELECT by id statements of every entity are prepared by
+     * {@link CassandraEntityStatements} when the container starts. The default is false.
+     */
+    STATEMENT_WARM_UP("jnosql.cassandra.statement.warm.up"),
+    /**
+     * The maximum time in milliseconds the container start waits for the statement warm-up. The default is 10000.
+     */
+    STATEMENT_WARM_UP_TIMEOUT("jnosql.cassandra.statement.warm.up.timeout"),
+    /**
+     * The maximum number of queries in flight during a single
+     * {@link CassandraTemplate#findByIds(Class, Iterable, boolean)}. The default is 32.
+     */
+    FIND_BY_IDS_CONCURRENCY("jnosql.cassandra.find.by.ids.concurrency"),
+    /**
+     * The maximum number of bucket queries in flight during a single
+     * {@link CassandraTemplate#findByTimeRange(Class, java.util.Map, java.time.Instant, java.time.Instant)}.
+     * The default is 16.
+     */
+    TIME_BUCKET_CONCURRENCY("jnosql.cassandra.time.bucket.concurrency"),
+    /**
+     * The maximum number of buckets a single
+     * {@link CassandraTemplate#findByTimeRange(Class, java.util.Map, java.time.Instant, java.time.Instant)} queries,
+     * a wider range is refused. The default is 10000.
+     */
+    TIME_BUCKET_MAX_BUCKETS("jnosql.cassandra.time.bucket.max.buckets"),
+    /**
+     * The maximum number of chunk writes in flight, and of chunks fetched ahead of a read, in a single
+     * {@link CassandraBlobs} operation. The default is 4.
+     */
+    BLOB_CONCURRENCY("jnosql.cassandra.blob.concurrency");
+
+    private final String value;
+
+    CassandraMappingConfigurations(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public String get() {
+        return value;
+    }
+}
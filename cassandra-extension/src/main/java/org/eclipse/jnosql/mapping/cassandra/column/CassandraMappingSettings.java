@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import jakarta.nosql.Settings;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Reads the {@link CassandraMappingConfigurations} from the {@link Settings} produced to the container,
+ * falling back to the system properties.
+ */
+@ApplicationScoped
+class CassandraMappingSettings {
+
+    @Inject
+    private Instance<Settings> settings;
+
+    int getInt(CassandraMappingConfigurations configuration, int defaultValue) {
+        return get(configuration).map(Integer::valueOf).orElse(defaultValue);
+    }
+
+    long getLong(CassandraMappingConfigurations configuration, long defaultValue) {
+        return get(configuration).map(Long::valueOf).orElse(defaultValue);
+    }
+
+    boolean getBoolean(CassandraMappingConfigurations configuration, boolean defaultValue) {
+        return get(configuration).map(Boolean::valueOf).orElse(defaultValue);
+    }
+
+    private Optional<String> get(CassandraMappingConfigurations configuration) {
+        Objects.requireNonNull(configuration, "configuration is required");
+        String key = configuration.get();
+        if (Objects.nonNull(settings) && settings.isResolvable()) {
+            Object value = settings.get().getOrDefault(key, null);
+            if (Objects.nonNull(value)) {
+                return Optional.of(value.toString().trim());
+            }
+        }
+        return Optional.ofNullable(System.getProperty(key)).map(String::trim);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A cold {@link Flow.Publisher} of the rows of a query. Each subscription executes the query and keeps a single
+ * driver page in memory: the next page is only fetched when the current one is consumed and the subscriber still
+ * has demand. A subscription action, such as firing the query event, runs on each subscription; when it fails
+ * the subscriber receives its error and the query is not executed.
+ *
+ * @param <T> the element type
+ */
+final class CassandraPagePublisher<T> implements Flow.Publisher<T> {
+
+    private final Supplier<CompletionStage<AsyncResultSet>> query;
+
+    private final Function<Row, T> mapper;
+
+    private final Runnable subscribed;
+
+    CassandraPagePublisher(Supplier<CompletionStage<AsyncResultSet>> query, Function<Row, T> mapper) {
+        this(query, mapper, () -> {
+        });
+    }
+
+    CassandraPagePublisher(Supplier<CompletionStage<AsyncResultSet>> query, Function<Row, T> mapper,
+                           Runnable subscribed) {
+        this.query = Objects.requireNonNull(query, "query is required");
+        this.mapper = Objects.requireNonNull(mapper, "mapper is required");
+        this.subscribed = Objects.requireNonNull(subscribed, "subscribed is required");
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber is required");
+        PageSubscription subscription = new PageSubscription(subscriber);
+        try {
+            subscribed.run();
+        } catch (RuntimeException exception) {
+            subscription.error = exception;
+        }
+        subscriber.onSubscribe(subscription);
+        if (Objects.nonNull(subscription.error)) {
+            subscription.drain();
+        }
+    }
+
+    private final class PageSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private final AtomicInteger work = new AtomicInteger();
+
+        private volatile boolean cancelled;
+
+        private volatile boolean fetching;
+
+        private volatile Throwable error;
+
+        private boolean started;
+
+        private AsyncResultSet resultSet;
+
+        private Iterator<Row> page;
+
+        private PageSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("The request must be positive: " + n);
+            } else {
+                requested.accumulateAndGet(n, (current, add) -> {
+                    long sum = current + add;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void onPage(AsyncResultSet next, Throwable exception) {
+            if (Objects.nonNull(exception)) {
+                error = exception;
+            } else {
+                resultSet = next;
+                page = next.currentPage().iterator();
+            }
+            fetching = false;
+            drain();
+        }
+
+        private void drain() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                if (cancelled) {
+                    return;
+                }
+                if (Objects.nonNull(error)) {
+                    cancelled = true;
+                    subscriber.onError(error);
+                    return;
+                }
+                if (!fetching) {
+                    if (!started) {
+                        if (requested.get() > 0) {
+                            started = true;
+                            fetch(query);
+                        }
+                    } else {
+                        while (requested.get() > 0 && page.hasNext() && !cancelled) {
+                            T element;
+                            try {
+                                element = mapper.apply(page.next());
+                            } catch (RuntimeException exception) {
+                                cancelled = true;
+                                subscriber.onError(exception);
+                                return;
+                            }
+                            subscriber.onNext(element);
+                            requested.decrementAndGet();
+                        }
+                        if (!page.hasNext() && !cancelled) {
+                            if (!resultSet.hasMorePages()) {
+                                cancelled = true;
+                                subscriber.onComplete();
+                                return;
+                            }
+                            if (requested.get() > 0) {
+                                fetch(resultSet::fetchNextPage);
+                            }
+                        }
+                    }
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void fetch(Supplier<CompletionStage<AsyncResultSet>> next) {
+            fetching = true;
+            CompletionStage<AsyncResultSet> stage;
+            try {
+                stage = next.get();
+            } catch (RuntimeException exception) {
+                stage = CompletableFuture.failedFuture(exception);
+            }
+            stage.whenComplete(this::onPage);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.SchemaChangeListener;
+import com.datastax.oss.driver.api.core.metadata.schema.SchemaChangeListenerBase;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.UserDefinedType;
+import org.eclipse.jnosql.communication.cassandra.column.CassandraPreparedStatement;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.PREPARED_STATEMENT_CACHE_SIZE;
+
+/**
+ * A size-bounded cache of {@link CassandraPreparedStatement} keyed by the CQL text, used by
+ * {@link CassandraTemplate#cql(String, Object...)} so that repeated queries only bind and execute.
+ * A {@link CassandraPreparedStatement} keeps the values it was bound to, so an instance is lent to one caller
+ * at a time and a few idle instances are kept per query. The least recently used queries are evicted once
+ * {@link CassandraMappingConfigurations#PREPARED_STATEMENT_CACHE_SIZE} is reached.
+ * <p>
+ * It also keeps the driver {@link PreparedStatement} of the statements the extension generates, such as the
+ * batch inserts; those are immutable, so a single one is shared by every caller.
+ */
+@ApplicationScoped
+public class CassandraPreparedStatementCache {
+
+    static final int DEFAULT_MAX_SIZE = 500;
+
+    private static final int MAX_IDLE_PER_QUERY = 16;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final Map<String, Deque<CassandraPreparedStatement>> statements;
+
+    private final Map<String, NamedCQL> namedQueries;
+
+    private final Map<String, CompletableFuture<PreparedStatement>> prepared;
+
+    private long generation;
+
+    @Inject
+    CassandraPreparedStatementCache(CassandraMappingSettings settings) {
+        this(settings.getInt(PREPARED_STATEMENT_CACHE_SIZE, DEFAULT_MAX_SIZE));
+    }
+
+    CassandraPreparedStatementCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The prepared statement cache size must be positive: " + maxSize);
+        }
+        this.statements = new LinkedHashMap<String, Deque<CassandraPreparedStatement>>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Deque<CassandraPreparedStatement>> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.namedQueries = new LinkedHashMap<String, NamedCQL>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, NamedCQL> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.prepared = new LinkedHashMap<String, CompletableFuture<PreparedStatement>>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<PreparedStatement>> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    CassandraPreparedStatementCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Borrows a prepared statement to the query, preparing it when there is no idle one, applies the action and
+     * gives the statement back to the cache.
+     *
+     * @param query   the CQL text
+     * @param prepare prepares the query when the cache does not have an idle statement to it
+     * @param action  the action that binds and executes the statement
+     * @param <T>     the result type
+     * @return the action result
+     * @throws NullPointerException when there is a null parameter
+     */
+    <T> T apply(String query, Function<String, CassandraPreparedStatement> prepare,
+                Function<CassandraPreparedStatement, T> action) {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(prepare, "prepare is required");
+        Objects.requireNonNull(action, "action is required");
+
+        CassandraPreparedStatement statement;
+        long borrowedAt;
+        synchronized (this) {
+            borrowedAt = generation;
+            Deque<CassandraPreparedStatement> idle = statements.get(query);
+            statement = Objects.isNull(idle) ? null : idle.pollFirst();
+        }
+        if (Objects.isNull(statement)) {
+            misses.increment();
+            statement = prepare.apply(query);
+        } else {
+            hits.increment();
+        }
+        try {
+            return action.apply(statement);
+        } finally {
+            release(query, statement, borrowedAt);
+        }
+    }
+
+    /**
+     * Returns the query with its named markers resolved to bind positions, parsing it only once.
+     *
+     * @param query the CQL text with named markers
+     * @return the parsed query
+     * @throws NullPointerException when query is null
+     */
+    synchronized NamedCQL toNamedCQL(String query) {
+        Objects.requireNonNull(query, "query is required");
+        return namedQueries.computeIfAbsent(query, NamedCQL::parse);
+    }
+
+    /**
+     * Prepares the query on the session without blocking, or returns the statement it was already prepared to.
+     * A preparation that fails is not kept, so the next call tries again.
+     *
+     * @param session the session
+     * @param query   the CQL text
+     * @return the prepared statement
+     * @throws NullPointerException when there is a null parameter
+     */
+    CompletionStage<PreparedStatement> prepare(CqlSession session, String query) {
+        Objects.requireNonNull(session, "session is required");
+        Objects.requireNonNull(query, "query is required");
+        CompletableFuture<PreparedStatement> statement;
+        synchronized (this) {
+            statement = prepared.get(query);
+            if (Objects.nonNull(statement)) {
+                hits.increment();
+                return statement;
+            }
+            misses.increment();
+            statement = session.prepareAsync(query).toCompletableFuture();
+            prepared.put(query, statement);
+        }
+        CompletableFuture<PreparedStatement> preparing = statement;
+        statement.whenComplete((p, error) -> {
+            if (Objects.nonNull(error)) {
+                synchronized (this) {
+                    prepared.remove(query, preparing);
+                }
+            }
+        });
+        return statement;
+    }
+
+    private synchronized void release(String query, CassandraPreparedStatement statement, long borrowedAt) {
+        if (borrowedAt != generation) {
+            return;
+        }
+        Deque<CassandraPreparedStatement> idle = statements.computeIfAbsent(query, k -> new ArrayDeque<>());
+        if (idle.size() < MAX_IDLE_PER_QUERY) {
+            idle.offerFirst(statement);
+        }
+    }
+
+    /**
+     * Removes the prepared statements of the query
+     *
+     * @param query the CQL text
+     * @throws NullPointerException when query is null
+     */
+    public synchronized void invalidate(String query) {
+        Objects.requireNonNull(query, "query is required");
+        statements.remove(query);
+        prepared.remove(query);
+    }
+
+    /**
+     * Removes every prepared statement, e.g. after a schema change. The statements lent at this moment are
+     * discarded when given back.
+     */
+    public synchronized void invalidateAll() {
+        statements.clear();
+        namedQueries.clear();
+        prepared.clear();
+        generation++;
+    }
+
+    /**
+     * Creates a {@link SchemaChangeListener} that invalidates this cache when a keyspace, table or UDT changes.
+     * Register it on the session builder with {@code CqlSession.builder().withSchemaChangeListener(...)}.
+     *
+     * @return the listener
+     */
+    public SchemaChangeListener toSchemaChangeListener() {
+        return new SchemaChangeListenerBase() {
+            @Override
+            public void onKeyspaceDropped(KeyspaceMetadata keyspace) {
+                invalidateAll();
+            }
+
+            @Override
+            public void onTableDropped(TableMetadata table) {
+                invalidateAll();
+            }
+
+            @Override
+            public void onTableUpdated(TableMetadata current, TableMetadata previous) {
+                invalidateAll();
+            }
+
+            @Override
+            public void onUserDefinedTypeDropped(UserDefinedType type) {
+                invalidateAll();
+            }
+
+            @Override
+            public void onUserDefinedTypeUpdated(UserDefinedType current, UserDefinedType previous) {
+                invalidateAll();
+            }
+        };
+    }
+
+    /**
+     * @return the number of executions that reused an idle prepared statement
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of executions that had to prepare the query
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of queries removed because the cache reached its maximum size
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the number of queries in the cache
+     */
+    public synchronized int size() {
+        return statements.size() + prepared.size();
+    }
+
+    @Override
+    public String toString() {
+        return "CassandraPreparedStatementCache{" +
+                "hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                ", size=" + size() +
+                '}';
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds a record or a DTO from the columns it declares. The type is created through its constructor with the
+ * most parameters, whose parameters are matched to columns by name, when the class is compiled with
+ * {@code -parameters}, or else by the fields declared in the same order, as the record components are. A class with
+ * only the no-arg constructor has its fields written instead. A field can rename its column with
+ * {@link jakarta.nosql.mapping.Column}.
+ *
+ * @param <R> the projection type
+ */
+final class CassandraProjection<R> implements Function<ColumnEntity, R> {
+
+    private final Class<R> type;
+
+    private final Constructor<R> constructor;
+
+    private final Field[] fields;
+
+    private final Class<?>[] types;
+
+    private final List<String> columns;
+
+    private final String[] names;
+
+    private CassandraProjection(Class<R> type, Constructor<R> constructor, Field[] fields, Class<?>[] types,
+                                List<String> columns) {
+        this.type = type;
+        this.constructor = constructor;
+        this.fields = fields;
+        this.types = types;
+        this.columns = Collections.unmodifiableList(columns);
+        this.names = columns.stream().map(c -> CqlIdentifier.fromCql(c).asInternal()).toArray(String[]::new);
+    }
+
+    /**
+     * @return the columns the projection reads, in the constructor order
+     */
+    List<String> getColumns() {
+        return columns;
+    }
+
+    @Override
+    public R apply(ColumnEntity entity) {
+        Objects.requireNonNull(entity, "entity is required");
+        Object[] values = new Object[names.length];
+        for (int index = 0; index < names.length; index++) {
+            Optional<Column> column = entity.find(names[index]);
+            if (!column.isPresent()) {
+                column = entity.find(columns.get(index));
+            }
+            values[index] = column.isPresent() ? toValue(column.get(), types[index]) : toDefault(types[index]);
+        }
+        try {
+            if (Objects.isNull(fields)) {
+                return constructor.newInstance(values);
+            }
+            R instance = constructor.newInstance();
+            for (int index = 0; index < fields.length; index++) {
+                fields[index].set(instance, values[index]);
+            }
+            return instance;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException exception) {
+            throw new IllegalStateException("Error when creating the projection " + type.getName(), exception);
+        }
+    }
+
+    /**
+     * Reads the constructor and the columns of the projection type
+     *
+     * @param type the projection type
+     * @param <R>  the projection type
+     * @return the projection
+     * @throws NullPointerException     when type is null
+     * @throws IllegalArgumentException when the constructor parameters cannot be matched to columns
+     */
+    @SuppressWarnings("unchecked")
+    static <R> CassandraProjection<R> of(Class<R> type) {
+        Objects.requireNonNull(type, "type is required");
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            throw new IllegalArgumentException("The projection must be a concrete class: " + type.getName());
+        }
+        Constructor<R> constructor = (Constructor<R>) Arrays.stream(type.getDeclaredConstructors())
+                .max(Comparator.comparingInt(Constructor::getParameterCount))
+                .orElseThrow(() -> new IllegalArgumentException("The projection does not have a constructor: "
+                        + type.getName()));
+        constructor.setAccessible(true);
+        List<Field> declared = Arrays.stream(type.getDeclaredFields())
+                .filter(f -> !Modifier.isStatic(f.getModifiers()) && !f.isSynthetic())
+                .collect(Collectors.toList());
+
+        if (constructor.getParameterCount() == 0) {
+            declared.forEach(f -> f.setAccessible(true));
+            return new CassandraProjection<>(type, constructor, declared.toArray(new Field[0]),
+                    declared.stream().map(Field::getType).toArray(Class<?>[]::new), toColumns(declared));
+        }
+        Parameter[] parameters = constructor.getParameters();
+        Class<?>[] types = constructor.getParameterTypes();
+        if (Arrays.stream(parameters).allMatch(Parameter::isNamePresent)) {
+            List<String> columns = Arrays.stream(parameters)
+                    .map(p -> declared.stream().filter(f -> f.getName().equals(p.getName())).findFirst()
+                            .map(CassandraProjection::toColumn).orElse(p.getName()))
+                    .collect(Collectors.toList());
+            return new CassandraProjection<>(type, constructor, null, types, columns);
+        }
+        boolean sameOrder = declared.size() == types.length;
+        for (int index = 0; sameOrder && index < types.length; index++) {
+            sameOrder = declared.get(index).getType().equals(types[index]);
+        }
+        if (!sameOrder) {
+            throw new IllegalArgumentException("The constructor parameters of the projection " + type.getName()
+                    + " must match its fields, or the class must be compiled with -parameters");
+        }
+        return new CassandraProjection<>(type, constructor, null, types, toColumns(declared));
+    }
+
+    private static List<String> toColumns(List<Field> fields) {
+        return fields.stream().map(CassandraProjection::toColumn).collect(Collectors.toList());
+    }
+
+    private static String toColumn(Field field) {
+        jakarta.nosql.mapping.Column column = field.getAnnotation(jakarta.nosql.mapping.Column.class);
+        if (Objects.nonNull(column) && !column.value().isEmpty()) {
+            return column.value();
+        }
+        return field.getName();
+    }
+
+    private static Object toValue(Column column, Class<?> type) {
+        Object value = column.get();
+        if (Objects.isNull(value) || toWrapper(type).isInstance(value)) {
+            return Objects.isNull(value) ? toDefault(type) : value;
+        }
+        return column.getValue().get(type);
+    }
+
+    private static Object toDefault(Class<?> type) {
+        return type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+    }
+
+    private static Class<?> toWrapper(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        return Array.get(Array.newInstance(type, 1), 0).getClass();
+    }
+
+    @Override
+    public String toString() {
+        return "CassandraProjection{" +
+                "type=" + type.getName() +
+                ", columns=" + columns +
+                '}';
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import jakarta.nosql.Condition;
+import jakarta.nosql.Sort;
+import jakarta.nosql.SortType;
+import jakarta.nosql.TypeReference;
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnCondition;
+import jakarta.nosql.column.ColumnDeleteQuery;
+import jakarta.nosql.column.ColumnQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraInserts.toIdentifier;
+
+/**
+ * Translates {@link ColumnQuery} and {@link ColumnDeleteQuery} to CQL statements with positional values. The
+ * values keep the Java type of the condition, so the statements are prepared and bound by
+ * {@link CassandraBinding#toStatement(com.datastax.oss.driver.api.core.CqlSession, CassandraPreparedStatementCache,
+ * SimpleStatement)}, which converts each one to the type of its column. Only the conditions that CQL supports are
+ * accepted: equals, the comparisons, in and and.
+ */
+final class CassandraQueries {
+
+    private CassandraQueries() {
+    }
+
+    /**
+     * Creates the select statement
+     *
+     * @param query the query
+     * @param level the consistency level, it might be null
+     * @return the statement
+     * @throws UnsupportedOperationException when the query has a condition that CQL does not support
+     */
+    static SimpleStatement toStatement(ColumnQuery query, ConsistencyLevel level) {
+        Objects.requireNonNull(query, "query is required");
+        return toStatement(query, query.getColumns(), level);
+    }
+
+    /**
+     * Creates the select statement of the given columns instead of the query ones
+     *
+     * @param query   the query
+     * @param columns the columns, all of them when it is empty
+     * @param level   the consistency level, it might be null
+     * @return the statement
+     * @throws UnsupportedOperationException when the query has a condition that CQL does not support
+     */
+    static SimpleStatement toStatement(ColumnQuery query, List<String> columns, ConsistencyLevel level) {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(columns, "columns is required");
+        List<Object> values = new ArrayList<>();
+        StringBuilder cql = new StringBuilder("SELECT ")
+                .append(toColumns(columns, "*"))
+                .append(" FROM ")
+                .append(toIdentifier(query.getColumnFamily()));
+        query.getCondition().ifPresent(c -> cql.append(" WHERE ").append(toCondition(c, values)));
+        List<Sort> sorts = query.getSorts();
+        if (!sorts.isEmpty()) {
+            cql.append(sorts.stream()
+                    .map(s -> toIdentifier(s.getName()) + (SortType.DESC.equals(s.getType()) ? " DESC" : " ASC"))
+                    .collect(Collectors.joining(", ", " ORDER BY ", "")));
+        }
+        if (query.getLimit() > 0) {
+            cql.append(" LIMIT ").append(query.getLimit());
+        }
+        return toStatement(cql.toString(), values, level);
+    }
+
+    /**
+     * Creates the delete statement
+     *
+     * @param query the query
+     * @param level the consistency level, it might be null
+     * @return the statement
+     * @throws UnsupportedOperationException when the query has a condition that CQL does not support
+     */
+    static SimpleStatement toStatement(ColumnDeleteQuery query, ConsistencyLevel level) {
+        Objects.requireNonNull(query, "query is required");
+        List<Object> values = new ArrayList<>();
+        StringBuilder cql = new StringBuilder("DELETE");
+        if (!query.getColumns().isEmpty()) {
+            cql.append(' ').append(toColumns(query.getColumns(), ""));
+        }
+        cql.append(" FROM ").append(toIdentifier(query.getColumnFamily()));
+        query.getCondition().ifPresent(c -> cql.append(" WHERE ").append(toCondition(c, values)));
+        return toStatement(cql.toString(), values, level);
+    }
+
+    private static SimpleStatement toStatement(String cql, List<Object> values, ConsistencyLevel level) {
+        return SimpleStatement.builder(cql)
+                .addPositionalValues(values.toArray())
+                .setConsistencyLevel(level)
+                .build();
+    }
+
+    private static String toColumns(List<String> columns, String defaultValue) {
+        if (columns.isEmpty()) {
+            return defaultValue;
+        }
+        return columns.stream().map(CassandraInserts::toIdentifier).collect(Collectors.joining(", "));
+    }
+
+    private static String toCondition(ColumnCondition condition, List<Object> values) {
+        Column column = condition.getColumn();
+        Condition type = condition.getCondition();
+        switch (type) {
+            case EQUALS:
+                return toComparison(column, " = ", values);
+            case GREATER_THAN:
+                return toComparison(column, " > ", values);
+            case GREATER_EQUALS_THAN:
+                return toComparison(column, " >= ", values);
+            case LESSER_THAN:
+                return toComparison(column, " < ", values);
+            case LESSER_EQUALS_THAN:
+                return toComparison(column, " <= ", values);
+            case IN:
+                Iterable<?> elements = Iterable.class.cast(column.get());
+                values.add(StreamSupport.stream(elements.spliterator(), false).collect(Collectors.toList()));
+                return toIdentifier(column.getName()) + " IN ?";
+            case AND:
+                StringJoiner and = new StringJoiner(" AND ");
+                column.get(new TypeReference<List<ColumnCondition>>() {
+                }).forEach(c -> and.add(toCondition(c, values)));
+                return and.toString();
+            default:
+                throw new UnsupportedOperationException("Cassandra does not support the condition: " + type);
+        }
+    }
+
+    private static String toComparison(Column column, String operator, List<Object> values) {
+        values.add(column.get());
+        return toIdentifier(column.getName()) + operator + '?';
+    }
+}
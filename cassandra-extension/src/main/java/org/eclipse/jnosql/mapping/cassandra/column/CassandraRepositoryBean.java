@@ -16,6 +16,7 @@ package org.eclipse.jnosql.mapping.cassandra.column;
 
 import jakarta.nosql.mapping.Repository;
 import jakarta.nosql.mapping.column.ColumnRepositoryProducer;
+import org.eclipse.jnosql.communication.cassandra.column.CassandraColumnFamilyManager;
 import org.eclipse.jnosql.mapping.spi.AbstractBean;
 
 import javax.enterprise.context.spi.CreationalContext;
@@ -23,11 +24,16 @@ import javax.enterprise.inject.Default;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.util.AnnotationLiteral;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.lang.reflect.Type;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.PREPARED_NAMED_PARAMETERS;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.REPOSITORY_PREPARE;
+
 
 class CassandraRepositoryBean extends AbstractBean<CassandraRepository> {
 
@@ -55,7 +61,15 @@ class CassandraRepositoryBean extends AbstractBean<CassandraRepository> {
         CassandraTemplate template = getInstance(CassandraTemplate.class);
         ColumnRepositoryProducer producer = getInstance(ColumnRepositoryProducer.class);
         Repository<?,?> repository = producer.get((Class<Repository<Object, Object>>) type, template);
-        CassandraRepositoryProxy handler = new CassandraRepositoryProxy(template, type, repository);
+        Map<Method, CQLMethod> methods = CQLMethod.of(type);
+        CassandraMappingSettings settings = getInstance(CassandraMappingSettings.class);
+        if (settings.getBoolean(REPOSITORY_PREPARE, false)) {
+            CassandraColumnFamilyManager manager = getInstance(CassandraColumnFamilyManager.class);
+            CassandraPreparedStatementCache cache = getInstance(CassandraPreparedStatementCache.class);
+            boolean namedParameters = settings.getBoolean(PREPARED_NAMED_PARAMETERS, false);
+            methods.values().forEach(m -> m.prepare(cache, manager::nativeQueryPrepare, namedParameters));
+        }
+        CassandraRepositoryProxy handler = new CassandraRepositoryProxy(template, type, repository, methods);
         return (CassandraRepository) Proxy.newProxyInstance(type.getClassLoader(),
                 new Class[]{type},
                 handler);
@@ -25,8 +25,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Stream;
 
-import static org.eclipse.jnosql.mapping.repository.DynamicReturn.toSingleResult;
-
 class CassandraRepositoryProxy<T> implements InvocationHandler {
 
     private final Class<T> typeClass;
@@ -35,34 +33,34 @@ class CassandraRepositoryProxy<T> implements InvocationHandler {
 
     private final Repository<T,?> repository;
 
+    private final Map<Method, CQLMethod> methods;
+
     CassandraRepositoryProxy(CassandraTemplate template, Class<?> repositoryType, Repository<T, ?> repository) {
+        this(template, repositoryType, repository, CQLMethod.of(repositoryType));
+    }
+
+    CassandraRepositoryProxy(CassandraTemplate template, Class<?> repositoryType, Repository<T, ?> repository,
+                             Map<Method, CQLMethod> methods) {
 
         this.template = template;
         this.typeClass = Class.class.cast(ParameterizedType.class.cast(repositoryType.getGenericInterfaces()[0])
                 .getActualTypeArguments()[0]);
         this.repository = repository;
+        this.methods = methods;
     }
 
     @Override
     public Object invoke(Object o, Method method, Object[] args) throws Throwable {
 
-        CQL cql = method.getAnnotation(CQL.class);
+        CQLMethod cql = methods.get(method);
         if (Objects.nonNull(cql)) {
 
-            Stream<T> result;
-            Map<String, Object> values = CQLObjectUtil.getValues(args, method);
-            if (!values.isEmpty()) {
-                result = template.cql(cql.value(), values);
-            } else if (args == null || args.length == 0) {
-                result = template.cql(cql.value());
-            } else {
-                result = template.cql(cql.value(), args);
-            }
+            Stream<T> result = cql.execute(template, args);
             return DynamicReturn.builder()
                     .withClassSource(typeClass)
                     .withMethodSource(method)
                     .withResult(() -> result)
-                    .withSingleResult(toSingleResult(method).apply(() -> result))
+                    .withSingleResult(cql.getSingleResult().apply(() -> result))
                     .build().execute();
         }
 
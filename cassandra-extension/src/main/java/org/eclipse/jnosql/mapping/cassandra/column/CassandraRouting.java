@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.codec.CodecNotFoundException;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import jakarta.nosql.Condition;
+import jakarta.nosql.TypeReference;
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnCondition;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Attaches the routing key to the statements built from the partition key values, so a token-aware load
+ * balancing policy sends them straight to a replica. A prepared statement does not need it: the driver finds
+ * its partition key from the bind markers. The partition key columns and their types come from the table metadata
+ * of the session, so each value is encoded as its column type, as the driver does with a bound value, e.g. an
+ * Integer compared to a bigint column is encoded in eight bytes. When the table is unknown, or a value is missing,
+ * null or cannot be converted to its column type, the statement is left without a routing key.
+ */
+final class CassandraRouting {
+
+    private CassandraRouting() {
+    }
+
+    /**
+     * Sets the routing key of the statement from the values the condition compares by equals
+     *
+     * @param session   the session, whose metadata has the table
+     * @param statement the statement
+     * @param table     the table
+     * @param condition the query condition
+     * @return the statement with the routing key, or the same statement when it cannot be computed
+     */
+    static SimpleStatement route(CqlSession session, SimpleStatement statement, String table,
+                                 ColumnCondition condition) {
+        Objects.requireNonNull(condition, "condition is required");
+        Map<String, Object> equals = new HashMap<>();
+        collect(condition, equals);
+        return route(session, statement, table, equals);
+    }
+
+    /**
+     * Sets the routing key of the statement from the values of the partition key columns of the table
+     *
+     * @param session   the session, whose metadata has the table
+     * @param statement the statement
+     * @param table     the table
+     * @param values    the values by column
+     * @return the statement with the routing key, or the same statement when it cannot be computed
+     */
+    static SimpleStatement route(CqlSession session, SimpleStatement statement, String table,
+                                 Map<String, ?> values) {
+        Objects.requireNonNull(session, "session is required");
+        Objects.requireNonNull(statement, "statement is required");
+        Objects.requireNonNull(table, "table is required");
+        Objects.requireNonNull(values, "values is required");
+        Optional<TableMetadata> metadata = getTable(session, statement, table);
+        if (!metadata.isPresent()) {
+            return statement;
+        }
+        Map<CqlIdentifier, Object> columns = new HashMap<>();
+        values.forEach((column, value) -> columns.put(CqlIdentifier.fromCql(column), value));
+        CodecRegistry registry = session.getContext().getCodecRegistry();
+        ProtocolVersion version = session.getContext().getProtocolVersion();
+        List<ColumnMetadata> partitionKey = metadata.get().getPartitionKey();
+        ByteBuffer[] components = new ByteBuffer[partitionKey.size()];
+        try {
+            for (int index = 0; index < components.length; index++) {
+                ColumnMetadata column = partitionKey.get(index);
+                Object value = columns.get(column.getName());
+                if (Objects.isNull(value)) {
+                    return statement;
+                }
+                Object converted = CassandraBinding.toValue(registry, column.getType(), value);
+                TypeCodec<Object> codec = registry.codecFor(column.getType(), converted);
+                components[index] = codec.encode(converted, version);
+            }
+        } catch (CodecNotFoundException exception) {
+            return statement;
+        }
+        return components.length == 0 ? statement : statement.setRoutingKey(components);
+    }
+
+    private static Optional<TableMetadata> getTable(CqlSession session, SimpleStatement statement, String table) {
+        Optional<CqlIdentifier> keyspace = Optional.ofNullable(statement.getKeyspace());
+        if (!keyspace.isPresent()) {
+            keyspace = session.getKeyspace();
+        }
+        return keyspace.flatMap(k -> session.getMetadata().getKeyspace(k)).flatMap(k -> k.getTable(table));
+    }
+
+    /**
+     * Collects the values compared by equals at the top level of the condition or inside an and
+     */
+    private static void collect(ColumnCondition condition, Map<String, Object> equals) {
+        Column column = condition.getColumn();
+        if (condition.getCondition() == Condition.EQUALS) {
+            equals.put(column.getName(), column.get());
+        } else if (condition.getCondition() == Condition.AND) {
+            column.get(new TypeReference<List<ColumnCondition>>() {
+            }).forEach(c -> collect(c, equals));
+        }
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.type.codec.CodecNotFoundException;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import com.datastax.oss.driver.api.core.type.reflect.GenericType;
+import jakarta.nosql.mapping.Convert;
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.FieldMapping;
+import org.eclipse.jnosql.mapping.reflection.FieldType;
+
+import java.lang.reflect.Type;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Maps the driver {@link Row} straight into the entity fields, skipping the {@link jakarta.nosql.column.ColumnEntity}
+ * in between. The field lookup is computed once per entity; the column indexes and codecs are resolved against
+ * the result set metadata and reused while the rows share it, e.g., every row and page of a query.
+ * When the entity has fields that need the converter, such as {@link UDT}, embedded, {@link Convert} or
+ * {@link Compressed} fields, or when the driver has no codec between a column and its field, the rows go through
+ * the fallback instead.
+ *
+ * @param <T> the entity type
+ */
+final class CassandraRowMapper<T> implements Function<Row, T> {
+
+    private static final Set<FieldType> DIRECT_TYPES = EnumSet.of(FieldType.DEFAULT, FieldType.COLLECTION,
+            FieldType.MAP);
+
+    private final ClassMapping mapping;
+
+    private final Map<String, FieldMapping> fields;
+
+    private final boolean direct;
+
+    private final Function<Row, T> fallback;
+
+    private volatile Plan plan;
+
+    private CassandraRowMapper(ClassMapping mapping, Map<String, FieldMapping> fields, boolean direct,
+                               Function<Row, T> fallback) {
+        this.mapping = mapping;
+        this.fields = fields;
+        this.direct = direct;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public T apply(Row row) {
+        Objects.requireNonNull(row, "row is required");
+        if (!direct) {
+            return fallback.apply(row);
+        }
+        Plan current = plan;
+        if (Objects.isNull(current) || current.definitions != row.getColumnDefinitions()) {
+            current = new Plan(row.getColumnDefinitions(), row.codecRegistry(), fields);
+            plan = current;
+        }
+        if (!current.direct) {
+            return fallback.apply(row);
+        }
+        T instance = mapping.newInstance();
+        for (int index = 0; index < current.indexes.length; index++) {
+            Object value = row.get(current.indexes[index], current.codecs[index]);
+            if (Objects.nonNull(value)) {
+                current.fields[index].write(instance, value);
+            }
+        }
+        return instance;
+    }
+
+    boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Creates the mapper of an entity
+     *
+     * @param mapping  the entity mapping
+     * @param fallback the conversion of the rows that cannot be mapped directly
+     * @param <T>      the entity type
+     * @return the mapper
+     * @throws NullPointerException when there is null parameter
+     */
+    static <T> CassandraRowMapper<T> of(ClassMapping mapping, Function<Row, T> fallback) {
+        Objects.requireNonNull(mapping, "mapping is required");
+        Objects.requireNonNull(fallback, "fallback is required");
+        Map<String, FieldMapping> fields = mapping.getFieldsGroupByName();
+        boolean direct = fields.values().stream().allMatch(CassandraRowMapper::isDirect);
+        return new CassandraRowMapper<>(mapping, fields, direct, fallback);
+    }
+
+    private static boolean isDirect(FieldMapping field) {
+        return DIRECT_TYPES.contains(field.getType())
+                && !field.getNativeField().isAnnotationPresent(UDT.class)
+                && !field.getNativeField().isAnnotationPresent(Convert.class)
+                && !field.getNativeField().isAnnotationPresent(Compressed.class);
+    }
+
+    @Override
+    public String toString() {
+        return "CassandraRowMapper{" +
+                "mapping=" + mapping.getName() +
+                ", direct=" + direct +
+                '}';
+    }
+
+    /**
+     * The column indexes, codecs and fields resolved against a result set metadata.
+     */
+    private static final class Plan {
+
+        private final ColumnDefinitions definitions;
+
+        private final boolean direct;
+
+        private final int[] indexes;
+
+        private final TypeCodec<Object>[] codecs;
+
+        private final FieldMapping[] fields;
+
+        @SuppressWarnings("unchecked")
+        private Plan(ColumnDefinitions definitions, CodecRegistry registry, Map<String, FieldMapping> entityFields) {
+            this.definitions = definitions;
+            Map<Integer, FieldMapping> columns = new HashMap<>();
+            for (int index = 0; index < definitions.size(); index++) {
+                FieldMapping field = entityFields.get(definitions.get(index).getName().asInternal());
+                if (Objects.nonNull(field)) {
+                    columns.putIfAbsent(index, field);
+                }
+            }
+            this.indexes = new int[columns.size()];
+            this.codecs = new TypeCodec[columns.size()];
+            this.fields = new FieldMapping[columns.size()];
+            boolean resolved = true;
+            int position = 0;
+            for (Map.Entry<Integer, FieldMapping> column : columns.entrySet()) {
+                FieldMapping field = column.getValue();
+                try {
+                    codecs[position] = (TypeCodec<Object>) registry.codecFor(
+                            definitions.get(column.getKey()).getType(), toGenericType(field));
+                } catch (CodecNotFoundException exception) {
+                    resolved = false;
+                    break;
+                }
+                indexes[position] = column.getKey();
+                fields[position] = field;
+                position++;
+            }
+            this.direct = resolved;
+        }
+
+        private static GenericType<?> toGenericType(FieldMapping field) {
+            Class<?> type = field.getNativeField().getType();
+            if (type.isPrimitive()) {
+                return GenericType.of(toWrapper(type));
+            }
+            Type genericType = field.getNativeField().getGenericType();
+            return GenericType.of(genericType);
+        }
+
+        private static Class<?> toWrapper(Class<?> type) {
+            if (int.class.equals(type)) {
+                return Integer.class;
+            } else if (long.class.equals(type)) {
+                return Long.class;
+            } else if (double.class.equals(type)) {
+                return Double.class;
+            } else if (float.class.equals(type)) {
+                return Float.class;
+            } else if (boolean.class.equals(type)) {
+                return Boolean.class;
+            } else if (short.class.equals(type)) {
+                return Short.class;
+            } else if (byte.class.equals(type)) {
+                return Byte.class;
+            }
+            return Character.class;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.data.UdtValue;
+import com.datastax.oss.driver.api.core.type.UserDefinedType;
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+import org.eclipse.jnosql.communication.cassandra.column.UDT;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Converts the driver {@link Row} to {@link ColumnEntity}, the same shape the
+ * {@link org.eclipse.jnosql.communication.cassandra.column.CassandraColumnFamilyManager} returns, for the
+ * operations that run straight on the driver session.
+ */
+final class CassandraRows {
+
+    private CassandraRows() {
+    }
+
+    /**
+     * Converts the row
+     *
+     * @param row the row
+     * @return the entity named after the row table
+     * @throws NullPointerException when row is null
+     */
+    static ColumnEntity toColumnEntity(Row row) {
+        Objects.requireNonNull(row, "row is required");
+        ColumnDefinitions definitions = row.getColumnDefinitions();
+        String table = definitions.size() == 0 ? "" : definitions.get(0).getTable().asInternal();
+        ColumnEntity entity = ColumnEntity.of(table);
+        for (int index = 0; index < definitions.size(); index++) {
+            ColumnDefinition definition = definitions.get(index);
+            Object value = row.getObject(index);
+            if (Objects.nonNull(value)) {
+                entity.add(toColumn(definition.getName().asInternal(), value));
+            }
+        }
+        return entity;
+    }
+
+    private static Column toColumn(String name, Object value) {
+        if (value instanceof UdtValue) {
+            UdtValue udt = (UdtValue) value;
+            return UDT.builder(udt.getType().getName().asInternal())
+                    .withName(name)
+                    .addUDT(toColumns(udt))
+                    .build();
+        }
+        if (value instanceof Iterable && isUdtIterable((Iterable<?>) value)) {
+            List<Iterable<Column>> udts = new ArrayList<>();
+            String type = null;
+            for (Object element : (Iterable<?>) value) {
+                UdtValue udt = (UdtValue) element;
+                type = udt.getType().getName().asInternal();
+                udts.add(toColumns(udt));
+            }
+            return UDT.builder(type).withName(name).addUDTs(udts).build();
+        }
+        return Column.of(name, value);
+    }
+
+    private static boolean isUdtIterable(Iterable<?> iterable) {
+        Iterator<?> iterator = iterable.iterator();
+        return iterator.hasNext() && iterator.next() instanceof UdtValue;
+    }
+
+    private static List<Column> toColumns(UdtValue udt) {
+        UserDefinedType type = udt.getType();
+        List<Column> columns = new ArrayList<>(type.getFieldNames().size());
+        for (int index = 0; index < type.getFieldNames().size(); index++) {
+            Object value = udt.getObject(index);
+            if (Objects.nonNull(value)) {
+                columns.add(toColumn(type.getFieldNames().get(index).asInternal(), value));
+            }
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A full-table scan split into token ranges. {@link #stream()} queries every range that is not
+ * {@link Status#DONE} concurrently, through a parallel stream, and merges the rows. The progress of each range
+ * is available at {@link #getRanges()}: when a range fails, the stream fails and a later {@link #stream()} call
+ * scans only the ranges that have not been completed, replaying a failed range from its start.
+ *
+ * @param <T> the entity type
+ */
+public final class CassandraScan<T> {
+
+    private static final String MURMUR3 = "Murmur3Partitioner";
+
+    private static final String RANDOM = "RandomPartitioner";
+
+    private final CqlSession session;
+
+    private final PreparedStatement bounded;
+
+    private final PreparedStatement toRingEnd;
+
+    private final Token minToken;
+
+    private final int fetchSize;
+
+    private final Function<Row, T> mapper;
+
+    private final List<Range> ranges;
+
+    private CassandraScan(CqlSession session, PreparedStatement bounded, PreparedStatement toRingEnd,
+                          Token minToken, int fetchSize, Function<Row, T> mapper, List<Range> ranges) {
+        this.session = session;
+        this.bounded = bounded;
+        this.toRingEnd = toRingEnd;
+        this.minToken = minToken;
+        this.fetchSize = fetchSize;
+        this.mapper = mapper;
+        this.ranges = ranges;
+    }
+
+    /**
+     * Scans the ranges that are not done yet
+     *
+     * @return a parallel stream of the rows of those ranges
+     */
+    public Stream<T> stream() {
+        return streamByRange().flatMap(Function.identity());
+    }
+
+    /**
+     * Scans the ranges that are not done yet, keeping the rows of each range apart
+     *
+     * @return a parallel stream of the rows of each of those ranges
+     */
+    Stream<Stream<T>> streamByRange() {
+        return ranges.stream()
+                .parallel()
+                .filter(r -> r.status != Status.DONE)
+                .map(this::scan);
+    }
+
+    /**
+     * @return the ranges of this scan and their progress
+     */
+    public List<Range> getRanges() {
+        return Collections.unmodifiableList(ranges);
+    }
+
+    /**
+     * @return true when every range is done
+     */
+    public boolean isDone() {
+        return ranges.stream().allMatch(r -> r.status == Status.DONE);
+    }
+
+    private Stream<T> scan(Range range) {
+        range.start();
+        try {
+            Iterable<Row> rows;
+            if (range.range.getEnd().equals(minToken)) {
+                rows = session.execute(toRingEnd.bind().setToken(0, range.range.getStart())
+                        .setPageSize(fetchSize));
+            } else {
+                rows = session.execute(bounded.bind().setToken(0, range.range.getStart())
+                        .setToken(1, range.range.getEnd())
+                        .setRoutingToken(range.range.getEnd())
+                        .setPageSize(fetchSize));
+            }
+            return StreamSupport.stream(new RangeSpliterator(range, rows), false);
+        } catch (RuntimeException exception) {
+            range.fail(exception);
+            throw exception;
+        }
+    }
+
+    /**
+     * Creates a scan of the entity table
+     *
+     * @param session      the session
+     * @param keyspace     the keyspace, when null the session keyspace is used
+     * @param table        the table
+     * @param partitionKey the partition key columns of the mapping, used when there is no table metadata
+     * @param splits       the minimum number of ranges
+     * @param fetchSize    the page size
+     * @param mapper       the row mapper
+     * @param <T>          the entity type
+     * @return the scan
+     */
+    static <T> CassandraScan<T> of(CqlSession session, CqlIdentifier keyspace, String table,
+                                   List<String> partitionKey, int splits, int fetchSize, Function<Row, T> mapper) {
+        if (splits <= 0) {
+            throw new IllegalArgumentException("The number of splits must be positive: " + splits);
+        }
+        TokenMap tokenMap = session.getMetadata().getTokenMap()
+                .orElseThrow(() -> new IllegalStateException("The token metadata is not available on the session"));
+        Token minToken = getMinToken(tokenMap);
+
+        CqlIdentifier space = Optional.ofNullable(keyspace).orElseGet(() -> session.getKeyspace()
+                .orElseThrow(() -> new IllegalStateException("There is no keyspace to scan the table " + table)));
+        CqlIdentifier tableName = CqlIdentifier.fromCql(table);
+        List<String> keys = session.getMetadata().getKeyspace(space)
+                .flatMap(k -> k.getTable(tableName))
+                .map(t -> t.getPartitionKey().stream()
+                        .map(ColumnMetadata::getName)
+                        .map(c -> c.asCql(true))
+                        .collect(Collectors.toList()))
+                .orElse(partitionKey.stream().map(CassandraInserts::toIdentifier).collect(Collectors.toList()));
+        if (keys.isEmpty()) {
+            throw new IllegalStateException("There is no partition key to scan the table " + table);
+        }
+
+        String token = "token(" + String.join(", ", keys) + ")";
+        String select = "SELECT * FROM " + space.asCql(true) + '.' + tableName.asCql(true) + " WHERE " + token;
+        PreparedStatement bounded = session.prepare(select + " > ? AND " + token + " <= ?");
+        PreparedStatement toRingEnd = session.prepare(select + " > ?");
+
+        List<TokenRange> ring = new ArrayList<>();
+        tokenMap.getTokenRanges().forEach(r -> ring.addAll(r.unwrap()));
+        Collections.sort(ring);
+        int parts = (int) Math.ceil((double) splits / ring.size());
+        List<Range> ranges = new ArrayList<>();
+        for (TokenRange range : ring) {
+            List<TokenRange> split = parts > 1 ? range.splitEvenly(parts) : Collections.singletonList(range);
+            split.forEach(r -> ranges.add(new Range(r, tokenMap)));
+        }
+        return new CassandraScan<>(session, bounded, toRingEnd, minToken, fetchSize, mapper, ranges);
+    }
+
+    private static Token getMinToken(TokenMap tokenMap) {
+        String partitioner = tokenMap.getPartitionerName();
+        if (partitioner.endsWith(MURMUR3)) {
+            return tokenMap.parse(String.valueOf(Long.MIN_VALUE));
+        }
+        if (partitioner.endsWith(RANDOM)) {
+            return tokenMap.parse("-1");
+        }
+        throw new UnsupportedOperationException("The token range scan does not support the partitioner: "
+                + partitioner);
+    }
+
+    private final class RangeSpliterator extends Spliterators.AbstractSpliterator<T> {
+
+        private final Range range;
+
+        private final Iterator<Row> rows;
+
+        private RangeSpliterator(Range range, Iterable<Row> rows) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.range = range;
+            this.rows = rows.iterator();
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                if (rows.hasNext()) {
+                    T entity = mapper.apply(rows.next());
+                    range.rows++;
+                    action.accept(entity);
+                    return true;
+                }
+            } catch (RuntimeException exception) {
+                range.fail(exception);
+                throw exception;
+            }
+            range.status = Status.DONE;
+            return false;
+        }
+    }
+
+    /**
+     * The state of a token range
+     */
+    public enum Status {
+        PENDING, RUNNING, DONE, FAILED
+    }
+
+    /**
+     * A token range of the scan and its progress
+     */
+    public static final class Range {
+
+        private final TokenRange range;
+
+        private final String start;
+
+        private final String end;
+
+        private volatile Status status = Status.PENDING;
+
+        private volatile long rows;
+
+        private volatile Throwable error;
+
+        private Range(TokenRange range, TokenMap tokenMap) {
+            this.range = range;
+            this.start = tokenMap.format(range.getStart());
+            this.end = tokenMap.format(range.getEnd());
+        }
+
+        private void start() {
+            this.status = Status.RUNNING;
+            this.rows = 0;
+            this.error = null;
+        }
+
+        private void fail(Throwable error) {
+            this.error = error;
+            this.status = Status.FAILED;
+        }
+
+        /**
+         * @return the exclusive start token
+         */
+        public String getStart() {
+            return start;
+        }
+
+        /**
+         * @return the inclusive end token
+         */
+        public String getEnd() {
+            return end;
+        }
+
+        /**
+         * @return the range state
+         */
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * @return the number of rows read in the last attempt
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * @return the error of the last attempt when it has failed
+         */
+        public Optional<Throwable> getError() {
+            return Optional.ofNullable(error);
+        }
+
+        @Override
+        public String toString() {
+            return "Range{" +
+                    "start='" + start + '\'' +
+                    ", end='" + end + '\'' +
+                    ", status=" + status +
+                    ", rows=" + rows +
+                    '}';
+        }
+    }
+}
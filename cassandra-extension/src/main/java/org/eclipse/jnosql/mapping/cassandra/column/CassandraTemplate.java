@@ -21,9 +21,14 @@ import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import jakarta.nosql.column.ColumnDeleteQuery;
 import jakarta.nosql.column.ColumnQuery;
 import jakarta.nosql.mapping.column.ColumnTemplate;
+import org.eclipse.jnosql.mapping.cassandra.converters.CompressionMetrics;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Flow;
 import java.util.stream.Stream;
 
 /**
@@ -81,6 +86,20 @@ public interface CassandraTemplate extends ColumnTemplate {
      */
     <T> T save(T entity, Duration ttl, ConsistencyLevel level);
 
+    /**
+     * Updates an entity using {@link ConsistencyLevel}. When the change tracking is enabled
+     * by {@link CassandraMappingConfigurations#CHANGE_TRACKING} and the entity was read or saved by this template,
+     * only the columns changed since then are written, and the collections have just the added and removed
+     * elements sent. Otherwise, the entity is saved as a whole.
+     *
+     * @param <T>    type
+     * @param entity the entity
+     * @param level  the level
+     * @return the entity updated
+     * @throws NullPointerException when either entity or level are null
+     */
+    <T> T update(T entity, ConsistencyLevel level);
+
 
     /**
      * Deletes an information using {@link ConsistencyLevel}
@@ -134,6 +153,52 @@ public interface CassandraTemplate extends ColumnTemplate {
      */
     <T> Stream<T> cql(String query, Object... params);
 
+    /**
+     * Executes CQL as a prepared statement, fetching pages of the given size, e.g. two rows to tell a single
+     * result from a non unique one. Each param is converted to the type of its bind marker when the driver has no
+     * codec between them.
+     *
+     * @param <T>      type
+     * @param pageSize the number of rows of each page
+     * @param query    the Cassandra query language
+     * @param params   the params
+     * @return the result of this query
+     * @throws NullPointerException     when query is null
+     * @throws IllegalArgumentException when pageSize is not positive
+     */
+    <T> Stream<T> cql(int pageSize, String query, Object... params);
+
+    /**
+     * Executes CQL and builds the projection type, a record or a DTO, from each row through its constructor.
+     * A query that starts with {@code SELECT * FROM} selects only the columns the projection declares.
+     * E.g.: {@code cql("SELECT * FROM person WHERE name = ?", PersonName.class, "Ada")}
+     *
+     * @param <R>        the projection type
+     * @param query      the Cassandra query language
+     * @param projection the projection type
+     * @param params     the params
+     * @return the result of this query
+     * @throws NullPointerException     when either query or projection are null
+     * @throws IllegalArgumentException when the projection constructor cannot be matched to columns
+     */
+    <R> Stream<R> cql(String query, Class<R> projection, Object... params);
+
+    /**
+     * Finds selecting only the columns the projection type, a record or a DTO, declares and builds it from each
+     * row through its constructor. The query is prepared once and each value is bound as the type of its column.
+     * As {@link #findPublisher(ColumnQuery, ConsistencyLevel)}, it is routed by the partition key it compares by
+     * equals. It requires a {@link com.datastax.oss.driver.api.core.CqlSession} produced to the container.
+     *
+     * @param <R>        the projection type
+     * @param query      the query
+     * @param projection the projection type
+     * @return the result of this query
+     * @throws NullPointerException          when either query or projection are null
+     * @throws IllegalArgumentException      when the projection constructor cannot be matched to columns
+     * @throws UnsupportedOperationException when the query has a condition that CQL does not support
+     */
+    <R> Stream<R> find(ColumnQuery query, Class<R> projection);
+
     /**
      * Executes a statement
      *
@@ -144,4 +209,284 @@ public interface CassandraTemplate extends ColumnTemplate {
      */
     <T> Stream<T> execute(SimpleStatement statement);
 
+    /**
+     * Finds using a consistency level, fetching a page of
+     * {@link CassandraMappingConfigurations#FETCH_SIZE} rows only when the subscriber demand needs it.
+     * The query event is fired on each subscription, not when the publisher is created.
+     * It requires a {@link com.datastax.oss.driver.api.core.CqlSession} produced to the container.
+     *
+     * @param <T>   type
+     * @param query the query
+     * @param level the consistency level
+     * @return the publisher of the query result
+     * @throws NullPointerException when either query or level are null
+     */
+    <T> Flow.Publisher<T> findPublisher(ColumnQuery query, ConsistencyLevel level);
+
+    /**
+     * Executes CQL as a prepared statement, fetching a page of
+     * {@link CassandraMappingConfigurations#FETCH_SIZE} rows only when the subscriber demand needs it. The
+     * statement is prepared once through the {@link CassandraPreparedStatementCache} and each param is converted to
+     * the type of its bind marker when the driver has no codec between them.
+     * It requires a {@link com.datastax.oss.driver.api.core.CqlSession} produced to the container.
+     *
+     * @param <T>    type
+     * @param query  the Cassandra query language
+     * @param params the params
+     * @return the publisher of the query result
+     * @throws NullPointerException when query is null
+     */
+    <T> Flow.Publisher<T> cqlPublisher(String query, Object... params);
+
+    /**
+     * Executes a statement, fetching a page only when the subscriber demand needs it. The page size is the
+     * statement one or, when it is not defined, {@link CassandraMappingConfigurations#FETCH_SIZE}.
+     * It requires a {@link com.datastax.oss.driver.api.core.CqlSession} produced to the container.
+     *
+     * @param <T>       type
+     * @param statement the statement
+     * @return the publisher of the query result
+     * @throws NullPointerException when statement is null
+     */
+    <T> Flow.Publisher<T> executePublisher(SimpleStatement statement);
+
+    /**
+     * Scans the whole table of the entity, splitting the token ring in at least {@code splits} ranges that are
+     * queried concurrently. It requires a {@link com.datastax.oss.driver.api.core.CqlSession} produced to the
+     * container.
+     *
+     * @param <T>    type
+     * @param entity the entity class
+     * @param splits the minimum number of token ranges
+     * @return the scan, whose {@link CassandraScan#stream()} runs the queries
+     * @throws NullPointerException     when entity is null
+     * @throws IllegalArgumentException when splits is not positive
+     */
+    <T> CassandraScan<T> scan(Class<T> entity, int splits);
+
+    /**
+     * Finds the entities of the given ids with a single partition query per distinct id instead of a multi
+     * partition {@code IN}, running at most {@link CassandraMappingConfigurations#FIND_BY_IDS_CONCURRENCY} of them
+     * at once as the stream is consumed. It requires a {@link com.datastax.oss.driver.api.core.CqlSession}
+     * produced to the container.
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param ids         the ids
+     * @param ordered     when true the entities come in the order of the ids, otherwise in the order the queries
+     *                    complete
+     * @return the entities found, an id without a row is skipped
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the entity does not have an id or its primary key has other columns
+     */
+    <T, K> Stream<T> findByIds(Class<T> entityClass, Iterable<K> ids, boolean ordered);
+
+    /**
+     * Finds the entities of the given ids in the order of the ids
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param ids         the ids
+     * @return the entities found, an id without a row is skipped
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the entity does not have an id or its primary key has other columns
+     * @see CassandraTemplate#findByIds(Class, Iterable, boolean)
+     */
+    <T, K> Stream<T> findByIds(Class<T> entityClass, Iterable<K> ids);
+
+    /**
+     * Finds the entities of a time series whose timestamp is in the range, querying the partition of each
+     * {@link TimeBucket} that covers it, at most {@link CassandraMappingConfigurations#TIME_BUCKET_CONCURRENCY} at
+     * once. The queries are sent as the stream is consumed and read a page at a time. The timestamp must be the
+     * first clustering column. It requires a {@link com.datastax.oss.driver.api.core.CqlSession} produced to the
+     * container.
+     *
+     * @param <T>         type
+     * @param entityClass the entity class
+     * @param partition   the values of the partition key columns other than the bucket, by column name
+     * @param from        the start of the range, inclusive
+     * @param to          the end of the range, exclusive
+     * @return the entities in timestamp order
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the entity does not have a {@link TimeBucket} field in its partition
+     *                                  key, the partition does not have exactly the other partition key columns,
+     *                                  from is after to or the range covers more than
+     *                                  {@link CassandraMappingConfigurations#TIME_BUCKET_MAX_BUCKETS} buckets
+     */
+    <T> Stream<T> findByTimeRange(Class<T> entityClass, Map<String, ?> partition, Instant from, Instant to);
+
+    /**
+     * Appends the values to the end of a list, or adds them to a set, of the row with the given id without reading
+     * it first
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param id          the id
+     * @param field       the entity field name
+     * @param values      the values
+     * @param level       the level
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the id does not identify a row,
+     *                                  the field does not exist or it is not a list or a set
+     */
+    <T, K> void append(Class<T> entityClass, K id, String field, Iterable<?> values, ConsistencyLevel level);
+
+    /**
+     * Appends the values using the default consistency level of the session
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param id          the id
+     * @param field       the entity field name
+     * @param values      the values
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the id does not identify a row,
+     *                                  the field does not exist or it is not a list or a set
+     * @see CassandraTemplate#append(Class, Object, String, Iterable, ConsistencyLevel)
+     */
+    <T, K> void append(Class<T> entityClass, K id, String field, Iterable<?> values);
+
+    /**
+     * Prepends the values to the beginning of a list of the row with the given id without reading it first
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param id          the id
+     * @param field       the entity field name
+     * @param values      the values
+     * @param level       the level
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the id does not identify a row,
+     *                                  the field does not exist or it is not a list
+     */
+    <T, K> void prepend(Class<T> entityClass, K id, String field, List<?> values, ConsistencyLevel level);
+
+    /**
+     * Prepends the values using the default consistency level of the session
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param id          the id
+     * @param field       the entity field name
+     * @param values      the values
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the id does not identify a row,
+     *                                  the field does not exist or it is not a list
+     * @see CassandraTemplate#prepend(Class, Object, String, List, ConsistencyLevel)
+     */
+    <T, K> void prepend(Class<T> entityClass, K id, String field, List<?> values);
+
+    /**
+     * Removes the values from a list or a set, or the keys from a map, of the row with the given id without
+     * reading it first
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param id          the id
+     * @param field       the entity field name
+     * @param values      the values, or the keys when the field is a map
+     * @param level       the level
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the id does not identify a row,
+     *                                  the field does not exist or it is not a list, a set or a map
+     */
+    <T, K> void remove(Class<T> entityClass, K id, String field, Iterable<?> values, ConsistencyLevel level);
+
+    /**
+     * Removes the values using the default consistency level of the session
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param id          the id
+     * @param field       the entity field name
+     * @param values      the values, or the keys when the field is a map
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the id does not identify a row,
+     *                                  the field does not exist or it is not a list, a set or a map
+     * @see CassandraTemplate#remove(Class, Object, String, Iterable, ConsistencyLevel)
+     */
+    <T, K> void remove(Class<T> entityClass, K id, String field, Iterable<?> values);
+
+    /**
+     * Puts the entries into a map of the row with the given id without reading it first
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param id          the id
+     * @param field       the entity field name
+     * @param entries     the entries
+     * @param level       the level
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the id does not identify a row,
+     *                                  the field does not exist or it is not a map
+     */
+    <T, K> void put(Class<T> entityClass, K id, String field, Map<?, ?> entries, ConsistencyLevel level);
+
+    /**
+     * Puts the entries using the default consistency level of the session
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param id          the id
+     * @param field       the entity field name
+     * @param entries     the entries
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the id does not identify a row,
+     *                                  the field does not exist or it is not a map
+     * @see CassandraTemplate#put(Class, Object, String, Map, ConsistencyLevel)
+     */
+    <T, K> void put(Class<T> entityClass, K id, String field, Map<?, ?> entries);
+
+    /**
+     * Increments a counter column of the row with the given id, a negative delta decrements it
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param id          the id
+     * @param field       the entity field name
+     * @param delta       the delta
+     * @param level       the level
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the id does not identify a row,
+     *                                  the field does not exist or it is not a number
+     */
+    <T, K> void increment(Class<T> entityClass, K id, String field, long delta, ConsistencyLevel level);
+
+    /**
+     * Increments a counter column using the default consistency level of the session
+     *
+     * @param <T>         type
+     * @param <K>         the id type
+     * @param entityClass the entity class
+     * @param id          the id
+     * @param field       the entity field name
+     * @param delta       the delta
+     * @throws NullPointerException     when there is null parameter
+     * @throws IllegalArgumentException when the id does not identify a row,
+     *                                  the field does not exist or it is not a number
+     * @see CassandraTemplate#increment(Class, Object, String, long, ConsistencyLevel)
+     */
+    <T, K> void increment(Class<T> entityClass, K id, String field, long delta);
+
+    /**
+     * Returns the metrics of a {@link Compressed} field, counting the values of that field written and read
+     *
+     * @param entityClass the entity class
+     * @param field       the entity field name
+     * @return the metrics or {@link Optional#empty()} when the field is not {@link Compressed}
+     * @throws NullPointerException when there is null parameter
+     */
+    Optional<CompressionMetrics> getCompressionMetrics(Class<?> entityClass, String field);
+
 }
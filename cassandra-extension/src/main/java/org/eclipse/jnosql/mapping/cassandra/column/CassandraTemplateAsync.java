@@ -0,0 +1,147 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import jakarta.nosql.column.ColumnDeleteQuery;
+import jakarta.nosql.column.ColumnQuery;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The asynchronous sibling of {@link CassandraTemplate}. It runs on the driver asynchronous execution and caps the
+ * requests in flight at {@link CassandraMappingConfigurations#ASYNC_MAX_REQUESTS}: when the cap is reached, the
+ * request is queued and sent once another one completes, so the caller never blocks. The saves go through the
+ * entity events and validation as the synchronous template. It requires a
+ * {@link com.datastax.oss.driver.api.core.CqlSession} produced to the container.
+ */
+public interface CassandraTemplateAsync {
+
+    /**
+     * Saves an entity with a defined ConsistencyLevel
+     *
+     * @param <T>    type
+     * @param entity the entity
+     * @param level  the {@link ConsistencyLevel}
+     * @return the entity saved
+     * @throws NullPointerException when both entity or level are null
+     */
+    <T> CompletionStage<T> save(T entity, ConsistencyLevel level);
+
+    /**
+     * Saves an entity using {@link ConsistencyLevel}
+     *
+     * @param <T>    type
+     * @param entity the entity
+     * @param ttl    the ttl
+     * @param level  the level
+     * @return the entity saved
+     * @throws NullPointerException when either entity or ttl or level are null
+     */
+    <T> CompletionStage<T> save(T entity, Duration ttl, ConsistencyLevel level);
+
+    /**
+     * Saves entities with a defined ConsistencyLevel
+     *
+     * @param <T>      type
+     * @param entities the entities
+     * @param level    the {@link ConsistencyLevel}
+     * @return the entities saved
+     * @throws NullPointerException when both entities or level are null
+     */
+    <T> CompletionStage<Iterable<T>> save(Iterable<T> entities, ConsistencyLevel level);
+
+    /**
+     * Saves entities using {@link ConsistencyLevel}
+     *
+     * @param <T>      type
+     * @param entities the entities
+     * @param ttl      the ttl
+     * @param level    the level
+     * @return the entities saved
+     * @throws NullPointerException when either entities or ttl or level are null
+     */
+    <T> CompletionStage<Iterable<T>> save(Iterable<T> entities, Duration ttl, ConsistencyLevel level);
+
+    /**
+     * Deletes an information using {@link ConsistencyLevel}
+     *
+     * @param query the query
+     * @param level the level
+     * @return the stage completed when the information is deleted
+     * @throws NullPointerException when either query or level are null
+     */
+    CompletionStage<Void> delete(ColumnDeleteQuery query, ConsistencyLevel level);
+
+    /**
+     * Finds using a consistency level
+     *
+     * @param <T>   type
+     * @param query the query
+     * @param level the consistency level
+     * @return the result of the query
+     * @throws NullPointerException when either query or level are null
+     */
+    <T> CompletionStage<List<T>> find(ColumnQuery query, ConsistencyLevel level);
+
+    /**
+     * Executes CQL
+     *
+     * @param <T>   type
+     * @param query the Cassandra query language
+     * @return the result of this query
+     * @throws NullPointerException when query is null
+     */
+    <T> CompletionStage<List<T>> cql(String query);
+
+    /**
+     * Executes CQL using the provided named values.
+     * E.g.: "SELECT * FROM users WHERE id = :i", Map.&#60;String, Object&#62;of("i", 1)"
+     *
+     * @param <T>    type
+     * @param query  the Cassandra query language
+     * @param values values required for the execution of {@code query}
+     * @return the result of this query
+     * @throws NullPointerException when query is null
+     */
+    <T> CompletionStage<List<T>> cql(String query, Map<String, Object> values);
+
+    /**
+     * Executes CQL as a prepared statement, prepared once through the {@link CassandraPreparedStatementCache};
+     * each param is converted to the type of its bind marker when the driver has no codec between them
+     *
+     * @param <T>    type
+     * @param query  the Cassandra query language
+     * @param params the params
+     * @return the result of this query
+     * @throws NullPointerException when query is null
+     */
+    <T> CompletionStage<List<T>> cql(String query, Object... params);
+
+    /**
+     * Executes a statement
+     *
+     * @param <T>       type
+     * @param statement the statement
+     * @return the result of this query
+     * @throws NullPointerException when statement is null
+     */
+    <T> CompletionStage<List<T>> execute(SimpleStatement statement);
+}
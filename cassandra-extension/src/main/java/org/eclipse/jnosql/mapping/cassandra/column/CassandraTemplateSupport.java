@@ -0,0 +1,83 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+
+/**
+ * The collaborators {@link DefaultCassandraTemplate} needs besides those of the column template: the session, the
+ * statement and entity caches, the statements prepared at start, the settings and the executor.
+ */
+@ApplicationScoped
+class CassandraTemplateSupport {
+
+    private Instance<CqlSession> session;
+
+    private CassandraPreparedStatementCache statements;
+
+    private CassandraEntityCache cache;
+
+    private CassandraEntityStatements entityStatements;
+
+    private CassandraMappingSettings settings;
+
+    private CassandraExecutor executor;
+
+    @Inject
+    CassandraTemplateSupport(Instance<CqlSession> session,
+                             CassandraPreparedStatementCache statements,
+                             CassandraEntityCache cache,
+                             CassandraEntityStatements entityStatements,
+                             CassandraMappingSettings settings,
+                             CassandraExecutor executor) {
+        this.session = session;
+        this.statements = statements;
+        this.cache = cache;
+        this.entityStatements = entityStatements;
+        this.settings = settings;
+        this.executor = executor;
+    }
+
+    CassandraTemplateSupport() {
+    }
+
+    Instance<CqlSession> getSession() {
+        return session;
+    }
+
+    CassandraPreparedStatementCache getStatements() {
+        return statements;
+    }
+
+    CassandraEntityCache getCache() {
+        return cache;
+    }
+
+    CassandraEntityStatements getEntityStatements() {
+        return entityStatements;
+    }
+
+    CassandraMappingSettings getSettings() {
+        return settings;
+    }
+
+    CassandraExecutor getExecutor() {
+        return executor;
+    }
+}
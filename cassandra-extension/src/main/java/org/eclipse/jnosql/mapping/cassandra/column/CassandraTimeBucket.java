@@ -0,0 +1,231 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.FieldMapping;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link TimeBucket} field of an entity: it computes the bucket of a timestamp and the buckets that cover a
+ * time range. The buckets start at the unit boundaries in UTC.
+ */
+final class CassandraTimeBucket {
+
+    private static final Set<ChronoUnit> UNITS = EnumSet.of(ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.DAYS,
+            ChronoUnit.MONTHS, ChronoUnit.YEARS);
+
+    private static final Set<Class<?>> BUCKET_TYPES = new HashSet<>(Arrays.asList(Instant.class, Date.class,
+            LocalDate.class, Long.class, long.class, String.class));
+
+    private static final Set<Class<?>> TIMESTAMP_TYPES = new HashSet<>(Arrays.asList(Instant.class, Date.class,
+            ZonedDateTime.class, OffsetDateTime.class, LocalDateTime.class, Long.class, long.class));
+
+    private final FieldMapping bucket;
+
+    private final FieldMapping timestamp;
+
+    private final ChronoUnit unit;
+
+    private CassandraTimeBucket(FieldMapping bucket, FieldMapping timestamp, ChronoUnit unit) {
+        this.bucket = bucket;
+        this.timestamp = timestamp;
+        this.unit = unit;
+    }
+
+    /**
+     * The bucket column name
+     *
+     * @return the bucket column name
+     */
+    String getBucketColumn() {
+        return bucket.getName();
+    }
+
+    /**
+     * The timestamp column name
+     *
+     * @return the timestamp column name
+     */
+    String getTimestampColumn() {
+        return timestamp.getName();
+    }
+
+    /**
+     * Sets the bucket field of the entity from its timestamp field, a null timestamp leaves it as it is
+     *
+     * @param entity the entity
+     */
+    void fill(Object entity) {
+        Instant value = getTimestamp(entity);
+        if (Objects.nonNull(value)) {
+            bucket.write(entity, toBucketField(truncate(value).toInstant()));
+        }
+    }
+
+    /**
+     * Reads the timestamp of the entity
+     *
+     * @param entity the entity
+     * @return the timestamp, it might be null
+     */
+    Instant getTimestamp(Object entity) {
+        Object value = timestamp.read(entity);
+        if (Objects.isNull(value)) {
+            return null;
+        }
+        if (value instanceof Instant) {
+            return (Instant) value;
+        }
+        if (value instanceof Date) {
+            return Instant.ofEpochMilli(((Date) value).getTime());
+        }
+        if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toInstant();
+        }
+        if (value instanceof OffsetDateTime) {
+            return ((OffsetDateTime) value).toInstant();
+        }
+        if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).toInstant(ZoneOffset.UTC);
+        }
+        return Instant.ofEpochMilli(((Number) value).longValue());
+    }
+
+    /**
+     * Returns the bucket column values that cover the range, in time order
+     *
+     * @param from the start, inclusive
+     * @param to   the end, exclusive
+     * @param max  the maximum number of buckets
+     * @return the bucket column values, empty when the range is empty
+     * @throws IllegalArgumentException when the range covers more than max buckets
+     */
+    List<Object> getBuckets(Instant from, Instant to, int max) {
+        List<Object> buckets = new ArrayList<>();
+        for (ZonedDateTime start = truncate(from); start.toInstant().isBefore(to); start = start.plus(1, unit)) {
+            if (buckets.size() == max) {
+                throw new IllegalArgumentException("The range from " + from + " to " + to + " covers more than "
+                        + max + " buckets");
+            }
+            Object value = toBucketField(start.toInstant());
+            buckets.add(value instanceof Date ? start.toInstant() : value);
+        }
+        return buckets;
+    }
+
+    /**
+     * Converts the instant to the value bound to the timestamp column
+     *
+     * @param instant the instant
+     * @return the column value
+     */
+    Object toTimestampColumn(Instant instant) {
+        Class<?> type = timestamp.getNativeField().getType();
+        if (Long.class.equals(type) || long.class.equals(type)) {
+            return instant.toEpochMilli();
+        }
+        return instant;
+    }
+
+    private ZonedDateTime truncate(Instant instant) {
+        ZonedDateTime time = instant.atZone(ZoneOffset.UTC);
+        switch (unit) {
+            case MONTHS:
+                return time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+            case YEARS:
+                return time.truncatedTo(ChronoUnit.DAYS).withDayOfYear(1);
+            default:
+                return time.truncatedTo(unit);
+        }
+    }
+
+    private Object toBucketField(Instant start) {
+        Class<?> type = bucket.getNativeField().getType();
+        if (Date.class.equals(type)) {
+            return Date.from(start);
+        }
+        if (LocalDate.class.equals(type)) {
+            return start.atZone(ZoneOffset.UTC).toLocalDate();
+        }
+        if (Long.class.equals(type) || long.class.equals(type)) {
+            return start.toEpochMilli();
+        }
+        if (String.class.equals(type)) {
+            return start.toString();
+        }
+        return start;
+    }
+
+    /**
+     * Finds the time bucket of the entity
+     *
+     * @param mapping the entity mapping
+     * @return the time bucket or {@link Optional#empty()} when the entity does not have a {@link TimeBucket} field
+     * @throws NullPointerException     when mapping is null
+     * @throws IllegalArgumentException when there is more than one {@link TimeBucket} field, the unit is not
+     *                                  supported, the timestamp field does not exist or a field type is not
+     *                                  supported
+     */
+    static Optional<CassandraTimeBucket> of(ClassMapping mapping) {
+        Objects.requireNonNull(mapping, "mapping is required");
+        List<FieldMapping> buckets = mapping.getFields().stream()
+                .filter(f -> Objects.nonNull(f.getNativeField().getAnnotation(TimeBucket.class)))
+                .collect(Collectors.toList());
+        if (buckets.isEmpty()) {
+            return Optional.empty();
+        }
+        if (buckets.size() > 1) {
+            throw new IllegalArgumentException("The entity " + mapping.getName()
+                    + " has more than one @TimeBucket field");
+        }
+        FieldMapping bucket = buckets.get(0);
+        TimeBucket annotation = bucket.getNativeField().getAnnotation(TimeBucket.class);
+        if (!UNITS.contains(annotation.unit())) {
+            throw new IllegalArgumentException("The @TimeBucket does not support the unit: " + annotation.unit());
+        }
+        if (!BUCKET_TYPES.contains(bucket.getNativeField().getType())) {
+            throw new IllegalArgumentException("The @TimeBucket does not support the field type: "
+                    + bucket.getNativeField().getType());
+        }
+        FieldMapping timestamp = mapping.getFields().stream()
+                .filter(f -> f.getNativeField().getName().equals(annotation.value()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("The timestamp field " + annotation.value()
+                        + " of the @TimeBucket does not exist in the entity " + mapping.getName()));
+        if (!TIMESTAMP_TYPES.contains(timestamp.getNativeField().getType())) {
+            throw new IllegalArgumentException("The @TimeBucket does not support the timestamp type: "
+                    + timestamp.getNativeField().getType());
+        }
+        return Optional.of(new CassandraTimeBucket(bucket, timestamp, annotation.unit()));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import jakarta.nosql.column.Column;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * The list of a {@link UDT#lazy()} field. It keeps the columns of each UDT read and converts an element into the
+ * entity on its first access. The list is mutable like the one it replaces and, as that one, is not thread-safe.
+ *
+ * @param <T> the element type
+ */
+final class CassandraUDTList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<Object> elements;
+
+    private final Function<List<Column>, T> converter;
+
+    CassandraUDTList(Iterable<?> columns, Function<List<Column>, T> converter) {
+        Objects.requireNonNull(columns, "columns is required");
+        this.converter = Objects.requireNonNull(converter, "converter is required");
+        this.elements = new ArrayList<>();
+        for (Object udt : columns) {
+            elements.add(new Pending((List<Column>) udt));
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        Object element = elements.get(index);
+        if (element instanceof Pending) {
+            T entity = converter.apply(((Pending) element).columns);
+            elements.set(index, entity);
+            return entity;
+        }
+        return (T) element;
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public T set(int index, T element) {
+        T previous = get(index);
+        elements.set(index, element);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        elements.add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        T previous = get(index);
+        elements.remove(index);
+        modCount++;
+        return previous;
+    }
+
+    /**
+     * Checks whether the element was already converted
+     *
+     * @param index the element index
+     * @return true when the element is an entity
+     */
+    boolean isLoaded(int index) {
+        return !(elements.get(index) instanceof Pending);
+    }
+
+    /**
+     * Returns the columns of each element: the ones read for the elements never accessed, so they are written back
+     * without a round trip through the entity, and the converted ones for the others.
+     *
+     * @param toColumns converts an element into its columns
+     * @return the columns of each element
+     */
+    List<Iterable<Column>> toColumns(Function<Object, Iterable<Column>> toColumns) {
+        List<Iterable<Column>> columns = new ArrayList<>(elements.size());
+        for (Object element : elements) {
+            if (element instanceof Pending) {
+                columns.add(((Pending) element).columns);
+            } else {
+                columns.add(toColumns.apply(element));
+            }
+        }
+        return columns;
+    }
+
+    private static final class Pending {
+
+        private final List<Column> columns;
+
+        private Pending(List<Column> columns) {
+            this.columns = columns;
+        }
+    }
+}
@@ -60,7 +60,11 @@ class CassandraUDTType implements ColumnFieldValue {
 
     @Override
     public List<Column> toColumn(ColumnEntityConverter converter, Converters converters) {
-        if (Iterable.class.isInstance(value)) {
+        if (CassandraUDTList.class.isInstance(value)) {
+            List<Iterable<Column>> columns = ((CassandraUDTList<?>) value)
+                    .toColumns(c -> converter.toColumn(c).getColumns());
+            return singletonList(UDT.builder(type).withName(field.getName()).addUDTs(columns).build());
+        } else if (Iterable.class.isInstance(value)) {
             List<Iterable<Column>> columns = new ArrayList<>();
             stream(Iterable.class.cast(value).spliterator(), false)
                     .forEach(c -> columns.add(converter.toColumn(c).getColumns()));
@@ -0,0 +1,87 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * The outcome of a {@link CassandraUnloader} run: the rows and bytes written to the file and how long it took.
+ */
+public final class CassandraUnloadReport {
+
+    private final long rows;
+
+    private final long bytes;
+
+    private final Duration elapsed;
+
+    CassandraUnloadReport(long rows, long bytes, Duration elapsed) {
+        this.rows = rows;
+        this.bytes = bytes;
+        this.elapsed = Objects.requireNonNull(elapsed, "elapsed is required");
+    }
+
+    /**
+     * @return the number of rows written
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return the number of bytes written
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the time the run took
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * @return the rows written per second
+     */
+    public double getRowsPerSecond() {
+        return perSecond(rows);
+    }
+
+    /**
+     * @return the bytes written per second
+     */
+    public double getBytesPerSecond() {
+        return perSecond(bytes);
+    }
+
+    private double perSecond(long value) {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0D : value * 1_000_000_000D / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return "CassandraUnloadReport{" +
+                "rows=" + rows +
+                ", bytes=" + bytes +
+                ", elapsed=" + elapsed +
+                ", rowsPerSecond=" + getRowsPerSecond() +
+                ", bytesPerSecond=" + getBytesPerSecond() +
+                '}';
+    }
+}
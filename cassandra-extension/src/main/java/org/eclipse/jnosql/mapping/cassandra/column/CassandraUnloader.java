@@ -0,0 +1,334 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.data.ByteUtils;
+import com.datastax.oss.driver.api.core.data.TupleValue;
+import com.datastax.oss.driver.api.core.data.UdtValue;
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.FETCH_SIZE;
+
+/**
+ * Unloads a table to a CSV or JSON lines file. The rows are written straight from the driver rows, without
+ * creating entities, into reused direct buffers that are written to a {@link java.nio.channels.FileChannel}.
+ * With a single split, the table is paged through in order. With more, its token ranges are read in parallel as
+ * {@link CassandraTemplate#scan(Class, int)} does, and the rows of different ranges are written in any order.
+ * Each range borrows a buffer from a pool that lives only as long as the unload.
+ * <p>
+ * A CSV file starts with the column names, so {@link CassandraBulkLoader} can load back the columns of text,
+ * number, boolean, date, timestamp and UUID types. A collection, map, tuple or UDT value is written as JSON and a
+ * blob as its hexadecimal form, which the loader does not decode.
+ */
+@ApplicationScoped
+public class CassandraUnloader {
+
+    private static final Logger LOGGER = Logger.getLogger(CassandraUnloader.class.getName());
+
+    private static final int DEFAULT_FETCH_SIZE = 5000;
+
+    private static final long PROGRESS_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+    private Instance<CqlSession> session;
+
+    private ClassMappings mappings;
+
+    private int fetchSize;
+
+    @Inject
+    CassandraUnloader(Instance<CqlSession> session, ClassMappings mappings, CassandraMappingSettings settings) {
+        this.session = session;
+        this.mappings = mappings;
+        this.fetchSize = settings.getInt(FETCH_SIZE, DEFAULT_FETCH_SIZE);
+    }
+
+    CassandraUnloader() {
+    }
+
+    /**
+     * Unloads the table of the entity in order, finding the format by the file extension
+     *
+     * @param entity the entity type
+     * @param file   the file, replaced when it exists
+     * @param <T>    the entity type
+     * @return the report of the unload
+     * @throws NullPointerException     when there is a null parameter
+     * @throws IllegalArgumentException when the format is not known
+     * @throws UncheckedIOException     when the file cannot be written
+     * @throws IllegalStateException    when there is no {@link CqlSession} produced to the container
+     */
+    public <T> CassandraUnloadReport unload(Class<T> entity, Path file) {
+        Objects.requireNonNull(file, "file is required");
+        return unload(entity, file, CassandraFileFormat.of(file), 1);
+    }
+
+    /**
+     * Unloads the table of the entity
+     *
+     * @param entity the entity type
+     * @param file   the file, replaced when it exists
+     * @param format the file format
+     * @param splits the minimum number of token ranges read in parallel, one reads the table in order
+     * @param <T>    the entity type
+     * @return the report of the unload
+     * @throws NullPointerException     when there is a null parameter
+     * @throws IllegalArgumentException when splits is not positive
+     * @throws UncheckedIOException     when the file cannot be written
+     * @throws IllegalStateException    when there is no {@link CqlSession} produced to the container
+     */
+    public <T> CassandraUnloadReport unload(Class<T> entity, Path file, CassandraFileFormat format, int splits) {
+        Objects.requireNonNull(entity, "entity is required");
+        ClassMapping mapping = mappings.get(entity);
+        return unload(mapping.getName(), PartitionKeys.getColumns(mapping), file, format, splits);
+    }
+
+    /**
+     * Unloads a table of the session keyspace
+     *
+     * @param table  the table
+     * @param file   the file, replaced when it exists
+     * @param format the file format
+     * @param splits the minimum number of token ranges read in parallel, one reads the table in order
+     * @return the report of the unload
+     * @throws NullPointerException     when there is a null parameter
+     * @throws IllegalArgumentException when splits is not positive
+     * @throws UncheckedIOException     when the file cannot be written
+     * @throws IllegalStateException    when there is no {@link CqlSession} produced to the container
+     */
+    public CassandraUnloadReport unload(String table, Path file, CassandraFileFormat format, int splits) {
+        return unload(table, Collections.emptyList(), file, format, splits);
+    }
+
+    private CassandraUnloadReport unload(String table, List<String> partitionKey, Path file,
+                                         CassandraFileFormat format, int splits) {
+        Objects.requireNonNull(table, "table is required");
+        Objects.requireNonNull(file, "file is required");
+        Objects.requireNonNull(format, "format is required");
+        if (splits <= 0) {
+            throw new IllegalArgumentException("The number of splits must be positive: " + splits);
+        }
+        if (Objects.isNull(session) || !session.isResolvable()) {
+            throw new IllegalStateException("The unload requires a CqlSession produced to the container");
+        }
+        CqlSession cqlSession = session.get();
+        String select = "SELECT * FROM " + CassandraInserts.toIdentifier(table);
+        long start = System.nanoTime();
+        try (CassandraFileWriter writer = CassandraFileWriter.of(file)) {
+            Progress progress = new Progress(file, writer, start);
+            if (splits == 1) {
+                ResultSet rows = cqlSession.execute(SimpleStatement.newInstance(select).setPageSize(fetchSize));
+                CassandraFileWriter.Buffer buffer = writer.newBuffer();
+                StringBuilder record = new StringBuilder();
+                if (format == CassandraFileFormat.CSV) {
+                    buffer.write(toHeader(rows.getColumnDefinitions(), record));
+                }
+                for (Row row : rows) {
+                    buffer.write(toRecord(row, format, record));
+                    progress.increment();
+                }
+                buffer.flush();
+            } else {
+                CassandraScan<Row> scan = CassandraScan.of(cqlSession, null, table, partitionKey, splits,
+                        fetchSize, Function.identity());
+                if (format == CassandraFileFormat.CSV) {
+                    CassandraFileWriter.Buffer buffer = writer.newBuffer();
+                    buffer.write(toHeader(cqlSession.prepare(select).getResultSetDefinitions(),
+                            new StringBuilder()));
+                    buffer.flush();
+                }
+                Queue<Encoder> idle = new ConcurrentLinkedQueue<>();
+                scan.streamByRange().forEach(range -> {
+                    Encoder encoder = Optional.ofNullable(idle.poll())
+                            .orElseGet(() -> new Encoder(writer.newBuffer()));
+                    range.forEach(row -> {
+                        encoder.write(row, format);
+                        progress.increment();
+                    });
+                    encoder.flush();
+                    idle.add(encoder);
+                });
+            }
+            CassandraUnloadReport report = progress.toReport();
+            LOGGER.info("Finished the unload of " + table + " to " + file + ": " + report);
+            return report;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static CharSequence toHeader(ColumnDefinitions definitions, StringBuilder record) {
+        record.setLength(0);
+        for (ColumnDefinition definition : definitions) {
+            if (record.length() > 0) {
+                record.append(',');
+            }
+            CassandraCsv.write(record, definition.getName().asInternal());
+        }
+        return record.append('\n');
+    }
+
+    private static CharSequence toRecord(Row row, CassandraFileFormat format, StringBuilder record) {
+        record.setLength(0);
+        ColumnDefinitions definitions = row.getColumnDefinitions();
+        if (format == CassandraFileFormat.CSV) {
+            for (int index = 0; index < definitions.size(); index++) {
+                if (index > 0) {
+                    record.append(',');
+                }
+                Object value = toValue(row.getObject(index));
+                if (value instanceof Map || value instanceof Collection) {
+                    StringBuilder json = new StringBuilder();
+                    CassandraJson.write(json, value);
+                    value = json;
+                }
+                CassandraCsv.write(record, Objects.isNull(value) ? null : value.toString());
+            }
+        } else {
+            Map<String, Object> columns = new LinkedHashMap<>();
+            for (int index = 0; index < definitions.size(); index++) {
+                columns.put(definitions.get(index).getName().asInternal(), toValue(row.getObject(index)));
+            }
+            CassandraJson.write(record, columns);
+        }
+        return record.append('\n');
+    }
+
+    /**
+     * Converts the driver values that have no JSON form: a UDT into a map, a tuple into a list and a blob into
+     * its hexadecimal string
+     */
+    private static Object toValue(Object value) {
+        if (value instanceof ByteBuffer) {
+            return ByteUtils.toHexString((ByteBuffer) value);
+        } else if (value instanceof UdtValue) {
+            UdtValue udt = (UdtValue) value;
+            Map<String, Object> fields = new LinkedHashMap<>();
+            List<CqlIdentifier> names = udt.getType().getFieldNames();
+            for (int index = 0; index < names.size(); index++) {
+                fields.put(names.get(index).asInternal(), toValue(udt.getObject(index)));
+            }
+            return fields;
+        } else if (value instanceof TupleValue) {
+            TupleValue tuple = (TupleValue) value;
+            List<Object> components = new ArrayList<>();
+            for (int index = 0; index < tuple.getType().getComponentTypes().size(); index++) {
+                components.add(toValue(tuple.getObject(index)));
+            }
+            return components;
+        } else if (value instanceof Collection) {
+            List<Object> elements = new ArrayList<>();
+            ((Collection<?>) value).forEach(e -> elements.add(toValue(e)));
+            return elements;
+        } else if (value instanceof Map) {
+            Map<Object, Object> entries = new LinkedHashMap<>();
+            ((Map<?, ?>) value).forEach((k, v) -> entries.put(toValue(k), toValue(v)));
+            return entries;
+        }
+        return value;
+    }
+
+    private static final class Encoder {
+
+        private final CassandraFileWriter.Buffer buffer;
+
+        private final StringBuilder record = new StringBuilder();
+
+        private Encoder(CassandraFileWriter.Buffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private void write(Row row, CassandraFileFormat format) {
+            try {
+                buffer.write(toRecord(row, format, record));
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        private void flush() {
+            try {
+                buffer.flush();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+
+    private static final class Progress {
+
+        private final Path file;
+
+        private final CassandraFileWriter writer;
+
+        private final long start;
+
+        private final LongAdder rows = new LongAdder();
+
+        private final AtomicLong lastLog;
+
+        private Progress(Path file, CassandraFileWriter writer, long start) {
+            this.file = file;
+            this.writer = writer;
+            this.start = start;
+            this.lastLog = new AtomicLong(start);
+        }
+
+        private void increment() {
+            rows.increment();
+            long now = System.nanoTime();
+            long last = lastLog.get();
+            if (now - last >= PROGRESS_INTERVAL && lastLog.compareAndSet(last, now)) {
+                LOGGER.info("Unloading to " + file + ": " + toReport());
+            }
+        }
+
+        private CassandraUnloadReport toReport() {
+            return new CassandraUnloadReport(rows.sum(), writer.getBytes(),
+                    Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraInserts.toIdentifier;
+
+/**
+ * Builds the CQL updates that write only some columns of a row, either replacing the value or applying a
+ * collection or counter operation on the server. The updates are prepared once per table and set of assignments.
+ */
+final class CassandraUpdates {
+
+    private CassandraUpdates() {
+    }
+
+    /**
+     * The operation of an {@link Assignment}
+     */
+    enum Operation {
+        /**
+         * {@code column = ?}
+         */
+        SET,
+        /**
+         * {@code column = column + ?}, appends to a list, adds to a set, puts into a map or increments a counter
+         */
+        ADD,
+        /**
+         * {@code column = ? + column}, prepends to a list
+         */
+        PREPEND,
+        /**
+         * {@code column = column - ?}, removes from a list or a set, removes map keys or decrements a counter
+         */
+        SUBTRACT;
+
+        private String toCQL(String column) {
+            switch (this) {
+                case ADD:
+                    return column + " = " + column + " + ?";
+                case PREPEND:
+                    return column + " = ? + " + column;
+                case SUBTRACT:
+                    return column + " = " + column + " - ?";
+                default:
+                    return column + " = ?";
+            }
+        }
+    }
+
+    /**
+     * A column written by an update
+     */
+    static final class Assignment {
+
+        private final String column;
+
+        private final Operation operation;
+
+        private final Object value;
+
+        Assignment(String column, Operation operation, Object value) {
+            this.column = Objects.requireNonNull(column, "column is required");
+            this.operation = Objects.requireNonNull(operation, "operation is required");
+            this.value = value;
+        }
+
+        String getColumn() {
+            return column;
+        }
+
+        Operation getOperation() {
+            return operation;
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Assignment that = (Assignment) o;
+            return column.equals(that.column) && operation == that.operation && Objects.equals(value, that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(column, operation, value);
+        }
+
+        @Override
+        public String toString() {
+            return "Assignment{" +
+                    "column='" + column + '\'' +
+                    ", operation=" + operation +
+                    ", value=" + value +
+                    '}';
+        }
+    }
+
+    /**
+     * Reads the column values of the entity; the collections are copied so that later changes on the entity do
+     * not change them.
+     *
+     * @param entity the entity
+     * @return the values by column name
+     */
+    static Map<String, Object> toValues(ColumnEntity entity) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Column column : entity.getColumns()) {
+            values.put(column.getName(), copy(column.get()));
+        }
+        return values;
+    }
+
+    /**
+     * Compares the values of a row before and after a change. A list that only got elements at the end or at the
+     * beginning is appended or prepended, a list that only lost elements has them removed, a set has the added and
+     * the removed elements sent apart and a map has the changed entries put and the missing keys removed.
+     * Any other changed value is replaced and a missing one is set to null, or left unset when
+     * {@code unsetNulls} is true.
+     *
+     * @param before     the values before the change
+     * @param after      the current values
+     * @param keys       the primary key columns, which are not compared
+     * @param unsetNulls if a missing value is left unset, which writes no tombstone
+     * @return the assignments that write the changes, empty when nothing changed
+     */
+    static List<Assignment> diff(Map<String, Object> before, Map<String, Object> after, Collection<String> keys,
+                                 boolean unsetNulls) {
+        List<Assignment> assignments = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : after.entrySet()) {
+            String column = entry.getKey();
+            Object value = entry.getValue();
+            Object previous = before.get(column);
+            if (keys.contains(column) || Objects.equals(previous, value)) {
+                continue;
+            }
+            if (value instanceof List && previous instanceof List) {
+                assignments.add(diff(column, (List<?>) previous, (List<?>) value));
+            } else if (value instanceof Set && previous instanceof Set) {
+                diff(column, (Set<?>) previous, (Set<?>) value, assignments);
+            } else if (value instanceof Map && previous instanceof Map) {
+                diff(column, (Map<?, ?>) previous, (Map<?, ?>) value, assignments);
+            } else {
+                assignments.add(new Assignment(column, Operation.SET, value));
+            }
+        }
+        if (unsetNulls) {
+            return assignments;
+        }
+        for (String column : before.keySet()) {
+            if (!after.containsKey(column) && !keys.contains(column)) {
+                assignments.add(new Assignment(column, Operation.SET, null));
+            }
+        }
+        return assignments;
+    }
+
+    private static Assignment diff(String column, List<?> previous, List<?> value) {
+        int size = previous.size();
+        if (value.size() > size) {
+            if (value.subList(0, size).equals(previous)) {
+                return new Assignment(column, Operation.ADD, new ArrayList<>(value.subList(size, value.size())));
+            }
+            if (value.subList(value.size() - size, value.size()).equals(previous)) {
+                return new Assignment(column, Operation.PREPEND,
+                        new ArrayList<>(value.subList(0, value.size() - size)));
+            }
+        } else if (value.size() < size) {
+            Set<Object> removed = new LinkedHashSet<>(previous);
+            removed.removeAll(value);
+            List<?> remaining = previous.stream().filter(e -> !removed.contains(e)).collect(Collectors.toList());
+            if (!removed.isEmpty() && remaining.equals(value)) {
+                return new Assignment(column, Operation.SUBTRACT, new ArrayList<>(removed));
+            }
+        }
+        return new Assignment(column, Operation.SET, value);
+    }
+
+    private static void diff(String column, Set<?> previous, Set<?> value, List<Assignment> assignments) {
+        Set<Object> added = new LinkedHashSet<>(value);
+        added.removeAll(previous);
+        Set<Object> removed = new LinkedHashSet<>(previous);
+        removed.removeAll(value);
+        if (!added.isEmpty()) {
+            assignments.add(new Assignment(column, Operation.ADD, added));
+        }
+        if (!removed.isEmpty()) {
+            assignments.add(new Assignment(column, Operation.SUBTRACT, removed));
+        }
+    }
+
+    private static void diff(String column, Map<?, ?> previous, Map<?, ?> value, List<Assignment> assignments) {
+        Map<Object, Object> put = new LinkedHashMap<>();
+        value.forEach((k, v) -> {
+            if (!previous.containsKey(k) || !Objects.equals(previous.get(k), v)) {
+                put.put(k, v);
+            }
+        });
+        Set<Object> removed = new LinkedHashSet<>(previous.keySet());
+        removed.removeAll(value.keySet());
+        if (!put.isEmpty()) {
+            assignments.add(new Assignment(column, Operation.ADD, put));
+        }
+        if (!removed.isEmpty()) {
+            assignments.add(new Assignment(column, Operation.SUBTRACT, removed));
+        }
+    }
+
+    /**
+     * Creates the statement that updates a row. A column can have only one assignment in a CQL update, so when
+     * there are more the statement is an unlogged batch of updates of the same row.
+     *
+     * @param session     the session
+     * @param statements  the cache of the prepared updates
+     * @param table       the table
+     * @param assignments the assignments
+     * @param keys        the primary key values by column name
+     * @param level       the consistency level, it might be null
+     * @return the statement, once its updates are prepared
+     * @throws IllegalArgumentException when either assignments or keys are empty
+     */
+    static CompletionStage<Statement<?>> toStatement(CqlSession session, CassandraPreparedStatementCache statements,
+                                                     String table, List<Assignment> assignments,
+                                                     Map<String, Object> keys, ConsistencyLevel level) {
+        if (assignments.isEmpty()) {
+            throw new IllegalArgumentException("At least one assignment is required");
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("The primary key is required to update a row");
+        }
+        List<List<Assignment>> updates = new ArrayList<>();
+        for (Assignment assignment : assignments) {
+            List<Assignment> update = updates.stream()
+                    .filter(u -> u.stream().noneMatch(a -> a.getColumn().equals(assignment.getColumn())))
+                    .findFirst()
+                    .orElse(null);
+            if (Objects.isNull(update)) {
+                update = new ArrayList<>();
+                updates.add(update);
+            }
+            update.add(assignment);
+        }
+
+        List<String> queries = new ArrayList<>(updates.size());
+        List<List<Object>> values = new ArrayList<>(updates.size());
+        for (List<Assignment> update : updates) {
+            List<Object> updateValues = new ArrayList<>();
+            queries.add(toCQL(table, update, keys, updateValues));
+            values.add(updateValues);
+        }
+        return CassandraBinding.toStatement(session, statements, BatchType.UNLOGGED, queries, values, level);
+    }
+
+    /**
+     * Creates the statement that updates counter columns of several rows of a table: a single update or a
+     * counter batch.
+     *
+     * @param session    the session
+     * @param statements the cache of the prepared updates
+     * @param table      the table
+     * @param rows       the assignments by the primary key values of each row
+     * @param level      the consistency level, it might be null
+     * @return the statement, once its updates are prepared
+     * @throws IllegalArgumentException when rows is empty
+     */
+    static CompletionStage<Statement<?>> toCounterStatement(CqlSession session,
+                                                            CassandraPreparedStatementCache statements, String table,
+                                                            Map<Map<String, Object>, List<Assignment>> rows,
+                                                            ConsistencyLevel level) {
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("At least one row is required");
+        }
+        List<String> queries = new ArrayList<>(rows.size());
+        List<List<Object>> values = new ArrayList<>(rows.size());
+        rows.forEach((keys, assignments) -> {
+            List<Object> rowValues = new ArrayList<>();
+            queries.add(toCQL(table, assignments, keys, rowValues));
+            values.add(rowValues);
+        });
+        return CassandraBinding.toStatement(session, statements, BatchType.COUNTER, queries, values, level);
+    }
+
+    private static String toCQL(String table, List<Assignment> assignments, Map<String, Object> keys,
+                                List<Object> values) {
+        StringJoiner set = new StringJoiner(", ", " SET ", "");
+        for (Assignment assignment : assignments) {
+            set.add(assignment.getOperation().toCQL(toIdentifier(assignment.getColumn())));
+            values.add(assignment.getValue());
+        }
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "");
+        keys.forEach((column, value) -> {
+            where.add(toIdentifier(column) + " = ?");
+            values.add(value);
+        });
+        return "UPDATE " + toIdentifier(table) + set + where;
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof List) {
+            return new ArrayList<>((List<?>) value);
+        } else if (value instanceof Set) {
+            return new LinkedHashSet<>((Set<?>) value);
+        } else if (value instanceof Map) {
+            return new LinkedHashMap<>((Map<?, ?>) value);
+        }
+        return value;
+    }
+}
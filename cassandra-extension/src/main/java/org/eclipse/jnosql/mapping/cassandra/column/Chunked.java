@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defines that a field is the length in bytes of a blob stored by {@link CassandraBlobs} as fixed-size chunks, so
+ * neither the entity row nor a single partition holds the whole value. The field is a long or an int column, and
+ * the entity table also has a uuid column named after it with a {@code _generation} suffix, which tells the chunks
+ * of the current value from the ones of a write in progress. Each chunk is a row, and a partition, of the chunk
+ * table. The chunk table has the primary key columns of the entity, with the same names and types, then a
+ * {@code generation uuid}, a {@code chunk int} and a {@code data blob} column, and all but {@code data} form its
+ * partition key. For an entity whose id is {@code id} and whose field is {@code photo}:
+ * <pre>{@code
+ * ALTER TABLE person ADD photo_generation uuid
+ * CREATE TABLE person_photo (id text, generation uuid, chunk int, data blob, PRIMARY KEY ((id, generation, chunk)))
+ * }</pre>
+ * and for an entity whose primary key is an {@code author} {@link PartitionKey} and the {@code id}:
+ * <pre>{@code
+ * CREATE TABLE post_cover (author text, id text, generation uuid, chunk int, data blob,
+ *     PRIMARY KEY ((author, id, generation, chunk)))
+ * }</pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Chunked {
+
+    /**
+     * The maximum number of bytes in a chunk. The default is 256 KiB, small enough not to be a humongous
+     * allocation in G1.
+     *
+     * @return the chunk size
+     */
+    int size() default 262_144;
+
+    /**
+     * The chunk table. The default is the entity name and the column name joined by an underscore.
+     *
+     * @return the chunk table
+     */
+    String table() default "";
+}
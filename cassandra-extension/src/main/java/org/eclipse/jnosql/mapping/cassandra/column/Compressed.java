@@ -0,0 +1,46 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import org.eclipse.jnosql.mapping.cassandra.converters.CompressedConverter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.zip.Deflater;
+
+/**
+ * Defines that a {@link String} or byte[] field is written to a blob column through {@link CompressedConverter},
+ * compressed when it has at least {@link #threshold()} bytes.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Compressed {
+
+    /**
+     * The size in bytes from which the value is compressed
+     *
+     * @return the threshold
+     */
+    int threshold() default CompressedConverter.DEFAULT_THRESHOLD;
+
+    /**
+     * The {@link Deflater} compression level
+     *
+     * @return the level
+     */
+    int level() default Deflater.DEFAULT_COMPRESSION;
+}
@@ -16,37 +16,97 @@ package org.eclipse.jnosql.mapping.cassandra.column;
 
 
 import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import jakarta.nosql.NonUniqueResultException;
 import jakarta.nosql.column.ColumnDeleteQuery;
 import jakarta.nosql.column.ColumnEntity;
 import jakarta.nosql.column.ColumnFamilyManager;
 import jakarta.nosql.column.ColumnQuery;
+import jakarta.nosql.mapping.AttributeConverter;
 import jakarta.nosql.mapping.Converters;
 import jakarta.nosql.mapping.column.ColumnEntityConverter;
 import jakarta.nosql.mapping.column.ColumnEventPersistManager;
 import jakarta.nosql.mapping.column.ColumnWorkflow;
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
 import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.reflection.FieldMapping;
 import org.eclipse.jnosql.mapping.column.AbstractColumnTemplate;
 
 import org.eclipse.jnosql.communication.cassandra.column.CassandraColumnFamilyManager;
-import org.eclipse.jnosql.communication.cassandra.column.CassandraPreparedStatement;
+import org.eclipse.jnosql.mapping.cassandra.column.CassandraUpdates.Assignment;
+import org.eclipse.jnosql.mapping.cassandra.column.CassandraUpdates.Operation;
+import org.eclipse.jnosql.mapping.cassandra.converters.CompressionMetrics;
 
 import javax.enterprise.inject.Instance;
 import javax.enterprise.inject.Typed;
 import javax.inject.Inject;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.BATCH_CONCURRENCY;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.BATCH_SAVE;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.BATCH_SIZE;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.CHANGE_TRACKING;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.FETCH_SIZE;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.FIND_BY_IDS_CONCURRENCY;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.PREPARED_NAMED_PARAMETERS;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.TIME_BUCKET_CONCURRENCY;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.TIME_BUCKET_MAX_BUCKETS;
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.UNSET_NULLS;
+
 @Typed(CassandraTemplate.class)
 class DefaultCassandraTemplate extends AbstractColumnTemplate implements CassandraTemplate {
 
+    private static final Pattern SCHEMA_CHANGE = Pattern.compile("^\\s*(CREATE|ALTER|DROP)\\s",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern SELECT_ALL = Pattern.compile("^(\\s*SELECT\\s+)\\*(\\s+FROM\\s)",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final int DEFAULT_BATCH_SIZE = 50;
+
+    private static final int DEFAULT_BATCH_CONCURRENCY = 8;
+
+    private static final int DEFAULT_FETCH_SIZE = 5000;
+
+    private static final int DEFAULT_FIND_BY_IDS_CONCURRENCY = 32;
+
+    private static final int DEFAULT_TIME_BUCKET_CONCURRENCY = 16;
+
+    private static final int DEFAULT_TIME_BUCKET_MAX_BUCKETS = 10000;
+
     private Instance<CassandraColumnFamilyManager> manager;
 
+    private Instance<CqlSession> session;
+
     private CassandraColumnEntityConverter converter;
 
     private CassandraColumnWorkflow flow;
@@ -57,19 +117,74 @@ class DefaultCassandraTemplate extends AbstractColumnTemplate implements Cassand
 
     private Converters converters;
 
+    private CassandraPreparedStatementCache statements;
+
+    private boolean namedParameters;
+
+    private CassandraBatchSave batchSave;
+
+    private int fetchSize;
+
+    private CassandraChangeTracker tracker;
+
+    private CassandraEntityCache cache;
+
+    private CassandraEntityStatements entityStatements;
+
+    private int findByIdsConcurrency;
+
+    private int timeBucketConcurrency;
+
+    private int timeBucketMaxBuckets;
+
+    private boolean unsetNulls;
+
     @Inject
     DefaultCassandraTemplate(Instance<CassandraColumnFamilyManager> manager,
                              CassandraColumnEntityConverter converter,
                              CassandraColumnWorkflow flow,
                              ColumnEventPersistManager persistManager,
                              ClassMappings mappings,
-                             Converters converters) {
+                             Converters converters,
+                             CassandraTemplateSupport support) {
         this.manager = manager;
         this.converter = converter;
         this.flow = flow;
         this.persistManager = persistManager;
         this.mappings = mappings;
         this.converters = converters;
+        this.session = support.getSession();
+        this.statements = support.getStatements();
+        this.cache = support.getCache();
+        this.entityStatements = support.getEntityStatements();
+        CassandraMappingSettings settings = support.getSettings();
+        this.namedParameters = settings.getBoolean(PREPARED_NAMED_PARAMETERS, false);
+        this.fetchSize = settings.getInt(FETCH_SIZE, DEFAULT_FETCH_SIZE);
+        this.unsetNulls = settings.getBoolean(UNSET_NULLS, false);
+        this.findByIdsConcurrency = settings.getInt(FIND_BY_IDS_CONCURRENCY, DEFAULT_FIND_BY_IDS_CONCURRENCY);
+        if (findByIdsConcurrency <= 0) {
+            throw new IllegalArgumentException("The find by ids concurrency must be positive: "
+                    + findByIdsConcurrency);
+        }
+        this.timeBucketConcurrency = settings.getInt(TIME_BUCKET_CONCURRENCY, DEFAULT_TIME_BUCKET_CONCURRENCY);
+        if (timeBucketConcurrency <= 0) {
+            throw new IllegalArgumentException("The time bucket concurrency must be positive: "
+                    + timeBucketConcurrency);
+        }
+        this.timeBucketMaxBuckets = settings.getInt(TIME_BUCKET_MAX_BUCKETS, DEFAULT_TIME_BUCKET_MAX_BUCKETS);
+        if (timeBucketMaxBuckets <= 0) {
+            throw new IllegalArgumentException("The maximum of time buckets must be positive: "
+                    + timeBucketMaxBuckets);
+        }
+        if (settings.getBoolean(CHANGE_TRACKING, false)) {
+            this.tracker = new CassandraChangeTracker();
+        }
+        if (settings.getBoolean(BATCH_SAVE, false)) {
+            this.batchSave = new CassandraBatchSave(manager::get, this::getSession, statements, converter, mappings,
+                    support.getExecutor().get(),
+                    settings.getInt(BATCH_SIZE, DEFAULT_BATCH_SIZE),
+                    settings.getInt(BATCH_CONCURRENCY, DEFAULT_BATCH_CONCURRENCY));
+        }
     }
 
     DefaultCassandraTemplate() {
@@ -110,8 +225,8 @@ class DefaultCassandraTemplate extends AbstractColumnTemplate implements Cassand
     public <T> T save(T entity, ConsistencyLevel level) {
         Objects.requireNonNull(entity, "entity is required");
         Objects.requireNonNull(level, "level is required");
-        UnaryOperator<ColumnEntity> save = e -> manager.get().save(e, level);
-        return getFlow().flow(entity, save);
+        UnaryOperator<ColumnEntity> save = e -> insert(e, null, level, c -> manager.get().save(c, level));
+        return evict(trackSaved(entity, getFlow().flow(entity, save)), null);
     }
 
     @Override
@@ -119,25 +234,31 @@ class DefaultCassandraTemplate extends AbstractColumnTemplate implements Cassand
         Objects.requireNonNull(entities, "entities is required");
         Objects.requireNonNull(ttl, "ttl is required");
         Objects.requireNonNull(level, "level is required");
+        if (Objects.nonNull(batchSave)) {
+            return evictAll(toEntities(batchSave.save(entities, ttl, level)), ttl);
+        }
 
-        return StreamSupport.stream(entities.spliterator(), false)
+        return evictAll(StreamSupport.stream(entities.spliterator(), false)
                 .map(converter::toColumn)
                 .map(e -> manager.get().save(e, ttl, level))
                 .map(converter::toEntity)
                 .map(e -> (T) e)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), ttl);
     }
 
     @Override
     public <T> Iterable<T> save(Iterable<T> entities, ConsistencyLevel level) {
         Objects.requireNonNull(entities, "entities is required");
         Objects.requireNonNull(level, "level is required");
-        return StreamSupport.stream(entities.spliterator(), false)
+        if (Objects.nonNull(batchSave)) {
+            return evictAll(toEntities(batchSave.save(entities, null, level)), null);
+        }
+        return evictAll(StreamSupport.stream(entities.spliterator(), false)
                 .map(converter::toColumn)
                 .map(e -> manager.get().save(e, level))
                 .map(converter::toEntity)
                 .map(e -> (T) e)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()), null);
     }
 
     @Override
@@ -145,8 +266,99 @@ class DefaultCassandraTemplate extends AbstractColumnTemplate implements Cassand
         Objects.requireNonNull(entity, "entity is required");
         Objects.requireNonNull(ttl, "ttl is required");
         Objects.requireNonNull(level, "level is required");
-        UnaryOperator<ColumnEntity> save = e -> manager.get().save(e, ttl, level);
-        return getFlow().flow(entity, save);
+        UnaryOperator<ColumnEntity> save = e -> insert(e, ttl, level, c -> manager.get().save(c, ttl, level));
+        return evict(trackSaved(entity, getFlow().flow(entity, save)), ttl);
+    }
+
+    @Override
+    public <T> T insert(T entity) {
+        Objects.requireNonNull(entity, "entity is required");
+        return evict(getFlow().flow(entity, e -> insert(e, null, null, getManager()::insert)), null);
+    }
+
+    @Override
+    public <T> T insert(T entity, Duration ttl) {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(ttl, "ttl is required");
+        return evict(getFlow().flow(entity, e -> insert(e, ttl, null, c -> getManager().insert(c, ttl))), ttl);
+    }
+
+    @Override
+    public <T> Iterable<T> insert(Iterable<T> entities) {
+        return evictAll(super.insert(entities), null);
+    }
+
+    @Override
+    public <T> Iterable<T> insert(Iterable<T> entities, Duration ttl) {
+        return evictAll(super.insert(entities, ttl), ttl);
+    }
+
+    @Override
+    public <T> T update(T entity) {
+        Objects.requireNonNull(entity, "entity is required");
+        return evict(update(entity, null, () -> getFlow().flow(entity, this::updateColumns)), null);
+    }
+
+    @Override
+    public <T> Iterable<T> update(Iterable<T> entities) {
+        return evictAll(super.update(entities), null);
+    }
+
+    @Override
+    public <T> T update(T entity, ConsistencyLevel level) {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(level, "level is required");
+        return evict(update(entity, level, () -> save(entity, level)), null);
+    }
+
+    @Override
+    public <T> Stream<T> select(ColumnQuery query) {
+        Stream<T> entities = super.select(query);
+        return Objects.isNull(tracker) ? entities : entities.map(this::track);
+    }
+
+    @Override
+    public <T, K> Optional<T> find(Class<T> entityClass, K id) {
+        if (Objects.isNull(cache) || !cache.isEnabled()) {
+            Optional<T> entity = findById(entityClass, id);
+            return Objects.isNull(tracker) ? entity : entity.map(this::track);
+        }
+        Objects.requireNonNull(entityClass, "entityClass is required");
+        Objects.requireNonNull(id, "id is required");
+        ClassMapping mapping = mappings.get(entityClass);
+        Object key = PrimaryKeys.toId(mapping, id);
+        Optional<ColumnEntity> cached = cache.get(mapping.getName(), key);
+        if (cached.isPresent()) {
+            return Optional.of(track(converter.toEntity(entityClass, cached.get())));
+        }
+        long stamp = cache.stamp();
+        Optional<T> entity = findById(entityClass, id);
+        entity.ifPresent(e -> cache.put(key, converter.toColumn(e), stamp));
+        return entity.map(this::track);
+    }
+
+    @Override
+    public void delete(ColumnDeleteQuery query) {
+        super.delete(query);
+        evictTable(query.getColumnFamily());
+    }
+
+    @Override
+    public <T, K> void delete(Class<T> entityClass, K id) {
+        Objects.requireNonNull(entityClass, "entityClass is required");
+        Objects.requireNonNull(id, "id is required");
+        ClassMapping mapping = mappings.get(entityClass);
+        Optional<BoundStatement> statement = toIdStatement(mapping, id,
+                (m, v) -> entityStatements.toDelete(m, v));
+        if (statement.isPresent()) {
+            persistManager.firePreDeleteQuery(ColumnDeleteQuery.delete().from(mapping.getName())
+                    .where(mapping.getId().get().getName())
+                    .eq(PrimaryKeys.toColumnId(mapping, converters, id)).build());
+            getSession().execute(statement.get());
+        } else {
+            super.delete(entityClass, id);
+        }
+        evictId(mapping, PrimaryKeys.toId(mapping, id));
     }
 
     @Override
@@ -155,6 +367,7 @@ class DefaultCassandraTemplate extends AbstractColumnTemplate implements Cassand
         Objects.requireNonNull(level, "level is required");
         persistManager.firePreDeleteQuery(query);
         manager.get().delete(query, level);
+        evictTable(query.getColumnFamily());
     }
 
     @Override
@@ -164,33 +377,523 @@ class DefaultCassandraTemplate extends AbstractColumnTemplate implements Cassand
         persistManager.firePreQuery(query);
 
         return manager.get().select(query, level)
-                .map(c -> converter.toEntity(c));
+                .map(c -> track(converter.toEntity(c)));
     }
 
     @Override
     public <T> Stream<T> cql(String query) {
-        return manager.get().cql(query)
-                .map(c -> converter.toEntity(c));
+        Stream<ColumnEntity> entities = manager.get().cql(query);
+        invalidateWrittenBy(query);
+        return entities.map(c -> track(converter.toEntity(c)));
     }
 
     @Override
     public <T> Stream<T> cql(String query, Map<String, Object> values) {
-        return manager.get().cql(query, values)
-                .map(c -> converter.toEntity(c));
+        if (namedParameters) {
+            Objects.requireNonNull(query, "query is required");
+            Objects.requireNonNull(values, "values is required");
+            NamedCQL named = statements.toNamedCQL(query);
+            if (!named.isEmpty()) {
+                return cql(named.getQuery(), named.toParams(values));
+            }
+        }
+        Stream<ColumnEntity> entities = manager.get().cql(query, values);
+        invalidateWrittenBy(query);
+        return entities.map(c -> track(converter.toEntity(c)));
     }
 
     @Override
     public <T> Stream<T> cql(String query, Object... params) {
         Objects.requireNonNull(query, "query is required");
-        CassandraPreparedStatement cassandraPrepareStatment = manager.get().nativeQueryPrepare(query);
-        Stream<ColumnEntity> entities = cassandraPrepareStatment.bind(params).executeQuery();
-        return entities.map(converter::toEntity).map(e -> (T) e);
+        if (unsetNulls && Objects.nonNull(params) && Stream.of(params).anyMatch(Objects::isNull)) {
+            CqlSession cqlSession = getSession();
+            List<Object> values = Stream.of(params)
+                    .map(p -> Objects.isNull(p) ? CassandraBinding.UNSET : p)
+                    .collect(Collectors.toList());
+            PreparedStatement prepared = join(statements.prepare(cqlSession, query).toCompletableFuture());
+            ResultSet rows = cqlSession.execute(CassandraBinding.bind(cqlSession, prepared, values));
+            invalidateWrittenBy(query);
+            return StreamSupport.stream(rows.spliterator(), false).map(this::toEntity);
+        }
+        Stream<ColumnEntity> entities = statements.apply(query, manager.get()::nativeQueryPrepare,
+                s -> s.bind(params).executeQuery());
+        invalidateWrittenBy(query);
+        return entities.map(c -> track(converter.toEntity(c)));
+    }
+
+    @Override
+    public <T> Stream<T> cql(int pageSize, String query, Object... params) {
+        Objects.requireNonNull(query, "query is required");
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("The page size must be positive: " + pageSize);
+        }
+        CqlSession cqlSession = getSession();
+        List<Object> values = Objects.isNull(params) ? Collections.emptyList() : Stream.of(params)
+                .map(p -> unsetNulls && Objects.isNull(p) ? CassandraBinding.UNSET : p)
+                .collect(Collectors.toList());
+        PreparedStatement prepared = join(statements.prepare(cqlSession, query).toCompletableFuture());
+        ResultSet rows = cqlSession.execute(CassandraBinding.bind(cqlSession, prepared, values).setPageSize(pageSize));
+        invalidateWrittenBy(query);
+        return StreamSupport.stream(rows.spliterator(), false).map(this::toEntity);
+    }
+
+    @Override
+    public <R> Stream<R> cql(String query, Class<R> projection, Object... params) {
+        Objects.requireNonNull(query, "query is required");
+        CassandraProjection<R> mapper = converter.getProjection(projection);
+        Matcher selectAll = SELECT_ALL.matcher(query);
+        String cql = query;
+        if (selectAll.find()) {
+            cql = query.substring(0, selectAll.end(1)) + mapper.getColumns().stream()
+                    .map(CassandraInserts::toIdentifier)
+                    .collect(Collectors.joining(", ")) + query.substring(selectAll.start(2));
+        }
+        Stream<ColumnEntity> entities = statements.apply(cql, manager.get()::nativeQueryPrepare,
+                s -> s.bind(params).executeQuery());
+        return entities.map(mapper);
+    }
+
+    @Override
+    public <R> Stream<R> find(ColumnQuery query, Class<R> projection) {
+        Objects.requireNonNull(query, "query is required");
+        CassandraProjection<R> mapper = converter.getProjection(projection);
+        persistManager.firePreQuery(query);
+        CqlSession cqlSession = getSession();
+        SimpleStatement statement = route(cqlSession, CassandraQueries.toStatement(query, mapper.getColumns(), null),
+                query);
+        ResultSet rows = cqlSession.execute(join(CassandraBinding.toStatement(cqlSession, statements, statement)
+                .toCompletableFuture()));
+        return StreamSupport.stream(rows.spliterator(), false).map(CassandraRows::toColumnEntity).map(mapper);
     }
 
     @Override
     public <T> Stream<T> execute(SimpleStatement statement) {
-        return manager.get().execute(statement)
-                .map(c -> converter.toEntity(c));
+        Stream<ColumnEntity> entities = manager.get().execute(statement);
+        invalidateWrittenBy(statement.getQuery());
+        return entities.map(c -> track(converter.toEntity(c)));
+    }
+
+    @Override
+    public <T> Flow.Publisher<T> findPublisher(ColumnQuery query, ConsistencyLevel level) {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(level, "level is required");
+        CqlSession cqlSession = getSession();
+        SimpleStatement statement = route(cqlSession, CassandraQueries.toStatement(query, level), query)
+                .setPageSize(fetchSize);
+        Function<Row, T> mapper = tracking(converter.getRowMapper(query.getColumnFamily()));
+        return new CassandraPagePublisher<>(() -> CassandraBinding.toStatement(cqlSession, statements, statement)
+                .thenCompose(cqlSession::executeAsync), mapper, () -> persistManager.firePreQuery(query));
+    }
+
+    @Override
+    public <T> Flow.Publisher<T> cqlPublisher(String query, Object... params) {
+        Objects.requireNonNull(query, "query is required");
+        CqlSession cqlSession = getSession();
+        List<Object> values = Objects.isNull(params) ? Collections.emptyList() : Arrays.asList(params);
+        return new CassandraPagePublisher<>(() -> statements.prepare(cqlSession, query)
+                .thenCompose(p -> cqlSession.executeAsync(CassandraBinding.bind(cqlSession, p, values)
+                        .setPageSize(fetchSize))), this::toEntity);
+    }
+
+    @Override
+    public <T> Flow.Publisher<T> executePublisher(SimpleStatement statement) {
+        Objects.requireNonNull(statement, "statement is required");
+        SimpleStatement paged = statement.getPageSize() > 0 ? statement : statement.setPageSize(fetchSize);
+        CqlSession cqlSession = getSession();
+        return new CassandraPagePublisher<>(() -> cqlSession.executeAsync(paged), this::toEntity);
+    }
+
+    @Override
+    public <T> CassandraScan<T> scan(Class<T> entity, int splits) {
+        Objects.requireNonNull(entity, "entity is required");
+        ClassMapping mapping = mappings.get(entity);
+        return CassandraScan.of(getSession(), null, mapping.getName(), PartitionKeys.getColumns(mapping), splits,
+                fetchSize, tracking(converter.getRowMapper(entity)));
+    }
+
+    @Override
+    public <T, K> Stream<T> findByIds(Class<T> entityClass, Iterable<K> ids, boolean ordered) {
+        Objects.requireNonNull(entityClass, "entityClass is required");
+        Objects.requireNonNull(ids, "ids is required");
+        ClassMapping mapping = mappings.get(entityClass);
+        FieldMapping idField = mapping.getId().orElseThrow(() -> new IllegalArgumentException(
+                "The entity " + entityClass + " does not have an id"));
+        Set<Object> keys = new LinkedHashSet<>();
+        for (K id : ids) {
+            keys.add(PrimaryKeys.of(mapping, converters, id).get(idField.getName()));
+        }
+        if (keys.isEmpty()) {
+            return Stream.empty();
+        }
+        CqlSession cqlSession = getSession();
+        PreparedStatement select = join(statements.prepare(cqlSession, "SELECT * FROM "
+                + CassandraInserts.toIdentifier(mapping.getName()) + " WHERE "
+                + CassandraInserts.toIdentifier(idField.getName()) + " = ?").toCompletableFuture());
+        Iterator<BoundStatement> queries = keys.stream()
+                .map(k -> CassandraBinding.bind(cqlSession, select, Collections.singletonList(k)))
+                .iterator();
+        Function<Row, T> mapper = tracking(converter.getRowMapper(entityClass));
+        return CassandraFanOut.of(cqlSession, queries, findByIdsConcurrency, ordered).map(mapper);
+    }
+
+    @Override
+    public <T, K> Stream<T> findByIds(Class<T> entityClass, Iterable<K> ids) {
+        return findByIds(entityClass, ids, true);
+    }
+
+    @Override
+    public <T> Stream<T> findByTimeRange(Class<T> entityClass, Map<String, ?> partition, Instant from, Instant to) {
+        Objects.requireNonNull(entityClass, "entityClass is required");
+        Objects.requireNonNull(partition, "partition is required");
+        Objects.requireNonNull(from, "from is required");
+        Objects.requireNonNull(to, "to is required");
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("The range start " + from + " is after its end " + to);
+        }
+        CassandraTimeBucket bucket = converter.getTimeBucket(entityClass).orElseThrow(() ->
+                new IllegalArgumentException("The entity " + entityClass + " does not have a @TimeBucket field"));
+        ClassMapping mapping = mappings.get(entityClass);
+        List<String> keys = new ArrayList<>(PartitionKeys.getColumns(mapping));
+        if (!keys.remove(bucket.getBucketColumn())) {
+            throw new IllegalArgumentException("The @TimeBucket field of " + entityClass
+                    + " is not in its partition key");
+        }
+        if (!partition.keySet().equals(new LinkedHashSet<>(keys))) {
+            throw new IllegalArgumentException("The partition must have the partition key columns " + keys
+                    + " but it has " + partition.keySet());
+        }
+        List<Object> buckets = bucket.getBuckets(from, to, timeBucketMaxBuckets);
+        StringBuilder cql = new StringBuilder("SELECT * FROM ").append(CassandraInserts.toIdentifier(
+                mapping.getName())).append(" WHERE ").append(CassandraInserts.toIdentifier(bucket.getBucketColumn()))
+                .append(" = ?");
+        keys.forEach(k -> cql.append(" AND ").append(CassandraInserts.toIdentifier(k)).append(" = ?"));
+        String timestamp = CassandraInserts.toIdentifier(bucket.getTimestampColumn());
+        cql.append(" AND ").append(timestamp).append(" >= ? AND ").append(timestamp).append(" < ?")
+                .append(" ORDER BY ").append(timestamp).append(" ASC");
+        CqlSession cqlSession = getSession();
+        PreparedStatement select = join(statements.prepare(cqlSession, cql.toString()).toCompletableFuture());
+        Iterator<BoundStatement> queries = buckets.stream().map(value -> {
+            List<Object> values = new ArrayList<>(keys.size() + 3);
+            values.add(value);
+            keys.forEach(k -> values.add(partition.get(k)));
+            values.add(bucket.toTimestampColumn(from));
+            values.add(bucket.toTimestampColumn(to));
+            return CassandraBinding.bind(cqlSession, select, values);
+        }).iterator();
+        Function<Row, T> mapper = tracking(converter.getRowMapper(entityClass));
+        return CassandraFanOut.of(cqlSession, queries, timeBucketConcurrency, true).map(mapper);
+    }
+
+    @Override
+    public <T, K> void append(Class<T> entityClass, K id, String field, Iterable<?> values, ConsistencyLevel level) {
+        Objects.requireNonNull(level, "level is required");
+        mutate(entityClass, id, field, Operation.ADD, toCollection(values), level);
+    }
+
+    @Override
+    public <T, K> void append(Class<T> entityClass, K id, String field, Iterable<?> values) {
+        mutate(entityClass, id, field, Operation.ADD, toCollection(values), null);
+    }
+
+    @Override
+    public <T, K> void prepend(Class<T> entityClass, K id, String field, List<?> values, ConsistencyLevel level) {
+        Objects.requireNonNull(level, "level is required");
+        mutate(entityClass, id, field, Operation.PREPEND, toCollection(values), level);
+    }
+
+    @Override
+    public <T, K> void prepend(Class<T> entityClass, K id, String field, List<?> values) {
+        mutate(entityClass, id, field, Operation.PREPEND, toCollection(values), null);
+    }
+
+    @Override
+    public <T, K> void remove(Class<T> entityClass, K id, String field, Iterable<?> values, ConsistencyLevel level) {
+        Objects.requireNonNull(level, "level is required");
+        mutate(entityClass, id, field, Operation.SUBTRACT, toCollection(values), level);
+    }
+
+    @Override
+    public <T, K> void remove(Class<T> entityClass, K id, String field, Iterable<?> values) {
+        mutate(entityClass, id, field, Operation.SUBTRACT, toCollection(values), null);
+    }
+
+    @Override
+    public <T, K> void put(Class<T> entityClass, K id, String field, Map<?, ?> entries, ConsistencyLevel level) {
+        Objects.requireNonNull(level, "level is required");
+        mutate(entityClass, id, field, Operation.ADD, Objects.requireNonNull(entries, "entries is required"), level);
+    }
+
+    @Override
+    public <T, K> void put(Class<T> entityClass, K id, String field, Map<?, ?> entries) {
+        mutate(entityClass, id, field, Operation.ADD, Objects.requireNonNull(entries, "entries is required"), null);
+    }
+
+    @Override
+    public <T, K> void increment(Class<T> entityClass, K id, String field, long delta, ConsistencyLevel level) {
+        Objects.requireNonNull(level, "level is required");
+        mutate(entityClass, id, field, Operation.ADD, delta, level);
+    }
+
+    @Override
+    public <T, K> void increment(Class<T> entityClass, K id, String field, long delta) {
+        mutate(entityClass, id, field, Operation.ADD, delta, null);
+    }
+
+    @Override
+    public Optional<CompressionMetrics> getCompressionMetrics(Class<?> entityClass, String field) {
+        return converter.getCompressionMetrics(entityClass, field);
+    }
+
+    private CqlSession getSession() {
+        if (Objects.isNull(session) || !session.isResolvable()) {
+            throw new IllegalStateException("This operation requires a CqlSession produced to the container");
+        }
+        return session.get();
+    }
+
+    private <T, K> Optional<T> findById(Class<T> entityClass, K id) {
+        Objects.requireNonNull(entityClass, "entityClass is required");
+        Objects.requireNonNull(id, "id is required");
+        ClassMapping mapping = mappings.get(entityClass);
+        Optional<BoundStatement> statement = toIdStatement(mapping, id,
+                (m, v) -> entityStatements.toSelect(m, v));
+        if (!statement.isPresent()) {
+            return super.find(entityClass, id);
+        }
+        persistManager.firePreQuery(ColumnQuery.select().from(mapping.getName())
+                .where(mapping.getId().get().getName())
+                .eq(PrimaryKeys.toColumnId(mapping, converters, id)).build());
+        Iterator<Row> rows = getSession().execute(statement.get()).iterator();
+        if (!rows.hasNext()) {
+            return Optional.empty();
+        }
+        Row row = rows.next();
+        if (rows.hasNext()) {
+            throw new NonUniqueResultException("No unique result found to the id: " + id);
+        }
+        return Optional.of(converter.getRowMapper(entityClass).apply(row));
+    }
+
+    /**
+     * Binds the statement prepared by {@link CassandraEntityStatements} to the id, or returns empty so the
+     * operation is built as a query
+     */
+    private Optional<BoundStatement> toIdStatement(ClassMapping mapping, Object id,
+                                                   BiFunction<ClassMapping, Object, Optional<BoundStatement>> bind) {
+        if (Objects.isNull(entityStatements) || !mapping.getId().isPresent()) {
+            return Optional.empty();
+        }
+        return bind.apply(mapping, PrimaryKeys.toColumnId(mapping, converters, id));
+    }
+
+    private ColumnEntity insert(ColumnEntity entity, Duration ttl, ConsistencyLevel level,
+                                UnaryOperator<ColumnEntity> fallback) {
+        Optional<BoundStatement> statement = Objects.isNull(entityStatements) ? Optional.empty()
+                : entityStatements.toInsert(entity, ttl, level);
+        if (!statement.isPresent()) {
+            return fallback.apply(entity);
+        }
+        getSession().execute(statement.get());
+        return entity;
+    }
+
+    private ColumnEntity updateColumns(ColumnEntity entity) {
+        Optional<BoundStatement> statement = Objects.isNull(entityStatements) ? Optional.empty()
+                : entityStatements.toUpdate(entity, null);
+        if (!statement.isPresent()) {
+            return getManager().update(entity);
+        }
+        getSession().execute(statement.get());
+        return entity;
+    }
+
+    /**
+     * Sets the routing key of the statement when the query compares every partition key column by equals
+     */
+    private static SimpleStatement route(CqlSession session, SimpleStatement statement, ColumnQuery query) {
+        return query.getCondition().map(c -> CassandraRouting.route(session, statement, query.getColumnFamily(), c))
+                .orElse(statement);
+    }
+
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw exception;
+        }
+    }
+
+    private <T> T toEntity(Row row) {
+        return track(converter.toEntity(row));
+    }
+
+    private <T> T update(T entity, ConsistencyLevel level, Supplier<T> fallback) {
+        Optional<Map<String, Object>> before = Objects.isNull(tracker) ? Optional.empty() : tracker.get(entity);
+        if (!before.isPresent()) {
+            return trackSaved(entity, fallback.get());
+        }
+        ColumnEntity column = converter.toColumn(entity);
+        Map<String, Object> after = CassandraUpdates.toValues(column);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        ClassMapping mapping = mappings.get(entity.getClass());
+        PrimaryKeys.getColumns(mapping).forEach(k -> keys.put(k, after.get(k)));
+        boolean sameRow = !keys.isEmpty() && keys.entrySet().stream()
+                .allMatch(k -> Objects.nonNull(k.getValue()) && k.getValue().equals(before.get().get(k.getKey())));
+        if (!sameRow || !CassandraInserts.isSupported(column)) {
+            return trackSaved(entity, fallback.get());
+        }
+        List<Assignment> assignments = CassandraUpdates.diff(before.get(), after, keys.keySet(),
+                converter.isUnsetNulls(entity.getClass()));
+        if (!assignments.isEmpty()) {
+            persistManager.firePreEntity(entity);
+            CqlSession cqlSession = getSession();
+            cqlSession.execute(join(CassandraUpdates.toStatement(cqlSession, statements, column.getName(),
+                    assignments, keys, level).toCompletableFuture()));
+            persistManager.firePostEntity(entity);
+        }
+        tracker.track(entity, after);
+        return entity;
+    }
+
+    private <K> void mutate(Class<?> entityClass, K id, String field, Operation operation, Object value,
+                            ConsistencyLevel level) {
+        Objects.requireNonNull(entityClass, "entityClass is required");
+        Objects.requireNonNull(id, "id is required");
+        Objects.requireNonNull(field, "field is required");
+        ClassMapping mapping = mappings.get(entityClass);
+        Map<String, Object> keys = PrimaryKeys.of(mapping, converters, id);
+        FieldMapping column = mapping.getFields().stream()
+                .filter(f -> f.getNativeField().getName().equals(field))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("The field " + field + " does not exist in "
+                        + entityClass));
+        Object bound = toValue(column, operation, value);
+        Assignment assignment = new Assignment(column.getName(), operation, bound);
+        CqlSession cqlSession = getSession();
+        cqlSession.execute(join(CassandraUpdates.toStatement(cqlSession, statements, mapping.getName(),
+                Collections.singletonList(assignment), keys, level).toCompletableFuture()));
+        evictId(mapping, PrimaryKeys.toId(mapping, id));
+    }
+
+    /**
+     * Converts the value of the operation to the type of the field and then to its column value, applying the
+     * converter of the field
+     */
+    private Object toValue(FieldMapping field, Operation operation, Object value) {
+        Object fieldValue = toFieldValue(field, operation, value);
+        Optional<Class<? extends AttributeConverter<Object, Object>>> fieldConverter = field.getConverter();
+        if (!fieldConverter.isPresent()) {
+            return fieldValue;
+        }
+        if (value instanceof Number || (operation == Operation.SUBTRACT
+                && Map.class.isAssignableFrom(field.getNativeField().getType()))) {
+            throw new IllegalArgumentException("The field " + field.getName() + " has a converter, which cannot"
+                    + " convert the values of " + operation);
+        }
+        return converters.get(fieldConverter.get()).convertToDatabaseColumn(fieldValue);
+    }
+
+    private static Object toFieldValue(FieldMapping field, Operation operation, Object value) {
+        Class<?> type = field.getNativeField().getType();
+        if (value instanceof Number) {
+            if (!Number.class.isAssignableFrom(type) && !(type.isPrimitive() && !boolean.class.equals(type))) {
+                throw new IllegalArgumentException("The field " + field.getName() + " is not a counter");
+            }
+            return value;
+        }
+        if (value instanceof Map) {
+            if (!Map.class.isAssignableFrom(type)) {
+                throw new IllegalArgumentException("The field " + field.getName() + " is not a map");
+            }
+            return value;
+        }
+        List<?> values = (List<?>) value;
+        if (List.class.isAssignableFrom(type)) {
+            return values;
+        } else if (Set.class.isAssignableFrom(type) && operation != Operation.PREPEND) {
+            return new LinkedHashSet<>(values);
+        } else if (Map.class.isAssignableFrom(type) && operation == Operation.SUBTRACT) {
+            return new LinkedHashSet<>(values);
+        }
+        throw new IllegalArgumentException("The field " + field.getName() + " does not support " + operation);
+    }
+
+    private static List<Object> toCollection(Iterable<?> values) {
+        Objects.requireNonNull(values, "values is required");
+        List<Object> collection = new ArrayList<>();
+        values.forEach(collection::add);
+        return collection;
+    }
+
+    private <T> T track(T entity) {
+        if (Objects.nonNull(tracker) && Objects.nonNull(entity)) {
+            tracker.track(entity, CassandraUpdates.toValues(converter.toColumn(entity)));
+        }
+        return entity;
+    }
+
+    private <T> T trackSaved(T entity, T saved) {
+        if (Objects.nonNull(tracker)) {
+            track(entity);
+            if (saved != entity) {
+                track(saved);
+            }
+        }
+        return saved;
+    }
+
+    private <T> Function<Row, T> tracking(Function<Row, T> mapper) {
+        return Objects.isNull(tracker) ? mapper : mapper.andThen(this::track);
+    }
+
+    private <T> T evict(T entity, Duration ttl) {
+        if (Objects.nonNull(cache) && cache.isEnabled() && Objects.nonNull(entity)) {
+            ClassMapping mapping = mappings.get(entity.getClass());
+            mapping.getId().map(f -> f.read(entity))
+                    .ifPresent(id -> cache.invalidate(mapping.getName(), id, ttl));
+        }
+        return entity;
+    }
+
+    private <T> Iterable<T> evictAll(Iterable<T> entities, Duration ttl) {
+        if (Objects.nonNull(cache) && cache.isEnabled()) {
+            entities.forEach(e -> evict(e, ttl));
+        }
+        return entities;
+    }
+
+    private void evictId(ClassMapping mapping, Object id) {
+        if (Objects.nonNull(cache)) {
+            cache.invalidate(mapping.getName(), id, null);
+        }
+    }
+
+    private void evictTable(String entity) {
+        if (Objects.nonNull(cache)) {
+            cache.invalidateAll(entity);
+        }
+    }
+
+    private <T> Iterable<T> toEntities(List<ColumnEntity> entities) {
+        return entities.stream()
+                .map(converter::toEntity)
+                .map(e -> (T) e)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Drops the prepared statements after a schema change and the cached rows of the table the query writes to
+     */
+    private void invalidateWrittenBy(String query) {
+        if (Objects.nonNull(query) && SCHEMA_CHANGE.matcher(query).find()) {
+            statements.invalidateAll();
+        }
+        if (Objects.nonNull(cache)) {
+            cache.invalidateWrittenBy(query);
+        }
     }
 
 }
@@ -0,0 +1,331 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import jakarta.nosql.column.ColumnDeleteQuery;
+import jakarta.nosql.column.ColumnEntity;
+import jakarta.nosql.column.ColumnQuery;
+import jakarta.nosql.mapping.column.ColumnEventPersistManager;
+import org.eclipse.jnosql.communication.cassandra.column.CassandraColumnFamilyManager;
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.inject.Typed;
+import javax.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.ASYNC_MAX_REQUESTS;
+
+@ApplicationScoped
+@Typed(CassandraTemplateAsync.class)
+class DefaultCassandraTemplateAsync implements CassandraTemplateAsync {
+
+    static final int DEFAULT_MAX_REQUESTS = 1024;
+
+    private Instance<CqlSession> session;
+
+    private CassandraPreparedStatementCache statements;
+
+    private Instance<CassandraColumnFamilyManager> manager;
+
+    private CassandraColumnEntityConverter converter;
+
+    private ColumnEventPersistManager persistManager;
+
+    private ExecutorService executor;
+
+    private ClassMappings mappings;
+
+    private CassandraEntityCache cache;
+
+    private Semaphore requests;
+
+    private Queue<Runnable> pending;
+
+    private AtomicInteger draining;
+
+    @Inject
+    DefaultCassandraTemplateAsync(Instance<CqlSession> session,
+                                  CassandraPreparedStatementCache statements,
+                                  Instance<CassandraColumnFamilyManager> manager,
+                                  CassandraColumnEntityConverter converter,
+                                  ColumnEventPersistManager persistManager,
+                                  ClassMappings mappings,
+                                  CassandraEntityCache cache,
+                                  CassandraMappingSettings settings,
+                                  CassandraExecutor executor) {
+        this.session = session;
+        this.statements = statements;
+        this.manager = manager;
+        this.converter = converter;
+        this.persistManager = persistManager;
+        this.mappings = mappings;
+        this.cache = cache;
+        this.executor = executor.get();
+        int maxRequests = settings.getInt(ASYNC_MAX_REQUESTS, DEFAULT_MAX_REQUESTS);
+        if (maxRequests <= 0) {
+            throw new IllegalArgumentException("The maximum of asynchronous requests must be positive: "
+                    + maxRequests);
+        }
+        this.requests = new Semaphore(maxRequests);
+        this.pending = new ConcurrentLinkedQueue<>();
+        this.draining = new AtomicInteger();
+    }
+
+    DefaultCassandraTemplateAsync() {
+    }
+
+    @Override
+    public <T> CompletionStage<T> save(T entity, ConsistencyLevel level) {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(level, "level is required");
+        return saveEntity(entity, null, level);
+    }
+
+    @Override
+    public <T> CompletionStage<T> save(T entity, Duration ttl, ConsistencyLevel level) {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(ttl, "ttl is required");
+        Objects.requireNonNull(level, "level is required");
+        return saveEntity(entity, ttl, level);
+    }
+
+    @Override
+    public <T> CompletionStage<Iterable<T>> save(Iterable<T> entities, ConsistencyLevel level) {
+        Objects.requireNonNull(entities, "entities is required");
+        Objects.requireNonNull(level, "level is required");
+        return saveAll(entities, null, level);
+    }
+
+    @Override
+    public <T> CompletionStage<Iterable<T>> save(Iterable<T> entities, Duration ttl, ConsistencyLevel level) {
+        Objects.requireNonNull(entities, "entities is required");
+        Objects.requireNonNull(ttl, "ttl is required");
+        Objects.requireNonNull(level, "level is required");
+        return saveAll(entities, ttl, level);
+    }
+
+    @Override
+    public CompletionStage<Void> delete(ColumnDeleteQuery query, ConsistencyLevel level) {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(level, "level is required");
+        persistManager.firePreDeleteQuery(query);
+        SimpleStatement statement = CassandraQueries.toStatement(query, level);
+        return submit(s -> CassandraBinding.toStatement(s, statements, statement).thenCompose(s::executeAsync)
+                .thenApply(r -> {
+                    cache.invalidateAll(query.getColumnFamily());
+                    return null;
+                }));
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> find(ColumnQuery query, ConsistencyLevel level) {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(level, "level is required");
+        persistManager.firePreQuery(query);
+        SimpleStatement statement = CassandraQueries.toStatement(query, level);
+        return query(s -> CassandraBinding.toStatement(s, statements, route(s, statement, query))
+                .thenCompose(s::executeAsync), converter.getRowMapper(query.getColumnFamily()));
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> cql(String query) {
+        Objects.requireNonNull(query, "query is required");
+        return query(s -> s.executeAsync(SimpleStatement.newInstance(query)), converter::toEntity)
+                .thenApply(invalidateWrittenBy(query));
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> cql(String query, Map<String, Object> values) {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(values, "values is required");
+        return query(s -> s.executeAsync(SimpleStatement.newInstance(query, values)), converter::toEntity)
+                .thenApply(invalidateWrittenBy(query));
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> cql(String query, Object... params) {
+        Objects.requireNonNull(query, "query is required");
+        List<Object> values = Objects.isNull(params) ? Collections.emptyList() : Arrays.asList(params);
+        return query(s -> statements.prepare(s, query)
+                        .thenCompose(p -> s.executeAsync(CassandraBinding.bind(s, p, values))),
+                converter::toEntity).thenApply(invalidateWrittenBy(query));
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> execute(SimpleStatement statement) {
+        Objects.requireNonNull(statement, "statement is required");
+        return query(s -> s.executeAsync(statement), converter::toEntity)
+                .thenApply(invalidateWrittenBy(statement.getQuery()));
+    }
+
+    /**
+     * Saves the entity through the steps of the column workflow: the pre events, which run the validation, fire on
+     * the caller thread and the post events fire when the write completes
+     */
+    private <T> CompletionStage<T> saveEntity(T entity, Duration ttl, ConsistencyLevel level) {
+        ColumnEntity column;
+        try {
+            persistManager.firePreEntity(entity);
+            persistManager.firePreColumnEntity(entity);
+            column = converter.toColumn(entity);
+            persistManager.firePreColumn(column);
+        } catch (RuntimeException exception) {
+            return CompletableFuture.failedFuture(exception);
+        }
+        return saveColumn(column, ttl, level).thenApply(saved -> {
+            ClassMapping mapping = mappings.get(entity.getClass());
+            mapping.getId().map(f -> f.read(entity)).ifPresent(id -> cache.invalidate(mapping.getName(), id, ttl));
+            persistManager.firePostColumn(saved);
+            T result = converter.toEntity(entity, saved);
+            persistManager.firePostEntity(result);
+            persistManager.firePostColumnEntity(result);
+            return result;
+        });
+    }
+
+    private CompletionStage<ColumnEntity> saveColumn(ColumnEntity entity, Duration ttl, ConsistencyLevel level) {
+        if (CassandraInserts.isSupported(entity)) {
+            return submit(s -> CassandraInserts.toStatement(s, statements, Collections.singletonList(entity),
+                    ttl, level)
+                    .thenCompose(s::executeAsync)
+                    .thenApply(r -> entity));
+        }
+        return submit(s -> CompletableFuture.supplyAsync(() -> Objects.isNull(ttl) ?
+                manager.get().save(entity, level) : manager.get().save(entity, ttl, level), executor));
+    }
+
+    /**
+     * Removes the cached rows of the table the query wrote to, once it completed
+     */
+    private <T> UnaryOperator<List<T>> invalidateWrittenBy(String query) {
+        return entities -> {
+            cache.invalidateWrittenBy(query);
+            return entities;
+        };
+    }
+
+    /**
+     * Sets the routing key of the statement when the condition compares every partition key column by equals
+     */
+    private static SimpleStatement route(CqlSession session, SimpleStatement statement, ColumnQuery query) {
+        return query.getCondition().map(c -> CassandraRouting.route(session, statement, query.getColumnFamily(), c))
+                .orElse(statement);
+    }
+
+    private <T> CompletionStage<Iterable<T>> saveAll(Iterable<T> entities, Duration ttl, ConsistencyLevel level) {
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (T entity : entities) {
+            CompletionStage<T> saved = saveEntity(entity, ttl, level);
+            futures.add(saved.toCompletableFuture());
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .thenApply(v -> futures.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+    }
+
+    private <T> CompletionStage<List<T>> query(Function<CqlSession, CompletionStage<AsyncResultSet>> request,
+                                               Function<Row, T> mapper) {
+        return submit(s -> request.apply(s).thenCompose(r -> fetch(r, mapper, new ArrayList<>())));
+    }
+
+    private static <T> CompletionStage<List<T>> fetch(AsyncResultSet resultSet, Function<Row, T> mapper,
+                                                      List<T> entities) {
+        for (Row row : resultSet.currentPage()) {
+            entities.add(mapper.apply(row));
+        }
+        if (resultSet.hasMorePages()) {
+            return resultSet.fetchNextPage().thenCompose(r -> fetch(r, mapper, entities));
+        }
+        return CompletableFuture.completedFuture(entities);
+    }
+
+    /**
+     * Sends the request when there is a permit, otherwise queues it without blocking the caller; each completed
+     * request completes its result, returns its permit and then sends the next queued one
+     */
+    private <R> CompletionStage<R> submit(Function<CqlSession, CompletionStage<R>> request) {
+        if (!session.isResolvable()) {
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "CassandraTemplateAsync requires a CqlSession produced to the container"));
+        }
+        CqlSession cqlSession = session.get();
+        CompletableFuture<R> result = new CompletableFuture<>();
+        pending.add(() -> {
+            CompletionStage<R> stage;
+            try {
+                stage = request.apply(cqlSession);
+            } catch (RuntimeException exception) {
+                stage = CompletableFuture.failedFuture(exception);
+            }
+            stage.whenComplete((r, e) -> {
+                if (Objects.isNull(e)) {
+                    result.complete(r);
+                } else {
+                    result.completeExceptionally(e);
+                }
+                requests.release();
+                drain();
+            });
+        });
+        drain();
+        return result;
+    }
+
+    /**
+     * Sends the queued requests while there are permits. A request that completes while they are being sent, e.g.
+     * one that fails at once, only signals the thread already draining instead of draining again on its stack.
+     */
+    private void drain() {
+        if (draining.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (!pending.isEmpty() && requests.tryAcquire()) {
+                Runnable next = pending.poll();
+                if (Objects.isNull(next)) {
+                    requests.release();
+                } else {
+                    next.run();
+                }
+            }
+            missed = draining.addAndGet(-missed);
+        } while (missed != 0);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A CQL query whose named markers, e.g. {@code :name}, were replaced by positional ones, keeping the name of each
+ * position. It is parsed once, so that a named query can be prepared and then only bound.
+ */
+final class NamedCQL {
+
+    private final String query;
+
+    private final List<String> names;
+
+    private NamedCQL(String query, List<String> names) {
+        this.query = query;
+        this.names = names;
+    }
+
+    /**
+     * @return the query with positional markers
+     */
+    String getQuery() {
+        return query;
+    }
+
+    /**
+     * @return the marker names in the bind order
+     */
+    List<String> getNames() {
+        return names;
+    }
+
+    /**
+     * @return true when the query has no named markers, or already uses positional ones, so it cannot be bound
+     * by name
+     */
+    boolean isEmpty() {
+        return names.isEmpty();
+    }
+
+    /**
+     * Resolves the values in the bind order
+     *
+     * @param values the values by marker name
+     * @return the positional values
+     * @throws NullPointerException     when values is null
+     * @throws IllegalArgumentException when there is a marker without value
+     */
+    Object[] toParams(Map<String, Object> values) {
+        Objects.requireNonNull(values, "values is required");
+        Object[] params = new Object[names.size()];
+        for (int index = 0; index < params.length; index++) {
+            String name = names.get(index);
+            if (!values.containsKey(name)) {
+                throw new IllegalArgumentException("There is no value to the named marker: " + name);
+            }
+            params[index] = values.get(name);
+        }
+        return params;
+    }
+
+    /**
+     * Parses the named markers ignoring literals, quoted identifiers and comments.
+     *
+     * @param query the CQL query
+     * @return the parsed query
+     * @throws NullPointerException when query is null
+     */
+    static NamedCQL parse(String query) {
+        Objects.requireNonNull(query, "query is required");
+        StringBuilder positional = new StringBuilder(query.length());
+        List<String> names = new ArrayList<>();
+        int length = query.length();
+        int index = 0;
+        while (index < length) {
+            char current = query.charAt(index);
+            char next = index + 1 < length ? query.charAt(index + 1) : 0;
+            int end;
+            if (current == '\'' || current == '"') {
+                end = skipQuoted(query, index, current);
+            } else if (current == '$' && next == '$') {
+                int close = query.indexOf("$$", index + 2);
+                end = close < 0 ? length : close + 2;
+            } else if ((current == '-' && next == '-') || (current == '/' && next == '/')) {
+                int close = query.indexOf('\n', index);
+                end = close < 0 ? length : close + 1;
+            } else if (current == '/' && next == '*') {
+                int close = query.indexOf("*/", index + 2);
+                end = close < 0 ? length : close + 2;
+            } else if (current == '?') {
+                return new NamedCQL(query, Collections.emptyList());
+            } else if (current == ':' && isIdentifierStart(next)) {
+                end = index + 1;
+                while (end < length && isIdentifierPart(query.charAt(end))) {
+                    end++;
+                }
+                names.add(query.substring(index + 1, end));
+                positional.append('?');
+                index = end;
+                continue;
+            } else {
+                end = index + 1;
+            }
+            positional.append(query, index, end);
+            index = end;
+        }
+        if (names.isEmpty()) {
+            return new NamedCQL(query, Collections.emptyList());
+        }
+        return new NamedCQL(positional.toString(), Collections.unmodifiableList(names));
+    }
+
+    private static int skipQuoted(String query, int start, char quote) {
+        int index = start + 1;
+        while (index < query.length()) {
+            if (query.charAt(index) == quote) {
+                if (index + 1 < query.length() && query.charAt(index + 1) == quote) {
+                    index += 2;
+                    continue;
+                }
+                return index + 1;
+            }
+            index++;
+        }
+        return query.length();
+    }
+
+    private static boolean isIdentifierStart(char character) {
+        return Character.isLetter(character) || character == '_';
+    }
+
+    private static boolean isIdentifierPart(char character) {
+        return Character.isLetterOrDigit(character) || character == '_';
+    }
+
+    @Override
+    public String toString() {
+        return "NamedCQL{" +
+                "query='" + query + '\'' +
+                ", names=" + names +
+                '}';
+    }
+}
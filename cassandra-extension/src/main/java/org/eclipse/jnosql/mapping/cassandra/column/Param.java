@@ -28,4 +28,13 @@ import java.lang.annotation.Target;
 public @interface Param {
 
     String value();
+
+    /**
+     * Marks the param as a partition key value of the query, so the query runs as a prepared statement, which the
+     * driver routes straight to a replica from the partition key bind markers and their column types, even when
+     * {@link CassandraMappingConfigurations#PREPARED_NAMED_PARAMETERS} is off.
+     *
+     * @return true when the param is part of the routing key
+     */
+    boolean routing() default false;
 }
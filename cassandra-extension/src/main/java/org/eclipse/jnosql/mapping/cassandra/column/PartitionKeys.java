@@ -0,0 +1,76 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.FieldMapping;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * The columns that compose the partition key of an entity, read from {@link PartitionKey} or, when there is not
+ * any, from the {@link jakarta.nosql.mapping.Id}.
+ */
+final class PartitionKeys {
+
+    private PartitionKeys() {
+    }
+
+    /**
+     * @param mapping the entity mapping
+     * @return the partition key fields in the key order
+     * @throws NullPointerException when mapping is null
+     */
+    static List<FieldMapping> getFields(ClassMapping mapping) {
+        Objects.requireNonNull(mapping, "mapping is required");
+        List<FieldMapping> fields = mapping.getFields().stream()
+                .filter(f -> Objects.nonNull(f.getNativeField().getAnnotation(PartitionKey.class)))
+                .sorted(Comparator.comparingInt(f -> f.getNativeField().getAnnotation(PartitionKey.class).value()))
+                .collect(Collectors.toList());
+        if (fields.isEmpty()) {
+            return mapping.getId().map(Collections::singletonList).orElse(Collections.emptyList());
+        }
+        return fields;
+    }
+
+    /**
+     * @param mapping the entity mapping
+     * @return the partition key column names in the key order
+     * @throws NullPointerException when mapping is null
+     */
+    static List<String> getColumns(ClassMapping mapping) {
+        return getFields(mapping).stream().map(FieldMapping::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * @param entity  the entity
+     * @param columns the partition key column names
+     * @return the partition key values, a missing column is a null value
+     */
+    static List<Object> getValues(ColumnEntity entity, List<String> columns) {
+        List<Object> values = new ArrayList<>(columns.size());
+        for (String column : columns) {
+            values.add(entity.find(column).map(Column::get).orElse(null));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import jakarta.nosql.Value;
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+import jakarta.nosql.mapping.AttributeConverter;
+import jakarta.nosql.mapping.Converters;
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.FieldMapping;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The primary key of an entity: the columns of its partition key followed by the
+ * {@link jakarta.nosql.mapping.Id} when the id is not one of them.
+ */
+final class PrimaryKeys {
+
+    private PrimaryKeys() {
+    }
+
+    /**
+     * @param mapping the entity mapping
+     * @return the primary key column names, the partition key columns first
+     * @throws NullPointerException when mapping is null
+     */
+    static List<String> getColumns(ClassMapping mapping) {
+        List<String> columns = new ArrayList<>(PartitionKeys.getColumns(mapping));
+        mapping.getId().map(FieldMapping::getName).filter(id -> !columns.contains(id)).ifPresent(columns::add);
+        return columns;
+    }
+
+    /**
+     * Resolves the primary key of the row that has the given id
+     *
+     * @param mapping    the entity mapping
+     * @param converters the converters of the id field
+     * @param id         the id
+     * @return the id column value, converted by the id field converter, by the id column name
+     * @throws NullPointerException     when there is a null parameter
+     * @throws IllegalArgumentException when the entity does not have an id or its primary key has other columns
+     */
+    static Map<String, Object> of(ClassMapping mapping, Converters converters, Object id) {
+        Objects.requireNonNull(id, "id is required");
+        FieldMapping field = mapping.getId().orElseThrow(() -> new IllegalArgumentException(
+                "The entity " + mapping.getClassInstance() + " does not have an id"));
+        List<String> columns = getColumns(mapping);
+        if (columns.size() != 1) {
+            throw new IllegalArgumentException("The id alone does not identify a row of " + mapping.getName()
+                    + ", whose primary key is " + columns);
+        }
+        return Collections.singletonMap(field.getName(), toColumnId(mapping, converters, id));
+    }
+
+    /**
+     * Reads the primary key of the entity
+     *
+     * @param mapping the entity mapping
+     * @param entity  the entity as columns, whose values are already converted
+     * @return the primary key values by column name, in the key order
+     * @throws NullPointerException     when there is a null parameter
+     * @throws IllegalArgumentException when the entity does not have a value to a primary key column
+     */
+    static Map<String, Object> of(ClassMapping mapping, ColumnEntity entity) {
+        Objects.requireNonNull(entity, "entity is required");
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String column : getColumns(mapping)) {
+            Object value = entity.find(column).map(Column::get).orElseThrow(() -> new IllegalArgumentException(
+                    "The primary key column " + column + " of " + mapping.getName() + " is required"));
+            keys.put(column, value);
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("The entity " + mapping.getClassInstance()
+                    + " does not have a primary key");
+        }
+        return keys;
+    }
+
+    /**
+     * Converts the id given to the type of the id field, so that an id is found by either of them
+     *
+     * @param mapping the entity mapping
+     * @param id      the id
+     * @return the id as the type of the id field, or the same id when it cannot be converted
+     */
+    static Object toId(ClassMapping mapping, Object id) {
+        Class<?> type = mapping.getId().map(f -> f.getNativeField().getType()).orElse(null);
+        if (Objects.isNull(type)) {
+            return id;
+        }
+        Class<?> wrapper = type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0).getClass() : type;
+        if (wrapper.isInstance(id)) {
+            return id;
+        }
+        try {
+            return Value.of(id).get(wrapper);
+        } catch (UnsupportedOperationException exception) {
+            return id;
+        }
+    }
+
+    /**
+     * Converts the id given to its column value, applying the converter of the id field
+     *
+     * @param mapping    the entity mapping
+     * @param converters the converters of the id field
+     * @param id         the id
+     * @return the column value
+     */
+    static Object toColumnId(ClassMapping mapping, Converters converters, Object id) {
+        Object value = toId(mapping, id);
+        Optional<FieldMapping> field = mapping.getId();
+        if (!field.isPresent()) {
+            return value;
+        }
+        Optional<Class<? extends AttributeConverter<Object, Object>>> attributeConverter = field.get().getConverter();
+        if (attributeConverter.isPresent()) {
+            AttributeConverter<Object, Object> idConverter = converters.get(attributeConverter.get());
+            return idConverter.convertToDatabaseColumn(value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Defines that a field is the time bucket of a time series partition key. When the entity is saved the field is set
+ * to the start, in UTC, of the bucket of the timestamp field, so the rows of a sensor are spread over one partition
+ * per bucket. {@link CassandraTemplate#findByTimeRange(Class, java.util.Map, java.time.Instant, java.time.Instant)}
+ * queries the buckets that cover a time range.
+ * The bucket field might be {@link java.time.Instant}, {@link java.util.Date}, {@link java.time.LocalDate}, a long
+ * with the epoch milliseconds or a {@link String} with the ISO-8601 instant. The timestamp field might be
+ * {@link java.time.Instant}, {@link java.util.Date}, {@link java.time.ZonedDateTime},
+ * {@link java.time.OffsetDateTime}, {@link java.time.LocalDateTime} in UTC or a long with the epoch milliseconds.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface TimeBucket {
+
+    /**
+     * The name of the entity field with the timestamp
+     *
+     * @return the timestamp field name
+     */
+    String value();
+
+    /**
+     * The bucket size, it might be {@link ChronoUnit#MINUTES}, {@link ChronoUnit#HOURS}, {@link ChronoUnit#DAYS},
+     * {@link ChronoUnit#MONTHS} or {@link ChronoUnit#YEARS}
+     *
+     * @return the bucket size
+     */
+    ChronoUnit unit() default ChronoUnit.DAYS;
+}
@@ -32,4 +32,13 @@ public @interface UDT {
      * @return the UDT name
      */
     String value();
+
+    /**
+     * When true, a field that is a {@link java.util.List} of UDT keeps the columns read and converts each element
+     * into an entity only on its first access, so a read that never touches the field skips that conversion.
+     * It has no effect on a single UDT or on other collection types. The default is false.
+     *
+     * @return whether the UDT list is converted on access
+     */
+    boolean lazy() default false;
 }
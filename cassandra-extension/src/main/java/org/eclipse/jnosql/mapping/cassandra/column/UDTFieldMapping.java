@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import org.eclipse.jnosql.mapping.reflection.FieldMapping;
+import org.eclipse.jnosql.mapping.reflection.GenericFieldMapping;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The {@link UDT} metadata of a field, computed once per entity: the UDT name, whether the field is a collection
+ * of UDT, the element type and whether it is converted on access.
+ */
+final class UDTFieldMapping {
+
+    private final FieldMapping field;
+
+    private final String name;
+
+    private final boolean collection;
+
+    private final Class<?> elementType;
+
+    private final boolean lazy;
+
+    private UDTFieldMapping(FieldMapping field, String name, boolean collection, Class<?> elementType,
+                            boolean lazy) {
+        this.field = field;
+        this.name = name;
+        this.collection = collection;
+        this.elementType = elementType;
+        this.lazy = lazy;
+    }
+
+    FieldMapping getField() {
+        return field;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    boolean isCollection() {
+        return collection;
+    }
+
+    Class<?> getElementType() {
+        return elementType;
+    }
+
+    /**
+     * @return true when the field is a list of UDT converted on access
+     * @see UDT#lazy()
+     */
+    boolean isLazy() {
+        return lazy;
+    }
+
+    /**
+     * Finds the UDT fields
+     *
+     * @param fieldsGroupByName the entity fields by column name
+     * @return the UDT fields by column name
+     */
+    static Map<String, UDTFieldMapping> of(Map<String, FieldMapping> fieldsGroupByName) {
+        Map<String, UDTFieldMapping> fields = new HashMap<>();
+        fieldsGroupByName.forEach((name, field) -> {
+            UDT udt = field.getNativeField().getAnnotation(UDT.class);
+            if (Objects.nonNull(udt)) {
+                boolean collection = field instanceof GenericFieldMapping
+                        && Iterable.class.isAssignableFrom(field.getNativeField().getType());
+                Class<?> elementType = collection ? ((GenericFieldMapping) field).getElementType()
+                        : field.getNativeField().getType();
+                boolean lazy = udt.lazy() && collection
+                        && field.getNativeField().getType().isAssignableFrom(CassandraUDTList.class);
+                fields.put(name, new UDTFieldMapping(field, udt.value(), collection, elementType, lazy));
+            }
+        });
+        return Collections.unmodifiableMap(fields);
+    }
+
+    @Override
+    public String toString() {
+        return "UDTFieldMapping{" +
+                "field=" + field +
+                ", name='" + name + '\'' +
+                ", collection=" + collection +
+                ", elementType=" + elementType +
+                ", lazy=" + lazy +
+                '}';
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defines whether a field of an entity that became null is left unset by the partial updates instead of written
+ * as null, which creates a tombstone in Cassandra. It overrides the {@link CassandraMappingConfigurations#UNSET_NULLS}
+ * of the template for the entity. An insert never writes the null fields.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface UnsetNulls {
+
+    /**
+     * Whether the null fields are left unset
+     *
+     * @return true when the null fields are left unset
+     */
+    boolean value() default true;
+}
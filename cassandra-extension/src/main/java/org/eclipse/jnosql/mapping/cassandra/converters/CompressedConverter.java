@@ -0,0 +1,275 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.converters;
+
+
+import jakarta.nosql.mapping.AttributeConverter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The converter when the Cassandra type is blob and the value is a large text or binary that compresses well.
+ * The values from the threshold on are compressed with {@link Deflater}, the smaller ones, and the ones that would
+ * not be smaller, are written as they are; a header byte tells them apart. The deflaters, inflaters and their
+ * buffers are pooled, and the values written and read by each converter are counted in {@link #getMetrics()}.
+ * This attribute converter has support to:
+ * <p>{@link String}</p>
+ * <p>byte[]</p>
+ */
+public class CompressedConverter implements AttributeConverter<Object, ByteBuffer> {
+
+    /**
+     * The default size in bytes from which a value is compressed
+     */
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    private static final byte COMPRESSED = 1;
+
+    private static final byte BINARY = 2;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int MAX_POOLED_BUFFER_SIZE = 1 << 20;
+
+    private static final int MAX_IDLE = Runtime.getRuntime().availableProcessors();
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private static final boolean CPU_TIME = THREADS.isCurrentThreadCpuTimeSupported();
+
+    private final Deque<Codec> idle = new ConcurrentLinkedDeque<>();
+
+    private final AtomicInteger idleSize = new AtomicInteger();
+
+    private final CompressionMetrics metrics = new CompressionMetrics(CPU_TIME);
+
+    private final int threshold;
+
+    private final int level;
+
+    public CompressedConverter() {
+        this(DEFAULT_THRESHOLD, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param threshold the size in bytes from which a value is compressed
+     * @param level     the {@link Deflater} compression level
+     * @throws IllegalArgumentException when the threshold is negative or the level is not valid
+     */
+    public CompressedConverter(int threshold, int level) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("The compression threshold must not be negative: " + threshold);
+        }
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION
+                || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("The compression level is not valid: " + level);
+        }
+        this.threshold = threshold;
+        this.level = level;
+    }
+
+    /**
+     * @return the metrics of the values written and read by this converter
+     */
+    public CompressionMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public ByteBuffer convertToDatabaseColumn(Object attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        byte flags;
+        byte[] bytes;
+        if (String.class.isInstance(attribute)) {
+            flags = 0;
+            bytes = String.class.cast(attribute).getBytes(StandardCharsets.UTF_8);
+        } else if (byte[].class.isInstance(attribute)) {
+            flags = BINARY;
+            bytes = byte[].class.cast(attribute);
+        } else {
+            throw new IllegalArgumentException("There is not support to: " + attribute.getClass());
+        }
+        if (bytes.length < threshold) {
+            metrics.uncompressed();
+            return uncompressed(flags, bytes);
+        }
+        long start = System.nanoTime();
+        long cpuStart = cpuTime();
+        Codec codec = borrow();
+        try {
+            int size = codec.deflate(bytes);
+            if (size < 0) {
+                metrics.uncompressed();
+                return uncompressed(flags, bytes);
+            }
+            ByteBuffer value = ByteBuffer.allocate(Byte.BYTES + Integer.BYTES + size)
+                    .put((byte) (flags | COMPRESSED))
+                    .putInt(bytes.length)
+                    .put(codec.buffer, 0, size)
+                    .flip();
+            metrics.compressed(bytes.length, value.remaining(), System.nanoTime() - start, cpuTimeSince(cpuStart));
+            return value;
+        } finally {
+            release(codec);
+        }
+    }
+
+    @Override
+    public Object convertToEntityAttribute(ByteBuffer dbData) {
+        if (dbData == null || !dbData.hasRemaining()) {
+            return null;
+        }
+        ByteBuffer data = dbData.duplicate();
+        byte flags = data.get();
+        boolean binary = (flags & BINARY) != 0;
+        if ((flags & COMPRESSED) == 0) {
+            if (!binary) {
+                return StandardCharsets.UTF_8.decode(data).toString();
+            }
+            byte[] bytes = new byte[data.remaining()];
+            data.get(bytes);
+            return bytes;
+        }
+        int length = data.getInt();
+        long start = System.nanoTime();
+        long cpuStart = cpuTime();
+        Codec codec = borrow();
+        try {
+            byte[] bytes = binary ? new byte[length] : codec.buffer(length);
+            codec.inflate(data, bytes, length);
+            metrics.decompressed(System.nanoTime() - start, cpuTimeSince(cpuStart));
+            return binary ? bytes : new String(bytes, 0, length, StandardCharsets.UTF_8);
+        } catch (DataFormatException exception) {
+            throw new IllegalArgumentException("The compressed value is not valid", exception);
+        } finally {
+            release(codec);
+        }
+    }
+
+    /**
+     * @return the CPU time of the current thread in nanoseconds, -1 when it is not measured
+     */
+    private static long cpuTime() {
+        return CPU_TIME ? THREADS.getCurrentThreadCpuTime() : -1L;
+    }
+
+    private static long cpuTimeSince(long start) {
+        long end = cpuTime();
+        return start < 0 || end < 0 ? -1L : end - start;
+    }
+
+    private ByteBuffer uncompressed(byte flags, byte[] bytes) {
+        return ByteBuffer.allocate(Byte.BYTES + bytes.length).put(flags).put(bytes).flip();
+    }
+
+    private Codec borrow() {
+        Codec codec = idle.pollFirst();
+        if (codec == null) {
+            return new Codec(level);
+        }
+        idleSize.decrementAndGet();
+        return codec;
+    }
+
+    private void release(Codec codec) {
+        codec.reset();
+        if (idleSize.incrementAndGet() <= MAX_IDLE) {
+            idle.offerFirst(codec);
+        } else {
+            idleSize.decrementAndGet();
+            codec.end();
+        }
+    }
+
+    /**
+     * A deflater, an inflater and the buffer they write to, used by one thread at a time
+     */
+    private static final class Codec {
+
+        private final Deflater deflater;
+
+        private final Inflater inflater = new Inflater(true);
+
+        private byte[] buffer = new byte[BUFFER_SIZE];
+
+        private Codec(int level) {
+            this.deflater = new Deflater(level, true);
+        }
+
+        byte[] buffer(int size) {
+            if (buffer.length < size) {
+                buffer = new byte[size];
+            }
+            return buffer;
+        }
+
+        /**
+         * @return the compressed size in the buffer, or -1 when it is not smaller than the bytes
+         */
+        int deflate(byte[] bytes) {
+            int limit = bytes.length - Integer.BYTES;
+            if (limit <= 0) {
+                return -1;
+            }
+            byte[] output = buffer(limit);
+            deflater.setInput(bytes);
+            deflater.finish();
+            int size = 0;
+            while (!deflater.finished() && size < limit) {
+                size += deflater.deflate(output, size, limit - size);
+            }
+            return deflater.finished() && size < limit ? size : -1;
+        }
+
+        void inflate(ByteBuffer data, byte[] output, int length) throws DataFormatException {
+            inflater.setInput(data);
+            int size = 0;
+            while (size < length) {
+                int read = inflater.inflate(output, size, length - size);
+                if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                size += read;
+            }
+            if (size != length) {
+                throw new DataFormatException("The value has " + size + " bytes instead of " + length);
+            }
+        }
+
+        void reset() {
+            deflater.reset();
+            inflater.reset();
+            if (buffer.length > MAX_POOLED_BUFFER_SIZE) {
+                buffer = new byte[BUFFER_SIZE];
+            }
+        }
+
+        void end() {
+            deflater.end();
+            inflater.end();
+        }
+    }
+}
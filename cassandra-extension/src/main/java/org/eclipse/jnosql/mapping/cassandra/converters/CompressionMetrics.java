@@ -0,0 +1,156 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.converters;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters of the values written and read by a {@link CompressedConverter}. The elapsed times also count the
+ * time the converting threads were waiting for a CPU; the CPU times count only the time they ran, and are -1 when
+ * the JVM does not measure the CPU time of the current thread.
+ */
+public final class CompressionMetrics {
+
+    private final LongAdder compressed = new LongAdder();
+
+    private final LongAdder uncompressed = new LongAdder();
+
+    private final LongAdder decompressed = new LongAdder();
+
+    private final LongAdder originalBytes = new LongAdder();
+
+    private final LongAdder compressedBytes = new LongAdder();
+
+    private final LongAdder compressionElapsedTime = new LongAdder();
+
+    private final LongAdder decompressionElapsedTime = new LongAdder();
+
+    private final LongAdder compressionCpuTime = new LongAdder();
+
+    private final LongAdder decompressionCpuTime = new LongAdder();
+
+    private final boolean cpuTime;
+
+    CompressionMetrics(boolean cpuTime) {
+        this.cpuTime = cpuTime;
+    }
+
+    void compressed(int original, int size, long elapsedTime, long cpuTime) {
+        compressed.increment();
+        originalBytes.add(original);
+        compressedBytes.add(size);
+        compressionElapsedTime.add(elapsedTime);
+        if (cpuTime >= 0) {
+            compressionCpuTime.add(cpuTime);
+        }
+    }
+
+    void uncompressed() {
+        uncompressed.increment();
+    }
+
+    void decompressed(long elapsedTime, long cpuTime) {
+        decompressed.increment();
+        decompressionElapsedTime.add(elapsedTime);
+        if (cpuTime >= 0) {
+            decompressionCpuTime.add(cpuTime);
+        }
+    }
+
+    /**
+     * @return the number of values written compressed
+     */
+    public long getCompressed() {
+        return compressed.sum();
+    }
+
+    /**
+     * @return the number of values written as they are, either below the threshold or not smaller compressed
+     */
+    public long getUncompressed() {
+        return uncompressed.sum();
+    }
+
+    /**
+     * @return the number of compressed values read
+     */
+    public long getDecompressed() {
+        return decompressed.sum();
+    }
+
+    /**
+     * @return the size in bytes of the values written compressed, before the compression
+     */
+    public long getOriginalBytes() {
+        return originalBytes.sum();
+    }
+
+    /**
+     * @return the size in bytes of the values written compressed, after the compression
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.sum();
+    }
+
+    /**
+     * @return the original bytes divided by the compressed bytes, 1 when no value was compressed
+     */
+    public double getRatio() {
+        long size = getCompressedBytes();
+        return size == 0 ? 1D : (double) getOriginalBytes() / size;
+    }
+
+    /**
+     * @return the elapsed time in nanoseconds spent compressing
+     */
+    public long getCompressionElapsedTime() {
+        return compressionElapsedTime.sum();
+    }
+
+    /**
+     * @return the elapsed time in nanoseconds spent decompressing
+     */
+    public long getDecompressionElapsedTime() {
+        return decompressionElapsedTime.sum();
+    }
+
+    /**
+     * @return the CPU time in nanoseconds spent compressing, -1 when the CPU time is not available
+     */
+    public long getCompressionCpuTime() {
+        return cpuTime ? compressionCpuTime.sum() : -1L;
+    }
+
+    /**
+     * @return the CPU time in nanoseconds spent decompressing, -1 when the CPU time is not available
+     */
+    public long getDecompressionCpuTime() {
+        return cpuTime ? decompressionCpuTime.sum() : -1L;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionMetrics{" +
+                "compressed=" + getCompressed() +
+                ", uncompressed=" + getUncompressed() +
+                ", decompressed=" + getDecompressed() +
+                ", ratio=" + getRatio() +
+                ", compressionElapsedTime=" + getCompressionElapsedTime() +
+                ", decompressionElapsedTime=" + getDecompressionElapsedTime() +
+                ", compressionCpuTime=" + getCompressionCpuTime() +
+                ", decompressionCpuTime=" + getDecompressionCpuTime() +
+                '}';
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import org.eclipse.jnosql.communication.cassandra.column.CassandraPreparedStatement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class CQLMethodTest {
+
+    @Test
+    public void shouldAnalyseCQLMethods() throws NoSuchMethodException {
+        Map<Method, CQLMethod> methods = CQLMethod.of(PersonRepository.class);
+        assertEquals(2, methods.size());
+        CQLMethod method = methods.get(PersonRepository.class.getMethod("findByName", String.class));
+        assertEquals("select * from Person where name = :name", method.getQuery());
+    }
+
+    @Test
+    public void shouldReturnErrorWhenNamedMarkerHasNoParam() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CQLMethod.of(InvalidRepository.class));
+    }
+
+    @Test
+    public void shouldPrepareNamedQueryAsPositional() throws NoSuchMethodException {
+        CassandraPreparedStatementCache cache = new CassandraPreparedStatementCache(10);
+        CQLMethod method = CQLMethod.of(PersonRepository.class)
+                .get(PersonRepository.class.getMethod("findByName", String.class));
+        method.prepare(cache, q -> {
+            assertEquals("select * from Person where name = ?", q);
+            return mock(CassandraPreparedStatement.class);
+        }, true);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldReturnErrorWhenQueryIsMalformed() throws NoSuchMethodException {
+        CassandraPreparedStatementCache cache = new CassandraPreparedStatementCache(10);
+        CQLMethod method = CQLMethod.of(PersonRepository.class)
+                .get(PersonRepository.class.getMethod("findAll"));
+        Assertions.assertThrows(IllegalStateException.class, () -> method.prepare(cache, q -> {
+            throw new IllegalArgumentException("line 1:0 no viable alternative");
+        }, false));
+    }
+
+    @Test
+    public void shouldLimitSingleResultQuery() {
+        assertEquals("select * from Person where name = ? LIMIT 2",
+                CQLMethod.toLimitedQuery("select * from Person where name = ?"));
+        assertEquals("SELECT * FROM Person WHERE age > 10 LIMIT 2 ALLOW FILTERING",
+                CQLMethod.toLimitedQuery("SELECT * FROM Person WHERE age > 10 ALLOW FILTERING;"));
+        assertEquals("select * from Person limit 1", CQLMethod.toLimitedQuery("select * from Person limit 1"));
+        assertEquals("update Person set age = 1 where name = ?",
+                CQLMethod.toLimitedQuery("update Person set age = 1 where name = ?"));
+    }
+
+    @Test
+    public void shouldExecuteRoutedMethodAsPreparedStatement() throws NoSuchMethodException {
+        CassandraTemplate template = mock(CassandraTemplate.class);
+        CQLMethod method = CQLMethod.of(RoutedRepository.class)
+                .get(RoutedRepository.class.getMethod("findByName", String.class, Integer.class));
+
+        method.execute(template, new Object[]{"Ada", 10});
+
+        verify(template).cql("select * from Person where name = ? and age = ?", "Ada", 10);
+        verify(template, never()).execute(Mockito.any(SimpleStatement.class));
+        verify(template, never()).cql(Mockito.anyString(), Mockito.anyMap());
+    }
+
+    @Test
+    public void shouldPrepareRoutedMethodWithPositionalMarkers() throws NoSuchMethodException {
+        CQLMethod method = CQLMethod.of(RoutedRepository.class)
+                .get(RoutedRepository.class.getMethod("findByName", String.class, Integer.class));
+        CassandraPreparedStatementCache cache = new CassandraPreparedStatementCache(10);
+        List<String> prepared = new ArrayList<>();
+
+        method.prepare(cache, q -> {
+            prepared.add(q);
+            return mock(CassandraPreparedStatement.class);
+        }, false);
+
+        assertEquals(Collections.singletonList("select * from Person where name = ? and age = ?"), prepared);
+    }
+
+    @Test
+    public void shouldFetchSingleResultPageWithParams() throws NoSuchMethodException {
+        CassandraTemplate template = mock(CassandraTemplate.class);
+        Map<Method, CQLMethod> methods = CQLMethod.of(SingleResultRepository.class);
+
+        methods.get(SingleResultRepository.class.getMethod("findByName", String.class))
+                .execute(template, new Object[]{"Ada"});
+        methods.get(SingleResultRepository.class.getMethod("findByNickname", String.class))
+                .execute(template, new Object[]{"Ada"});
+        methods.get(SingleResultRepository.class.getMethod("findByNameAndAge", String.class, Integer.class))
+                .execute(template, new Object[]{"Ada", 10});
+
+        verify(template, Mockito.times(2)).cql(CQLMethod.SINGLE_RESULT_LIMIT,
+                "select * from Person where name = ? LIMIT 2", "Ada");
+        verify(template).cql(CQLMethod.SINGLE_RESULT_LIMIT,
+                "select * from Person where name = ? and age = ? LIMIT 2", "Ada", 10);
+        verify(template, never()).cql(Mockito.anyString(), Mockito.anyMap());
+    }
+
+    @Test
+    public void shouldPrepareSingleResultNamedMethodWithPositionalMarkers() throws NoSuchMethodException {
+        CQLMethod method = CQLMethod.of(SingleResultRepository.class)
+                .get(SingleResultRepository.class.getMethod("findByNickname", String.class));
+        CassandraPreparedStatementCache cache = new CassandraPreparedStatementCache(10);
+        List<String> prepared = new ArrayList<>();
+
+        method.prepare(cache, q -> {
+            prepared.add(q);
+            return mock(CassandraPreparedStatement.class);
+        }, false);
+
+        assertEquals(Collections.singletonList("select * from Person where name = ? LIMIT 2"), prepared);
+    }
+
+    interface PersonRepository extends CassandraRepository<Person, String> {
+
+        @CQL("select * from Person")
+        List<Person> findAll();
+
+        @CQL("select * from Person where name = :name")
+        List<Person> findByName(@Param("name") String name);
+
+        List<Person> findByAge(Integer age);
+    }
+
+    interface RoutedRepository extends CassandraRepository<Person, String> {
+
+        @CQL("select * from Person where name = :name and age = :age")
+        List<Person> findByName(@Param(value = "name", routing = true) String name, @Param("age") Integer age);
+    }
+
+    interface SingleResultRepository extends CassandraRepository<Person, String> {
+
+        @CQL("select * from Person where name = ?")
+        Optional<Person> findByName(String name);
+
+        @CQL("select * from Person where name = :name")
+        Optional<Person> findByNickname(@Param("name") String name);
+
+        @CQL("select * from Person where name = :name and age = :age")
+        Person findByNameAndAge(@Param(value = "name", routing = true) String name, @Param("age") Integer age);
+    }
+
+    interface InvalidRepository extends CassandraRepository<Person, String> {
+
+        @CQL("select * from Person where name = :name")
+        List<Person> findByName(@Param("nickname") String name);
+    }
+}
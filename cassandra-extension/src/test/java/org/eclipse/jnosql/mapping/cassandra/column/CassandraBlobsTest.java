@@ -0,0 +1,305 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Attachment;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Post;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.test.CDIExtension;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@CDIExtension
+public class CassandraBlobsTest {
+
+    @Inject
+    private ClassMappings mappings;
+
+    @Inject
+    private CassandraColumnEntityConverter converter;
+
+    private final Map<List<Object>, ByteBuffer> chunks = new HashMap<>();
+
+    private final Map<Statement<?>, Supplier<AsyncResultSet>> executions = new HashMap<>();
+
+    private final Map<Statement<?>, Supplier<ResultSet>> rowExecutions = new HashMap<>();
+
+    private final Set<Integer> failedChunks = new HashSet<>();
+
+    private CqlSession session;
+
+    private PreparedStatement update;
+
+    private Long length;
+
+    private UUID generation;
+
+    private CassandraBlobs blobs;
+
+    @BeforeEach
+    public void setUp() {
+        session = mock(CqlSession.class);
+        Instance<CqlSession> instance = mock(Instance.class);
+        when(instance.isResolvable()).thenReturn(true);
+        when(instance.get()).thenReturn(session);
+        PreparedStatement insert = prepared("INSERT INTO Attachment_content (name, generation, chunk, data) "
+                + "VALUES (?, ?, ?, ?)");
+        PreparedStatement select = prepared("SELECT data FROM Attachment_content WHERE name = ? AND generation = ? "
+                + "AND chunk = ?");
+        PreparedStatement delete = prepared("DELETE FROM Attachment_content WHERE name = ? AND generation = ? "
+                + "AND chunk = ?");
+        PreparedStatement current = prepared("SELECT content, content_generation FROM Attachment WHERE name = ?");
+        update = prepared("UPDATE Attachment SET content = ?, content_generation = ? WHERE name = ?");
+        when(insert.bind(any(), any(), any(), any())).thenAnswer(i -> bound(() -> {
+            if (failedChunks.contains(i.<Integer>getArgument(2))) {
+                throw new IllegalStateException("The insert timed out");
+            }
+            chunks.put(asList(i.getArgument(1), i.getArgument(2)), i.getArgument(3));
+            return resultSet(null);
+        }));
+        when(select.bind(any(), any(), any())).thenAnswer(i -> bound(() -> resultSet(
+                chunks.get(asList(i.getArgument(1), i.getArgument(2))))));
+        when(delete.bind(any(), any(), any())).thenAnswer(i -> bound(() -> {
+            chunks.remove(asList(i.getArgument(1), i.getArgument(2)));
+            return resultSet(null);
+        }));
+        when(current.bind(any())).thenAnswer(i -> rowBound(() -> row(length, generation)));
+        when(update.bind(any(), any(), any())).thenAnswer(i -> rowBound(() -> {
+            length = i.getArgument(0);
+            generation = i.getArgument(1);
+            return row(null, null);
+        }));
+        when(session.executeAsync(any(Statement.class))).thenAnswer(i -> {
+            try {
+                return CompletableFuture.completedFuture(executions.get(i.<Statement<?>>getArgument(0)).get());
+            } catch (RuntimeException exception) {
+                return CompletableFuture.failedFuture(exception);
+            }
+        });
+        when(session.execute(any(Statement.class))).thenAnswer(i -> rowExecutions
+                .get(i.<Statement<?>>getArgument(0)).get());
+        blobs = new CassandraBlobs(instance, mappings, converter, new CassandraMappingSettings());
+    }
+
+    @Test
+    public void shouldWriteAndReadInChunks() throws IOException {
+        Attachment attachment = new Attachment("notes");
+
+        blobs.write(attachment, "content", ByteBuffer.wrap("hello world".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(11L, attachment.getContent());
+        assertEquals(Long.valueOf(11L), length);
+        assertEquals(3, chunks.size());
+        assertTrue(chunks.keySet().stream().allMatch(k -> generation.equals(k.get(0))));
+        verify(update).bind(11L, generation, "notes");
+        try (InputStream stream = blobs.read(attachment, "content")) {
+            assertEquals("hello world", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        List<ByteBuffer> read = blobs.chunks(attachment, "content").collect(Collectors.toList());
+        assertEquals(asList(4, 4, 3), read.stream().map(ByteBuffer::remaining).collect(Collectors.toList()));
+        assertTrue(read.stream().allMatch(ByteBuffer::isReadOnly));
+    }
+
+    @Test
+    public void shouldDeleteStaleChunksOnShorterWrite() throws IOException {
+        Attachment attachment = new Attachment("notes");
+        blobs.write(attachment, "content", ByteBuffer.wrap("hello world".getBytes(StandardCharsets.UTF_8)));
+
+        blobs.write(attachment, "content", new ByteArrayInputStream("hi".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2L, attachment.getContent());
+        assertEquals(1, chunks.size());
+        assertEquals(asList(generation, 0), chunks.keySet().iterator().next());
+        try (InputStream stream = blobs.read(attachment, "content")) {
+            assertEquals("hi", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void shouldDeleteChunks() {
+        Attachment attachment = new Attachment("notes");
+        blobs.write(attachment, "content", ByteBuffer.wrap("hello world".getBytes(StandardCharsets.UTF_8)));
+
+        blobs.delete(attachment, "content");
+
+        assertEquals(0L, attachment.getContent());
+        assertTrue(chunks.isEmpty());
+        assertEquals(0L, blobs.chunks(attachment, "content").count());
+    }
+
+    @Test
+    public void shouldReturnErrorWhenChunkIsMissing() {
+        Attachment attachment = new Attachment("notes");
+        blobs.write(attachment, "content", ByteBuffer.wrap("hello world".getBytes(StandardCharsets.UTF_8)));
+        chunks.remove(asList(generation, 1));
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> blobs.chunks(attachment, "content").collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldKeepThePreviousValueWhenTheDataCannotBeRead() throws IOException {
+        Attachment attachment = new Attachment("notes");
+        blobs.write(attachment, "content", ByteBuffer.wrap("hello world".getBytes(StandardCharsets.UTF_8)));
+        UUID written = generation;
+        InputStream failing = new SequenceInputStream(new ByteArrayInputStream("goodbye".getBytes(
+                StandardCharsets.UTF_8)), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("The connection was reset");
+            }
+        });
+
+        Assertions.assertThrows(UncheckedIOException.class, () -> blobs.write(attachment, "content", failing));
+
+        assertEquals(11L, attachment.getContent());
+        assertEquals(written, generation);
+        assertEquals(3, chunks.size());
+        assertTrue(chunks.keySet().stream().allMatch(k -> written.equals(k.get(0))));
+        try (InputStream stream = blobs.read(attachment, "content")) {
+            assertEquals("hello world", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void shouldKeepThePreviousValueWhenAChunkCannotBeInserted() throws IOException {
+        Attachment attachment = new Attachment("notes");
+        blobs.write(attachment, "content", ByteBuffer.wrap("hello world".getBytes(StandardCharsets.UTF_8)));
+        UUID written = generation;
+        failedChunks.add(1);
+
+        IllegalStateException exception = Assertions.assertThrows(IllegalStateException.class,
+                () -> blobs.write(attachment, "content", ByteBuffer.wrap("goodbye world".getBytes(
+                        StandardCharsets.UTF_8))));
+
+        assertEquals("The insert timed out", exception.getMessage());
+        assertEquals(11L, attachment.getContent());
+        assertEquals(written, generation);
+        assertEquals(3, chunks.size());
+        assertTrue(chunks.keySet().stream().allMatch(k -> written.equals(k.get(0))));
+        try (InputStream stream = blobs.read(attachment, "content")) {
+            assertEquals("hello world", new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void shouldWriteWithFullPrimaryKey() {
+        PreparedStatement insert = prepared("INSERT INTO Post_cover (author, id, generation, chunk, data) "
+                + "VALUES (?, ?, ?, ?, ?)");
+        PreparedStatement current = prepared("SELECT cover, cover_generation FROM Post WHERE author = ? AND id = ?");
+        PreparedStatement update = prepared("UPDATE Post SET cover = ?, cover_generation = ? WHERE author = ? "
+                + "AND id = ?");
+        when(insert.bind(any(), any(), any(), any(), any())).thenAnswer(i -> bound(() -> resultSet(null)));
+        when(current.bind(any(), any())).thenAnswer(i -> rowBound(() -> row(null, null)));
+        when(update.bind(any(), any(), any(), any())).thenAnswer(i -> rowBound(() -> row(null, null)));
+        Post post = new Post("ada", "p1");
+
+        blobs.write(post, "cover", ByteBuffer.wrap("cover".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(5L, post.getCover());
+        verify(current).bind("ada", "p1");
+        verify(insert).bind(eq("ada"), eq("p1"), any(UUID.class), eq(0),
+                eq(ByteBuffer.wrap("cove".getBytes(StandardCharsets.UTF_8))));
+        verify(insert).bind(eq("ada"), eq("p1"), any(UUID.class), eq(1),
+                eq(ByteBuffer.wrap("r".getBytes(StandardCharsets.UTF_8))));
+        verify(update).bind(eq(5L), any(UUID.class), eq("ada"), eq("p1"));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenFieldIsNotChunked() {
+        Attachment attachment = new Attachment("notes");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> blobs.write(attachment, "name", ByteBuffer.allocate(1)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> blobs.read(new Person("Ada", 10), "age"));
+    }
+
+    private PreparedStatement prepared(String query) {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(session.prepare(query)).thenReturn(statement);
+        return statement;
+    }
+
+    private BoundStatement bound(Supplier<AsyncResultSet> execution) {
+        BoundStatement statement = mock(BoundStatement.class);
+        executions.put(statement, execution);
+        return statement;
+    }
+
+    private BoundStatement rowBound(Supplier<ResultSet> execution) {
+        BoundStatement statement = mock(BoundStatement.class);
+        rowExecutions.put(statement, execution);
+        return statement;
+    }
+
+    private static ResultSet row(Long length, UUID generation) {
+        ResultSet resultSet = mock(ResultSet.class);
+        if (generation != null) {
+            Row row = mock(Row.class);
+            when(row.isNull(0)).thenReturn(length == null);
+            when(row.getObject(0)).thenReturn(length);
+            when(row.getUuid(1)).thenReturn(generation);
+            when(resultSet.one()).thenReturn(row);
+        }
+        return resultSet;
+    }
+
+    private static AsyncResultSet resultSet(ByteBuffer data) {
+        AsyncResultSet resultSet = mock(AsyncResultSet.class);
+        if (data != null) {
+            Row row = mock(Row.class);
+            when(row.getByteBuffer(0)).thenReturn(data);
+            when(resultSet.one()).thenReturn(row);
+        }
+        return resultSet;
+    }
+}
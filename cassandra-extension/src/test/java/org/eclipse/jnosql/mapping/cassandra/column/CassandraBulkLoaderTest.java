@@ -0,0 +1,180 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.test.CDIExtension;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@CDIExtension
+public class CassandraBulkLoaderTest {
+
+    @Inject
+    private CassandraColumnEntityConverter converter;
+
+    @Inject
+    private ClassMappings mappings;
+
+    private CqlSession session;
+
+    private PreparedStatementMocks mocks;
+
+    private CassandraBulkLoader loader;
+
+    private CassandraEntityCache cache;
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        session = mock(CqlSession.class);
+        Instance<CqlSession> instance = mock(Instance.class);
+        when(instance.isResolvable()).thenReturn(true);
+        when(instance.get()).thenReturn(session);
+        mocks = new PreparedStatementMocks(session);
+        mocks.prepare("INSERT INTO Person (name, age) VALUES (?, ?) USING TTL ?", DataTypes.TEXT, DataTypes.INT,
+                DataTypes.INT);
+        cache = new CassandraEntityCache(10);
+        loader = new CassandraBulkLoader(instance, new CassandraPreparedStatementCache(10), converter, mappings, cache,
+                new CassandraMappingSettings());
+        directory = Files.createTempDirectory("jnosql-cassandra");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void shouldLoadCSV() throws IOException {
+        Path file = write("people.csv", "name,age\nAda,10\n\"Poliana, Santana\",20\n");
+
+        CassandraLoadReport report = loader.load(Person.class, file);
+
+        assertEquals(2, report.getRows());
+        assertEquals(0, report.getResumedFrom());
+        assertThat(executed(2), Matchers.containsInAnyOrder(asList("Ada", 10, null),
+                asList("Poliana, Santana", 20, null)));
+        assertFalse(Files.exists(directory.resolve("people.csv.checkpoint")));
+    }
+
+    @Test
+    public void shouldLeaveTTLUnsetSoTheTableDefaultApplies() throws IOException {
+        Path file = write("people.csv", "name,age\nAda,10\nPoliana,20\n");
+
+        loader.load(Person.class, file);
+
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+        verify(session, Mockito.times(2)).executeAsync(captor.capture());
+        for (Statement<?> statement : captor.getAllValues()) {
+            assertNull(mocks.getValues(statement).get(2));
+            verify((BoundStatement) statement).unset(2);
+        }
+    }
+
+    @Test
+    public void shouldInvalidateCachedRowsOfTheTable() throws IOException {
+        cache.put("Ada", converter.toColumn(new Person("Ada", 9)), cache.stamp());
+        Path file = write("people.csv", "name,age\nAda,10\n");
+
+        loader.load(Person.class, file);
+
+        assertFalse(cache.get("Person", "Ada").isPresent());
+    }
+
+    @Test
+    public void shouldLoadJSONLines() throws IOException {
+        Path file = write("people.jsonl", "{\"name\": \"Ada\", \"age\": 10}\n\n{\"age\": 20, \"name\": \"Poliana\"}\n");
+
+        CassandraLoadReport report = loader.load(Person.class, file);
+
+        assertEquals(2, report.getRows());
+        assertThat(executed(2), Matchers.containsInAnyOrder(asList("Ada", 10, null), asList("Poliana", 20, null)));
+    }
+
+    @Test
+    public void shouldResumeFromCheckpoint() throws IOException {
+        String header = "name,age\n";
+        String ada = "Ada,10\n";
+        Path file = write("people.csv", header + ada + "Poliana,20\n");
+        long offset = header.length() + ada.length();
+        write("people.csv.checkpoint", Long.toString(offset));
+
+        CassandraLoadReport report = loader.load(Person.class, file);
+
+        assertEquals(1, report.getRows());
+        assertEquals(offset, report.getResumedFrom());
+        assertThat(executed(1), Matchers.contains(asList("Poliana", 20, null)));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenWriteFails() throws IOException {
+        when(session.executeAsync(Mockito.any(Statement.class)))
+                .thenAnswer(i -> {
+                    CompletableFuture<AsyncResultSet> future = new CompletableFuture<>();
+                    future.completeExceptionally(new IllegalStateException("unavailable"));
+                    return future;
+                });
+        Path file = write("people.csv", "name,age\nAda,10\n");
+
+        Assertions.assertThrows(IllegalStateException.class, () -> loader.load(Person.class, file));
+    }
+
+    private List<List<Object>> executed(int times) {
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+        verify(session, Mockito.times(times)).executeAsync(captor.capture());
+        return captor.getAllValues().stream().map(mocks::getValues).collect(Collectors.toList());
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(directory.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
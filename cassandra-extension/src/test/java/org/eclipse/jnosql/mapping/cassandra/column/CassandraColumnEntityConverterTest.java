@@ -22,12 +22,17 @@ import org.eclipse.jnosql.mapping.cassandra.column.model.Actor;
 import org.eclipse.jnosql.mapping.cassandra.column.model.AppointmentBook;
 import org.eclipse.jnosql.mapping.cassandra.column.model.Artist;
 import org.eclipse.jnosql.mapping.cassandra.column.model.Contact;
+import org.eclipse.jnosql.mapping.cassandra.column.model.ContactBook;
 import org.eclipse.jnosql.mapping.cassandra.column.model.Director;
 import org.eclipse.jnosql.mapping.cassandra.column.model.History2;
 import org.eclipse.jnosql.mapping.cassandra.column.model.Job;
 import org.eclipse.jnosql.mapping.cassandra.column.model.Money;
 import org.eclipse.jnosql.mapping.cassandra.column.model.Movie;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Note;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Profile;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Reading;
 import org.eclipse.jnosql.mapping.cassandra.column.model.Worker;
+import org.eclipse.jnosql.mapping.cassandra.converters.CompressionMetrics;
 import org.eclipse.jnosql.mapping.test.CDIExtension;
 import org.eclipse.jnosql.communication.cassandra.column.UDT;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,6 +40,8 @@ import org.junit.jupiter.api.Test;
 
 import javax.inject.Inject;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
@@ -52,6 +59,7 @@ import static java.util.Collections.singleton;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -261,6 +269,14 @@ public class CassandraColumnEntityConverterTest {
         assertEquals(job.getDescription(), worker1.getJob().getDescription());
     }
 
+    @Test
+    public void shouldNotWriteNullFields() {
+        ColumnEntity entity = converter.toColumn(new Profile("Ada", null, 36));
+        assertEquals("Profile", entity.getName());
+        assertEquals(2, entity.size());
+        assertFalse(entity.find("nickname").isPresent());
+        assertTrue(entity.getColumns().stream().allMatch(c -> c.get() != null));
+    }
 
     @Test
     public void shouldSupportUDT() {
@@ -361,6 +377,60 @@ public class CassandraColumnEntityConverterTest {
 
     }
 
+    @Test
+    public void shouldConvertLazyListUDTOnAccess() {
+        List<Iterable<Column>> columns = new ArrayList<>();
+        columns.add(asList(Column.of("name", "Poliana"), Column.of("description", "poliana")));
+        columns.add(asList(Column.of("name", "Ada"), Column.of("description", "ada@lovelace.com")));
+
+        ColumnEntity entity = ColumnEntity.of("ContactBook");
+        entity.add(Column.of("user", "otaviojava"));
+        entity.add(UDT.builder("Contact").withName("contacts").addUDTs(columns).build());
+        ContactBook book = converter.toEntity(entity);
+
+        CassandraUDTList<Contact> contacts = (CassandraUDTList<Contact>) book.getContacts();
+        assertEquals(2, contacts.size());
+        assertFalse(contacts.isLoaded(0));
+        assertEquals(new Contact("Ada", "ada@lovelace.com"), contacts.get(1));
+        assertFalse(contacts.isLoaded(0));
+        assertTrue(contacts.isLoaded(1));
+
+        UDT column = (UDT) converter.toColumn(book).find("contacts").get();
+        List<List<Column>> udts = (List<List<Column>>) column.get();
+        assertEquals(2, udts.size());
+        assertTrue(udts.stream().allMatch(c -> c.size() == 2));
+    }
+
+    @Test
+    public void shouldFillTimeBucketOnConvertToColumn() {
+        Reading reading = new Reading("s1", Instant.parse("2026-10-17T08:00:00Z"), 10.5);
+
+        ColumnEntity entity = converter.toColumn(reading);
+
+        assertEquals(LocalDate.of(2026, 10, 17), reading.getDay());
+        assertEquals(LocalDate.of(2026, 10, 17), getValue(entity.find("day")));
+    }
+
+    @Test
+    public void shouldConvertCompressedField() {
+        String text = "Ada Lovelace wrote the first program. ".repeat(20);
+        CompressionMetrics metrics = converter.getCompressionMetrics(Note.class, "text").get();
+        long compressed = metrics.getCompressed();
+        long decompressed = metrics.getDecompressed();
+
+        ColumnEntity entity = converter.toColumn(new Note("ada", text));
+
+        Object value = getValue(entity.find("text"));
+        assertTrue(value instanceof ByteBuffer);
+        assertTrue(((ByteBuffer) value).remaining() < text.length());
+        Note note = converter.toEntity(Note.class, entity);
+        assertEquals(text, note.getText());
+        assertEquals("ada", note.getId());
+        assertEquals(compressed + 1, metrics.getCompressed());
+        assertEquals(decompressed + 1, metrics.getDecompressed());
+        assertFalse(converter.getCompressionMetrics(Note.class, "id").isPresent());
+    }
+
     private Object getValue(Optional<Column> document) {
         return document.map(Column::getValue).map(Value::get).orElse(null);
     }
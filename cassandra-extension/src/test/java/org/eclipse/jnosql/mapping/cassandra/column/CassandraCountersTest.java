@@ -0,0 +1,180 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+import jakarta.nosql.mapping.Converters;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Device;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Post;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.test.CDIExtension;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@CDIExtension
+public class CassandraCountersTest {
+
+    @Inject
+    private ClassMappings mappings;
+
+    @Inject
+    private Converters converters;
+
+    @Inject
+    private CassandraExecutor executor;
+
+    private CqlSession session;
+
+    private PreparedStatementMocks mocks;
+
+    private CassandraCounters counters;
+
+    private CassandraEntityCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        session = mock(CqlSession.class);
+        Instance<CqlSession> instance = mock(Instance.class);
+        when(instance.isResolvable()).thenReturn(true);
+        when(instance.get()).thenReturn(session);
+        mocks = new PreparedStatementMocks(session);
+        mocks.prepare("UPDATE Person SET age = age + ? WHERE name = ?", DataTypes.COUNTER, DataTypes.TEXT);
+        cache = new CassandraEntityCache(10);
+        counters = new CassandraCounters(instance, new CassandraPreparedStatementCache(10), mappings, converters,
+                cache, new CassandraMappingSettings(), executor);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        counters.close(null);
+    }
+
+    @Test
+    public void shouldCoalesceIncrements() {
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+        counters.increment(Person.class, "Ada", "age", 1L);
+        counters.increment(Person.class, "Ada", "age", 1L);
+        counters.increment(Person.class, "Ada", "age", 1L);
+        counters.increment(Person.class, "Poliana", "age", 2L);
+        assertEquals(4L, counters.getPending());
+
+        counters.flush();
+
+        verify(session).execute(captor.capture());
+        BatchStatement batch = (BatchStatement) captor.getValue();
+        assertEquals(BatchType.COUNTER, batch.getBatchType());
+        List<List<Object>> values = StreamSupport.stream(batch.spliterator(), false).map(mocks::getValues)
+                .collect(Collectors.toList());
+        assertThat(values, Matchers.<List<Object>>containsInAnyOrder(asList(3L, "Ada"), asList(2L, "Poliana")));
+        assertEquals(0L, counters.getPending());
+    }
+
+    @Test
+    public void shouldKeepIncrementsWhenFlushFails() {
+        when(session.execute(Mockito.any(Statement.class)))
+                .thenThrow(new IllegalStateException("timeout"))
+                .thenReturn(null);
+        counters.increment(Person.class, "Ada", "age", 1L);
+        counters.increment(Person.class, "Ada", "age", 4L);
+
+        Assertions.assertThrows(IllegalStateException.class, counters::flush);
+        assertEquals(2L, counters.getPending());
+
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+        counters.flush();
+        verify(session, Mockito.times(2)).execute(captor.capture());
+        assertEquals(asList(5L, "Ada"), mocks.getValues(captor.getValue()));
+        assertEquals(0L, counters.getPending());
+    }
+
+    @Test
+    public void shouldInvalidateCachedRowOnFlush() {
+        cache.put("Ada", ColumnEntity.of("Person", Collections.singletonList(Column.of("name", "Ada"))),
+                cache.stamp());
+        counters.increment(Person.class, "Ada", "age", 1L);
+        Assertions.assertTrue(cache.get("Person", "Ada").isPresent());
+
+        counters.flush();
+
+        Assertions.assertFalse(cache.get("Person", "Ada").isPresent());
+    }
+
+    @Test
+    public void shouldDrainOnClose() {
+        counters.increment(Person.class, "Ada", "age", 1L);
+
+        counters.close(null);
+
+        verify(session).execute(Mockito.any(Statement.class));
+        assertEquals(0L, counters.getPending());
+        Assertions.assertThrows(IllegalStateException.class, () -> counters.increment(Person.class, "Ada", "age",
+                1L));
+    }
+
+    @Test
+    public void shouldConvertId() {
+        mocks.prepare("UPDATE Device SET pings = pings + ? WHERE id = ?", DataTypes.COUNTER, DataTypes.TEXT);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+        UUID id = UUID.randomUUID();
+        counters.increment(Device.class, id, "pings", 1L);
+        counters.increment(Device.class, id, "pings", 2L);
+
+        counters.flush();
+
+        verify(session).execute(captor.capture());
+        assertEquals(asList(3L, id.toString()), mocks.getValues(captor.getValue()));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenIdIsNotPrimaryKey() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> counters.increment(Post.class, "p1",
+                "likes", 1L));
+        assertEquals(0L, counters.getPending());
+    }
+
+    @Test
+    public void shouldReturnErrorWhenFieldIsNotCounter() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> counters.increment(Person.class, "Ada",
+                "name", 1L));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> counters.increment(Person.class, "Ada",
+                "unknown", 1L));
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CassandraCsvTest {
+
+    @Test
+    public void shouldParseFields() {
+        assertEquals(asList("Ada", "10", null), CassandraCsv.parse("Ada,10,"));
+        assertEquals(asList(null, "10"), CassandraCsv.parse(",10"));
+    }
+
+    @Test
+    public void shouldParseQuotedFields() {
+        assertEquals(asList("Poliana, Santana", "say \"hi\"", ""),
+                CassandraCsv.parse("\"Poliana, Santana\",\"say \"\"hi\"\"\",\"\""));
+        assertEquals(asList("line\nbreak"), CassandraCsv.parse("\"line\nbreak\""));
+    }
+
+    @Test
+    public void shouldCheckWhetherRecordIsComplete() {
+        assertTrue(CassandraCsv.isComplete("Ada,\"10\""));
+        assertFalse(CassandraCsv.isComplete("Ada,\"line"));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenQuoteIsNotClosed() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CassandraCsv.parse("\"Ada,10"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CassandraCsv.parse("\"Ada\"x,10"));
+    }
+}
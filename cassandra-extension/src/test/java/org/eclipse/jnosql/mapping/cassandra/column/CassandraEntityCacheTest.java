@@ -0,0 +1,162 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CassandraEntityCacheTest {
+
+    private AtomicLong time;
+
+    private CassandraEntityCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        time = new AtomicLong();
+        cache = new CassandraEntityCache(2, Duration.ofSeconds(60), time::get);
+    }
+
+    @Test
+    public void shouldReturnErrorWhenSizeIsNegative() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CassandraEntityCache(-1));
+    }
+
+    @Test
+    public void shouldFindRow() {
+        ColumnEntity ada = person("Ada");
+        assertFalse(cache.get("Person", "Ada").isPresent());
+        cache.put("Ada", ada, cache.stamp());
+
+        assertEquals(ada, cache.get("Person", "Ada").get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5D, cache.getHitRatio());
+    }
+
+    @Test
+    public void shouldExpireRow() {
+        cache.put("Ada", person("Ada"), cache.stamp());
+        time.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        assertFalse(cache.get("Person", "Ada").isPresent());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldHonorTTLOfSavedRow() {
+        cache.invalidate("Person", "Ada", Duration.ofSeconds(10));
+        cache.put("Ada", person("Ada"), cache.stamp());
+        assertTrue(cache.get("Person", "Ada").isPresent());
+
+        time.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertFalse(cache.get("Person", "Ada").isPresent());
+    }
+
+    @Test
+    public void shouldNotCacheReadStartedBeforeWrite() {
+        long stamp = cache.stamp();
+        cache.invalidate("Person", "Ada", null);
+        cache.put("Ada", person("Ada"), stamp);
+
+        assertFalse(cache.get("Person", "Ada").isPresent());
+    }
+
+    @Test
+    public void shouldInvalidateRows() {
+        cache.put("Ada", person("Ada"), cache.stamp());
+        cache.put("Poliana", person("Poliana"), cache.stamp());
+
+        cache.invalidate("Person", "Ada", null);
+        assertFalse(cache.get("Person", "Ada").isPresent());
+        assertTrue(cache.get("Person", "Poliana").isPresent());
+
+        cache.invalidateAll("Person");
+        assertFalse(cache.get("Person", "Poliana").isPresent());
+    }
+
+    @Test
+    public void shouldInvalidateRowsWrittenByCQL() {
+        cache.put("Ada", person("Ada"), cache.stamp());
+        cache.invalidateWrittenBy("SELECT * FROM Person");
+        assertTrue(cache.get("Person", "Ada").isPresent());
+
+        cache.invalidateWrittenBy("UPDATE ks.person SET age = 10 WHERE name = 'Ada'");
+        assertFalse(cache.get("Person", "Ada").isPresent());
+
+        cache.put("Ada", person("Ada"), cache.stamp());
+        cache.invalidateWrittenBy("DELETE age FROM Animal WHERE name = 'Ada'");
+        assertTrue(cache.get("Person", "Ada").isPresent());
+
+        cache.invalidateWrittenBy("BEGIN BATCH INSERT INTO Person (name) VALUES ('Ada'); APPLY BATCH");
+        assertFalse(cache.get("Person", "Ada").isPresent());
+    }
+
+    @Test
+    public void shouldAdmitSavedRowWithTTLAsAnyOther() {
+        for (int index = 0; index < 3; index++) {
+            cache.get("Person", "Ada");
+            cache.get("Person", "Poliana");
+        }
+        cache.put("Ada", person("Ada"), cache.stamp());
+        cache.put("Poliana", person("Poliana"), cache.stamp());
+
+        cache.invalidate("Person", "Otavio", Duration.ofSeconds(10));
+
+        assertEquals(0, cache.getEvictions());
+        assertEquals(2, cache.size());
+        assertTrue(cache.get("Person", "Ada").isPresent());
+        assertTrue(cache.get("Person", "Poliana").isPresent());
+    }
+
+    @Test
+    public void shouldAdmitOnlyMoreFrequentKeys() {
+        for (int index = 0; index < 3; index++) {
+            cache.get("Person", "Ada");
+            cache.get("Person", "Poliana");
+        }
+        cache.put("Ada", person("Ada"), cache.stamp());
+        cache.put("Poliana", person("Poliana"), cache.stamp());
+
+        cache.get("Person", "Otavio");
+        cache.put("Otavio", person("Otavio"), cache.stamp());
+        assertEquals(1, cache.getRejections());
+        assertFalse(cache.get("Person", "Otavio").isPresent());
+
+        for (int index = 0; index < 5; index++) {
+            cache.get("Person", "Otavio");
+        }
+        cache.put("Otavio", person("Otavio"), cache.stamp());
+        assertEquals(1, cache.getEvictions());
+        assertEquals(2, cache.size());
+        assertTrue(cache.get("Person", "Otavio").isPresent());
+    }
+
+    private static ColumnEntity person(String name) {
+        return ColumnEntity.of("Person", Collections.singletonList(Column.of("name", name)));
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Post;
+import org.eclipse.jnosql.mapping.reflection.ClassMapping;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.test.CDIExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.eclipse.jnosql.mapping.cassandra.column.CassandraMappingConfigurations.STATEMENT_WARM_UP;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@CDIExtension
+public class CassandraEntityStatementsTest {
+
+    @Inject
+    private ClassMappings mappings;
+
+    private CqlSession session;
+
+    private Instance<CqlSession> instance;
+
+    @BeforeEach
+    public void setUp() {
+        session = mock(CqlSession.class);
+        instance = mock(Instance.class);
+        when(instance.isResolvable()).thenReturn(true);
+        when(instance.get()).thenReturn(session);
+    }
+
+    @Test
+    public void shouldGenerateQueries() {
+        ClassMapping mapping = mappings.get(Person.class);
+        CassandraEntityStatements.Queries queries = CassandraEntityStatements.Queries.of(mapping).get();
+
+        assertTrue(queries.getInsert().startsWith("INSERT INTO Person (name, age"));
+        assertTrue(queries.getInsert().endsWith("?) USING TTL ?"));
+        assertTrue(queries.getUpdate().startsWith("UPDATE Person SET age = ?"));
+        assertTrue(queries.getUpdate().endsWith(" WHERE name = ?"));
+        assertEquals(Optional.of("SELECT * FROM Person WHERE name = ?"), queries.getSelect());
+        assertEquals(Optional.of("DELETE FROM Person WHERE name = ?"), queries.getDelete());
+    }
+
+    @Test
+    public void shouldNotGenerateQueriesByIdWhenTheKeyHasOtherColumns() {
+        ClassMapping mapping = mappings.get(Post.class);
+        CassandraEntityStatements.Queries queries = CassandraEntityStatements.Queries.of(mapping).get();
+
+        assertTrue(queries.getUpdate().endsWith(" WHERE author = ? AND id = ?"));
+        assertFalse(queries.getSelect().isPresent());
+        assertFalse(queries.getDelete().isPresent());
+    }
+
+    @Test
+    public void shouldBeReadyWithoutWarmUp() {
+        CassandraEntityStatements statements = new CassandraEntityStatements(instance, mappings,
+                new CassandraMappingSettings());
+        assertFalse(statements.isReady());
+
+        statements.warmUp(Collections.singletonList(Person.class));
+
+        assertTrue(statements.isReady());
+        assertEquals(0, statements.size());
+        verify(session, never()).prepareAsync(anyString());
+    }
+
+    @Test
+    public void shouldPrepareStatements() {
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        doReturn(true).when(settings).getBoolean(STATEMENT_WARM_UP, false);
+        PreparedStatement prepared = mock(PreparedStatement.class);
+        when(session.prepareAsync(anyString())).thenAnswer(i -> CompletableFuture.completedFuture(prepared));
+        CassandraEntityStatements statements = new CassandraEntityStatements(instance, mappings, settings);
+
+        statements.warmUp(Collections.singletonList(Person.class));
+
+        assertTrue(statements.isReady());
+        assertEquals(1, statements.size());
+        verify(session, Mockito.times(4)).prepareAsync(anyString());
+    }
+
+    @Test
+    public void shouldPrepareOnlyWritesWhenTheKeyHasOtherColumns() {
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        doReturn(true).when(settings).getBoolean(STATEMENT_WARM_UP, false);
+        PreparedStatement prepared = mock(PreparedStatement.class);
+        when(session.prepareAsync(anyString())).thenAnswer(i -> CompletableFuture.completedFuture(prepared));
+        CassandraEntityStatements statements = new CassandraEntityStatements(instance, mappings, settings);
+
+        statements.warmUp(Collections.singletonList(Post.class));
+
+        assertEquals(1, statements.size());
+        verify(session, Mockito.times(2)).prepareAsync(anyString());
+        assertFalse(statements.toSelect(mappings.get(Post.class), "1").isPresent());
+        assertFalse(statements.toDelete(mappings.get(Post.class), "1").isPresent());
+    }
+
+    @Test
+    public void shouldKeepGoingWhenPrepareFails() {
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        doReturn(true).when(settings).getBoolean(STATEMENT_WARM_UP, false);
+        when(session.prepareAsync(anyString())).thenAnswer(i -> CompletableFuture.failedFuture(
+                new IllegalStateException("unconfigured table Person")));
+        CassandraEntityStatements statements = new CassandraEntityStatements(instance, mappings, settings);
+
+        statements.warmUp(Collections.singletonList(Person.class));
+
+        assertTrue(statements.isReady());
+        assertEquals(0, statements.size());
+        assertFalse(statements.toSelect(mappings.get(Person.class), "Ada").isPresent());
+    }
+}
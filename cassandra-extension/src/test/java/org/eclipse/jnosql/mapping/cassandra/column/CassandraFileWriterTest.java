@@ -0,0 +1,51 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CassandraFileWriterTest {
+
+    @Test
+    public void shouldWriteWholeRecordsAndLargerOnes() throws IOException {
+        Path file = Files.createTempFile("jnosql-cassandra", ".csv");
+        try {
+            try (CassandraFileWriter writer = CassandraFileWriter.of(file, 8)) {
+                CassandraFileWriter.Buffer buffer = writer.newBuffer();
+                buffer.write("Ada,1\n");
+                buffer.write("Poliana,2\n");
+                buffer.write("é\n");
+                buffer.flush();
+                assertEquals(19, writer.getBytes());
+            }
+            assertEquals(asList("Ada,1", "Poliana,2", "é"), Files.readAllLines(file, StandardCharsets.UTF_8));
+
+            try (CassandraFileReader reader = CassandraFileReader.of(file, 6, 4)) {
+                assertEquals("Poliana,2", reader.next());
+                assertEquals(16, reader.getPosition());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+import org.eclipse.jnosql.communication.cassandra.column.UDT;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CassandraInsertsTest {
+
+    private static final String INSERT = "INSERT INTO Person (name, age) VALUES (?, ?) USING TTL ?";
+
+    private CqlSession session;
+
+    private PreparedStatementMocks mocks;
+
+    private CassandraPreparedStatementCache statements;
+
+    @BeforeEach
+    public void setUp() {
+        session = mock(CqlSession.class);
+        mocks = new PreparedStatementMocks(session);
+        statements = new CassandraPreparedStatementCache(10);
+    }
+
+    @Test
+    public void shouldCreateInsert() {
+        mocks.prepare(INSERT, DataTypes.TEXT, DataTypes.INT, DataTypes.INT);
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Ada"), Column.of("age", 10)));
+
+        Statement<?> statement = CassandraInserts.toStatement(session, statements,
+                Collections.singletonList(entity), Duration.ofMinutes(1), ConsistencyLevel.ONE)
+                .toCompletableFuture().join();
+
+        assertEquals(asList("Ada", 10, 60), mocks.getValues(statement));
+        verify((BoundStatement) statement).setConsistencyLevel(ConsistencyLevel.ONE);
+    }
+
+    @Test
+    public void shouldCreateUnloggedBatchPreparingEachInsertOnce() {
+        PreparedStatement insert = mocks.prepare(INSERT, DataTypes.TEXT, DataTypes.BIGINT, DataTypes.INT);
+        List<ColumnEntity> entities = asList(
+                ColumnEntity.of("Person", asList(Column.of("name", "Ada"), Column.of("age", 10))),
+                ColumnEntity.of("Person", asList(Column.of("name", "Poliana"), Column.of("age", 20))));
+
+        Statement<?> statement = CassandraInserts.toStatement(session, statements, entities, null, null)
+                .toCompletableFuture().join();
+
+        BatchStatement batch = (BatchStatement) statement;
+        assertEquals(BatchType.UNLOGGED, batch.getBatchType());
+        List<List<Object>> values = StreamSupport.stream(batch.spliterator(), false).map(mocks::getValues)
+                .collect(Collectors.toList());
+        assertEquals(asList(asList("Ada", 10L, null), asList("Poliana", 20L, null)), values);
+        verify(session, times(1)).prepareAsync(INSERT);
+        assertEquals(1, statements.size());
+        assertEquals(insert, ((BoundStatement) batch.iterator().next()).getPreparedStatement());
+    }
+
+    @Test
+    public void shouldLeaveTTLUnsetWithoutTTL() {
+        mocks.prepare(INSERT, DataTypes.TEXT, DataTypes.INT, DataTypes.INT);
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Ada"), Column.of("age", 10)));
+
+        Statement<?> statement = CassandraInserts.toStatement(session, statements,
+                Collections.singletonList(entity), null, null).toCompletableFuture().join();
+
+        assertEquals(asList("Ada", 10, null), mocks.getValues(statement));
+        verify((BoundStatement) statement).unset(2);
+    }
+
+    @Test
+    public void shouldNotSupportUDTAndEmbeddedEntity() {
+        ColumnEntity udt = ColumnEntity.of("Person", Collections.singletonList(UDT.builder("address")
+                .withName("home")
+                .addUDT(Collections.singletonList(Column.of("city", "Salvador")))
+                .build()));
+        ColumnEntity embedded = ColumnEntity.of("Director", Collections.singletonList(Column.of("movie",
+                Collections.singletonList(Column.of("title", "Matrix")))));
+
+        assertFalse(CassandraInserts.isSupported(udt));
+        assertFalse(CassandraInserts.isSupported(embedded));
+        assertTrue(CassandraInserts.isSupported(ColumnEntity.of("Person",
+                Collections.singletonList(Column.of("phones", asList("1", "2"))))));
+    }
+}
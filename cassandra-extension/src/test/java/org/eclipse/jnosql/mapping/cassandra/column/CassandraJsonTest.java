@@ -0,0 +1,55 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CassandraJsonTest {
+
+    @Test
+    public void shouldParseObject() {
+        Map<String, Object> json = CassandraJson.parse("{\"name\": \"Ada \\\"L\\\"\", \"age\": 36, \"active\": true,"
+                + " \"score\": 1.5, \"phones\": [\"1\", \"2\"], \"home\": {\"city\": \"London\"}, \"nick\": null}");
+
+        assertEquals("Ada \"L\"", json.get("name"));
+        assertEquals(36L, json.get("age"));
+        assertEquals(Boolean.TRUE, json.get("active"));
+        assertEquals(new BigDecimal("1.5"), json.get("score"));
+        assertEquals(asList("1", "2"), json.get("phones"));
+        assertEquals(Collections.singletonMap("city", "London"), json.get("home"));
+        assertNull(json.get("nick"));
+    }
+
+    @Test
+    public void shouldParseUnicodeEscape() {
+        assertEquals("é", CassandraJson.parse("{\"name\": \"\\u00e9\"}").get("name"));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenIsNotObject() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CassandraJson.parse("[1, 2]"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CassandraJson.parse("{\"name\": \"Ada\""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CassandraJson.parse("{\"name\": 1} 2"));
+    }
+}
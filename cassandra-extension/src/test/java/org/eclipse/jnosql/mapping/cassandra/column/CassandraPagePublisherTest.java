@@ -0,0 +1,157 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CassandraPagePublisherTest {
+
+    @Test
+    public void shouldFetchNextPageOnlyOnDemand() {
+        Row first = mock(Row.class);
+        Row second = mock(Row.class);
+        Row third = mock(Row.class);
+        AsyncResultSet lastPage = page(false, third);
+        AsyncResultSet firstPage = page(true, first, second);
+        when(firstPage.fetchNextPage()).thenReturn(CompletableFuture.completedFuture(lastPage));
+        AtomicInteger executions = new AtomicInteger();
+
+        CassandraPagePublisher<Row> publisher = new CassandraPagePublisher<>(() -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(firstPage);
+        }, r -> r);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        assertEquals(0, executions.get());
+        subscriber.subscription.request(2);
+        assertEquals(Arrays.asList(first, second), subscriber.elements);
+        verify(firstPage, never()).fetchNextPage();
+
+        subscriber.subscription.request(5);
+        assertEquals(Arrays.asList(first, second, third), subscriber.elements);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void shouldSendErrorWhenRequestIsNotPositive() {
+        CassandraPagePublisher<Row> publisher = new CassandraPagePublisher<>(
+                () -> CompletableFuture.completedFuture(page(false)), r -> r);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(0);
+        assertEquals(IllegalArgumentException.class, subscriber.error.getClass());
+    }
+
+    @Test
+    public void shouldSendQueryError() {
+        CompletableFuture<AsyncResultSet> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("timeout"));
+        CassandraPagePublisher<Row> publisher = new CassandraPagePublisher<>(() -> failed, r -> r);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertEquals(IllegalStateException.class, subscriber.error.getClass());
+    }
+
+    @Test
+    public void shouldRunSubscriptionActionOnEachSubscribe() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        CassandraPagePublisher<Row> publisher = new CassandraPagePublisher<>(
+                () -> CompletableFuture.completedFuture(page(false)), r -> r, subscriptions::incrementAndGet);
+        assertEquals(0, subscriptions.get());
+
+        publisher.subscribe(new RecordingSubscriber());
+        publisher.subscribe(new RecordingSubscriber());
+
+        assertEquals(2, subscriptions.get());
+    }
+
+    @Test
+    public void shouldSendSubscriptionActionErrorWithoutQuerying() {
+        AtomicInteger executions = new AtomicInteger();
+        CassandraPagePublisher<Row> publisher = new CassandraPagePublisher<>(() -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(page(false));
+        }, r -> r, () -> {
+            throw new IllegalStateException("rejected");
+        });
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        assertEquals(IllegalStateException.class, subscriber.error.getClass());
+        assertEquals(0, executions.get());
+    }
+
+    private static AsyncResultSet page(boolean hasMorePages, Row... rows) {
+        AsyncResultSet resultSet = Mockito.mock(AsyncResultSet.class);
+        when(resultSet.currentPage()).thenReturn(Arrays.asList(rows));
+        when(resultSet.hasMorePages()).thenReturn(hasMorePages);
+        return resultSet;
+    }
+
+    private static class RecordingSubscriber implements Flow.Subscriber<Row> {
+
+        private final List<Row> elements = new ArrayList<>();
+
+        private Flow.Subscription subscription;
+
+        private boolean completed;
+
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Row item) {
+            elements.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import org.eclipse.jnosql.communication.cassandra.column.CassandraPreparedStatement;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+public class CassandraPreparedStatementCacheTest {
+
+    @Test
+    public void shouldReturnErrorWhenSizeIsInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CassandraPreparedStatementCache(0));
+    }
+
+    @Test
+    public void shouldReuseStatement() {
+        CassandraPreparedStatementCache cache = new CassandraPreparedStatementCache(2);
+        CassandraPreparedStatement statement = mock(CassandraPreparedStatement.class);
+        Function<String, CassandraPreparedStatement> prepare = q -> statement;
+
+        assertSame(statement, cache.apply("select * from Person", prepare, Function.identity()));
+        assertSame(statement, cache.apply("select * from Person", q -> {
+            throw new IllegalStateException("should not prepare again");
+        }, Function.identity()));
+        assertEquals(1L, cache.getMisses());
+        assertEquals(1L, cache.getHits());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        CassandraPreparedStatementCache cache = new CassandraPreparedStatementCache(2);
+        Function<String, CassandraPreparedStatement> prepare = q -> mock(CassandraPreparedStatement.class);
+
+        cache.apply("select * from Person", prepare, Function.identity());
+        cache.apply("select * from Actor", prepare, Function.identity());
+        cache.apply("select * from Person", prepare, Function.identity());
+        cache.apply("select * from Movie", prepare, Function.identity());
+
+        assertEquals(2, cache.size());
+        assertEquals(1L, cache.getEvictions());
+        assertEquals(1L, cache.getHits());
+    }
+
+    @Test
+    public void shouldDiscardLentStatementAfterInvalidation() {
+        CassandraPreparedStatementCache cache = new CassandraPreparedStatementCache(2);
+        Function<String, CassandraPreparedStatement> prepare = q -> mock(CassandraPreparedStatement.class);
+
+        cache.apply("select * from Person", prepare, s -> {
+            cache.invalidateAll();
+            return s;
+        });
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class CassandraProjectionTest {
+
+    @Test
+    public void shouldCreateFromConstructor() {
+        CassandraProjection<PersonName> projection = CassandraProjection.of(PersonName.class);
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Ada"), Column.of("age", 10)));
+
+        PersonName name = projection.apply(entity);
+
+        assertEquals(asList("name", "age"), projection.getColumns());
+        assertEquals("Ada", name.name);
+        assertEquals(10, name.age);
+    }
+
+    @Test
+    public void shouldUseDefaultWhenColumnIsMissing() {
+        CassandraProjection<PersonName> projection = CassandraProjection.of(PersonName.class);
+
+        PersonName name = projection.apply(ColumnEntity.of("Person", Collections.singletonList(
+                Column.of("name", "Ada"))));
+
+        assertEquals("Ada", name.name);
+        assertEquals(0, name.age);
+    }
+
+    @Test
+    public void shouldWriteFieldsWhenThereIsNoArgConstructor() {
+        CassandraProjection<Contact> projection = CassandraProjection.of(Contact.class);
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Ada"),
+                Column.of("phone", "555-0101")));
+
+        Contact contact = projection.apply(entity);
+
+        assertEquals(asList("name", "phone", "email"), projection.getColumns());
+        assertEquals("Ada", contact.name);
+        assertEquals("555-0101", contact.mobile);
+        assertNull(contact.email);
+    }
+
+    @Test
+    public void shouldReturnErrorWhenTypeIsInterface() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CassandraProjection.of(Runnable.class));
+    }
+
+    static class PersonName {
+
+        private final String name;
+
+        private final int age;
+
+        PersonName(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+    }
+
+    static class Contact {
+
+        private String name;
+
+        @jakarta.nosql.mapping.Column("phone")
+        private String mobile;
+
+        private String email;
+    }
+}
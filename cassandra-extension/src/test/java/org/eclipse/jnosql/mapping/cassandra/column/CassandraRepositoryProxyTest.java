@@ -14,6 +14,7 @@
  */
 package org.eclipse.jnosql.mapping.cassandra.column;
 
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
 import jakarta.nosql.column.ColumnDeleteQuery;
 import jakarta.nosql.mapping.column.ColumnRepositoryProducer;
 import org.eclipse.jnosql.mapping.test.CDIExtension;
@@ -27,6 +28,8 @@ import java.lang.reflect.Proxy;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
@@ -83,6 +86,29 @@ public class CassandraRepositoryProxyTest {
         verify(template).cql(Mockito.eq("select * from Person where name = ?"), Mockito.any(Object.class));
     }
 
+    @Test
+    public void shouldLimitSingleResult() {
+        Person ada = new Person("Ada", 10);
+        when(template.cql(CQLMethod.SINGLE_RESULT_LIMIT, "select * from Person where name = ? LIMIT 2", "Ada"))
+                .thenReturn(Stream.of(ada));
+
+        Optional<Person> person = personRepository.findOne("Ada");
+        assertEquals(Optional.of(ada), person);
+    }
+
+    @Test
+    public void shouldFetchSingleResultPage() {
+        Person ada = new Person("Ada", 10);
+        ArgumentCaptor<SimpleStatement> captor = ArgumentCaptor.forClass(SimpleStatement.class);
+        when(template.execute(any(SimpleStatement.class))).thenReturn(Stream.of(ada));
+
+        assertEquals(ada, personRepository.findFirst());
+        verify(template).execute(captor.capture());
+        SimpleStatement statement = captor.getValue();
+        assertEquals("select * from Person LIMIT 2 allow filtering", statement.getQuery());
+        assertEquals(2, statement.getPageSize());
+    }
+
     @Test
     public void shouldFindByName2CQL() {
         ArgumentCaptor<Map> captor = ArgumentCaptor.forClass(Map.class);
@@ -105,6 +131,12 @@ public class CassandraRepositoryProxyTest {
 
         @CQL("select * from Person where name = :name")
         List<Person> findByName2(@Param("name") String name);
+
+        @CQL("select * from Person where name = ?")
+        Optional<Person> findOne(String name);
+
+        @CQL("select * from Person allow filtering;")
+        Person findFirst();
     }
 
 }
\ No newline at end of file
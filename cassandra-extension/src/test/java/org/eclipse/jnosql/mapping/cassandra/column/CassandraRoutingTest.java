@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.data.ByteUtils;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import jakarta.nosql.column.ColumnQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CassandraRoutingTest {
+
+    private final SimpleStatement statement = SimpleStatement.newInstance("SELECT * FROM Person WHERE name = ?", "Ada");
+
+    private CqlSession session;
+
+    private KeyspaceMetadata keyspace;
+
+    @BeforeEach
+    public void setUp() {
+        session = mock(CqlSession.class);
+        DriverContext context = mock(DriverContext.class);
+        when(context.getCodecRegistry()).thenReturn(CodecRegistry.DEFAULT);
+        when(context.getProtocolVersion()).thenReturn(ProtocolVersion.DEFAULT);
+        when(session.getContext()).thenReturn(context);
+        when(session.getKeyspace()).thenReturn(Optional.of(CqlIdentifier.fromCql("library")));
+        Metadata metadata = mock(Metadata.class);
+        keyspace = mock(KeyspaceMetadata.class);
+        when(session.getMetadata()).thenReturn(metadata);
+        when(metadata.getKeyspace(CqlIdentifier.fromCql("library"))).thenReturn(Optional.of(keyspace));
+    }
+
+    @Test
+    public void shouldRouteBySingleColumn() {
+        table("Person", "name", DataTypes.TEXT);
+        SimpleStatement routed = CassandraRouting.route(session, statement, "Person", values("name", "Ada"));
+        assertEquals(StandardCharsets.UTF_8.encode("Ada"), routed.getRoutingKey());
+    }
+
+    @Test
+    public void shouldRouteByCompositeKey() {
+        table("Person", "name", DataTypes.TEXT, "age", DataTypes.INT);
+        SimpleStatement routed = CassandraRouting.route(session, statement, "Person",
+                values("age", 10, "name", "Ada"));
+        assertEquals("0x00034164610000040000000a00", ByteUtils.toHexString(routed.getRoutingKey()));
+    }
+
+    @Test
+    public void shouldEncodeByColumnType() {
+        table("Person", "id", DataTypes.BIGINT);
+        SimpleStatement routed = CassandraRouting.route(session, statement, "Person", values("id", 10));
+        assertEquals("0x000000000000000a", ByteUtils.toHexString(routed.getRoutingKey()));
+    }
+
+    @Test
+    public void shouldNotRouteWhenValueIsMissing() {
+        table("Person", "name", DataTypes.TEXT, "age", DataTypes.INT);
+        assertSame(statement, CassandraRouting.route(session, statement, "Person", values("name", "Ada")));
+        assertSame(statement, CassandraRouting.route(session, statement, "Person", values("name", "Ada",
+                "age", null)));
+        assertNull(statement.getRoutingKey());
+    }
+
+    @Test
+    public void shouldNotRouteWhenTableIsUnknown() {
+        assertSame(statement, CassandraRouting.route(session, statement, "Person", values("name", "Ada")));
+        when(session.getKeyspace()).thenReturn(Optional.empty());
+        table("Person", "name", DataTypes.TEXT);
+        assertSame(statement, CassandraRouting.route(session, statement, "Person", values("name", "Ada")));
+    }
+
+    @Test
+    public void shouldNotRouteWhenValueCannotBeConverted() {
+        table("Person", "id", DataTypes.UUID);
+        assertSame(statement, CassandraRouting.route(session, statement, "Person", values("id", 10)));
+    }
+
+    @Test
+    public void shouldRouteByValuesComparedByEquals() {
+        table("Person", "city", DataTypes.TEXT, "name", DataTypes.TEXT);
+        ColumnQuery query = ColumnQuery.select().from("Person").where("age").gt(10).and("name").eq("Ada")
+                .and("city").eq("Salvador").build();
+
+        SimpleStatement routed = CassandraRouting.route(session, statement, "Person", query.getCondition().get());
+
+        assertEquals(CassandraRouting.route(session, statement, "Person", values("city", "Salvador", "name", "Ada"))
+                .getRoutingKey(), routed.getRoutingKey());
+        ColumnQuery range = ColumnQuery.select().from("Person").where("name").gt("Ada").build();
+        assertSame(statement, CassandraRouting.route(session, statement, "Person", range.getCondition().get()));
+    }
+
+    private void table(String name, Object... columns) {
+        List<ColumnMetadata> partitionKey = new ArrayList<>();
+        for (int index = 0; index < columns.length; index += 2) {
+            ColumnMetadata column = mock(ColumnMetadata.class);
+            when(column.getName()).thenReturn(CqlIdentifier.fromCql(columns[index].toString()));
+            when(column.getType()).thenReturn((DataType) columns[index + 1]);
+            partitionKey.add(column);
+        }
+        TableMetadata table = mock(TableMetadata.class);
+        when(table.getPartitionKey()).thenReturn(partitionKey);
+        when(keyspace.getTable(name)).thenReturn(Optional.of(table));
+    }
+
+    private static Map<String, Object> values(Object... values) {
+        Map<String, Object> map = new HashMap<>();
+        for (int index = 0; index < values.length; index += 2) {
+            map.put(values[index].toString(), values[index + 1]);
+        }
+        return map;
+    }
+}
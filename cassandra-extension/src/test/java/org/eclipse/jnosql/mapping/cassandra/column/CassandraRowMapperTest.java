@@ -0,0 +1,142 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import com.datastax.oss.driver.api.core.type.codec.TypeCodec;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Movie;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.test.CDIExtension;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@CDIExtension
+public class CassandraRowMapperTest {
+
+    @Inject
+    private ClassMappings mappings;
+
+    @Inject
+    private CassandraColumnEntityConverter converter;
+
+    @Test
+    public void shouldMapRowDirectly() {
+        ColumnDefinitions definitions = definitions(DataTypes.TEXT, DataTypes.BIGINT,
+                DataTypes.setOf(DataTypes.TEXT));
+        Row row = row(definitions);
+        CassandraRowMapper<Movie> mapper = CassandraRowMapper.of(mappings.get(Movie.class), r -> {
+            throw new AssertionError("the row should be mapped directly");
+        });
+
+        Movie movie = mapper.apply(row);
+
+        assertTrue(mapper.isDirect());
+        assertEquals(new Movie("Matrix", 1999L, Collections.singleton("Keanu Reeves")), movie);
+        assertEquals("Matrix", movie.getTitle());
+        assertEquals(1999L, movie.getYear());
+        assertEquals(Collections.singleton("Keanu Reeves"), movie.getActors());
+    }
+
+    @Test
+    public void shouldResolveMetadataOnce() {
+        ColumnDefinitions definitions = definitions(DataTypes.TEXT, DataTypes.BIGINT,
+                DataTypes.setOf(DataTypes.TEXT));
+        CassandraRowMapper<Movie> mapper = CassandraRowMapper.of(mappings.get(Movie.class), r -> null);
+
+        Row first = row(definitions);
+        Row second = row(definitions);
+        mapper.apply(first);
+        mapper.apply(second);
+
+        verify(first).codecRegistry();
+        verify(second, never()).codecRegistry();
+    }
+
+    @Test
+    public void shouldUseFallbackWhenThereIsNoCodec() {
+        ColumnDefinitions definitions = definitions(DataTypes.TEXT, DataTypes.TEXT,
+                DataTypes.setOf(DataTypes.TEXT));
+        Row row = row(definitions);
+        Movie fallback = new Movie("Fallback", 2000L, Collections.emptySet());
+        CassandraRowMapper<Movie> mapper = CassandraRowMapper.of(mappings.get(Movie.class), r -> fallback);
+
+        assertSame(fallback, mapper.apply(row));
+        verify(row, never()).get(eq(0), any(TypeCodec.class));
+    }
+
+    @Test
+    public void shouldUseFallbackToUDT() {
+        Row row = mock(Row.class);
+        Person person = new Person("Ada", 36);
+        CassandraRowMapper<Person> mapper = CassandraRowMapper.of(mappings.get(Person.class), r -> person);
+
+        assertFalse(mapper.isDirect());
+        assertSame(person, mapper.apply(row));
+        verify(row, never()).getColumnDefinitions();
+    }
+
+    @Test
+    public void shouldReturnRowMapperByName() {
+        assertSame(converter.getRowMapper(Movie.class), converter.getRowMapper("movie"));
+    }
+
+    private static Row row(ColumnDefinitions definitions) {
+        Row row = mock(Row.class);
+        when(row.getColumnDefinitions()).thenReturn(definitions);
+        when(row.codecRegistry()).thenReturn(CodecRegistry.DEFAULT);
+        when(row.get(eq(0), any(TypeCodec.class))).thenReturn("Matrix");
+        when(row.get(eq(1), any(TypeCodec.class))).thenReturn(1999L);
+        when(row.get(eq(2), any(TypeCodec.class))).thenReturn(Collections.singleton("Keanu Reeves"));
+        return row;
+    }
+
+    private static ColumnDefinitions definitions(DataType title, DataType year, DataType actors) {
+        ColumnDefinitions definitions = mock(ColumnDefinitions.class);
+        ColumnDefinition titleColumn = column("title", title);
+        ColumnDefinition yearColumn = column("year", year);
+        ColumnDefinition actorsColumn = column("actors", actors);
+        when(definitions.size()).thenReturn(3);
+        when(definitions.get(0)).thenReturn(titleColumn);
+        when(definitions.get(1)).thenReturn(yearColumn);
+        when(definitions.get(2)).thenReturn(actorsColumn);
+        return definitions;
+    }
+
+    private static ColumnDefinition column(String name, DataType type) {
+        ColumnDefinition column = mock(ColumnDefinition.class);
+        when(column.getName()).thenReturn(CqlIdentifier.fromInternal(name));
+        when(column.getType()).thenReturn(type);
+        return column;
+    }
+}
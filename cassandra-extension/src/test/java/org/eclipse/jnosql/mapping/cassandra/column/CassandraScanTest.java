@@ -0,0 +1,188 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3Token;
+import com.datastax.oss.driver.internal.core.metadata.token.Murmur3TokenRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CassandraScanTest {
+
+    private static final String MIN = String.valueOf(Long.MIN_VALUE);
+
+    private CqlSession session;
+
+    private Set<TokenRange> ring;
+
+    private BoundStatement bounded;
+
+    private BoundStatement toRingEnd;
+
+    @BeforeEach
+    public void setUp() {
+        session = mock(CqlSession.class);
+        ring = new LinkedHashSet<>();
+        TokenMap tokenMap = mock(TokenMap.class);
+        when(tokenMap.getPartitionerName()).thenReturn("org.apache.cassandra.dht.Murmur3Partitioner");
+        when(tokenMap.getTokenRanges()).thenReturn(ring);
+        when(tokenMap.parse(anyString())).thenAnswer(i -> new Murmur3Token(Long.parseLong(i.getArgument(0))));
+        when(tokenMap.format(any(Token.class)))
+                .thenAnswer(i -> String.valueOf(i.<Murmur3Token>getArgument(0).getValue()));
+        Metadata metadata = mock(Metadata.class);
+        when(metadata.getTokenMap()).thenReturn(Optional.of(tokenMap));
+        when(session.getMetadata()).thenReturn(metadata);
+        when(session.getKeyspace()).thenReturn(Optional.of(CqlIdentifier.fromCql("library")));
+
+        bounded = mock(BoundStatement.class, Mockito.RETURNS_SELF);
+        toRingEnd = mock(BoundStatement.class, Mockito.RETURNS_SELF);
+        PreparedStatement boundedQuery = mock(PreparedStatement.class);
+        when(boundedQuery.bind()).thenReturn(bounded);
+        PreparedStatement toRingEndQuery = mock(PreparedStatement.class);
+        when(toRingEndQuery.bind()).thenReturn(toRingEnd);
+        when(session.prepare("SELECT * FROM library.book WHERE token(isbn) > ? AND token(isbn) <= ?"))
+                .thenReturn(boundedQuery);
+        when(session.prepare("SELECT * FROM library.book WHERE token(isbn) > ?")).thenReturn(toRingEndQuery);
+    }
+
+    @Test
+    public void shouldUnwrapTheRangeThatWrapsAroundTheRing() {
+        ring.add(range(-100, 100));
+        ring.add(range(100, -100));
+
+        CassandraScan<Row> scan = scan(1);
+
+        assertEquals(asList(asList(MIN, "-100"), asList("-100", "100"), asList("100", MIN)), toBounds(scan));
+    }
+
+    @Test
+    public void shouldSplitEachRangeWhenThereAreMoreSplitsThanRanges() {
+        ring.add(range(-100, 100));
+        ring.add(range(100, -100));
+
+        CassandraScan<Row> scan = scan(5);
+
+        List<List<String>> bounds = toBounds(scan);
+        assertEquals(6, bounds.size());
+        assertEquals(MIN, bounds.get(0).get(0));
+        assertEquals(MIN, bounds.get(bounds.size() - 1).get(1));
+        for (int index = 1; index < bounds.size(); index++) {
+            assertEquals(bounds.get(index - 1).get(1), bounds.get(index).get(0));
+        }
+        assertTrue(bounds.contains(asList("-100", "0")));
+        assertTrue(bounds.contains(asList("0", "100")));
+    }
+
+    @Test
+    public void shouldQueryTheLastRangeToTheRingEnd() {
+        ring.add(range(-100, 100));
+        ring.add(range(100, -100));
+        ResultSet rows = rows();
+        when(session.execute(any(Statement.class))).thenReturn(rows);
+
+        CassandraScan<Row> scan = scan(1);
+        scan.stream().collect(Collectors.toList());
+
+        assertTrue(scan.isDone());
+        verify(session, times(2)).execute(bounded);
+        verify(session).execute(toRingEnd);
+        verify(toRingEnd).setToken(0, new Murmur3Token(100));
+        verify(toRingEnd, never()).setToken(eq(1), any(Token.class));
+        verify(bounded).setToken(1, new Murmur3Token(-100));
+        verify(bounded).setToken(1, new Murmur3Token(100));
+    }
+
+    @Test
+    public void shouldResumeFromTheStartOfThePartiallyReadRange() {
+        ring.add(range(-100, 100));
+        ring.add(range(100, -100));
+        Row row = mock(Row.class);
+        Iterator<Row> broken = mock(Iterator.class);
+        when(broken.hasNext()).thenReturn(true).thenThrow(new IllegalStateException("The connection was reset"));
+        when(broken.next()).thenReturn(row);
+        ResultSet toRingEndRows = mock(ResultSet.class);
+        when(toRingEndRows.iterator()).thenReturn(broken).thenReturn(asList(row, row).iterator());
+        ResultSet boundedRows = rows(row, row);
+        when(session.execute(bounded)).thenReturn(boundedRows);
+        when(session.execute(toRingEnd)).thenReturn(toRingEndRows);
+        CassandraScan<Row> scan = scan(1);
+
+        assertThrows(IllegalStateException.class, () -> scan.stream().collect(Collectors.toList()));
+        CassandraScan.Range failed = scan.getRanges().get(2);
+        assertEquals(CassandraScan.Status.FAILED, failed.getStatus());
+        assertEquals(1, failed.getRows());
+        assertTrue(failed.getError().isPresent());
+        long done = scan.getRanges().stream().filter(r -> r.getStatus() == CassandraScan.Status.DONE).count();
+
+        List<Row> resumed = scan.stream().collect(Collectors.toList());
+
+        assertTrue(scan.isDone());
+        assertEquals(2, failed.getRows());
+        assertEquals(2 * (3 - done), resumed.size());
+        verify(session, times(2)).execute(toRingEnd);
+    }
+
+    private CassandraScan<Row> scan(int splits) {
+        return CassandraScan.of(session, null, "book", singletonList("isbn"), splits, 100, Function.identity());
+    }
+
+    private static ResultSet rows(Row... rows) {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.iterator()).thenAnswer(i -> asList(rows).iterator());
+        return resultSet;
+    }
+
+    private static TokenRange range(long start, long end) {
+        return new Murmur3TokenRange(new Murmur3Token(start), new Murmur3Token(end));
+    }
+
+    private static List<List<String>> toBounds(CassandraScan<?> scan) {
+        return scan.getRanges().stream().map(r -> asList(r.getStart(), r.getEnd())).collect(Collectors.toList());
+    }
+}
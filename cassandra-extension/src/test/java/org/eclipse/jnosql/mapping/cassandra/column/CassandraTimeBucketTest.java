@@ -0,0 +1,131 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import jakarta.nosql.mapping.Column;
+import jakarta.nosql.mapping.Entity;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Reading;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.test.CDIExtension;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@CDIExtension
+public class CassandraTimeBucketTest {
+
+    @Inject
+    private ClassMappings mappings;
+
+    @Test
+    public void shouldFillBucketFromTimestamp() {
+        CassandraTimeBucket bucket = CassandraTimeBucket.of(mappings.get(Reading.class)).get();
+        Reading reading = new Reading("s1", Instant.parse("2026-10-17T23:59:59Z"), 10.5);
+
+        bucket.fill(reading);
+
+        assertEquals(LocalDate.of(2026, 10, 17), reading.getDay());
+        assertEquals("day", bucket.getBucketColumn());
+        assertEquals("time", bucket.getTimestampColumn());
+    }
+
+    @Test
+    public void shouldReturnCoveringBuckets() {
+        CassandraTimeBucket bucket = CassandraTimeBucket.of(mappings.get(Reading.class)).get();
+
+        assertEquals(asList(LocalDate.of(2026, 10, 16), LocalDate.of(2026, 10, 17)),
+                bucket.getBuckets(Instant.parse("2026-10-16T12:00:00Z"), Instant.parse("2026-10-17T00:00:01Z"), 2));
+        assertEquals(Collections.emptyList(), bucket.getBuckets(Instant.parse("2026-10-16T12:00:00Z"),
+                Instant.parse("2026-10-16T12:00:00Z"), 2));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenRangeCoversMoreThanMaxBuckets() {
+        CassandraTimeBucket bucket = CassandraTimeBucket.of(mappings.get(Reading.class)).get();
+
+        assertThrows(IllegalArgumentException.class, () -> bucket.getBuckets(Instant.parse("2026-10-16T12:00:00Z"),
+                Instant.parse("2026-10-18T00:00:01Z"), 2));
+    }
+
+    @Test
+    public void shouldReturnMonthBucketsAsEpochMillis() {
+        CassandraTimeBucket bucket = CassandraTimeBucket.of(mappings.get(Monthly.class)).get();
+        Monthly monthly = new Monthly();
+        monthly.time = Instant.parse("2026-10-17T10:15:00Z").toEpochMilli();
+
+        bucket.fill(monthly);
+
+        assertEquals(Instant.parse("2026-10-01T00:00:00Z").toEpochMilli(), monthly.month);
+        assertEquals(asList(Instant.parse("2026-11-01T00:00:00Z").toEpochMilli(),
+                Instant.parse("2026-12-01T00:00:00Z").toEpochMilli(),
+                Instant.parse("2027-01-01T00:00:00Z").toEpochMilli()),
+                bucket.getBuckets(Instant.parse("2026-11-30T00:00:00Z"), Instant.parse("2027-01-02T00:00:00Z"), 3));
+        assertEquals(10L, bucket.toTimestampColumn(Instant.ofEpochMilli(10L)));
+    }
+
+    @Test
+    public void shouldReturnEmptyWhenEntityHasNotTimeBucket() {
+        assertFalse(CassandraTimeBucket.of(mappings.get(Person.class)).isPresent());
+    }
+
+    @Test
+    public void shouldReturnErrorWhenTimeBucketIsInvalid() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> CassandraTimeBucket.of(mappings.get(MissingTimestamp.class)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> CassandraTimeBucket.of(mappings.get(Weekly.class)));
+    }
+
+    @Entity
+    public static class Monthly {
+
+        @Column
+        @PartitionKey
+        @TimeBucket(value = "time", unit = ChronoUnit.MONTHS)
+        private long month;
+
+        @Column
+        private long time;
+    }
+
+    @Entity
+    public static class MissingTimestamp {
+
+        @Column
+        @TimeBucket("time")
+        private LocalDate day;
+    }
+
+    @Entity
+    public static class Weekly {
+
+        @Column
+        @TimeBucket(value = "time", unit = ChronoUnit.WEEKS)
+        private LocalDate week;
+
+        @Column
+        private Instant time;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.test.CDIExtension;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@CDIExtension
+public class CassandraUnloaderTest {
+
+    @Inject
+    private ClassMappings mappings;
+
+    private CassandraUnloader unloader;
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        ColumnDefinitions definitions = mock(ColumnDefinitions.class);
+        List<ColumnDefinition> columns = asList(column("name"), column("age"), column("phones"));
+        when(definitions.size()).thenReturn(columns.size());
+        when(definitions.get(Mockito.anyInt())).thenAnswer(i -> columns.get(i.getArgument(0)));
+        when(definitions.iterator()).thenAnswer(i -> columns.iterator());
+        List<Row> rows = asList(row(definitions, "Ada", 10, asList("555-0101", "555-0102")),
+                row(definitions, "Poliana, \"Santana\"", null, null));
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getColumnDefinitions()).thenReturn(definitions);
+        when(resultSet.iterator()).thenAnswer(i -> rows.iterator());
+
+        CqlSession session = mock(CqlSession.class);
+        when(session.execute(Mockito.any(Statement.class))).thenReturn(resultSet);
+        Instance<CqlSession> instance = mock(Instance.class);
+        when(instance.isResolvable()).thenReturn(true);
+        when(instance.get()).thenReturn(session);
+        unloader = new CassandraUnloader(instance, mappings, new CassandraMappingSettings());
+        directory = Files.createTempDirectory("jnosql-cassandra");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(directory.resolve("people.csv"));
+        Files.deleteIfExists(directory.resolve("people.jsonl"));
+        Files.delete(directory);
+    }
+
+    @Test
+    public void shouldUnloadCSV() throws IOException {
+        Path file = directory.resolve("people.csv");
+
+        CassandraUnloadReport report = unloader.unload(Person.class, file);
+
+        String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        assertEquals("name,age,phones\n"
+                + "Ada,10,\"[\"\"555-0101\"\",\"\"555-0102\"\"]\"\n"
+                + "\"Poliana, \"\"Santana\"\"\",,\n", content);
+        assertEquals(2, report.getRows());
+        assertEquals(content.length(), report.getBytes());
+    }
+
+    @Test
+    public void shouldUnloadJSONLines() throws IOException {
+        Path file = directory.resolve("people.jsonl");
+
+        unloader.unload(Person.class, file);
+
+        assertEquals(asList("{\"name\":\"Ada\",\"age\":10,\"phones\":[\"555-0101\",\"555-0102\"]}",
+                "{\"name\":\"Poliana, \\\"Santana\\\"\",\"age\":null,\"phones\":null}"),
+                Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenSplitsIsNotPositive() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> unloader.unload(Person.class,
+                directory.resolve("people.csv"), CassandraFileFormat.CSV, 0));
+    }
+
+    private static ColumnDefinition column(String name) {
+        ColumnDefinition definition = mock(ColumnDefinition.class);
+        when(definition.getName()).thenReturn(CqlIdentifier.fromInternal(name));
+        return definition;
+    }
+
+    private static Row row(ColumnDefinitions definitions, Object... values) {
+        Row row = mock(Row.class);
+        when(row.getColumnDefinitions()).thenReturn(definitions);
+        for (int index = 0; index < values.length; index++) {
+            when(row.getObject(index)).thenReturn(values[index]);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BatchType;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import jakarta.nosql.column.Column;
+import jakarta.nosql.column.ColumnEntity;
+import org.eclipse.jnosql.mapping.cassandra.column.CassandraUpdates.Assignment;
+import org.eclipse.jnosql.mapping.cassandra.column.CassandraUpdates.Operation;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class CassandraUpdatesTest {
+
+    private static final List<String> KEYS = Collections.singletonList("id");
+
+    @Test
+    public void shouldReturnEmptyWhenNothingChanged() {
+        Map<String, Object> values = values("name", "Ada", "phones", asList("1", "2"));
+        assertTrue(CassandraUpdates.diff(values, values("name", "Ada", "phones", asList("1", "2")), KEYS, false)
+                .isEmpty());
+    }
+
+    @Test
+    public void shouldSetChangedValue() {
+        List<Assignment> assignments = CassandraUpdates.diff(values("id", 1, "name", "Ada"),
+                values("id", 2, "name", "Poliana"), KEYS, false);
+        assertEquals(Collections.singletonList(new Assignment("name", Operation.SET, "Poliana")), assignments);
+    }
+
+    @Test
+    public void shouldSetNullWhenValueIsMissing() {
+        List<Assignment> assignments = CassandraUpdates.diff(values("name", "Ada"), values(), KEYS, false);
+        assertEquals(Collections.singletonList(new Assignment("name", Operation.SET, null)), assignments);
+    }
+
+    @Test
+    public void shouldLeaveMissingValueUnset() {
+        List<Assignment> assignments = CassandraUpdates.diff(values("name", "Ada", "age", 36),
+                values("age", 37), KEYS, true);
+        assertEquals(Collections.singletonList(new Assignment("age", Operation.SET, 37)), assignments);
+    }
+
+    @Test
+    public void shouldAppendAndPrependToList() {
+        assertEquals(Collections.singletonList(new Assignment("phones", Operation.ADD, asList("3"))),
+                CassandraUpdates.diff(values("phones", asList("1", "2")), values("phones", asList("1", "2", "3")),
+                        KEYS, false));
+        assertEquals(Collections.singletonList(new Assignment("phones", Operation.PREPEND, asList("0"))),
+                CassandraUpdates.diff(values("phones", asList("1", "2")), values("phones", asList("0", "1", "2")),
+                        KEYS, false));
+    }
+
+    @Test
+    public void shouldRemoveFromList() {
+        assertEquals(Collections.singletonList(new Assignment("phones", Operation.SUBTRACT, asList("2"))),
+                CassandraUpdates.diff(values("phones", asList("1", "2", "3", "2")),
+                        values("phones", asList("1", "3")), KEYS, false));
+    }
+
+    @Test
+    public void shouldReplaceReorderedList() {
+        assertEquals(Collections.singletonList(new Assignment("phones", Operation.SET, asList("2", "1"))),
+                CassandraUpdates.diff(values("phones", asList("1", "2")), values("phones", asList("2", "1")),
+                        KEYS, false));
+    }
+
+    @Test
+    public void shouldSendSetDelta() {
+        List<Assignment> assignments = CassandraUpdates.diff(values("tags", set("a", "b")),
+                values("tags", set("b", "c")), KEYS, false);
+        assertEquals(asList(new Assignment("tags", Operation.ADD, set("c")),
+                new Assignment("tags", Operation.SUBTRACT, set("a"))), assignments);
+    }
+
+    @Test
+    public void shouldSendMapDelta() {
+        Map<String, Integer> before = new LinkedHashMap<>();
+        before.put("matrix", 10);
+        before.put("alien", 8);
+        Map<String, Integer> after = new LinkedHashMap<>();
+        after.put("matrix", 9);
+        after.put("dune", 7);
+        Map<String, Integer> put = new LinkedHashMap<>();
+        put.put("matrix", 9);
+        put.put("dune", 7);
+
+        List<Assignment> assignments = CassandraUpdates.diff(values("rating", before), values("rating", after),
+                KEYS, false);
+
+        assertEquals(asList(new Assignment("rating", Operation.ADD, put),
+                new Assignment("rating", Operation.SUBTRACT, set("alien"))), assignments);
+    }
+
+    @Test
+    public void shouldCopyCollectionsOfSnapshot() {
+        List<String> phones = new ArrayList<>(asList("1", "2"));
+        Map<String, Object> snapshot = CassandraUpdates.toValues(ColumnEntity.of("Person",
+                Collections.singletonList(Column.of("phones", phones))));
+        phones.add("3");
+        assertEquals(asList("1", "2"), snapshot.get("phones"));
+    }
+
+    @Test
+    public void shouldCreateUpdate() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = new PreparedStatementMocks(session);
+        mocks.prepare("UPDATE Person SET name = ?, phones = phones + ? WHERE id = ?", DataTypes.TEXT,
+                DataTypes.listOf(DataTypes.TEXT), DataTypes.INT);
+
+        Statement<?> statement = CassandraUpdates.toStatement(session, new CassandraPreparedStatementCache(10),
+                "Person", asList(new Assignment("name", Operation.SET, "Ada"), new Assignment("phones", Operation.ADD,
+                        asList("3"))), values("id", 1), ConsistencyLevel.ONE).toCompletableFuture().join();
+
+        assertEquals(asList("Ada", asList("3"), 1), mocks.getValues(statement));
+        verify((BoundStatement) statement).setConsistencyLevel(ConsistencyLevel.ONE);
+    }
+
+    @Test
+    public void shouldCreateBatchWhenColumnHasTwoAssignments() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = new PreparedStatementMocks(session);
+        mocks.prepare("UPDATE Person SET tags = tags + ? WHERE id = ?", DataTypes.setOf(DataTypes.TEXT),
+                DataTypes.INT);
+        mocks.prepare("UPDATE Person SET tags = tags - ? WHERE id = ?", DataTypes.setOf(DataTypes.TEXT),
+                DataTypes.INT);
+
+        Statement<?> statement = CassandraUpdates.toStatement(session, new CassandraPreparedStatementCache(10),
+                "Person", asList(new Assignment("tags", Operation.ADD, set("c")), new Assignment("tags",
+                        Operation.SUBTRACT, set("a"))), values("id", 1), null).toCompletableFuture().join();
+
+        BatchStatement batch = (BatchStatement) statement;
+        assertEquals(BatchType.UNLOGGED, batch.getBatchType());
+        assertEquals(asList(asList(set("c"), 1), asList(set("a"), 1)), StreamSupport.stream(batch.spliterator(),
+                false).map(mocks::getValues).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldCreateCounterBatch() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = new PreparedStatementMocks(session);
+        mocks.prepare("UPDATE Person SET age = age + ? WHERE id = ?", DataTypes.COUNTER, DataTypes.INT);
+        Map<Map<String, Object>, List<Assignment>> rows = new LinkedHashMap<>();
+        rows.put(values("id", 1), Collections.singletonList(new Assignment("age", Operation.ADD, 3L)));
+        rows.put(values("id", 2), Collections.singletonList(new Assignment("age", Operation.ADD, 4L)));
+
+        Statement<?> statement = CassandraUpdates.toCounterStatement(session,
+                new CassandraPreparedStatementCache(10), "Person", rows, null).toCompletableFuture().join();
+
+        BatchStatement batch = (BatchStatement) statement;
+        assertEquals(BatchType.COUNTER, batch.getBatchType());
+        assertEquals(asList(asList(3L, 1), asList(4L, 2)), StreamSupport.stream(batch.spliterator(), false)
+                .map(mocks::getValues).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenThereIsNoKey() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> CassandraUpdates.toStatement(
+                mock(CqlSession.class), new CassandraPreparedStatementCache(10), "Person",
+                Collections.singletonList(new Assignment("name", Operation.SET, "Ada")), values(), null));
+    }
+
+    private static Map<String, Object> values(Object... values) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int index = 0; index < values.length; index += 2) {
+            map.put(values[index].toString(), values[index + 1]);
+        }
+        return map;
+    }
+
+    private static LinkedHashSet<Object> set(Object... values) {
+        return new LinkedHashSet<>(asList(values));
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.type.DataTypes;
+import jakarta.nosql.column.ColumnDeleteQuery;
+import jakarta.nosql.column.ColumnEntity;
+import jakarta.nosql.column.ColumnQuery;
+import jakarta.nosql.mapping.column.ColumnEventPersistManager;
+import org.eclipse.jnosql.communication.cassandra.column.CassandraColumnFamilyManager;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.test.CDIExtension;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@CDIExtension
+public class DefaultCassandraTemplateAsyncTest {
+
+    @Inject
+    private CassandraColumnEntityConverter converter;
+
+    @Inject
+    private ColumnEventPersistManager persistManager;
+
+    @Inject
+    private CassandraExecutor executor;
+
+    @Inject
+    private ClassMappings mappings;
+
+    private CqlSession session;
+
+    private Instance<CqlSession> sessionInstance;
+
+    private Instance<CassandraColumnFamilyManager> manager;
+
+    private CassandraEntityCache cache;
+
+    private CassandraTemplateAsync template;
+
+    @BeforeEach
+    public void setUp() {
+        session = mock(CqlSession.class);
+        sessionInstance = mock(Instance.class);
+        when(sessionInstance.isResolvable()).thenReturn(true);
+        when(sessionInstance.get()).thenReturn(session);
+        manager = mock(Instance.class);
+        cache = new CassandraEntityCache(10);
+        when(manager.get()).thenReturn(mock(CassandraColumnFamilyManager.class));
+        template = new DefaultCassandraTemplateAsync(sessionInstance, new CassandraPreparedStatementCache(10), manager,
+                converter, persistManager, mappings, cache, new CassandraMappingSettings(), executor);
+    }
+
+    @Test
+    public void shouldSave() throws ExecutionException, InterruptedException {
+        PreparedStatementMocks mocks = new PreparedStatementMocks(session);
+        mocks.prepare("INSERT INTO Person (name, age) VALUES (?, ?) USING TTL ?", DataTypes.TEXT, DataTypes.INT,
+                DataTypes.INT);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        Person person = new Person("Ada", 10);
+        Person saved = template.save(person, Duration.ofMinutes(1), ConsistencyLevel.ONE)
+                .toCompletableFuture().get();
+
+        assertEquals(person, saved);
+        verify(session).executeAsync(captor.capture());
+        BoundStatement statement = (BoundStatement) captor.getValue();
+        assertEquals(asList("Ada", 10, 60), mocks.getValues(statement));
+        verify(statement).setConsistencyLevel(ConsistencyLevel.ONE);
+    }
+
+    @Test
+    public void shouldSaveWithTheTableDefaultTTL() throws ExecutionException, InterruptedException {
+        PreparedStatementMocks mocks = new PreparedStatementMocks(session);
+        mocks.prepare("INSERT INTO Person (name, age) VALUES (?, ?) USING TTL ?", DataTypes.TEXT, DataTypes.INT,
+                DataTypes.INT);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        template.save(new Person("Ada", 10), ConsistencyLevel.ONE).toCompletableFuture().get();
+
+        verify(session).executeAsync(captor.capture());
+        BoundStatement statement = (BoundStatement) captor.getValue();
+        assertEquals(asList("Ada", 10, null), mocks.getValues(statement));
+        verify(statement).unset(2);
+    }
+
+    @Test
+    public void shouldInvalidateCachedRowOnSave() throws ExecutionException, InterruptedException {
+        PreparedStatementMocks mocks = new PreparedStatementMocks(session);
+        mocks.prepare("INSERT INTO Person (name, age) VALUES (?, ?) USING TTL ?", DataTypes.TEXT, DataTypes.INT,
+                DataTypes.INT);
+        cache.put("Ada", converter.toColumn(new Person("Ada", 9)), cache.stamp());
+
+        template.save(new Person("Ada", 10), ConsistencyLevel.ONE).toCompletableFuture().get();
+
+        Assertions.assertFalse(cache.get("Person", "Ada").isPresent());
+    }
+
+    @Test
+    public void shouldFireEventsOnSave() throws ExecutionException, InterruptedException {
+        ColumnEventPersistManager events = mock(ColumnEventPersistManager.class);
+        CassandraTemplateAsync template = new DefaultCassandraTemplateAsync(sessionInstance,
+                new CassandraPreparedStatementCache(10), manager, converter, events, mappings, cache,
+                new CassandraMappingSettings(), executor);
+        PreparedStatementMocks mocks = new PreparedStatementMocks(session);
+        mocks.prepare("INSERT INTO Person (name, age) VALUES (?, ?) USING TTL ?", DataTypes.TEXT, DataTypes.INT,
+                DataTypes.INT);
+
+        Person person = new Person("Ada", 10);
+        template.save(person, ConsistencyLevel.ONE).toCompletableFuture().get();
+
+        InOrder order = Mockito.inOrder(events, session);
+        order.verify(events).firePreEntity(person);
+        order.verify(events).firePreColumn(Mockito.any(ColumnEntity.class));
+        order.verify(session).executeAsync(Mockito.any(Statement.class));
+        order.verify(events).firePostColumn(Mockito.any(ColumnEntity.class));
+        order.verify(events).firePostEntity(person);
+    }
+
+    @Test
+    public void shouldNotSaveWhenPreEventFails() {
+        ColumnEventPersistManager events = mock(ColumnEventPersistManager.class);
+        Person person = new Person("Ada", 10);
+        Mockito.doThrow(new IllegalArgumentException("invalid")).when(events).firePreEntity(person);
+        CassandraTemplateAsync template = new DefaultCassandraTemplateAsync(sessionInstance,
+                new CassandraPreparedStatementCache(10), manager, converter, events, mappings, cache,
+                new CassandraMappingSettings(), executor);
+
+        CompletionStage<Person> stage = template.save(person, ConsistencyLevel.ONE);
+
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                () -> stage.toCompletableFuture().get());
+        assertEquals(IllegalArgumentException.class, exception.getCause().getClass());
+        verify(session, Mockito.never()).executeAsync(Mockito.any(Statement.class));
+    }
+
+    @Test
+    public void shouldQueueRequestsBeyondTheMaximumWithoutBlocking() throws ExecutionException,
+            InterruptedException {
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        Mockito.doReturn(1).when(settings)
+                .getInt(Mockito.eq(CassandraMappingConfigurations.ASYNC_MAX_REQUESTS), Mockito.anyInt());
+        CassandraTemplateAsync template = new DefaultCassandraTemplateAsync(sessionInstance,
+                new CassandraPreparedStatementCache(10), manager, converter, persistManager, mappings, cache,
+                settings, executor);
+        new PreparedStatementMocks(session).prepare("DELETE FROM Person WHERE name = ?", DataTypes.TEXT);
+        CompletableFuture<AsyncResultSet> first = new CompletableFuture<>();
+        when(session.executeAsync(Mockito.any(Statement.class)))
+                .thenReturn(first, CompletableFuture.completedFuture(mock(AsyncResultSet.class)));
+        ColumnDeleteQuery query = ColumnDeleteQuery.delete().from("Person").where("name").eq("Ada").build();
+
+        CompletionStage<Void> sent = template.delete(query, ConsistencyLevel.ONE);
+        CompletionStage<Void> queued = template.delete(query, ConsistencyLevel.ONE);
+
+        verify(session, Mockito.times(1)).executeAsync(Mockito.any(Statement.class));
+        Assertions.assertFalse(queued.toCompletableFuture().isDone());
+        first.complete(mock(AsyncResultSet.class));
+        queued.toCompletableFuture().get();
+        sent.toCompletableFuture().get();
+        verify(session, Mockito.times(2)).executeAsync(Mockito.any(Statement.class));
+    }
+
+    @Test
+    public void shouldSendQueuedRequestsThatFailAtOnceWithoutGrowingTheStack() {
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        Mockito.doReturn(1).when(settings)
+                .getInt(Mockito.eq(CassandraMappingConfigurations.ASYNC_MAX_REQUESTS), Mockito.anyInt());
+        CassandraTemplateAsync template = new DefaultCassandraTemplateAsync(sessionInstance,
+                new CassandraPreparedStatementCache(10), manager, converter, persistManager, mappings, cache,
+                settings, executor);
+        new PreparedStatementMocks(session).prepare("DELETE FROM Person WHERE name = ?", DataTypes.TEXT);
+        CompletableFuture<AsyncResultSet> first = new CompletableFuture<>();
+        when(session.executeAsync(Mockito.any(Statement.class))).thenReturn(first)
+                .thenAnswer(i -> CompletableFuture.failedFuture(new IllegalStateException("closed")));
+        ColumnDeleteQuery query = ColumnDeleteQuery.delete().from("Person").where("name").eq("Ada").build();
+
+        CompletionStage<Void> sent = template.delete(query, ConsistencyLevel.ONE);
+        List<CompletableFuture<Void>> queued = new ArrayList<>();
+        for (int index = 0; index < 20_000; index++) {
+            queued.add(template.delete(query, ConsistencyLevel.ONE).toCompletableFuture());
+        }
+        first.complete(mock(AsyncResultSet.class));
+
+        Assertions.assertTrue(sent.toCompletableFuture().isDone());
+        for (CompletableFuture<Void> request : queued) {
+            ExecutionException exception = Assertions.assertThrows(ExecutionException.class, request::get);
+            assertEquals(IllegalStateException.class, exception.getCause().getClass());
+        }
+        verify(session, Mockito.times(20_001)).executeAsync(Mockito.any(Statement.class));
+    }
+
+    @Test
+    public void shouldPrepareCQLOnceAndConvertParams() throws ExecutionException, InterruptedException {
+        PreparedStatementMocks mocks = new PreparedStatementMocks(session);
+        String query = "SELECT * FROM Person WHERE age = ?";
+        mocks.prepare(query, DataTypes.BIGINT);
+        AsyncResultSet page = mock(AsyncResultSet.class);
+        when(page.currentPage()).thenReturn(Collections.emptyList());
+        when(session.executeAsync(Mockito.any(Statement.class)))
+                .thenReturn(CompletableFuture.completedFuture(page));
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        template.cql(query, 10).toCompletableFuture().get();
+        template.cql(query, 20).toCompletableFuture().get();
+
+        verify(session).prepareAsync(query);
+        verify(session, Mockito.times(2)).executeAsync(captor.capture());
+        assertEquals(asList(10L), mocks.getValues(captor.getAllValues().get(0)));
+        assertEquals(asList(20L), mocks.getValues(captor.getAllValues().get(1)));
+    }
+
+    @Test
+    public void shouldDelete() throws ExecutionException, InterruptedException {
+        PreparedStatementMocks mocks = new PreparedStatementMocks(session);
+        mocks.prepare("DELETE FROM Person WHERE name = ?", DataTypes.TEXT);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        ColumnDeleteQuery query = ColumnDeleteQuery.delete().from("Person").where("name").eq("Ada").build();
+        template.delete(query, ConsistencyLevel.ONE).toCompletableFuture().get();
+
+        verify(session).executeAsync(captor.capture());
+        assertEquals(asList("Ada"), mocks.getValues(captor.getValue()));
+        verify((BoundStatement) captor.getValue()).setConsistencyLevel(ConsistencyLevel.ONE);
+    }
+
+    @Test
+    public void shouldFindBindingEachValueAsItsColumnType() throws ExecutionException, InterruptedException {
+        PreparedStatementMocks mocks = new PreparedStatementMocks(session);
+        mocks.prepare("SELECT * FROM Person WHERE age IN ?", DataTypes.listOf(DataTypes.BIGINT));
+        AsyncResultSet page = mock(AsyncResultSet.class);
+        when(page.currentPage()).thenReturn(Collections.emptyList());
+        when(session.executeAsync(Mockito.any(Statement.class)))
+                .thenReturn(CompletableFuture.completedFuture(page));
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        ColumnQuery query = ColumnQuery.select().from("Person").where("age").in(asList(10, 20)).build();
+        template.find(query, ConsistencyLevel.ONE).toCompletableFuture().get();
+
+        verify(session).executeAsync(captor.capture());
+        assertEquals(asList(asList(10L, 20L)), mocks.getValues(captor.getValue()));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenThereIsNotSession() {
+        when(sessionInstance.isResolvable()).thenReturn(false);
+        CompletionStage<Person> stage = template.save(new Person("Ada", 10), ConsistencyLevel.ONE);
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+                () -> stage.toCompletableFuture().get());
+        assertEquals(IllegalStateException.class, exception.getCause().getClass());
+    }
+}
@@ -15,7 +15,23 @@
 package org.eclipse.jnosql.mapping.cassandra.column;
 
 import com.datastax.oss.driver.api.core.ConsistencyLevel;
+import com.datastax.oss.driver.api.core.CqlIdentifier;
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.ProtocolVersion;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BatchStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.ResultSet;
+import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.cql.SimpleStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.metadata.Metadata;
+import com.datastax.oss.driver.api.core.metadata.schema.ColumnMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.KeyspaceMetadata;
+import com.datastax.oss.driver.api.core.metadata.schema.TableMetadata;
+import com.datastax.oss.driver.api.core.type.DataTypes;
 import com.datastax.oss.driver.api.querybuilder.QueryBuilder;
 import jakarta.nosql.column.Column;
 import jakarta.nosql.column.ColumnDeleteQuery;
@@ -23,10 +39,17 @@ import jakarta.nosql.column.ColumnEntity;
 import jakarta.nosql.column.ColumnQuery;
 import jakarta.nosql.mapping.Converters;
 import jakarta.nosql.mapping.column.ColumnEventPersistManager;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Artist;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Device;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Post;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Profile;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Reading;
 import org.eclipse.jnosql.mapping.reflection.ClassMappings;
 import org.eclipse.jnosql.mapping.test.CDIExtension;
 import org.eclipse.jnosql.communication.cassandra.column.CassandraColumnFamilyManager;
+import org.eclipse.jnosql.communication.cassandra.column.CassandraPreparedStatement;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -34,17 +57,32 @@ import org.mockito.Mockito;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static jakarta.nosql.column.ColumnQuery.select;
 import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -66,16 +104,34 @@ public class DefaultCassandraTemplateTest {
     @Inject
     private Converters converters;
 
+    @Inject
+    private CassandraExecutor executor;
+
+    private CassandraPreparedStatementCache statements;
+
+    private CassandraEntityCache cache;
+
+    private CassandraEntityStatements entityStatements;
+
     private CassandraTemplate template;
 
     private CassandraColumnFamilyManager manager;
 
+    private Instance<CassandraColumnFamilyManager> instance;
+
+    private Instance<CqlSession> sessionInstance;
+
     @BeforeEach
     public void setUp() {
         this.manager = mock(CassandraColumnFamilyManager.class);
-        Instance instance = mock(Instance.class);
+        instance = mock(Instance.class);
         when(instance.get()).thenReturn(manager);
-        template = new DefaultCassandraTemplate(instance, converter, flow, persistManager, mappings, converters);
+        sessionInstance = mock(Instance.class);
+        statements = new CassandraPreparedStatementCache(10);
+        cache = new CassandraEntityCache();
+        entityStatements = new CassandraEntityStatements();
+        template = new DefaultCassandraTemplate(instance, converter, flow, persistManager, mappings,
+                converters, support(new CassandraMappingSettings()));
     }
 
 
@@ -219,4 +275,653 @@ public class DefaultCassandraTemplateTest {
         assertThat(people, Matchers.contains(person));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldReusePreparedStatement() {
+        String cql = "select * from Person where name = ?";
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Name"), Column.of("age", 20)));
+        CassandraPreparedStatement statement = mock(CassandraPreparedStatement.class);
+        when(manager.nativeQueryPrepare(cql)).thenReturn(statement);
+        when(statement.bind(Mockito.any())).thenReturn(statement);
+        when(statement.executeQuery()).thenAnswer(i -> Stream.of(entity));
+
+        template.cql(cql, "Name").collect(Collectors.toList());
+        List<Person> people = template.<Person>cql(cql, "Name").collect(Collectors.toList());
+
+        assertThat(people, Matchers.contains(new Person("Name", 20)));
+        verify(manager, Mockito.times(1)).nativeQueryPrepare(cql);
+        assertEquals(1L, statements.getMisses());
+        assertEquals(1L, statements.getHits());
+    }
+
+    @Test
+    public void shouldSelectProjectionColumns() {
+        String cql = "SELECT name, age FROM Person WHERE name = ?";
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Ada"), Column.of("age", 20)));
+        CassandraPreparedStatement statement = mock(CassandraPreparedStatement.class);
+        when(manager.nativeQueryPrepare(cql)).thenReturn(statement);
+        when(statement.bind(Mockito.any())).thenReturn(statement);
+        when(statement.executeQuery()).thenAnswer(i -> Stream.of(entity));
+
+        List<PersonAge> result = template.cql("SELECT * FROM Person WHERE name = ?", PersonAge.class, "Ada")
+                .collect(Collectors.toList());
+
+        assertEquals(1, result.size());
+        assertEquals("Ada", result.get(0).name);
+        assertEquals(Integer.valueOf(20), result.get(0).age);
+        verify(manager).nativeQueryPrepare(cql);
+    }
+
+    @Test
+    public void shouldFindProjection() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        mocks.prepare("SELECT name, age FROM Person WHERE name = ? AND age = ?", DataTypes.TEXT, DataTypes.BIGINT);
+        ColumnDefinitions definitions = mock(ColumnDefinitions.class);
+        List<String> columns = asList("name", "age");
+        when(definitions.size()).thenReturn(columns.size());
+        for (int index = 0; index < columns.size(); index++) {
+            ColumnDefinition definition = mock(ColumnDefinition.class);
+            when(definition.getName()).thenReturn(CqlIdentifier.fromInternal(columns.get(index)));
+            when(definition.getTable()).thenReturn(CqlIdentifier.fromInternal("Person"));
+            when(definitions.get(index)).thenReturn(definition);
+        }
+        Row row = mock(Row.class);
+        when(row.getColumnDefinitions()).thenReturn(definitions);
+        when(row.getObject(0)).thenReturn("Ada");
+        when(row.getObject(1)).thenReturn(20);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.spliterator()).thenReturn(Collections.singletonList(row).spliterator());
+        when(session.execute(Mockito.any(Statement.class))).thenReturn(resultSet);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+        ColumnQuery query = select().from("Person").where("name").eq("Ada").and("age").eq(20).build();
+
+        List<PersonAge> result = template.find(query, PersonAge.class).collect(Collectors.toList());
+
+        verify(session).execute(captor.capture());
+        assertEquals(asList("Ada", 20L), mocks.getValues(captor.getValue()));
+        assertEquals("Ada", result.get(0).name);
+        assertEquals(Integer.valueOf(20), result.get(0).age);
+        verify(manager, Mockito.never()).execute(Mockito.any(SimpleStatement.class));
+    }
+
+    @Test
+    public void shouldExecuteCQLWithPageSize() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        String query = "SELECT * FROM Person WHERE age = ? LIMIT 2";
+        mocks.prepare(query, DataTypes.BIGINT);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.spliterator()).thenReturn(Spliterators.emptySpliterator());
+        when(session.execute(Mockito.any(Statement.class))).thenReturn(resultSet);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        assertEquals(0L, template.cql(2, query, 10).count());
+
+        verify(session).execute(captor.capture());
+        assertEquals(asList(10L), mocks.getValues(captor.getValue()));
+        verify((BoundStatement) captor.getValue()).setPageSize(2);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.cql(0, query, 10));
+    }
+
+    @Test
+    public void shouldRouteProjectionByPartitionKey() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        mocks.prepare("SELECT name, age FROM Person WHERE name = ?", DataTypes.TEXT);
+        when(session.getContext().getProtocolVersion()).thenReturn(ProtocolVersion.DEFAULT);
+        when(session.getKeyspace()).thenReturn(Optional.of(CqlIdentifier.fromCql("library")));
+        ColumnMetadata name = mock(ColumnMetadata.class);
+        when(name.getName()).thenReturn(CqlIdentifier.fromCql("name"));
+        when(name.getType()).thenReturn(DataTypes.TEXT);
+        TableMetadata table = mock(TableMetadata.class);
+        when(table.getPartitionKey()).thenReturn(Collections.singletonList(name));
+        KeyspaceMetadata keyspace = mock(KeyspaceMetadata.class);
+        when(keyspace.getTable("Person")).thenReturn(Optional.of(table));
+        Metadata metadata = mock(Metadata.class);
+        when(metadata.getKeyspace(CqlIdentifier.fromCql("library"))).thenReturn(Optional.of(keyspace));
+        when(session.getMetadata()).thenReturn(metadata);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.spliterator()).thenReturn(Spliterators.emptySpliterator());
+        when(session.execute(Mockito.any(Statement.class))).thenReturn(resultSet);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+        ColumnQuery query = select().from("Person").where("name").eq("Ada").build();
+
+        assertEquals(0L, template.find(query, PersonAge.class).count());
+
+        verify(session).execute(captor.capture());
+        verify((BoundStatement) captor.getValue()).setRoutingKey(StandardCharsets.UTF_8.encode("Ada"));
+    }
+
+    @Test
+    public void shouldInvalidatePreparedStatementsOnSchemaChange() {
+        String cql = "select * from Person where name = ?";
+        CassandraPreparedStatement statement = mock(CassandraPreparedStatement.class);
+        when(manager.nativeQueryPrepare(cql)).thenReturn(statement);
+        when(statement.bind(Mockito.any())).thenReturn(statement);
+        when(statement.executeQuery()).thenAnswer(i -> Stream.empty());
+        when(manager.cql(Mockito.anyString())).thenAnswer(i -> Stream.empty());
+
+        template.cql(cql, "Name");
+        assertEquals(1, statements.size());
+        template.cql("ALTER TABLE Person ADD nickname text");
+        assertEquals(0, statements.size());
+    }
+
+    @Test
+    public void shouldPrepareNamedCQL() {
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        Mockito.doReturn(true).when(settings)
+                .getBoolean(Mockito.eq(CassandraMappingConfigurations.PREPARED_NAMED_PARAMETERS), Mockito.anyBoolean());
+        CassandraTemplate template = new DefaultCassandraTemplate(instance, converter, flow, persistManager, mappings,
+                converters, support(settings));
+
+        String cql = "select * from Person where name = ?";
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Name"), Column.of("age", 20)));
+        CassandraPreparedStatement statement = mock(CassandraPreparedStatement.class);
+        when(manager.nativeQueryPrepare(cql)).thenReturn(statement);
+        when(statement.bind(Mockito.any())).thenReturn(statement);
+        when(statement.executeQuery()).thenAnswer(i -> Stream.of(entity));
+
+        List<Person> people = template.<Person>cql("select * from Person where name = :name",
+                Collections.singletonMap("name", "Name")).collect(Collectors.toList());
+
+        assertThat(people, Matchers.contains(new Person("Name", 20)));
+        verify(statement).bind("Name");
+        verify(manager, Mockito.never()).cql(Mockito.anyString(), Mockito.anyMap());
+    }
+
+    @Test
+    public void shouldSaveInBatchGroupedByPartition() {
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        Mockito.doReturn(true).when(settings)
+                .getBoolean(Mockito.eq(CassandraMappingConfigurations.BATCH_SAVE), Mockito.anyBoolean());
+        CassandraTemplate template = new DefaultCassandraTemplate(instance, converter, flow, persistManager, mappings,
+                converters, support(settings));
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        mocks.prepare("INSERT INTO Person (name, age) VALUES (?, ?) USING TTL ?", DataTypes.TEXT, DataTypes.INT,
+                DataTypes.INT);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        Iterable<Person> people = template.save(asList(new Person("Ada", 10), new Person("Poliana", 20),
+                new Person("Ada", 11)), ConsistencyLevel.ONE);
+
+        assertThat(people, Matchers.contains(new Person("Ada", 10), new Person("Poliana", 20),
+                new Person("Ada", 11)));
+        verify(session, Mockito.times(2)).executeAsync(captor.capture());
+        verify(session).prepareAsync("INSERT INTO Person (name, age) VALUES (?, ?) USING TTL ?");
+        verify(manager, Mockito.never()).save(Mockito.any(ColumnEntity.class), Mockito.any(ConsistencyLevel.class));
+        List<Object> executed = new ArrayList<>();
+        for (Statement<?> statement : captor.getAllValues()) {
+            if (statement instanceof BatchStatement) {
+                executed.add(StreamSupport.stream(((BatchStatement) statement).spliterator(), false)
+                        .map(mocks::getValues).collect(Collectors.toList()));
+            } else {
+                executed.add(mocks.getValues(statement));
+            }
+        }
+        assertThat(executed, Matchers.<Object>containsInAnyOrder(
+                asList(asList("Ada", 10, null), asList("Ada", 11, null)),
+                asList("Poliana", 20, null)));
+    }
+
+    @Test
+    public void shouldUpdateOnlyChangedColumns() {
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        Mockito.doReturn(true).when(settings)
+                .getBoolean(Mockito.eq(CassandraMappingConfigurations.CHANGE_TRACKING), Mockito.anyBoolean());
+        CassandraTemplate template = new DefaultCassandraTemplate(instance, converter, flow, persistManager, mappings,
+                converters, support(settings));
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Ada"), Column.of("age", 10)));
+        ColumnQuery query = select().from("Person").build();
+        when(manager.select(query, ConsistencyLevel.ONE)).thenReturn(Stream.of(entity));
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        mocks.prepare("UPDATE Person SET age = ? WHERE name = ?", DataTypes.INT, DataTypes.TEXT);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        Person person = template.<Person>find(query, ConsistencyLevel.ONE).findFirst().get();
+        person.setAge(11);
+        template.update(person, ConsistencyLevel.ONE);
+
+        verify(session).execute(captor.capture());
+        verify(manager, Mockito.never()).save(Mockito.any(ColumnEntity.class), Mockito.any(ConsistencyLevel.class));
+        verify(manager, Mockito.never()).execute(Mockito.any(SimpleStatement.class));
+        assertEquals(asList(11, "Ada"), mocks.getValues(captor.getValue()));
+        verify((BoundStatement) captor.getValue()).setConsistencyLevel(ConsistencyLevel.ONE);
+
+        template.update(person, ConsistencyLevel.ONE);
+        verify(session).execute(Mockito.any(Statement.class));
+    }
+
+    @Test
+    public void shouldLeaveFieldThatBecameNullUnset() {
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        Mockito.doReturn(true).when(settings)
+                .getBoolean(Mockito.eq(CassandraMappingConfigurations.CHANGE_TRACKING), Mockito.anyBoolean());
+        CassandraTemplate template = new DefaultCassandraTemplate(instance, converter, flow, persistManager, mappings,
+                converters, support(settings));
+        ColumnEntity entity = ColumnEntity.of("Profile", asList(Column.of("name", "Ada"),
+                Column.of("nickname", "ada"), Column.of("age", 36)));
+        ColumnQuery query = select().from("Profile").build();
+        when(manager.select(query, ConsistencyLevel.ONE)).thenReturn(Stream.of(entity));
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        mocks.prepare("UPDATE Profile SET age = ? WHERE name = ?", DataTypes.INT, DataTypes.TEXT);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        Profile profile = template.<Profile>find(query, ConsistencyLevel.ONE).findFirst().get();
+        profile.setNickname(null);
+        profile.setAge(37);
+        template.update(profile, ConsistencyLevel.ONE);
+
+        verify(session).execute(captor.capture());
+        assertEquals(asList(37, "Ada"), mocks.getValues(captor.getValue()));
+    }
+
+    @Test
+    public void shouldLeaveNullParamsUnset() {
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        Mockito.doReturn(true).when(settings)
+                .getBoolean(Mockito.eq(CassandraMappingConfigurations.UNSET_NULLS), Mockito.anyBoolean());
+        CassandraTemplate template = new DefaultCassandraTemplate(instance, converter, flow, persistManager, mappings,
+                converters, support(settings));
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        String query = "INSERT INTO Person (name, age) VALUES (?, ?)";
+        mocks.prepare(query, DataTypes.TEXT, DataTypes.INT);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.spliterator()).thenReturn(Spliterators.emptySpliterator());
+        when(session.execute(Mockito.any(Statement.class))).thenReturn(resultSet);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        assertEquals(0L, template.cql(query, "Ada", null).count());
+
+        verify(session).execute(captor.capture());
+        verify((BoundStatement) captor.getValue()).unset(1);
+        assertEquals(asList("Ada", null), mocks.getValues(captor.getValue()));
+        verify(manager, Mockito.never()).nativeQueryPrepare(Mockito.anyString());
+    }
+
+    @Test
+    public void shouldSaveWhenUpdateEntityNotTracked() {
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Ada"), Column.of("age", 10)));
+        when(manager.save(Mockito.any(ColumnEntity.class), Mockito.eq(ConsistencyLevel.ONE))).thenReturn(entity);
+
+        template.update(new Person("Ada", 10), ConsistencyLevel.ONE);
+
+        verify(manager).save(Mockito.any(ColumnEntity.class), Mockito.eq(ConsistencyLevel.ONE));
+        verify(manager, Mockito.never()).execute(Mockito.any(SimpleStatement.class));
+    }
+
+    @Test
+    public void shouldFirePreQueryOnSubscribe() {
+        ColumnEventPersistManager events = mock(ColumnEventPersistManager.class);
+        mockSession(mock(CqlSession.class));
+        CassandraTemplate template = new DefaultCassandraTemplate(instance, converter, flow, events, mappings,
+                converters, support(new CassandraMappingSettings()));
+        ColumnQuery query = select().from("Person").build();
+
+        Flow.Publisher<Person> publisher = template.findPublisher(query, ConsistencyLevel.ONE);
+        verify(events, Mockito.never()).firePreQuery(query);
+
+        publisher.subscribe(mock(Flow.Subscriber.class));
+        publisher.subscribe(mock(Flow.Subscriber.class));
+        verify(events, Mockito.times(2)).firePreQuery(query);
+    }
+
+    @Test
+    public void shouldPrepareCQLPublisherOnceAndConvertParams() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        String query = "SELECT * FROM Person WHERE age = ?";
+        mocks.prepare(query, DataTypes.BIGINT);
+        AsyncResultSet page = mock(AsyncResultSet.class);
+        when(page.currentPage()).thenReturn(Collections.emptyList());
+        when(session.executeAsync(Mockito.any(Statement.class)))
+                .thenReturn(CompletableFuture.completedFuture(page));
+        Flow.Subscriber<Person> subscriber = mock(Flow.Subscriber.class);
+        Mockito.doAnswer(i -> {
+            i.<Flow.Subscription>getArgument(0).request(1);
+            return null;
+        }).when(subscriber).onSubscribe(Mockito.any());
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        template.<Person>cqlPublisher(query, 10).subscribe(subscriber);
+        template.<Person>cqlPublisher(query, 20).subscribe(subscriber);
+
+        verify(subscriber, Mockito.times(2)).onComplete();
+        verify(session).prepareAsync(query);
+        verify(session, Mockito.times(2)).executeAsync(captor.capture());
+        assertEquals(Collections.singletonList(10L), mocks.getValues(captor.getAllValues().get(0)));
+        assertEquals(Collections.singletonList(20L), mocks.getValues(captor.getAllValues().get(1)));
+    }
+
+    @Test
+    public void shouldInsertWithPreparedStatement() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        CassandraTemplate template = warmUp(mocks);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        template.insert(new Person("Ada", 10));
+        template.insert(new Person("Grace", 20), Duration.ofMinutes(1));
+
+        verify(session, Mockito.times(2)).execute(captor.capture());
+        BoundStatement insert = (BoundStatement) captor.getAllValues().get(0);
+        assertEquals(asList("Ada", 10, null, null), mocks.getValues(insert));
+        verify(insert).unset(2);
+        verify(insert).unset(3);
+        BoundStatement insertWithTTL = (BoundStatement) captor.getAllValues().get(1);
+        assertEquals(asList("Grace", 20, null, 60), mocks.getValues(insertWithTTL));
+        verify(insertWithTTL).unset(2);
+        verify(insertWithTTL, Mockito.never()).unset(3);
+        verify(manager, Mockito.never()).insert(Mockito.any(ColumnEntity.class));
+    }
+
+    @Test
+    public void shouldUpdateWithPreparedStatementWithoutTTL() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        CassandraTemplate template = warmUp(mocks);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        template.update(new Person("Ada", 10));
+
+        verify(session).execute(captor.capture());
+        BoundStatement update = (BoundStatement) captor.getValue();
+        assertEquals("UPDATE Person SET age = ?, home = ? WHERE name = ?", update.getPreparedStatement().getQuery());
+        assertEquals(asList(10, null, "Ada"), mocks.getValues(update));
+        verify(update).unset(1);
+        verify(manager, Mockito.never()).update(Mockito.any(ColumnEntity.class));
+    }
+
+    @Test
+    public void shouldFindAndDeleteByIdWithPreparedStatements() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        CassandraTemplate template = warmUp(mocks);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.iterator()).thenReturn(Collections.emptyIterator());
+        when(session.execute(Mockito.any(Statement.class))).thenReturn(resultSet);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        Assertions.assertFalse(template.find(Person.class, "Ada").isPresent());
+        template.delete(Person.class, "Ada");
+
+        verify(session, Mockito.times(2)).execute(captor.capture());
+        Statement<?> select = captor.getAllValues().get(0);
+        Statement<?> delete = captor.getAllValues().get(1);
+        assertEquals("SELECT * FROM Person WHERE name = ?",
+                ((BoundStatement) select).getPreparedStatement().getQuery());
+        assertEquals(Collections.singletonList("Ada"), mocks.getValues(select));
+        assertEquals("DELETE FROM Person WHERE name = ?",
+                ((BoundStatement) delete).getPreparedStatement().getQuery());
+        assertEquals(Collections.singletonList("Ada"), mocks.getValues(delete));
+        verify(manager, Mockito.never()).select(Mockito.any(ColumnQuery.class));
+        verify(manager, Mockito.never()).delete(Mockito.any(ColumnDeleteQuery.class));
+    }
+
+    @Test
+    public void shouldFindByIdFromCache() {
+        CassandraEntityCache cache = new CassandraEntityCache(10);
+        CassandraTemplate template = new DefaultCassandraTemplate(instance, converter, flow, persistManager, mappings,
+                converters, support(new CassandraMappingSettings()));
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Ada"), Column.of("age", 10)));
+        when(manager.select(Mockito.any(ColumnQuery.class))).thenAnswer(i -> Stream.of(entity));
+        when(manager.save(Mockito.any(ColumnEntity.class), Mockito.eq(ConsistencyLevel.ONE))).thenReturn(entity);
+
+        assertEquals(new Person("Ada", 10), template.find(Person.class, "Ada").get());
+        assertEquals(new Person("Ada", 10), template.find(Person.class, "Ada").get());
+        verify(manager, Mockito.times(1)).select(Mockito.any(ColumnQuery.class));
+
+        template.save(new Person("Ada", 11), ConsistencyLevel.ONE);
+        template.find(Person.class, "Ada");
+        verify(manager, Mockito.times(2)).select(Mockito.any(ColumnQuery.class));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void shouldFindByIdsWithSinglePartitionQueries() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        mocks.prepare("SELECT * FROM Person WHERE name = ?", DataTypes.TEXT);
+        Map<Row, Person> people = new HashMap<>();
+        CompletableFuture<AsyncResultSet> poliana = new CompletableFuture<>();
+        when(session.executeAsync(Mockito.any(Statement.class))).thenAnswer(i -> {
+            Object name = mocks.getValues(i.getArgument(0)).get(0);
+            if ("Poliana".equals(name)) {
+                return poliana;
+            }
+            return CompletableFuture.completedFuture("Ada".equals(name)
+                    ? resultSet(people, new Person("Ada", 10)) : resultSet(people));
+        });
+        CassandraColumnEntityConverter rows = Mockito.spy(converter);
+        Mockito.doReturn((Function<Row, Person>) people::get).when(rows).getRowMapper(Person.class);
+        CassandraTemplate template = new DefaultCassandraTemplate(instance, rows, flow, persistManager, mappings,
+                converters, support(new CassandraMappingSettings()));
+
+        Stream<Person> unordered = template.findByIds(Person.class, asList("Poliana", "Bia", "Ada", "Ada"),
+                false);
+        verify(session, Mockito.never()).executeAsync(Mockito.any(Statement.class));
+        Iterator<Person> found = unordered.iterator();
+        assertEquals("Ada", found.next().getName());
+        poliana.complete(resultSet(people, new Person("Poliana", 20)));
+        assertEquals("Poliana", found.next().getName());
+        Assertions.assertFalse(found.hasNext());
+
+        assertEquals(asList("Poliana", "Ada"), template.findByIds(Person.class, asList("Poliana", "Bia", "Ada"))
+                .map(Person::getName).collect(Collectors.toList()));
+        verify(session, Mockito.times(6)).executeAsync(Mockito.any(Statement.class));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenFindByIdsIsNotThePrimaryKey() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.findByIds(Post.class, asList("1", "2")));
+    }
+
+    @Test
+    public void shouldFindByTimeRangeInTimestampOrder() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        mocks.prepare("SELECT * FROM Reading WHERE day = ? AND sensor = ? AND time >= ? AND time < ?"
+                + " ORDER BY time ASC", DataTypes.DATE, DataTypes.TEXT, DataTypes.TIMESTAMP, DataTypes.TIMESTAMP);
+        Map<Row, Reading> readings = new HashMap<>();
+        AsyncResultSet firstPage = resultSet(readings, reading("2026-10-16T22:30:00Z"));
+        when(firstPage.hasMorePages()).thenReturn(true);
+        CompletableFuture<AsyncResultSet> secondPage = new CompletableFuture<>();
+        when(firstPage.fetchNextPage()).thenReturn(secondPage);
+        Map<Object, AsyncResultSet> results = new HashMap<>();
+        results.put(LocalDate.of(2026, 10, 16), firstPage);
+        results.put(LocalDate.of(2026, 10, 17), resultSet(readings, reading("2026-10-17T12:00:00Z")));
+        results.put(LocalDate.of(2026, 10, 18), resultSet(readings, reading("2026-10-18T00:30:00Z")));
+        when(session.executeAsync(Mockito.any(Statement.class))).thenAnswer(i -> CompletableFuture.completedFuture(
+                results.get(mocks.getValues(i.getArgument(0)).get(0))));
+        CassandraColumnEntityConverter rows = Mockito.spy(converter);
+        Mockito.doReturn((Function<Row, Reading>) readings::get).when(rows).getRowMapper(Reading.class);
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        Mockito.doReturn(1).when(settings)
+                .getInt(Mockito.eq(CassandraMappingConfigurations.TIME_BUCKET_CONCURRENCY), Mockito.anyInt());
+        CassandraTemplate template = new DefaultCassandraTemplate(instance, rows, flow, persistManager, mappings,
+                converters, support(settings));
+        Instant from = Instant.parse("2026-10-16T22:00:00Z");
+        Instant to = Instant.parse("2026-10-18T01:00:00Z");
+
+        Stream<Reading> readingsFound = template.findByTimeRange(Reading.class,
+                Collections.singletonMap("sensor", "s1"), from, to);
+        verify(session, Mockito.never()).executeAsync(Mockito.any(Statement.class));
+        Iterator<Reading> found = readingsFound.iterator();
+        assertEquals(Instant.parse("2026-10-16T22:30:00Z"), found.next().getTime());
+        verify(session, Mockito.times(1)).executeAsync(Mockito.any(Statement.class));
+        secondPage.complete(resultSet(readings, reading("2026-10-16T23:30:00Z")));
+
+        List<Instant> times = new ArrayList<>();
+        found.forEachRemaining(r -> times.add(r.getTime()));
+        assertEquals(asList(Instant.parse("2026-10-16T23:30:00Z"), Instant.parse("2026-10-17T12:00:00Z"),
+                Instant.parse("2026-10-18T00:30:00Z")), times);
+        verify(session, Mockito.times(3)).executeAsync(Mockito.any(Statement.class));
+        Statement<?> statement = mockingDetails(session).getInvocations().stream()
+                .filter(i -> i.getMethod().getName().equals("executeAsync"))
+                .map(i -> i.<Statement<?>>getArgument(0)).skip(1).findFirst().get();
+        assertEquals(asList(LocalDate.of(2026, 10, 17), "s1", from, to), mocks.getValues(statement));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenFindByTimeRangeCoversTooManyBuckets() {
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        Mockito.doReturn(2).when(settings)
+                .getInt(Mockito.eq(CassandraMappingConfigurations.TIME_BUCKET_MAX_BUCKETS), Mockito.anyInt());
+        CassandraTemplate template = new DefaultCassandraTemplate(instance, converter, flow, persistManager, mappings,
+                converters, support(settings));
+        Instant from = Instant.parse("2026-10-16T22:00:00Z");
+        Instant to = Instant.parse("2026-10-18T01:00:00Z");
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.findByTimeRange(Reading.class,
+                Collections.singletonMap("sensor", "s1"), from, to));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenFindByTimeRangeIsInvalid() {
+        Instant from = Instant.parse("2026-10-16T22:00:00Z");
+        Instant to = Instant.parse("2026-10-18T01:00:00Z");
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.findByTimeRange(Person.class, Collections.emptyMap(), from, to));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.findByTimeRange(Reading.class, Collections.emptyMap(), from, to));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.findByTimeRange(Reading.class, Collections.singletonMap("sensor", "s1"), to, from));
+    }
+
+    private static Reading reading(String time) {
+        return new Reading("s1", Instant.parse(time), 10.5);
+    }
+
+    @SafeVarargs
+    private static <T> AsyncResultSet resultSet(Map<Row, T> entities, T... found) {
+        List<Row> page = new ArrayList<>();
+        for (T entity : found) {
+            Row row = mock(Row.class);
+            entities.put(row, entity);
+            page.add(row);
+        }
+        AsyncResultSet resultSet = mock(AsyncResultSet.class);
+        when(resultSet.currentPage()).thenReturn(page);
+        return resultSet;
+    }
+
+    @Test
+    public void shouldIncrementCounter() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        mocks.prepare("UPDATE Person SET age = age + ? WHERE name = ?", DataTypes.COUNTER, DataTypes.TEXT);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        template.increment(Person.class, "Ada", "age", 2L, ConsistencyLevel.ONE);
+
+        verify(session).execute(captor.capture());
+        assertEquals(asList(2L, "Ada"), mocks.getValues(captor.getValue()));
+        verify((BoundStatement) captor.getValue()).setConsistencyLevel(ConsistencyLevel.ONE);
+    }
+
+    @Test
+    public void shouldAppendToList() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        mocks.prepare("UPDATE Artist SET phones = phones + ? WHERE id = ?",
+                DataTypes.listOf(DataTypes.TEXT), DataTypes.BIGINT);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+
+        template.append(Artist.class, 1L, "phones", asList("555-0101", "555-0102"));
+
+        verify(session).execute(captor.capture());
+        assertEquals(asList(asList("555-0101", "555-0102"), 1L), mocks.getValues(captor.getValue()));
+    }
+
+    @Test
+    public void shouldMutateWithConvertedIdAndValues() {
+        CqlSession session = mock(CqlSession.class);
+        PreparedStatementMocks mocks = mockSession(session);
+        mocks.prepare("UPDATE Device SET tags = tags + ? WHERE id = ?", DataTypes.listOf(DataTypes.TEXT),
+                DataTypes.TEXT);
+        mocks.prepare("UPDATE Device SET pings = pings + ? WHERE id = ?", DataTypes.COUNTER, DataTypes.TEXT);
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+        UUID id = UUID.randomUUID();
+
+        template.append(Device.class, id, "tags", asList("Kitchen", "Door"));
+        template.increment(Device.class, id, "pings", 1L);
+
+        verify(session, Mockito.times(2)).execute(captor.capture());
+        assertEquals(asList(asList("kitchen", "door"), id.toString()), mocks.getValues(captor.getAllValues().get(0)));
+        assertEquals(asList(1L, id.toString()), mocks.getValues(captor.getAllValues().get(1)));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenMutateWithoutFullPrimaryKey() {
+        CqlSession session = mock(CqlSession.class);
+        mockSession(session);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.append(Post.class, "p1", "tags", asList("cassandra")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.increment(Post.class, "p1", "likes", 1L));
+        verify(session, Mockito.never()).execute(Mockito.any(Statement.class));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenMutateInvalidField() {
+        CqlSession session = mock(CqlSession.class);
+        mockSession(session);
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.append(Person.class, "Ada", "age", asList(1)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.prepend(Artist.class, 1L, "name", asList("Ada")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> template.increment(Person.class, "Ada", "unknown", 1L));
+        verify(session, Mockito.never()).execute(Mockito.any(Statement.class));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenScanWithoutSession() {
+        Assertions.assertThrows(IllegalStateException.class, () -> template.scan(Person.class, 4));
+    }
+
+    private CassandraTemplate warmUp(PreparedStatementMocks mocks) {
+        mocks.prepare("INSERT INTO Person (name, age, home) VALUES (?, ?, ?) USING TTL ?",
+                DataTypes.TEXT, DataTypes.INT, DataTypes.TEXT, DataTypes.INT);
+        mocks.prepare("UPDATE Person SET age = ?, home = ? WHERE name = ?",
+                DataTypes.INT, DataTypes.TEXT, DataTypes.TEXT);
+        mocks.prepare("SELECT * FROM Person WHERE name = ?", DataTypes.TEXT);
+        mocks.prepare("DELETE FROM Person WHERE name = ?", DataTypes.TEXT);
+        CassandraMappingSettings settings = Mockito.spy(new CassandraMappingSettings());
+        Mockito.doReturn(true).when(settings)
+                .getBoolean(Mockito.eq(CassandraMappingConfigurations.STATEMENT_WARM_UP), Mockito.anyBoolean());
+        entityStatements = new CassandraEntityStatements(sessionInstance, mappings, settings);
+        entityStatements.warmUp(Collections.singletonList(Person.class));
+        assertEquals(1, entityStatements.size());
+        return new DefaultCassandraTemplate(instance, converter, flow, persistManager, mappings, converters,
+                support(settings));
+    }
+
+    private CassandraTemplateSupport support(CassandraMappingSettings settings) {
+        return new CassandraTemplateSupport(sessionInstance, statements, cache, entityStatements, settings, executor);
+    }
+
+    private PreparedStatementMocks mockSession(CqlSession session) {
+        when(sessionInstance.isResolvable()).thenReturn(true);
+        when(sessionInstance.get()).thenReturn(session);
+        return new PreparedStatementMocks(session);
+    }
+
+    static class PersonAge {
+
+        private final String name;
+
+        private final Integer age;
+
+        PersonAge(String name, Integer age) {
+            this.name = name;
+            this.age = age;
+        }
+    }
+}
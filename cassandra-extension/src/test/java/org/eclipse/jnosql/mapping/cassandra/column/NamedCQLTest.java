@@ -0,0 +1,70 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NamedCQLTest {
+
+    @Test
+    public void shouldReplaceNamedMarkers() {
+        NamedCQL named = NamedCQL.parse("select * from Person where name = :name and age > :age");
+        assertEquals("select * from Person where name = ? and age > ?", named.getQuery());
+        assertEquals(asList("name", "age"), named.getNames());
+    }
+
+    @Test
+    public void shouldIgnoreLiteralsAndComments() {
+        NamedCQL named = NamedCQL.parse("select * from Person where name = ':name' /* :age */ and age = :age");
+        assertEquals("select * from Person where name = ':name' /* :age */ and age = ?", named.getQuery());
+        assertEquals(asList("age"), named.getNames());
+    }
+
+    @Test
+    public void shouldIgnoreMapLiteral() {
+        NamedCQL named = NamedCQL.parse("update Person set phones = {'home': 1} where name = :name");
+        assertEquals("update Person set phones = {'home': 1} where name = ?", named.getQuery());
+    }
+
+    @Test
+    public void shouldBeEmptyWhenQueryIsPositional() {
+        assertTrue(NamedCQL.parse("select * from Person where name = ?").isEmpty());
+        assertTrue(NamedCQL.parse("select * from Person").isEmpty());
+    }
+
+    @Test
+    public void shouldResolveParams() {
+        NamedCQL named = NamedCQL.parse("select * from Person where name = :name and age > :age or nick = :name");
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", "Ada");
+        values.put("age", 10);
+        assertArrayEquals(new Object[]{"Ada", 10, "Ada"}, named.toParams(values));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenValueIsMissing() {
+        NamedCQL named = NamedCQL.parse("select * from Person where name = :name");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> named.toParams(new HashMap<>()));
+    }
+}
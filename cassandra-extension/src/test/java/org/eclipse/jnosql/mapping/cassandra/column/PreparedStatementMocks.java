@@ -0,0 +1,99 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import com.datastax.oss.driver.api.core.CqlSession;
+import com.datastax.oss.driver.api.core.context.DriverContext;
+import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
+import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinition;
+import com.datastax.oss.driver.api.core.cql.ColumnDefinitions;
+import com.datastax.oss.driver.api.core.cql.PreparedStatement;
+import com.datastax.oss.driver.api.core.cql.Statement;
+import com.datastax.oss.driver.api.core.type.DataType;
+import com.datastax.oss.driver.api.core.type.codec.registry.CodecRegistry;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mocks the prepared statements of a session, recording the values each one is bound to
+ */
+final class PreparedStatementMocks {
+
+    private final CqlSession session;
+
+    private final Map<BoundStatement, List<Object>> values = new IdentityHashMap<>();
+
+    PreparedStatementMocks(CqlSession session) {
+        this.session = session;
+        DriverContext context = mock(DriverContext.class);
+        when(context.getCodecRegistry()).thenReturn(CodecRegistry.DEFAULT);
+        when(session.getContext()).thenReturn(context);
+        when(session.executeAsync(Mockito.any(Statement.class)))
+                .thenAnswer(i -> CompletableFuture.completedFuture(mock(AsyncResultSet.class)));
+    }
+
+    /**
+     * Mocks the query, whose bind markers have the types
+     */
+    PreparedStatement prepare(String query, DataType... types) {
+        ColumnDefinitions variables = mock(ColumnDefinitions.class);
+        when(variables.size()).thenReturn(types.length);
+        for (int index = 0; index < types.length; index++) {
+            ColumnDefinition variable = mock(ColumnDefinition.class);
+            when(variable.getType()).thenReturn(types[index]);
+            when(variables.get(index)).thenReturn(variable);
+        }
+        PreparedStatement prepared = mock(PreparedStatement.class, i -> {
+            switch (i.getMethod().getName()) {
+                case "getQuery":
+                    return query;
+                case "getVariableDefinitions":
+                    return variables;
+                case "bind":
+                    return bind((PreparedStatement) i.getMock(), Arrays.asList(i.getArguments()));
+                default:
+                    return Mockito.RETURNS_DEFAULTS.answer(i);
+            }
+        });
+        when(session.prepareAsync(query)).thenAnswer(i -> CompletableFuture.completedFuture(prepared));
+        when(session.prepare(query)).thenReturn(prepared);
+        return prepared;
+    }
+
+    /**
+     * Returns the values the statement was bound to
+     */
+    List<Object> getValues(Statement<?> statement) {
+        return values.getOrDefault(statement, Collections.emptyList());
+    }
+
+    private synchronized BoundStatement bind(PreparedStatement prepared, List<Object> bound) {
+        BoundStatement statement = mock(BoundStatement.class, Mockito.RETURNS_SELF);
+        when(statement.getPreparedStatement()).thenReturn(prepared);
+        values.put(statement, new ArrayList<>(bound));
+        return statement;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column;
+
+import org.eclipse.jnosql.mapping.cassandra.column.model.AppointmentBook;
+import org.eclipse.jnosql.mapping.cassandra.column.model.Contact;
+import org.eclipse.jnosql.mapping.cassandra.column.model.ContactBook;
+import org.eclipse.jnosql.mapping.reflection.ClassMappings;
+import org.eclipse.jnosql.mapping.test.CDIExtension;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@CDIExtension
+public class UDTFieldMappingTest {
+
+    @Inject
+    private ClassMappings mappings;
+
+    @Test
+    public void shouldFindUDTField() {
+        Map<String, UDTFieldMapping> fields = UDTFieldMapping.of(mappings.get(Person.class).getFieldsGroupByName());
+        assertEquals(1, fields.size());
+        UDTFieldMapping home = fields.get("home");
+        assertEquals("address", home.getName());
+        assertFalse(home.isCollection());
+        assertEquals(Address.class, home.getElementType());
+    }
+
+    @Test
+    public void shouldFindUDTCollectionField() {
+        Map<String, UDTFieldMapping> fields = UDTFieldMapping.of(mappings.get(AppointmentBook.class)
+                .getFieldsGroupByName());
+        UDTFieldMapping contacts = fields.get("contacts");
+        assertEquals("Contact", contacts.getName());
+        assertTrue(contacts.isCollection());
+        assertEquals(Contact.class, contacts.getElementType());
+        assertFalse(contacts.isLazy());
+    }
+
+    @Test
+    public void shouldFindLazyUDTCollectionField() {
+        Map<String, UDTFieldMapping> fields = UDTFieldMapping.of(mappings.get(ContactBook.class)
+                .getFieldsGroupByName());
+        UDTFieldMapping contacts = fields.get("contacts");
+        assertTrue(contacts.isCollection());
+        assertTrue(contacts.isLazy());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column.model;
+
+
+import jakarta.nosql.mapping.Column;
+import jakarta.nosql.mapping.Entity;
+import jakarta.nosql.mapping.Id;
+import org.eclipse.jnosql.mapping.cassandra.column.Chunked;
+import org.eclipse.jnosql.mapping.cassandra.column.PartitionKey;
+
+import java.util.Set;
+
+@Entity("Post")
+public class Post {
+
+    @Column
+    @PartitionKey
+    private String author;
+
+    @Id("id")
+    private String id;
+
+    @Column
+    private Set<String> tags;
+
+    @Column
+    private long likes;
+
+    @Column
+    @Chunked(size = 4)
+    private long cover;
+
+    Post() {
+    }
+
+    public Post(String author, String id) {
+        this.author = author;
+        this.id = id;
+    }
+
+    public String getAuthor() {
+        return author;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public long getLikes() {
+        return likes;
+    }
+
+    public long getCover() {
+        return cover;
+    }
+}
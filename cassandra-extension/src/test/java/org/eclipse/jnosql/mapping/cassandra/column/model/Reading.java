@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column.model;
+
+
+import jakarta.nosql.mapping.Column;
+import jakarta.nosql.mapping.Entity;
+import org.eclipse.jnosql.mapping.cassandra.column.PartitionKey;
+import org.eclipse.jnosql.mapping.cassandra.column.TimeBucket;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+@Entity("Reading")
+public class Reading {
+
+    @Column
+    @PartitionKey
+    @TimeBucket("time")
+    private LocalDate day;
+
+    @Column
+    @PartitionKey(1)
+    private String sensor;
+
+    @Column
+    private Instant time;
+
+    @Column
+    private double value;
+
+    Reading() {
+    }
+
+    public Reading(String sensor, Instant time, double value) {
+        this.sensor = sensor;
+        this.time = time;
+        this.value = value;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public String getSensor() {
+        return sensor;
+    }
+
+    public Instant getTime() {
+        return time;
+    }
+
+    public double getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.column.model;
+
+
+import jakarta.nosql.mapping.AttributeConverter;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public class TagsConverter implements AttributeConverter<List<String>, List<String>> {
+
+    @Override
+    public List<String> convertToDatabaseColumn(List<String> attribute) {
+        return attribute.stream().map(t -> t.toLowerCase(Locale.ROOT)).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(List<String> dbData) {
+        return dbData;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2017 Otávio Santana and others
+ *   All rights reserved. This program and the accompanying materials
+ *   are made available under the terms of the Eclipse Public License v1.0
+ *   and Apache License v2.0 which accompanies this distribution.
+ *   The Eclipse Public License is available at http://www.eclipse.org/legal/epl-v10.html
+ *   and the Apache License v2.0 is available at http://www.opensource.org/licenses/apache2.0.php.
+ *
+ *   You may elect to redistribute this code under either of these licenses.
+ *
+ *   Contributors:
+ *
+ *   Otavio Santana
+ */
+package org.eclipse.jnosql.mapping.cassandra.converters;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompressedConverterTest {
+
+    private static final String JSON = "{\"name\": \"Ada\", \"tags\": [\"math\", \"engine\", \"notes\"]}";
+
+    private CompressedConverter converter;
+
+    @BeforeEach
+    public void setUp() {
+        converter = new CompressedConverter(64, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    @Test
+    public void shouldCompressFromThreshold() {
+        String value = JSON.repeat(100);
+        ByteBuffer column = converter.convertToDatabaseColumn(value);
+
+        assertTrue(column.remaining() < value.length() / 10);
+        assertEquals(1, column.get(0));
+        assertEquals(value, converter.convertToEntityAttribute(column));
+        assertEquals(1, converter.getMetrics().getCompressed());
+        assertEquals(1, converter.getMetrics().getDecompressed());
+        assertTrue(converter.getMetrics().getRatio() > 1D);
+    }
+
+    @Test
+    public void shouldMeasureCpuTimeApartFromElapsedTime() {
+        String value = JSON.repeat(100);
+        converter.convertToEntityAttribute(converter.convertToDatabaseColumn(value));
+        CompressionMetrics metrics = converter.getMetrics();
+
+        assertTrue(metrics.getCompressionElapsedTime() > 0);
+        assertTrue(metrics.getDecompressionElapsedTime() > 0);
+        if (ManagementFactory.getThreadMXBean().isCurrentThreadCpuTimeSupported()) {
+            assertTrue(metrics.getCompressionCpuTime() >= 0);
+            assertTrue(metrics.getDecompressionCpuTime() >= 0);
+        } else {
+            assertEquals(-1L, metrics.getCompressionCpuTime());
+            assertEquals(-1L, metrics.getDecompressionCpuTime());
+        }
+        assertEquals(-1L, new CompressionMetrics(false).getCompressionCpuTime());
+        assertEquals(0L, new CompressionMetrics(true).getDecompressionCpuTime());
+    }
+
+    @Test
+    public void shouldNotCompressBelowThreshold() {
+        ByteBuffer column = converter.convertToDatabaseColumn("Ada");
+
+        assertEquals(0, column.get(0));
+        assertEquals(4, column.remaining());
+        assertEquals("Ada", converter.convertToEntityAttribute(column));
+        assertEquals(1, converter.getMetrics().getUncompressed());
+        assertEquals(0, converter.getMetrics().getCompressed());
+    }
+
+    @Test
+    public void shouldConvertBytes() {
+        byte[] value = JSON.repeat(10).getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer column = converter.convertToDatabaseColumn(value);
+
+        assertEquals(3, column.get(0));
+        assertArrayEquals(value, (byte[]) converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    public void shouldNotCompressWhenItIsNotSmaller() {
+        byte[] value = new byte[4096];
+        new Random(42).nextBytes(value);
+
+        ByteBuffer column = converter.convertToDatabaseColumn(value);
+
+        assertEquals(2, column.get(0));
+        assertArrayEquals(value, (byte[]) converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    public void shouldReuseCodecs() {
+        for (int index = 0; index < 10; index++) {
+            String value = JSON.repeat(index + 2);
+            assertEquals(value, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(value)));
+        }
+    }
+
+    @Test
+    public void shouldCountEachConverterApart() {
+        CompressedConverter other = new CompressedConverter(64, Deflater.DEFAULT_COMPRESSION);
+
+        other.convertToDatabaseColumn(JSON.repeat(10));
+
+        assertEquals(1, other.getMetrics().getCompressed());
+        assertEquals(0, converter.getMetrics().getCompressed());
+    }
+
+    @Test
+    public void shouldConvertNull() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    public void shouldReturnErrorWhenValueIsNotValid() {
+        ByteBuffer column = converter.convertToDatabaseColumn(JSON.repeat(10));
+        column.putInt(1, column.getInt(1) + 10);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute(column));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> converter.convertToDatabaseColumn(10));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CompressedConverter(-1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CompressedConverter(10, 42));
+    }
+}